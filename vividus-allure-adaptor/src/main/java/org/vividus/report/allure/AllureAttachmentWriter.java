@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.report.allure;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.reporter.model.Attachment;
+
+import io.qameta.allure.util.PropertiesUtils;
+
+/**
+ * Writes the attachment files to the Allure results directory on a dedicated thread pool, so the test threads don't
+ * wait for the attachments to be written. The number of the queued attachments is bounded: when the queue is full,
+ * the publishing thread writes the attachment itself. The pending writes are tracked per test case, so the test case
+ * results are written only after all the attachments of the test case are written, including the ones published from
+ * the threads other than the test thread.
+ * <p>
+ * The attachments are content-addressed: the content hash is calculated while the content is streamed to the file.
+ * The file of an attachment with the already written content is removed when the test case is switched to refer to
+ * the first written file, so the identical content is stored once. The files of the attachments published outside of
+ * the test cases are always kept, since there is no test case to switch to the first written file.
+ */
+public class AllureAttachmentWriter
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(AllureAttachmentWriter.class);
+    private static final long TERMINATION_TIMEOUT_MINUTES = 1;
+
+    private final Path resultsDirectory;
+    private final ExecutorService executor;
+    private final ConcurrentMap<String, Map<String, Future<String>>> pendingWritesByTestCase =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<HashCode, String> sourcesByContentHash = new ConcurrentHashMap<>();
+    private final LongAdder writtenBytes = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    public AllureAttachmentWriter(int writerThreads, int queueCapacity)
+    {
+        this(Paths.get((String) PropertiesUtils.loadAllureProperties().get("allure.results.directory")),
+                writerThreads, queueCapacity);
+    }
+
+    AllureAttachmentWriter(Path resultsDirectory, int writerThreads, int queueCapacity)
+    {
+        this.resultsDirectory = resultsDirectory;
+        this.executor = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new BasicThreadFactory.Builder().namingPattern("allure-attachment-writer-%d").daemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Schedules writing of the attachment.
+     *
+     * @param testCaseId the identifier of the test case the attachment belongs to or <code>null</code> if the
+     * attachment is published outside of the test cases
+     * @param source the source of the attachment
+     * @param attachment the attachment to write
+     */
+    public void write(String testCaseId, String source, Attachment attachment)
+    {
+        Future<String> write = executor.submit(() -> writeAttachment(source, attachment));
+        if (testCaseId != null)
+        {
+            pendingWritesByTestCase.computeIfAbsent(testCaseId, id -> new ConcurrentHashMap<>()).put(source, write);
+        }
+    }
+
+    private String writeAttachment(String source, Attachment attachment)
+    {
+        try
+        {
+            Files.createDirectories(resultsDirectory);
+            Path file = resultsDirectory.resolve(source);
+            HashCode contentHash;
+            try (HashingOutputStream outputStream = new HashingOutputStream(Hashing.sha256(),
+                    new BufferedOutputStream(Files.newOutputStream(file))))
+            {
+                attachment.writeContent(outputStream);
+                contentHash = outputStream.hash();
+            }
+            String originalSource = sourcesByContentHash.putIfAbsent(contentHash, source);
+            if (originalSource == null)
+            {
+                writtenBytes.add(Files.size(file));
+                return source;
+            }
+            return originalSource;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            LOGGER.error("Unable to write attachment '{}'", attachment.getTitle(), e);
+            return source;
+        }
+    }
+
+    /**
+     * Waits until all the attachments of the test case are written and removes the files of the attachments which
+     * content had been already written, the test case must be switched to the returned sources.
+     *
+     * @param testCaseId the identifier of the test case
+     * @return the sources of the attachments which content had been already written, mapped to the sources of the
+     * files containing this content
+     */
+    public Map<String, String> awaitPendingWrites(String testCaseId)
+    {
+        Map<String, Future<String>> writes = pendingWritesByTestCase.remove(testCaseId);
+        if (writes == null)
+        {
+            return Map.of();
+        }
+        Map<String, String> replacedSources = new HashMap<>();
+        writes.forEach((source, write) -> {
+            String actualSource = Futures.getUnchecked(write);
+            if (!source.equals(actualSource) && deleteDuplicate(source))
+            {
+                replacedSources.put(source, actualSource);
+            }
+        });
+        return replacedSources;
+    }
+
+    private boolean deleteDuplicate(String source)
+    {
+        Path file = resultsDirectory.resolve(source);
+        try
+        {
+            long size = Files.size(file);
+            Files.delete(file);
+            savedBytes.add(size);
+            duplicates.increment();
+            return true;
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to remove duplicate attachment file '{}'", file, e);
+            return false;
+        }
+    }
+
+    public void shutdown()
+    {
+        MoreExecutors.shutdownAndAwaitTermination(executor, TERMINATION_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        if (duplicates.sum() > 0)
+        {
+            LOGGER.info("Attachments: {} written, {} duplicates of already written content, {} saved",
+                    FileUtils.byteCountToDisplaySize(writtenBytes.sum()), duplicates.sum(),
+                    FileUtils.byteCountToDisplaySize(savedBytes.sum()));
+        }
+    }
+}
@@ -90,10 +90,13 @@ public class AllureStoryReporter extends AbstractReportControlStoryReporter
     private final TestContext testContext;
     private final IAllureRunContext allureRunContext;
     private final IVerificationErrorAdapter verificationErrorAdapter;
+    private final AllureAttachmentWriter attachmentWriter;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public AllureStoryReporter(ReportControlContext reportControlContext, RunContext runContext,
             IAllureReportGenerator allureReportGenerator, BatchStorage batchStorage, TestContext testContext,
-            IAllureRunContext allureRunContext, IVerificationErrorAdapter verificationErrorAdapter)
+            IAllureRunContext allureRunContext, IVerificationErrorAdapter verificationErrorAdapter,
+            AllureAttachmentWriter attachmentWriter)
     {
         super(reportControlContext, runContext);
         this.lifecycle = Allure.getLifecycle();
@@ -102,6 +105,7 @@ public class AllureStoryReporter extends AbstractReportControlStoryReporter
         this.testContext = testContext;
         this.allureRunContext = allureRunContext;
         this.verificationErrorAdapter = verificationErrorAdapter;
+        this.attachmentWriter = attachmentWriter;
     }
 
     @Override
@@ -492,7 +496,10 @@ public class AllureStoryReporter extends AbstractReportControlStoryReporter
     public void onAttachmentPublish(AttachmentPublishEvent event)
     {
         Attachment attachment = event.getAttachment();
-        lifecycle.addAttachment(attachment.getTitle(), attachment.getContentType(), null, attachment.getContent());
+        // The attachment is bound to the current step right away, while its file is written asynchronously, the
+        // source of the attachment is replaced at the end of the test case if the same content is already written
+        String source = lifecycle.prepareAttachment(attachment.getTitle(), attachment.getContentType(), null);
+        attachmentWriter.write(getRootStepId(), source, attachment);
     }
 
     @Subscribe
@@ -705,11 +712,24 @@ public class AllureStoryReporter extends AbstractReportControlStoryReporter
         }
 
         String id = step.getValue();
+        Map<String, String> replacedAttachmentSources = attachmentWriter.awaitPendingWrites(id);
+        if (!replacedAttachmentSources.isEmpty())
+        {
+            lifecycle.updateTestCase(id, result -> replaceAttachmentSources(result, replacedAttachmentSources));
+        }
         lifecycle.stopTestCase(id);
         lifecycle.writeTestCase(id);
         switchToParent();
     }
 
+    private static void replaceAttachmentSources(ExecutableItem item, Map<String, String> replacedSources)
+    {
+        item.getAttachments().forEach(
+                attachment -> attachment.setSource(replacedSources.getOrDefault(attachment.getSource(),
+                        attachment.getSource())));
+        item.getSteps().forEach(step -> replaceAttachmentSources(step, replacedSources));
+    }
+
     private StatusDetails getStatusDetailsFromThrowable(Throwable throwable)
     {
         String message = throwable.getMessage();
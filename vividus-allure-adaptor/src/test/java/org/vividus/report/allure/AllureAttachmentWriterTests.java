@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.report.allure;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.error;
+import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.vividus.reporter.model.Attachment;
+
+@ExtendWith(TestLoggerFactoryExtension.class)
+class AllureAttachmentWriterTests
+{
+    private static final byte[] CONTENT = "content".getBytes(StandardCharsets.UTF_8);
+    private static final String SOURCE = "source-attachment.txt";
+    private static final String TITLE = "title";
+    private static final String CONTENT_TYPE = "text/plain";
+    private static final String TEST_CASE_ID = "test-case-id";
+    private static final String DUPLICATE_SOURCE = "duplicate-attachment.txt";
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(AllureAttachmentWriter.class);
+
+    @Test
+    void shouldWriteAttachmentAsynchronously(@TempDir Path resultsDirectory) throws IOException
+    {
+        AllureAttachmentWriter writer = new AllureAttachmentWriter(resultsDirectory, 1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        writer.write(TEST_CASE_ID, SOURCE, new Attachment(outputStream -> {
+            awaitUninterruptibly(latch);
+            outputStream.write(CONTENT);
+        }, TITLE, CONTENT_TYPE));
+        latch.countDown();
+        writer.awaitPendingWrites(TEST_CASE_ID);
+        assertArrayEquals(CONTENT, Files.readAllBytes(resultsDirectory.resolve(SOURCE)));
+        writer.shutdown();
+        assertEquals(List.of(), logger.getLoggingEvents());
+    }
+
+    @Test
+    void shouldWriteAttachmentInCallerThreadWhenQueueIsFull(@TempDir Path resultsDirectory) throws IOException
+    {
+        AllureAttachmentWriter writer = new AllureAttachmentWriter(resultsDirectory, 1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        Attachment blockingAttachment = new Attachment(outputStream -> awaitUninterruptibly(latch), TITLE,
+                CONTENT_TYPE);
+        writer.write(TEST_CASE_ID, "blocking-1.txt", blockingAttachment);
+        writer.write(TEST_CASE_ID, "blocking-2.txt", blockingAttachment);
+        Thread callerThread = Thread.currentThread();
+        writer.write(TEST_CASE_ID, SOURCE, new Attachment(outputStream -> {
+            assertEquals(callerThread, Thread.currentThread());
+            outputStream.write(CONTENT);
+        }, TITLE, CONTENT_TYPE));
+        assertArrayEquals(CONTENT, Files.readAllBytes(resultsDirectory.resolve(SOURCE)));
+        latch.countDown();
+        writer.awaitPendingWrites(TEST_CASE_ID);
+        writer.shutdown();
+    }
+
+    @Test
+    void shouldStoreIdenticalContentOnce(@TempDir Path resultsDirectory) throws IOException
+    {
+        AllureAttachmentWriter writer = new AllureAttachmentWriter(resultsDirectory, 1, 1);
+        String uniqueSource = "unique-attachment.txt";
+        writer.write(TEST_CASE_ID, SOURCE, new Attachment(CONTENT, TITLE, CONTENT_TYPE));
+        writer.write(TEST_CASE_ID, DUPLICATE_SOURCE, new Attachment(outputStream -> outputStream.write(CONTENT),
+                TITLE, CONTENT_TYPE));
+        writer.write(TEST_CASE_ID, uniqueSource, new Attachment(new byte[] { 1 }, TITLE, CONTENT_TYPE));
+        assertEquals(Map.of(DUPLICATE_SOURCE, SOURCE), writer.awaitPendingWrites(TEST_CASE_ID));
+        assertArrayEquals(CONTENT, Files.readAllBytes(resultsDirectory.resolve(SOURCE)));
+        assertFalse(Files.exists(resultsDirectory.resolve(DUPLICATE_SOURCE)));
+        assertTrue(Files.exists(resultsDirectory.resolve(uniqueSource)));
+        assertEquals(Map.of(), writer.awaitPendingWrites(TEST_CASE_ID));
+        writer.shutdown();
+        assertEquals(List.of(info("Attachments: {} written, {} duplicates of already written content, {} saved",
+                "8 bytes", 1L, "7 bytes")), logger.getLoggingEvents());
+    }
+
+    @Test
+    void shouldAwaitAttachmentsOfTestCasePublishedFromOtherThreads(@TempDir Path resultsDirectory)
+            throws IOException, InterruptedException
+    {
+        AllureAttachmentWriter writer = new AllureAttachmentWriter(resultsDirectory, 1, 1);
+        writer.write(TEST_CASE_ID, SOURCE, new Attachment(CONTENT, TITLE, CONTENT_TYPE));
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread publishingThread = new Thread(() -> writer.write(TEST_CASE_ID, DUPLICATE_SOURCE,
+                new Attachment(outputStream -> {
+                    awaitUninterruptibly(latch);
+                    outputStream.write(CONTENT);
+                }, TITLE, CONTENT_TYPE)));
+        publishingThread.start();
+        publishingThread.join();
+        latch.countDown();
+        assertEquals(Map.of(DUPLICATE_SOURCE, SOURCE), writer.awaitPendingWrites(TEST_CASE_ID));
+        assertFalse(Files.exists(resultsDirectory.resolve(DUPLICATE_SOURCE)));
+        writer.shutdown();
+    }
+
+    @Test
+    void shouldKeepDuplicateAttachmentsPublishedOutsideOfTestCases(@TempDir Path resultsDirectory) throws IOException
+    {
+        AllureAttachmentWriter writer = new AllureAttachmentWriter(resultsDirectory, 1, 1);
+        writer.write(TEST_CASE_ID, SOURCE, new Attachment(CONTENT, TITLE, CONTENT_TYPE));
+        writer.write(null, DUPLICATE_SOURCE, new Attachment(CONTENT, TITLE, CONTENT_TYPE));
+        writer.shutdown();
+        assertEquals(Map.of(), writer.awaitPendingWrites(TEST_CASE_ID));
+        assertArrayEquals(CONTENT, Files.readAllBytes(resultsDirectory.resolve(SOURCE)));
+        assertArrayEquals(CONTENT, Files.readAllBytes(resultsDirectory.resolve(DUPLICATE_SOURCE)));
+        assertEquals(List.of(), logger.getLoggingEvents());
+    }
+
+    @Test
+    void shouldLogAttachmentWritingError(@TempDir Path resultsDirectory)
+    {
+        AllureAttachmentWriter writer = new AllureAttachmentWriter(resultsDirectory, 1, 1);
+        IOException exception = new IOException("Unable to render");
+        writer.write(TEST_CASE_ID, SOURCE, new Attachment(outputStream -> {
+            throw exception;
+        }, TITLE, CONTENT_TYPE));
+        writer.awaitPendingWrites(TEST_CASE_ID);
+        writer.shutdown();
+        assertEquals(List.of(error(exception, "Unable to write attachment '{}'", TITLE)), logger.getLoggingEvents());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -94,7 +94,9 @@ import org.vividus.report.allure.AllureStoryReporter.LinkedQueueItem;
 import org.vividus.report.allure.adapter.IVerificationErrorAdapter;
 import org.vividus.report.allure.model.ScenarioExecutionStage;
 import org.vividus.report.allure.model.StoryExecutionStage;
+import org.vividus.reporter.event.AttachmentPublishEvent;
 import org.vividus.reporter.event.LinkPublishEvent;
+import org.vividus.reporter.model.Attachment;
 import org.vividus.softassert.event.AssertionFailedEvent;
 import org.vividus.softassert.exception.VerificationError;
 import org.vividus.softassert.issue.KnownIssueIdentifier;
@@ -160,6 +162,7 @@ class AllureStoryReporterTests
     @Mock private StoryReporter next;
     @Mock private AllureLifecycle allureLifecycle;
     @Mock private ReportControlContext reportControlContext;
+    @Mock private AllureAttachmentWriter attachmentWriter;
 
     private LinkedQueueItem<String> linkedQueueItem;
     private String scenarioUid;
@@ -191,7 +194,7 @@ class AllureStoryReporterTests
         context.setTestContext(testContext);
         runTestContext = spy(context);
         allureStoryReporter = new AllureStoryReporter(reportControlContext, runTestContext, allureReportGenerator,
-                batchStorage, testContext, allureRunContext, verificationErrorAdapter);
+                batchStorage, testContext, allureRunContext, verificationErrorAdapter, attachmentWriter);
         FieldUtils.writeField(allureStoryReporter, "lifecycle", allureLifecycle, true);
         linkedQueueItem = new LinkedQueueItem<>(SCENARIO_UID);
         allureStoryReporter.setNext(next);
@@ -510,11 +513,12 @@ class AllureStoryReporterTests
 
         allureStoryReporter.afterStorySteps(Stage.BEFORE, ExecutionType.USER);
 
-        InOrder ordered = inOrder(allureLifecycle, allureRunContext, next);
+        InOrder ordered = inOrder(allureLifecycle, allureRunContext, next, attachmentWriter);
         ordered.verify(next).afterStorySteps(Stage.BEFORE, ExecutionType.USER);
         ordered.verify(allureLifecycle).updateStep(eq(currentStepId), anyStepResultConsumer());
         ordered.verify(allureLifecycle).stopStep(currentStepId);
         ordered.verify(allureLifecycle).updateTestCase(eq(currentScenarioId), anyTestResultConsumer());
+        ordered.verify(attachmentWriter).awaitPendingWrites(currentScenarioId);
         ordered.verify(allureLifecycle).stopTestCase(currentScenarioId);
         ordered.verify(allureLifecycle).writeTestCase(currentScenarioId);
         verifyNoMoreInteractions(next, allureLifecycle);
@@ -722,6 +726,44 @@ class AllureStoryReporterTests
         verify(testContext).put(CURRENT_STEP_KEY, null);
     }
 
+    @Test
+    void shouldReplaceSourcesOfDuplicateAttachmentsAfterScenario()
+    {
+        mockScenarioUid(false);
+        String duplicateSource = "duplicate-attachment";
+        String originalSource = "original-attachment";
+        when(attachmentWriter.awaitPendingWrites(SCENARIO_UID)).thenReturn(Map.of(duplicateSource, originalSource));
+        io.qameta.allure.model.Attachment scenarioAttachment = new io.qameta.allure.model.Attachment().setSource(
+                duplicateSource);
+        io.qameta.allure.model.Attachment stepAttachment = new io.qameta.allure.model.Attachment().setSource(
+                duplicateSource);
+        io.qameta.allure.model.Attachment uniqueAttachment = new io.qameta.allure.model.Attachment().setSource(
+                "unique-attachment");
+        TestResult testResult = new TestResult();
+        testResult.getAttachments().add(scenarioAttachment);
+        StepResult stepResult = new StepResult();
+        stepResult.getAttachments().add(stepAttachment);
+        stepResult.getSteps().add(new StepResult());
+        testResult.getSteps().add(stepResult);
+        testResult.getSteps().add(new StepResult());
+        testResult.getAttachments().add(uniqueAttachment);
+        doAnswer(a ->
+        {
+            Consumer<TestResult> consumer = a.getArgument(1);
+            consumer.accept(testResult);
+            return null;
+        }).when(allureLifecycle).updateTestCase(eq(SCENARIO_UID), any());
+        allureStoryReporter.afterScenario(mock(Timing.class));
+        assertEquals(originalSource, scenarioAttachment.getSource());
+        assertEquals(originalSource, stepAttachment.getSource());
+        assertEquals("unique-attachment", uniqueAttachment.getSource());
+        InOrder ordered = inOrder(attachmentWriter, allureLifecycle);
+        ordered.verify(attachmentWriter).awaitPendingWrites(SCENARIO_UID);
+        ordered.verify(allureLifecycle).updateTestCase(eq(SCENARIO_UID), any());
+        ordered.verify(allureLifecycle).stopTestCase(SCENARIO_UID);
+        ordered.verify(allureLifecycle).writeTestCase(SCENARIO_UID);
+    }
+
     @Test
     void testAfterScenarioGivenStoryScenarioLevel()
     {
@@ -1089,6 +1131,30 @@ class AllureStoryReporterTests
         assertEquals(1, labels.stream().filter(l -> REQUIREMENT_ID.equals(l.getName())).count());
     }
 
+    @Test
+    void shouldPrepareAttachmentAndWriteItAsynchronously()
+    {
+        Attachment attachment = new Attachment(new byte[] { 1 }, "attachment", "text/html");
+        String source = "source-attachment.html";
+        when(allureLifecycle.prepareAttachment("attachment", "text/html", null)).thenReturn(source);
+        allureStoryReporter.onAttachmentPublish(new AttachmentPublishEvent(attachment));
+        verify(attachmentWriter).write(null, source, attachment);
+        verifyNoMoreInteractions(allureLifecycle);
+    }
+
+    @Test
+    void shouldWriteAttachmentOfTestCase()
+    {
+        mockScenarioUid(false);
+        String title = "test-case-attachment";
+        String contentType = "text/plain";
+        Attachment attachment = new Attachment(new byte[] { 1 }, title, contentType);
+        String source = "source-attachment.txt";
+        when(allureLifecycle.prepareAttachment(title, contentType, null)).thenReturn(source);
+        allureStoryReporter.onAttachmentPublish(new AttachmentPublishEvent(attachment));
+        verify(attachmentWriter).write(SCENARIO_UID, source, attachment);
+    }
+
     @Test
     void shouldAddPublishedLink()
     {
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jbehave.core.embedder.StoryControls;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.expression.DelegatingExpressionProcessor;
+import org.vividus.expression.IExpressionProcessor;
+import org.vividus.expression.UnaryExpressionProcessor;
+
+/**
+ * Compares the single-pass {@link ExpressionAdaptor} dispatching the expressions by name with the previous
+ * implementation trying every processor for the expressions found by regular expressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionAdaptorBenchmark
+{
+    private static final int NUMBER_OF_OTHER_PROCESSORS = 60;
+
+    @Param({
+        "#{toUpperCase(vividus)}",
+        "#{capitalize(#{trim(#{toLowerCase( VIVIDUS )})})}",
+        "{\"id\": \"#{trim( 42 )}\", \"name\": \"#{capitalize(#{toLowerCase(VIVIDUS)})}\", \"note\": \"#{unknown}\"}",
+        "|name|code|\n|#{toUpperCase(first)}|#{trim( 1 )}|\n|#{toUpperCase(second)}|#{trim( 2 )}|"
+    })
+    private String value;
+
+    private ExpressionAdaptor expressionAdaptor;
+    private LegacyExpressionAdaptor legacyExpressionAdaptor;
+
+    @Setup
+    public void setUp()
+    {
+        List<IExpressionProcessor<?>> processors = new ArrayList<>();
+        // The processors of the other expressions registered before the ones used in the benchmark
+        IntStream.range(0, NUMBER_OF_OTHER_PROCESSORS).forEach(i -> processors.add(
+                new UnaryExpressionProcessor("otherExpression" + i, StringUtils::reverse)));
+        IExpressionProcessor<String> stringsProcessor = new DelegatingExpressionProcessor<>(List.of(
+                new UnaryExpressionProcessor("trim", StringUtils::trim),
+                new UnaryExpressionProcessor("toLowerCase", StringUtils::lowerCase),
+                new UnaryExpressionProcessor("toUpperCase", StringUtils::upperCase),
+                new UnaryExpressionProcessor("capitalize", StringUtils::capitalize)
+        ));
+        processors.add(stringsProcessor);
+        expressionAdaptor = new ExpressionAdaptor(new StoryControls());
+        expressionAdaptor.setProcessors(processors);
+        legacyExpressionAdaptor = new LegacyExpressionAdaptor(processors);
+    }
+
+    @Benchmark
+    public Object processUsingSinglePassAndNameIndex()
+    {
+        return expressionAdaptor.processRawExpression(value);
+    }
+
+    @Benchmark
+    public Object processUsingRegularExpressions()
+    {
+        return legacyExpressionAdaptor.processRawExpression(value);
+    }
+
+    /**
+     * The copy of the adaptor implementation preceding the single-pass one, it is kept as the baseline.
+     */
+    private static final class LegacyExpressionAdaptor
+    {
+        private static final Pattern GREEDY_EXPRESSION_PATTERN = Pattern.compile("#\\{((?:(?!#\\{|\\$\\{).)*)}",
+                Pattern.DOTALL);
+        private static final Pattern RELUCTANT_EXPRESSION_PATTERN = Pattern.compile(
+                "#\\{((?:(?![#{]).[^(][^)])*?|(?:(?!#\\{|\\$\\{).)*?\\)|(?:(?!#\\{|\\$\\{).)*?)}",
+                Pattern.DOTALL);
+
+        private static final String REPLACEMENT_PATTERN = "\\#\\{%s\\}";
+
+        private final List<IExpressionProcessor<?>> processors;
+
+        LegacyExpressionAdaptor(List<IExpressionProcessor<?>> processors)
+        {
+            this.processors = processors;
+        }
+
+        Object processRawExpression(String value)
+        {
+            return processExpression(value,
+                    List.of(RELUCTANT_EXPRESSION_PATTERN, GREEDY_EXPRESSION_PATTERN).iterator());
+        }
+
+        private Object processExpression(String value, Iterator<Pattern> expressionPatterns)
+        {
+            String processedValue = value;
+            Matcher expressionMatcher = expressionPatterns.next().matcher(processedValue);
+            boolean expressionFound = false;
+            while (expressionMatcher.find())
+            {
+                expressionFound = true;
+                String expression = expressionMatcher.group(1);
+                Object expressionResult = apply(expression);
+                if (!(expressionResult instanceof String) && ("#{" + expression + "}").equals(processedValue))
+                {
+                    return expressionResult;
+                }
+                if (!expressionResult.equals(expression))
+                {
+                    String regex = String.format(REPLACEMENT_PATTERN, Pattern.quote(expression));
+                    processedValue = processedValue.replaceFirst(regex,
+                            Matcher.quoteReplacement(String.valueOf(expressionResult)));
+                    expressionFound = false;
+                    expressionMatcher.reset(processedValue);
+                }
+            }
+            if (expressionFound && expressionPatterns.hasNext())
+            {
+                return processExpression(processedValue, expressionPatterns);
+            }
+            return processedValue;
+        }
+
+        private Object apply(String expression)
+        {
+            for (IExpressionProcessor<?> processor : processors)
+            {
+                Optional<?> optional = processor.execute(expression);
+                if (optional.isPresent())
+                {
+                    return optional.get();
+                }
+            }
+            return expression;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jbehave.core.embedder.StoryControls;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.context.VariableContext;
+import org.vividus.context.VariableTestContext;
+import org.vividus.testcontext.SimpleTestContext;
+import org.vividus.variable.IVariablesFactory;
+import org.vividus.variable.Variables;
+
+/**
+ * Compares the template-based {@link VariableResolver} with the previous implementation re-scanning the value on each
+ * resolution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VariableResolverBenchmark
+{
+    @Param({
+        "${name}",
+        "Hello, ${name}! Your order ${order[0].id} costs ${price:0} ${currency}",
+        "${item${index}}",
+        "{\"id\": \"${id}\", \"name\": \"${name}\", \"tags\": [\"${tag}\", \"${unknown}\"], \"total\": ${price}}"
+    })
+    private String value;
+
+    private VariableResolver variableResolver;
+    private LegacyVariableResolver legacyVariableResolver;
+
+    @Setup
+    public void setUp()
+    {
+        Variables variables = new Variables(new HashMap<>());
+        variables.putStoryVariable("name", "VIVIDUS");
+        variables.putStoryVariable("order", List.of(Map.of("id", "42")));
+        variables.putStoryVariable("price", "100");
+        variables.putStoryVariable("currency", "USD");
+        variables.putStoryVariable("index", "1");
+        variables.putStoryVariable("item1", "first item");
+        variables.putStoryVariable("id", "a1b2c3");
+        variables.putStoryVariable("tag", "benchmark");
+
+        VariableContext variableContext = new VariableTestContext(new SimpleTestContext(), new IVariablesFactory()
+        {
+            @Override
+            public Variables createVariables()
+            {
+                return variables;
+            }
+
+            @Override
+            public void addNextBatchesVariable(String variableKey, Object variableValue)
+            {
+                // Not used in benchmark
+            }
+        });
+        variableResolver = new VariableResolver(variableContext, Map.of(), new StoryControls());
+        legacyVariableResolver = new LegacyVariableResolver(variableContext);
+    }
+
+    @Benchmark
+    public Object resolveUsingCachedTemplate()
+    {
+        return variableResolver.resolve(value);
+    }
+
+    @Benchmark
+    public Object resolveUsingScanning()
+    {
+        return legacyVariableResolver.resolve(value);
+    }
+
+    /**
+     * The copy of the resolver implementation preceding the template-based one, it is kept as the baseline.
+     */
+    private static final class LegacyVariableResolver
+    {
+        private static final String VARIABLE_START_MARKER = "${";
+        private static final String LINE_BREAKS = "[\r\n]*";
+
+        private final VariableContext variableContext;
+
+        LegacyVariableResolver(VariableContext variableContext)
+        {
+            this.variableContext = variableContext;
+        }
+
+        Object resolve(String value)
+        {
+            return resolveVariables(0, value);
+        }
+
+        private Object resolveVariables(int scanStartPosition, String value)
+        {
+            int start = -1;
+            int end = -1;
+            int level = 0;
+
+            for (int i = scanStartPosition; i < value.length(); i++)
+            {
+                switch (value.charAt(i))
+                {
+                    case '$':
+                        if (i + 1 < value.length() && value.charAt(i + 1) == '{')
+                        {
+                            if (start == -1)
+                            {
+                                start = i;
+                            }
+                            level++;
+                        }
+                        break;
+                    case '}':
+                        if (start != -1)
+                        {
+                            end = i;
+                        }
+                        if (level > 0)
+                        {
+                            level--;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                if (level == 0 && end != -1)
+                {
+                    return resolveVariable(value, start, end);
+                }
+            }
+            return value;
+        }
+
+        private Object resolveVariable(String value, int start, int end)
+        {
+            String variableKey = value.substring(start + 2, end);
+            Object resolved = resolveVariable(value, variableKey);
+            if (end == value.length() - 1)
+            {
+                return resolved;
+            }
+            String resolvedStr = (String) resolved;
+            int nextScanStartPosition = resolvedStr.indexOf(value.substring(end + 1), start);
+            return resolveVariables(nextScanStartPosition, resolvedStr);
+        }
+
+        private Object resolveVariable(String value, String variableKey)
+        {
+            String updatedVariableKey;
+            String target;
+            if (variableKey.contains(VARIABLE_START_MARKER))
+            {
+                updatedVariableKey = (String) resolveVariables(0, variableKey);
+                target = StringUtils.replaceOnce(value, variableKey, updatedVariableKey);
+            }
+            else
+            {
+                updatedVariableKey = variableKey;
+                target = value;
+            }
+            return replaceVariableKeyWithValue(target, updatedVariableKey);
+        }
+
+        private Object replaceVariableKeyWithValue(String target, String variableKey)
+        {
+            Object variableValue = variableContext.getVariable(variableKey);
+            if (variableValue == null)
+            {
+                return target;
+            }
+            String variablePlaceholder = VARIABLE_START_MARKER + variableKey + "}";
+            if (target.matches(LINE_BREAKS + Pattern.quote(variablePlaceholder) + LINE_BREAKS))
+            {
+                return variableValue;
+            }
+            return StringUtils.replaceOnce(target, variablePlaceholder, variableValue.toString());
+        }
+    }
+}
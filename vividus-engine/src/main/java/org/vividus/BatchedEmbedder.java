@@ -86,7 +86,8 @@ public class BatchedEmbedder extends Embedder
 
                 EmbedderControls embedderControls = embedderControls();
                 embedderMonitor.usingControls(embedderControls);
-                ExecutorService executorService = createExecutorService(embedderControls.threads());
+                ExecutorService executorService = createExecutorService(embedderControls.threads(),
+                        Boolean.TRUE.equals(batchConfiguration.isVirtualThreads()));
                 useExecutorService(executorService);
 
                 List<String> storyPaths = storyPathsBatch.getValue();
@@ -151,12 +152,34 @@ public class BatchedEmbedder extends Embedder
         return performableTree;
     }
 
-    private ExecutorService createExecutorService(int threads)
+    private ExecutorService createExecutorService(int threads, boolean virtualThreads)
     {
-        ThreadFactory threadFactory = new BasicThreadFactory.Builder()
-                .namingPattern(batch + "-thread-%d")
-                .build();
-        return Executors.newFixedThreadPool(threads, threadFactory);
+        BasicThreadFactory.Builder threadFactoryBuilder = new BasicThreadFactory.Builder()
+                .namingPattern(batch + "-thread-%d");
+        if (virtualThreads)
+        {
+            threadFactoryBuilder.wrappedFactory(createVirtualThreadFactory());
+        }
+        return Executors.newFixedThreadPool(threads, threadFactoryBuilder.build());
+    }
+
+    /**
+     * Virtual threads are available starting from Java 21 only, so the factory is resolved reflectively to keep the
+     * engine runnable on the older Java versions: <code>Thread.ofVirtual().factory()</code>.
+     */
+    ThreadFactory createVirtualThreadFactory()
+    {
+        try
+        {
+            Object virtualThreadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory")
+                    .invoke(virtualThreadBuilder);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("Virtual threads are not supported by the current Java runtime "
+                    + Runtime.version() + ", Java 21 or higher is required", e);
+        }
     }
 
     private EmbedderControls createEmbedderControls(BatchConfiguration batchConfiguration)
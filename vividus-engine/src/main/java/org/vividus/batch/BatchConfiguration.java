@@ -34,6 +34,7 @@ public class BatchConfiguration
     private List<String> metaFilters;
     private Duration storyExecutionTimeout;
     private Boolean failFast;
+    private Boolean virtualThreads;
     private ScenarioExecutionConfiguration scenario;
     private StoryExecutionConfiguration story;
 
@@ -122,6 +123,16 @@ public class BatchConfiguration
         this.failFast = failFast;
     }
 
+    public Boolean isVirtualThreads()
+    {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(Boolean virtualThreads)
+    {
+        this.virtualThreads = virtualThreads;
+    }
+
     public Boolean isFailScenarioFast()
     {
         return scenario == null ? null : scenario.failFast;
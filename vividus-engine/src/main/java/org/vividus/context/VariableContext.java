@@ -25,6 +25,11 @@ public interface VariableContext
 {
     <T> T getVariable(String variableKey);
 
+    /**
+     * Returns all variables available in the current scope.
+     *
+     * @return unmodifiable map of variables
+     */
     Map<String, Object> getVariables();
 
     void putVariable(VariableScope variableScope, String variableKey, Object variableValue);
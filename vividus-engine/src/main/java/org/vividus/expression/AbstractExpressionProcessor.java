@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,16 +17,25 @@
 package org.vividus.expression;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public abstract class AbstractExpressionProcessor<T> implements IExpressionProcessor<T>
 {
     private final Pattern pattern;
+    private final Set<String> expressionNames;
 
-    protected AbstractExpressionProcessor(Pattern pattern)
+    protected AbstractExpressionProcessor(Pattern pattern, String... expressionNames)
     {
         this.pattern = pattern;
+        this.expressionNames = Set.of(expressionNames);
+    }
+
+    @Override
+    public Set<String> getExpressionNames()
+    {
+        return expressionNames;
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,23 +18,30 @@ package org.vividus.expression;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public class DelegatingExpressionProcessor<T> implements IExpressionProcessor<T>
 {
-    private final Collection<IExpressionProcessor<T>> delegates;
+    private final ExpressionProcessorIndex<IExpressionProcessor<T>> delegates;
 
     public DelegatingExpressionProcessor(Collection<IExpressionProcessor<T>> delegates)
     {
-        this.delegates = delegates;
+        this.delegates = new ExpressionProcessorIndex<>(delegates);
     }
 
     @Override
     public Optional<T> execute(String expression)
     {
-        return delegates.stream()
+        return delegates.getProcessors(expression).stream()
                 .map(processor -> processor.execute(expression))
                 .filter(Optional::isPresent)
                 .findFirst()
                 .orElseGet(Optional::empty);
     }
+
+    @Override
+    public Set<String> getExpressionNames()
+    {
+        return delegates.getExpressionNames();
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.expression;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Index of the expression processors by the names of the expressions they support. The processors without names
+ * are considered as supporting any expression. The order of the processors is preserved.
+ *
+ * @param <P> The type of the expression processors
+ */
+public final class ExpressionProcessorIndex<P extends IExpressionProcessor<?>>
+{
+    private final List<P> processors;
+    private final List<P> unnamedProcessors;
+    private final Map<String, List<P>> processorsByName = new HashMap<>();
+    private final Set<String> expressionNames;
+
+    public ExpressionProcessorIndex(Collection<P> processors)
+    {
+        this.processors = List.copyOf(processors);
+        this.unnamedProcessors = processors.stream()
+                .filter(p -> p.getExpressionNames().isEmpty())
+                .collect(Collectors.toUnmodifiableList());
+        processors.stream()
+                .map(IExpressionProcessor::getExpressionNames)
+                .flatMap(Set::stream)
+                .map(ExpressionProcessorIndex::normalize)
+                .distinct()
+                .forEach(name -> processorsByName.put(name, processors.stream()
+                        .filter(p -> p.getExpressionNames().isEmpty() || p.getExpressionNames().stream()
+                                .map(ExpressionProcessorIndex::normalize).anyMatch(name::equals))
+                        .collect(Collectors.toUnmodifiableList())));
+        this.expressionNames = unnamedProcessors.isEmpty() ? Set.copyOf(processorsByName.keySet()) : Set.of();
+    }
+
+    /**
+     * Finds the processors which may support the expression: if the expression name is known, only the processors
+     * declaring this name and the unnamed processors are returned, otherwise all the processors are returned.
+     *
+     * @param expression The expression to find the processors for, e.g. <code>toUpperCase(value)</code>
+     * @return The processors in the registration order
+     */
+    public List<P> getProcessors(String expression)
+    {
+        return parseExpressionName(expression)
+                .map(name -> processorsByName.getOrDefault(name, unnamedProcessors))
+                .orElse(processors);
+    }
+
+    /**
+     * @return The names of the expressions supported by all the processors or empty set if any of the processors
+     * doesn't declare the names of the supported expressions
+     */
+    public Set<String> getExpressionNames()
+    {
+        return expressionNames;
+    }
+
+    private static Optional<String> parseExpressionName(String expression)
+    {
+        int index = 0;
+        while (index < expression.length() && Character.isLetterOrDigit(expression.charAt(index)))
+        {
+            index++;
+        }
+        if (index > 0 && index < expression.length() && expression.charAt(index) == '(')
+        {
+            return Optional.of(normalize(expression.substring(0, index)));
+        }
+        return Optional.empty();
+    }
+
+    private static String normalize(String expressionName)
+    {
+        return expressionName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,7 +28,8 @@ public class FunctionalExpressionProcessor<T> extends AbstractExpressionProcesso
 
     public FunctionalExpressionProcessor(String functionName, Function<String, T> transformer)
     {
-        super(Pattern.compile("^" + functionName + "\\((.*)\\)$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL));
+        super(Pattern.compile("^" + functionName + "\\((.*)\\)$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL),
+                functionName);
         this.transformer = transformer;
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,21 @@
 package org.vividus.expression;
 
 import java.util.Optional;
+import java.util.Set;
 
 public interface IExpressionProcessor<T>
 {
     Optional<T> execute(String expression);
+
+    /**
+     * Provides the names of the expressions supported by the processor, e.g. <code>toUpperCase</code> for
+     * <code>toUpperCase(value)</code> expression. The names are used to find the processor without trying to execute
+     * each of them, the processors without names are tried for any expression.
+     *
+     * @return The case-insensitive names of the supported expressions or empty set if the names are unknown
+     */
+    default Set<String> getExpressionNames()
+    {
+        return Set.of();
+    }
 }
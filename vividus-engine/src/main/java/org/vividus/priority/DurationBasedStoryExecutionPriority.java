@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import java.time.Duration;
+import java.util.Comparator;
+
+import org.jbehave.core.model.Story;
+
+/**
+ * Methods of this class are expected to be used in test projects as static factories for story comparators
+ */
+public final class DurationBasedStoryExecutionPriority
+{
+    private static final Duration UNKNOWN_DURATION = Duration.ofSeconds(Long.MAX_VALUE);
+
+    private DurationBasedStoryExecutionPriority()
+    {
+    }
+
+    /**
+     * Create a comparator that sorts stories by their execution durations recorded in the previous runs in descending
+     * order, so the longest stories start first and the shorter ones fill the remaining threads. The stories without
+     * recorded duration (e.g. new ones) start before all others.
+     * @param storyDurationHistory storage of story execution durations
+     * @return comparator
+     */
+    public static Comparator<Story> byHistoricalDuration(StoryDurationHistory storyDurationHistory)
+    {
+        return Comparator.comparing(
+                (Story story) -> storyDurationHistory.getDuration(story.getPath()).orElse(UNKNOWN_DURATION),
+                Comparator.reverseOrder());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent storage of story execution durations: the durations from the previous runs are loaded from the file at
+ * start-up, the durations of the stories executed in the current run override them and are saved at the end of the
+ * run. The storage is disabled if the file path is blank.
+ */
+public class StoryDurationHistory
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoryDurationHistory.class);
+
+    private final Path historyFile;
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    public StoryDurationHistory(String historyFile)
+    {
+        this.historyFile = StringUtils.isBlank(historyFile) ? null : Paths.get(historyFile);
+    }
+
+    public void load() throws IOException
+    {
+        if (historyFile == null || !Files.exists(historyFile))
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(historyFile, StandardCharsets.UTF_8))
+        {
+            properties.load(reader);
+        }
+        properties.forEach((storyPath, duration) -> durations.put((String) storyPath,
+                Long.valueOf((String) duration)));
+        LOGGER.info("Loaded execution durations of {} stories from {}", durations.size(), historyFile);
+    }
+
+    public boolean isEnabled()
+    {
+        return historyFile != null;
+    }
+
+    public Optional<Duration> getDuration(String storyPath)
+    {
+        return Optional.ofNullable(durations.get(storyPath)).map(Duration::ofMillis);
+    }
+
+    public void recordDuration(String storyPath, Duration duration)
+    {
+        if (isEnabled())
+        {
+            durations.put(storyPath, duration.toMillis());
+        }
+    }
+
+    public void save() throws IOException
+    {
+        if (!isEnabled())
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        durations.forEach((storyPath, duration) -> properties.setProperty(storyPath, Long.toString(duration)));
+        Path parent = historyFile.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(historyFile, StandardCharsets.UTF_8))
+        {
+            properties.store(writer, "Story execution durations in milliseconds");
+        }
+        LOGGER.info("Saved execution durations of {} stories to {}", durations.size(), historyFile);
+    }
+}
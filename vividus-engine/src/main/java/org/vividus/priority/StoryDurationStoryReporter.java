@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jbehave.core.model.Story;
+import org.jbehave.core.reporters.NullStoryReporter;
+import org.jbehave.core.steps.StepCollector.Stage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.context.RunContext;
+import org.vividus.model.RunningStory;
+
+public class StoryDurationStoryReporter extends NullStoryReporter
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoryDurationStoryReporter.class);
+
+    private final StoryDurationHistory storyDurationHistory;
+    private final RunContext runContext;
+    private final Map<Story, Long> storyStartTimes = new ConcurrentHashMap<>();
+
+    public StoryDurationStoryReporter(StoryDurationHistory storyDurationHistory, RunContext runContext)
+    {
+        this.storyDurationHistory = storyDurationHistory;
+        this.runContext = runContext;
+    }
+
+    @Override
+    public void beforeStory(Story story, boolean givenStory)
+    {
+        if (!givenStory && storyDurationHistory.isEnabled())
+        {
+            storyStartTimes.put(story, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterStory(boolean givenStory)
+    {
+        RunningStory runningStory = runContext.getRunningStory();
+        if (!givenStory && runningStory != null)
+        {
+            Story story = runningStory.getStory();
+            Long startTime = storyStartTimes.remove(story);
+            if (startTime != null)
+            {
+                storyDurationHistory.recordDuration(story.getPath(), Duration.ofNanos(System.nanoTime() - startTime));
+            }
+        }
+    }
+
+    @Override
+    public void afterStoriesSteps(Stage stage)
+    {
+        if (stage == Stage.AFTER)
+        {
+            try
+            {
+                storyDurationHistory.save();
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn("Unable to save story execution durations", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.resource;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.model.ExamplesTable;
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.ExamplesTableFactory;
+import org.vividus.util.ExamplesTableProcessor;
+
+public class CachingExamplesTableFactory extends ExamplesTableFactory
+{
+    private final Configuration configuration;
+    private final ExamplesTableCache examplesTableCache;
+
+    public CachingExamplesTableFactory(Configuration configuration, ExamplesTableCache examplesTableCache)
+    {
+        super(configuration);
+        this.configuration = configuration;
+        this.examplesTableCache = examplesTableCache;
+    }
+
+    @Override
+    public ExamplesTable createExamplesTable(String input)
+    {
+        return examplesTableCache.getExamplesTable(input, super::createExamplesTable, this::render);
+    }
+
+    private Optional<String> render(ExamplesTable table)
+    {
+        List<String> headers = table.getHeaders();
+        List<List<String>> rows = table.getRows().stream()
+                .map(row -> headers.stream().map(row::get).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        if (headers.isEmpty() || table.metaByRow() || rows.stream().flatMap(List::stream).anyMatch(Objects::isNull))
+        {
+            return Optional.empty();
+        }
+        TableProperties tableProperties = new TableProperties("", configuration.keywords(),
+                configuration.parameterConverters());
+        String renderedTable;
+        try
+        {
+            renderedTable = ExamplesTableProcessor.buildExamplesTable(headers, rows, tableProperties, true, true);
+        }
+        catch (IllegalArgumentException e)
+        {
+            return Optional.empty();
+        }
+        // Parsing can change the values, e.g. trim them, so the rendered table is used only if it gives the same rows
+        ExamplesTable renderedExamplesTable = super.createExamplesTable(renderedTable);
+        return headers.equals(renderedExamplesTable.getHeaders()) && table.getRows().equals(
+                renderedExamplesTable.getRows()) ? Optional.of(renderedTable) : Optional.empty();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.resource;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.apache.commons.io.FilenameUtils;
+import org.jbehave.core.model.ExamplesTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.vividus.steps.VariableResolver;
+
+/**
+ * Keeps the ExamplesTables loaded from the table resources after all their transformers are applied. The tables are
+ * kept in the rendered form, so each request gets its own {@link ExamplesTable} instance, while the resources are not
+ * loaded and the transformers are not applied again. A cached table is invalidated as soon as the modification time
+ * of its resource or of any table resource loaded by its transformers changes.
+ */
+public class ExamplesTableCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExamplesTableCache.class);
+
+    private static final String TABLE_EXTENSION = "table";
+    private static final long UNKNOWN_MODIFICATION_TIME = -1;
+
+    private final VariableResolver variableResolver;
+    private final ExamplesTableLoader examplesTableLoader;
+    private final Cache<String, CachedExamplesTable> tables;
+    private final ThreadLocal<Deque<Map<Resource, Long>>> loadingTablesResources = ThreadLocal.withInitial(
+            ArrayDeque::new);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder notCacheableTables = new LongAdder();
+    private boolean enabled;
+
+    public ExamplesTableCache(VariableResolver variableResolver, ExamplesTableLoader examplesTableLoader,
+            long maximumWeight)
+    {
+        this.variableResolver = variableResolver;
+        this.examplesTableLoader = examplesTableLoader;
+        this.tables = CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String path, CachedExamplesTable table) -> table.getWeight())
+                .removalListener(notification -> {
+                    if (notification.wasEvicted())
+                    {
+                        evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Gets the ExamplesTable from the cache or creates it.
+     *
+     * @param input    the ExamplesTable or the path to the ExamplesTable resource
+     * @param factory  the function creating the ExamplesTable from the input or from the rendered table
+     * @param renderer the function rendering the ExamplesTable, it returns an empty optional if the table can't be
+     *                 re-created from the rendered form
+     * @return the ExamplesTable
+     */
+    public ExamplesTable getExamplesTable(String input, Function<String, ExamplesTable> factory,
+            Function<ExamplesTable, Optional<String>> renderer)
+    {
+        String trimmedInput = input.trim();
+        if (!enabled || !isTablePath(trimmedInput))
+        {
+            return factory.apply(input);
+        }
+        String path = (String) variableResolver.resolve(trimmedInput);
+        CachedExamplesTable cachedTable = tables.getIfPresent(path);
+        if (cachedTable != null && !cachedTable.isUpToDate())
+        {
+            tables.invalidate(path);
+            invalidations.increment();
+            cachedTable = null;
+        }
+        if (cachedTable != null)
+        {
+            registerResources(cachedTable.getResources());
+            Optional<String> renderedTable = cachedTable.getRenderedTable();
+            if (renderedTable.isPresent())
+            {
+                hits.increment();
+                return factory.apply(renderedTable.get());
+            }
+            // The table is known to be not cacheable, so it's created from the input without rendering it again
+            misses.increment();
+            return factory.apply(input);
+        }
+        misses.increment();
+        Map<Resource, Long> resources = new LinkedHashMap<>();
+        Resource resource = examplesTableLoader.getResource(path);
+        resources.put(resource, getLastModified(resource));
+        Deque<Map<Resource, Long>> loadingResources = loadingTablesResources.get();
+        loadingResources.push(resources);
+        ExamplesTable table;
+        try
+        {
+            table = factory.apply(input);
+        }
+        finally
+        {
+            loadingResources.pop();
+        }
+        registerResources(resources);
+        Optional<String> renderedTable = renderer.apply(table);
+        if (renderedTable.isEmpty())
+        {
+            notCacheableTables.increment();
+        }
+        tables.put(path, new CachedExamplesTable(renderedTable.orElse(null), resources));
+        return table;
+    }
+
+    private static boolean isTablePath(String input)
+    {
+        return input.indexOf('\n') < 0 && TABLE_EXTENSION.equals(FilenameUtils.getExtension(input));
+    }
+
+    private void registerResources(Map<Resource, Long> resources)
+    {
+        loadingTablesResources.get().forEach(loadingResources -> loadingResources.putAll(resources));
+    }
+
+    private static long getLastModified(Resource resource)
+    {
+        try
+        {
+            return resource.lastModified();
+        }
+        catch (IOException e)
+        {
+            return UNKNOWN_MODIFICATION_TIME;
+        }
+    }
+
+    public void logStatistics()
+    {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        if (hitCount + missCount > 0)
+        {
+            LOGGER.info("ExamplesTables cache: {} hits, {} misses, {} invalidations, {} evictions, {} tables are not"
+                    + " cacheable", hitCount, missCount, invalidations.sum(), evictions.sum(),
+                    notCacheableTables.sum());
+        }
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    private static final class CachedExamplesTable
+    {
+        private final String renderedTable;
+        private final Map<Resource, Long> resources;
+
+        CachedExamplesTable(String renderedTable, Map<Resource, Long> resources)
+        {
+            this.renderedTable = renderedTable;
+            this.resources = Map.copyOf(resources);
+        }
+
+        boolean isUpToDate()
+        {
+            return resources.entrySet().stream().allMatch(e -> getLastModified(e.getKey()) == e.getValue());
+        }
+
+        Optional<String> getRenderedTable()
+        {
+            return Optional.ofNullable(renderedTable);
+        }
+
+        Map<Resource, Long> getResources()
+        {
+            return resources;
+        }
+
+        int getWeight()
+        {
+            return renderedTable != null ? renderedTable.length() : 1;
+        }
+    }
+}
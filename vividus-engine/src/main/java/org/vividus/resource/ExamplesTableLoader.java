@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -43,6 +43,18 @@ public class ExamplesTableLoader
     }
 
     private String loadTable(String exampleTablePath)
+    {
+        try (InputStream inputStream = getResource(exampleTablePath).getInputStream())
+        {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+        catch (IOException e)
+        {
+            throw new ResourceLoadException(e.getMessage(), e);
+        }
+    }
+
+    public Resource getResource(String exampleTablePath)
     {
         String parentDir = FilenameUtils.getFullPathNoEndSeparator(exampleTablePath);
         String fileName = FilenameUtils.getName(exampleTablePath);
@@ -55,14 +67,7 @@ public class ExamplesTableLoader
         {
             throw new ResourceLoadException("No ExamplesTable resource is found for " + exampleTablePath);
         }
-        try (InputStream inputStream = resources[0].getInputStream())
-        {
-            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-        }
-        catch (IOException e)
-        {
-            throw new ResourceLoadException(e.getMessage(), e);
-        }
+        return resources[0];
     }
 
     public void setCacheTables(boolean cacheTables)
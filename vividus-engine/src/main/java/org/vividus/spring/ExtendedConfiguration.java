@@ -45,6 +45,8 @@ import org.vividus.IPathFinder;
 import org.vividus.batch.BatchConfiguration;
 import org.vividus.converter.ResolvingPlaceholdersExamplesTableConverter;
 import org.vividus.log.LoggingTableTransformerMonitor;
+import org.vividus.resource.CachingExamplesTableFactory;
+import org.vividus.resource.ExamplesTableCache;
 import org.vividus.steps.ParameterConvertersDecorator;
 import org.vividus.steps.PlaceholderResolver;
 
@@ -61,6 +63,7 @@ public class ExtendedConfiguration extends Configuration
     private String examplesTableHeaderSeparator;
     private String examplesTableValueSeparator;
     private ParameterControls parameterControls;
+    private ExamplesTableCache examplesTableCache;
 
     public void init() throws IOException
     {
@@ -71,6 +74,7 @@ public class ExtendedConfiguration extends Configuration
         useParameterConverters(new ParameterConvertersDecorator(this, placeholderResolver)
                 .addConverters(customConverters));
         useTableTransformerMonitor(new LoggingTableTransformerMonitor(tableParsers()));
+        useExamplesTableFactory(new CachingExamplesTableFactory(this, examplesTableCache));
         parameterConverters().addConverters(
                 new ResolvingPlaceholdersExamplesTableConverter(examplesTableFactory(), placeholderResolver));
         useStoryParser(new RegexStoryParser(examplesTableFactory()));
@@ -176,4 +180,9 @@ public class ExtendedConfiguration extends Configuration
     {
         this.parameterControls = parameterControls;
     }
+
+    public void setExamplesTableCache(ExamplesTableCache examplesTableCache)
+    {
+        this.examplesTableCache = examplesTableCache;
+    }
 }
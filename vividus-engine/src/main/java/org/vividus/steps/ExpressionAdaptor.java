@@ -16,12 +16,11 @@
 
 package org.vividus.steps;
 
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.inject.Inject;
 
@@ -29,23 +28,20 @@ import org.jbehave.core.embedder.StoryControls;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.DryRunAwareExecutor;
+import org.vividus.expression.ExpressionProcessorIndex;
 import org.vividus.expression.IExpressionProcessor;
 
 public class ExpressionAdaptor implements DryRunAwareExecutor
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(ExpressionAdaptor.class);
 
-    private static final Pattern GREEDY_EXPRESSION_PATTERN = Pattern.compile("#\\{((?:(?!#\\{|\\$\\{).)*)}",
-            Pattern.DOTALL);
-    private static final Pattern RELUCTANT_EXPRESSION_PATTERN = Pattern.compile(
-            "#\\{((?:(?![#{]).[^(][^)])*?|(?:(?!#\\{|\\$\\{).)*?\\)|(?:(?!#\\{|\\$\\{).)*?)}",
-            Pattern.DOTALL);
-
-    private static final String REPLACEMENT_PATTERN = "\\#\\{%s\\}";
+    private static final String EXPRESSION_START = "#{";
+    private static final String VARIABLE_START = "${";
+    private static final char EXPRESSION_END = '}';
 
     private final StoryControls storyControls;
 
-    private List<IExpressionProcessor<?>> processors;
+    private ExpressionProcessorIndex<IExpressionProcessor<?>> processors;
 
     public ExpressionAdaptor(StoryControls storyControls)
     {
@@ -76,8 +72,7 @@ public class ExpressionAdaptor implements DryRunAwareExecutor
      */
     public Object processRawExpression(String expression)
     {
-        return execute(() -> processExpression(expression, () -> processExpression(expression,
-                List.of(RELUCTANT_EXPRESSION_PATTERN, GREEDY_EXPRESSION_PATTERN).iterator())), expression);
+        return execute(() -> processExpression(expression, () -> processExpressions(expression)), expression);
     }
 
     /**
@@ -116,39 +111,127 @@ public class ExpressionAdaptor implements DryRunAwareExecutor
         }
     }
 
-    private Object processExpression(String value, Iterator<Pattern> expressionPatterns)
+    /**
+     * Resolves the expressions in a single pass: the innermost expressions are resolved first and their results are
+     * substituted into the enclosing ones. A function-like expression, e.g. <code>#{name(arguments)}</code>, ends
+     * with the first <code>)}</code> sequence, so its arguments may contain curly braces, otherwise the expression ends
+     * with the first closing curly brace. The expressions which can't be resolved, containing unresolved nested
+     * expressions or variables are left as is.
+     */
+    private Object processExpressions(String value)
     {
-        String processedValue = value;
-        Matcher expressionMatcher = expressionPatterns.next().matcher(processedValue);
-        boolean expressionFound = false;
-        while (expressionMatcher.find())
+        StringBuilder output = new StringBuilder(value.length());
+        Deque<Expression> expressions = new ArrayDeque<>();
+        String input = value;
+        int index = 0;
+        while (true)
         {
-            expressionFound = true;
-            String expression = expressionMatcher.group(1);
-            Object expressionResult = apply(expression);
-            if (!(expressionResult instanceof String) && ("#{" + expression + "}").equals(processedValue))
+            if (index == input.length())
             {
-                return expressionResult;
+                Expression unterminatedExpression = rewindToFallbackEnd(expressions, output);
+                if (unterminatedExpression == null)
+                {
+                    return output.toString();
+                }
+                index = unterminatedExpression.fallbackEnd;
             }
-            if (!expressionResult.equals(expression))
+            Expression expression = expressions.peek();
+            char current = input.charAt(index);
+            if (input.startsWith(EXPRESSION_START, index))
             {
-                String regex = String.format(REPLACEMENT_PATTERN, Pattern.quote(expression));
-                processedValue = processedValue.replaceFirst(regex,
-                    Matcher.quoteReplacement(String.valueOf(expressionResult)));
-                expressionFound = false;
-                expressionMatcher.reset(processedValue);
+                if (expression != null)
+                {
+                    expression.detectFunction(output);
+                }
+                expressions.push(new Expression(output.length()));
+                output.append(EXPRESSION_START);
+                index += EXPRESSION_START.length();
+                continue;
             }
+            if (expression != null)
+            {
+                if (input.startsWith(VARIABLE_START, index))
+                {
+                    Expression rewoundExpression = rewindToFallbackEnd(expressions, output);
+                    if (rewoundExpression != null)
+                    {
+                        index = rewoundExpression.fallbackEnd;
+                        continue;
+                    }
+                }
+                else if (current == '(')
+                {
+                    expression.detectFunction(output);
+                }
+                else if (current == EXPRESSION_END && expression.isEndedBy(output))
+                {
+                    expressions.pop();
+                    String expressionBody = output.substring(expression.start + EXPRESSION_START.length());
+                    Object result = expression.resolvable ? apply(expressionBody) : expressionBody;
+                    if (result.equals(expressionBody))
+                    {
+                        Expression enclosingExpression = expressions.peek();
+                        if (enclosingExpression != null)
+                        {
+                            enclosingExpression.resolvable = false;
+                        }
+                    }
+                    else if (expression.start == 0 && index == input.length() - 1 && !(result instanceof String))
+                    {
+                        return result;
+                    }
+                    else
+                    {
+                        output.setLength(expression.start);
+                        String resultAsString = String.valueOf(result);
+                        if (resultAsString.contains(EXPRESSION_START))
+                        {
+                            // The result is processed as a part of the input, since it may contain expressions
+                            input = resultAsString + input.substring(index + 1);
+                            index = 0;
+                        }
+                        else
+                        {
+                            output.append(resultAsString);
+                            index++;
+                        }
+                        continue;
+                    }
+                }
+                else if (current == EXPRESSION_END && expression.fallbackEnd < 0)
+                {
+                    expression.fallbackEnd = index;
+                    expression.fallbackOutputLength = output.length();
+                }
+            }
+            output.append(current);
+            index++;
         }
-        if (expressionFound && expressionPatterns.hasNext())
+    }
+
+    /**
+     * Drops the unterminated expressions and ends the innermost one having a closing curly brace at the first such
+     * brace.
+     */
+    private static Expression rewindToFallbackEnd(Deque<Expression> expressions, StringBuilder output)
+    {
+        while (!expressions.isEmpty())
         {
-            return processExpression(processedValue, expressionPatterns);
+            Expression expression = expressions.peek();
+            if (expression.fallbackEnd >= 0)
+            {
+                output.setLength(expression.fallbackOutputLength);
+                expression.endAtFallback = true;
+                return expression;
+            }
+            expressions.pop();
         }
-        return processedValue;
+        return null;
     }
 
     private Object apply(String expression)
     {
-        for (IExpressionProcessor<?> processor : processors)
+        for (IExpressionProcessor<?> processor : processors.getProcessors(expression))
         {
             Optional<?> optional = processor.execute(expression);
             if (optional.isPresent())
@@ -162,7 +245,7 @@ public class ExpressionAdaptor implements DryRunAwareExecutor
     @Inject
     public void setProcessors(List<IExpressionProcessor<?>> processors)
     {
-        this.processors = processors;
+        this.processors = new ExpressionProcessorIndex<>(processors);
     }
 
     @Override
@@ -170,4 +253,38 @@ public class ExpressionAdaptor implements DryRunAwareExecutor
     {
         return storyControls;
     }
+
+    private static final class Expression
+    {
+        private final int start;
+        private boolean resolvable = true;
+        private Boolean function;
+        private int fallbackEnd = -1;
+        private int fallbackOutputLength;
+        private boolean endAtFallback;
+
+        private Expression(int start)
+        {
+            this.start = start;
+        }
+
+        private void detectFunction(StringBuilder output)
+        {
+            if (function == null)
+            {
+                int nameStart = start + EXPRESSION_START.length();
+                boolean nameFound = output.length() > nameStart;
+                for (int i = nameStart; nameFound && i < output.length(); i++)
+                {
+                    nameFound = Character.isLetterOrDigit(output.charAt(i));
+                }
+                function = nameFound;
+            }
+        }
+
+        private boolean isEndedBy(StringBuilder output)
+        {
+            return endAtFallback || !Boolean.TRUE.equals(function) || output.charAt(output.length() - 1) == ')';
+        }
+    }
 }
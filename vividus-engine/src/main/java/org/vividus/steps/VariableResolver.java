@@ -19,11 +19,12 @@ package org.vividus.steps;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
 import com.google.common.base.CaseFormat;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
-import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.embedder.StoryControls;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,7 +37,12 @@ public class VariableResolver implements DryRunAwareExecutor
     private static final Logger LOGGER = LoggerFactory.getLogger(VariableResolver.class);
 
     private static final String VARIABLE_START_MARKER = "${";
-    private static final String LINE_BREAKS = "[\r\n]*";
+    private static final long TEMPLATES_CACHE_MAX_CHARACTERS = 10_000_000;
+
+    private final LoadingCache<String, VariableTemplate> templates = CacheBuilder.newBuilder()
+            .maximumWeight(TEMPLATES_CACHE_MAX_CHARACTERS)
+            .weigher((String value, VariableTemplate template) -> value.length())
+            .build(CacheLoader.from(VariableTemplate::parse));
 
     private final VariableContext variableContext;
     private final Map<String, DynamicVariable> dynamicVariables;
@@ -61,98 +67,12 @@ public class VariableResolver implements DryRunAwareExecutor
 
     public Object resolve(final String value)
     {
-        if (value == null)
-        {
-            return null;
-        }
-
-        return resolveVariables(0, value);
-    }
-
-    private Object resolveVariables(int scanStartPosition, String value)
-    {
-        int start = -1;
-        int end = -1;
-        int level = 0;
-
-        for (int i = scanStartPosition; i < value.length(); i++)
-        {
-            switch (value.charAt(i))
-            {
-                case '$':
-                    if (i + 1 < value.length() && value.charAt(i + 1) == '{')
-                    {
-                        if (start == -1)
-                        {
-                            start = i;
-                        }
-                        level++;
-                    }
-                    break;
-                case '}':
-                    if (start != -1)
-                    {
-                        end = i;
-                    }
-                    if (level > 0)
-                    {
-                        level--;
-                    }
-                    break;
-                default:
-                    break;
-            }
-            if (level == 0 && end != -1)
-            {
-                return resolveVariable(value, start, end);
-            }
-        }
-        return value;
-    }
-
-    private Object resolveVariable(String value, int start, int end)
-    {
-        String variableKey = value.substring(start + 2, end);
-        Object resolved = resolveVariable(value, variableKey);
-        if (end == value.length() - 1)
+        if (value == null || !value.contains(VARIABLE_START_MARKER))
         {
-            return resolved;
+            return value;
         }
-        String resolvedStr = (String) resolved;
-        int nextScanStartPosition = resolvedStr.indexOf(value.substring(end + 1), start);
-        return resolveVariables(nextScanStartPosition, resolvedStr);
-    }
 
-    private Object resolveVariable(String value, String variableKey)
-    {
-        String updatedVariableKey;
-        String target;
-        if (variableKey.contains(VARIABLE_START_MARKER))
-        {
-            updatedVariableKey = (String) resolveVariables(0, variableKey);
-            target = StringUtils.replaceOnce(value, variableKey, updatedVariableKey);
-        }
-        else
-        {
-            updatedVariableKey = variableKey;
-            target = value;
-        }
-        return replaceVariableKeyWithValue(target, updatedVariableKey);
-    }
-
-    private Object replaceVariableKeyWithValue(String target, String variableKey)
-    {
-        Object variableValue = getVariableValue(variableKey);
-        if (variableValue == null)
-        {
-            return target;
-        }
-        String variablePlaceholder = VARIABLE_START_MARKER + variableKey + "}";
-        if (target.matches(LINE_BREAKS + Pattern.quote(variablePlaceholder) + LINE_BREAKS))
-        {
-            return variableValue;
-        }
-        return StringUtils.replaceOnce(target, variablePlaceholder, variableValue.toString());
+        return templates.getUnchecked(value).evaluate(this::getVariableValue);
     }
 
     private Object getVariableValue(String variableKey)
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pre-parsed representation of the value containing variable placeholders (<code>${...}</code>): the value is split
+ * once into the literal and placeholder segments, the keys of the placeholders may contain nested placeholders. The
+ * template is independent of the variables values, so it can be evaluated any number of times.
+ */
+final class VariableTemplate
+{
+    private static final String VARIABLE_START_MARKER = "${";
+    private static final char VARIABLE_END_MARKER = '}';
+
+    private final String source;
+    private final Segment[] segments;
+    private final boolean placeholdersPresent;
+
+    private VariableTemplate(String source, List<Segment> segments)
+    {
+        this.source = source;
+        this.segments = segments.toArray(new Segment[0]);
+        this.placeholdersPresent = segments.stream().anyMatch(Placeholder.class::isInstance);
+    }
+
+    static VariableTemplate parse(String value)
+    {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < value.length())
+        {
+            int start = value.indexOf(VARIABLE_START_MARKER, position);
+            int end = start == -1 ? -1 : findPlaceholderEnd(value, start);
+            if (end == -1)
+            {
+                segments.add(new Literal(value.substring(position)));
+                break;
+            }
+            if (start > position)
+            {
+                segments.add(new Literal(value.substring(position, start)));
+            }
+            VariableTemplate key = parse(value.substring(start + VARIABLE_START_MARKER.length(), end));
+            segments.add(new Placeholder(key, isLineBreaksOnly(value, end + 1)));
+            position = end + 1;
+        }
+        return new VariableTemplate(value, segments);
+    }
+
+    private static int findPlaceholderEnd(String value, int start)
+    {
+        int level = 0;
+        for (int i = start; i < value.length(); i++)
+        {
+            char current = value.charAt(i);
+            if (current == '$' && i + 1 < value.length() && value.charAt(i + 1) == '{')
+            {
+                level++;
+            }
+            else if (current == VARIABLE_END_MARKER)
+            {
+                level--;
+                if (level == 0)
+                {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isLineBreaksOnly(String value)
+    {
+        return isLineBreaksOnly(value, 0);
+    }
+
+    private static boolean isLineBreaksOnly(String value, int from)
+    {
+        for (int i = from; i < value.length(); i++)
+        {
+            char current = value.charAt(i);
+            if (current != '\r' && current != '\n')
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the template: the placeholders are replaced with the values of the variables, the placeholders
+     * referring to unknown variables are kept as is (with resolved nested placeholders). If the value consists of
+     * the single resolved placeholder optionally surrounded by line breaks, the variable value is returned as is
+     * without conversion to string.
+     *
+     * @param variableValueProvider the function providing the variable value by its name or <code>null</code> if
+     *                              the variable is not found
+     * @return the resolved value
+     */
+    Object evaluate(Function<String, Object> variableValueProvider)
+    {
+        if (!placeholdersPresent)
+        {
+            return source;
+        }
+        StringBuilder result = new StringBuilder(source.length());
+        boolean lineBreaksOnly = true;
+        for (Segment segment : segments)
+        {
+            if (segment instanceof Literal)
+            {
+                Literal literal = (Literal) segment;
+                result.append(literal.text);
+                lineBreaksOnly = lineBreaksOnly && literal.lineBreaksOnly;
+                continue;
+            }
+            Placeholder placeholder = (Placeholder) segment;
+            String variableKey = String.valueOf(placeholder.key.evaluate(variableValueProvider));
+            Object variableValue = variableValueProvider.apply(variableKey);
+            if (variableValue == null)
+            {
+                result.append(VARIABLE_START_MARKER).append(variableKey).append(VARIABLE_END_MARKER);
+                lineBreaksOnly = false;
+            }
+            else if (lineBreaksOnly && placeholder.followedByLineBreaksOnly)
+            {
+                return variableValue;
+            }
+            else
+            {
+                String variableValueAsString = variableValue.toString();
+                result.append(variableValueAsString);
+                lineBreaksOnly = lineBreaksOnly && isLineBreaksOnly(variableValueAsString);
+            }
+        }
+        return result.toString();
+    }
+
+    private interface Segment
+    {
+    }
+
+    private static final class Literal implements Segment
+    {
+        private final String text;
+        private final boolean lineBreaksOnly;
+
+        Literal(String text)
+        {
+            this.text = text;
+            this.lineBreaksOnly = isLineBreaksOnly(text);
+        }
+    }
+
+    private static final class Placeholder implements Segment
+    {
+        private final VariableTemplate key;
+        private final boolean followedByLineBreaksOnly;
+
+        Placeholder(VariableTemplate key, boolean followedByLineBreaksOnly)
+        {
+            this.key = key;
+            this.followedByLineBreaksOnly = followedByLineBreaksOnly;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jbehave.core.model.ExamplesTable;
+
+/**
+ * Immutable in-memory representation of ExamplesTable stored by columns. It is used to pass the tables between the
+ * chained {@link StructuredTableTransformer}s without rendering and parsing them on each step. The tables derived
+ * from the existing ones share the unchanged columns.
+ */
+public final class ColumnarTable
+{
+    private static final ColumnarTable EMPTY = new ColumnarTable(List.of(), List.of(), 0);
+
+    private final List<String> headers;
+    private final List<List<String>> columns;
+    private final int rowCount;
+
+    private ColumnarTable(List<String> headers, List<List<String>> columns, int rowCount)
+    {
+        this.headers = headers;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    public static ColumnarTable empty()
+    {
+        return EMPTY;
+    }
+
+    public static ColumnarTable fromRows(List<String> headers, Collection<? extends List<String>> rows)
+    {
+        int columnCount = headers.size();
+        List<List<String>> columns = IntStream.range(0, columnCount)
+                .<List<String>>mapToObj(i -> new ArrayList<>(rows.size()))
+                .collect(Collectors.toList());
+        for (List<String> row : rows)
+        {
+            for (int i = 0; i < columnCount; i++)
+            {
+                columns.get(i).add(row.get(i));
+            }
+        }
+        return new ColumnarTable(List.copyOf(headers), unmodifiable(columns), rows.size());
+    }
+
+    public static ColumnarTable fromColumns(List<String> headers, List<List<String>> columns)
+    {
+        isTrue(headers.size() == columns.size(), "The number of headers %d does not match the number of columns %d",
+                headers.size(), columns.size());
+        int rowCount = columns.isEmpty() ? 0 : columns.get(0).size();
+        if (columns.stream().anyMatch(column -> column.size() != rowCount))
+        {
+            String columnNamesPerValuesNumbers = IntStream.range(0, headers.size())
+                    .mapToObj(i -> String.format("column '%s' has %d value(s)", headers.get(i), columns.get(i).size()))
+                    .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException("Columns are not aligned: " + columnNamesPerValuesNumbers);
+        }
+        return new ColumnarTable(List.copyOf(headers), unmodifiable(columns), rowCount);
+    }
+
+    public static ColumnarTable fromExamplesTable(ExamplesTable table)
+    {
+        List<String> headers = table.getHeaders();
+        List<Map<String, String>> rows = table.getRows();
+        List<List<String>> columns = headers.stream()
+                .map(header -> rows.stream().map(row -> row.get(header)).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        return new ColumnarTable(List.copyOf(headers), unmodifiable(columns), rows.size());
+    }
+
+    private static List<String> virtualColumn(int size, IntFunction<String> valueProvider)
+    {
+        return new VirtualColumn(size, valueProvider);
+    }
+
+    private static List<List<String>> unmodifiable(List<List<String>> columns)
+    {
+        return columns.stream().map(Collections::unmodifiableList).collect(Collectors.toUnmodifiableList());
+    }
+
+    public List<String> getHeaders()
+    {
+        return headers;
+    }
+
+    public boolean isEmpty()
+    {
+        return headers.isEmpty();
+    }
+
+    public int getRowCount()
+    {
+        return rowCount;
+    }
+
+    public List<List<String>> getColumns()
+    {
+        return columns;
+    }
+
+    public List<String> getColumn(String header)
+    {
+        int index = headers.indexOf(header);
+        isTrue(index >= 0, "The table does not contain column '%s'", header);
+        return columns.get(index);
+    }
+
+    /**
+     * Provides the table rows as read-only views over the columns.
+     *
+     * @return the table rows
+     */
+    public List<List<String>> getRows()
+    {
+        return new AbstractList<>()
+        {
+            @Override
+            public List<String> get(int rowIndex)
+            {
+                return getRow(rowIndex);
+            }
+
+            @Override
+            public int size()
+            {
+                return rowCount;
+            }
+        };
+    }
+
+    public List<String> getRow(int rowIndex)
+    {
+        return new AbstractList<>()
+        {
+            @Override
+            public String get(int columnIndex)
+            {
+                return columns.get(columnIndex).get(rowIndex);
+            }
+
+            @Override
+            public int size()
+            {
+                return columns.size();
+            }
+        };
+    }
+
+    /**
+     * Creates the table containing the columns with the given names in the given order.
+     *
+     * @param columnNames the names of the columns to keep
+     * @return the table with the selected columns
+     */
+    public ColumnarTable selectColumns(List<String> columnNames)
+    {
+        List<List<String>> selectedColumns = columnNames.stream().map(this::getColumn)
+                .collect(Collectors.toUnmodifiableList());
+        return new ColumnarTable(List.copyOf(columnNames), selectedColumns, rowCount);
+    }
+
+    /**
+     * Creates the table containing the rows with the given indices in the given order, the same row may be selected
+     * several times.
+     *
+     * @param rowIndices the indices of the rows to keep
+     * @return the table with the selected rows
+     */
+    public ColumnarTable selectRows(int... rowIndices)
+    {
+        List<List<String>> selectedColumns = columns.stream()
+                .map(column -> IntStream.of(rowIndices).mapToObj(column::get).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        return new ColumnarTable(headers, unmodifiable(selectedColumns), rowIndices.length);
+    }
+
+    /**
+     * Creates the table containing the rows of this table repeated the given number of times. The rows are not
+     * copied: the values are looked up in this table on access. Note that {@link TablePipeline} renders the result of
+     * each transformer to the string, so all the repeated rows are still materialized once the transformer completes.
+     *
+     * @param times the number of repetitions
+     * @return the table with the repeated rows
+     */
+    public ColumnarTable repeatRows(int times)
+    {
+        isTrue(times >= 0, "The number of repetitions must be non-negative, but got %d", times);
+        int repeatedRowCount = Math.multiplyExact(rowCount, times);
+        List<List<String>> repeatedColumns = columns.stream()
+                .map(column -> virtualColumn(repeatedRowCount, rowIndex -> column.get(rowIndex % rowCount)))
+                .collect(Collectors.toUnmodifiableList());
+        return new ColumnarTable(headers, repeatedColumns, repeatedRowCount);
+    }
+
+    /**
+     * Creates the cartesian product of this table and the other table: each row of this table is combined with each
+     * row of the other table. The combinations are not copied: the values are looked up in the source tables on
+     * access. Note that {@link TablePipeline} renders the result of each transformer to the string, so all the
+     * combinations are still materialized once the transformer completes.
+     *
+     * @param other the table to combine with
+     * @return the cartesian product of the tables
+     */
+    public ColumnarTable cartesianProduct(ColumnarTable other)
+    {
+        int otherRowCount = other.rowCount;
+        int productRowCount = Math.multiplyExact(rowCount, otherRowCount);
+        List<String> productHeaders = new ArrayList<>(headers);
+        productHeaders.addAll(other.headers);
+        List<List<String>> productColumns = new ArrayList<>(headers.size() + other.headers.size());
+        columns.forEach(column -> productColumns.add(
+                virtualColumn(productRowCount, rowIndex -> column.get(rowIndex / otherRowCount))));
+        other.columns.forEach(column -> productColumns.add(
+                virtualColumn(productRowCount, rowIndex -> column.get(rowIndex % otherRowCount))));
+        return new ColumnarTable(List.copyOf(productHeaders), Collections.unmodifiableList(productColumns),
+                productRowCount);
+    }
+
+    /**
+     * Creates the table with the columns of this table followed by the columns of the other table.
+     *
+     * @param other the table with the same number of rows
+     * @return the table with the columns of the both tables
+     */
+    public ColumnarTable appendColumns(ColumnarTable other)
+    {
+        List<String> allHeaders = new ArrayList<>(headers);
+        allHeaders.addAll(other.headers);
+        List<List<String>> allColumns = new ArrayList<>(columns);
+        allColumns.addAll(other.columns);
+        return fromColumns(allHeaders, allColumns);
+    }
+
+    /**
+     * Creates the table with the values of all cells replaced using the given function, the cells are processed
+     * row by row.
+     *
+     * @param mapper the function to apply to the cell values
+     * @return the table with the mapped values
+     */
+    public ColumnarTable mapValues(UnaryOperator<String> mapper)
+    {
+        List<List<String>> mappedColumns = columns.stream()
+                .<List<String>>map(column -> new ArrayList<>(rowCount))
+                .collect(Collectors.toList());
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++)
+        {
+            for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++)
+            {
+                mappedColumns.get(columnIndex).add(mapper.apply(columns.get(columnIndex).get(rowIndex)));
+            }
+        }
+        return new ColumnarTable(headers, unmodifiable(mappedColumns), rowCount);
+    }
+
+    private static final class VirtualColumn extends AbstractList<String> implements RandomAccess
+    {
+        private final int size;
+        private final IntFunction<String> valueProvider;
+
+        VirtualColumn(int size, IntFunction<String> valueProvider)
+        {
+            this.size = size;
+            this.valueProvider = valueProvider;
+        }
+
+        @Override
+        public String get(int index)
+        {
+            Objects.checkIndex(index, size);
+            return valueProvider.apply(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+    }
+}
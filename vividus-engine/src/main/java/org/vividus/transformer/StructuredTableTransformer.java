@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.ExamplesTable.TableRows;
+import org.jbehave.core.model.TableParsers;
+
+/**
+ * Table transformer operating on the in-memory {@link ColumnarTable}. When the transformer follows another structured
+ * transformer in the chain, it gets the table produced by the previous transformer instead of parsing its string
+ * representation, so a chain of structured transformers parses the initial table only once. The string-based
+ * {@link ExtendedTableTransformer} contract is kept for the interoperability with any other transformers.
+ */
+public interface StructuredTableTransformer extends ExtendedTableTransformer
+{
+    /**
+     * Transforms the table.
+     *
+     * @param table           the table to transform, it's empty if the input table is blank
+     * @param tableParsers    the table parsers
+     * @param tableProperties the table properties
+     * @return the transformed table
+     */
+    ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties tableProperties);
+
+    /**
+     * Parses the input table, the method is invoked only if the input table is not produced by the preceding
+     * structured transformer.
+     *
+     * @param tableAsString   the input table
+     * @param tableParsers    the table parsers
+     * @param tableProperties the table properties
+     * @return the parsed table
+     */
+    default ColumnarTable parse(String tableAsString, TableParsers tableParsers, TableProperties tableProperties)
+    {
+        if (tableAsString.isBlank())
+        {
+            return ColumnarTable.empty();
+        }
+        TableRows tableRows = tableParsers.parseRows(tableAsString, tableProperties);
+        return ColumnarTable.fromRows(tableRows.getHeaders(), tableRows.getRows());
+    }
+
+    @Override
+    default String transform(String tableAsString, TableParsers tableParsers, TableProperties tableProperties)
+    {
+        return TablePipeline.transform(this, tableAsString, tableParsers, tableProperties);
+    }
+}
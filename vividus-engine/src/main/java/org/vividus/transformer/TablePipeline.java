@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableParsers;
+import org.vividus.util.ExamplesTableProcessor;
+
+/**
+ * Connects the chained {@link StructuredTableTransformer}s. JBehave passes the tables between the transformers as
+ * strings, so each rendered table is remembered along with its in-memory representation. The next structured
+ * transformer receives the same string instance and reuses the in-memory table instead of parsing the string. The
+ * strings are compared by identity and held weakly, so the tables are released as soon as the strings are not used.
+ */
+final class TablePipeline
+{
+    private static final int MAX_RENDERED_TABLES = 64;
+    private static final Set<String> PARSING_PROPERTIES = Set.of("headerSeparator", "valueSeparator",
+            "ignorableSeparator", "commentSeparator", "processEscapeSequences", "nullPlaceholder");
+    private static final String LINE_BREAK = "\n";
+    private static final String CARRIAGE_RETURN = "\r";
+
+    private static final Cache<String, ColumnarTable> RENDERED_TABLES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_RENDERED_TABLES)
+            .build();
+
+    private TablePipeline()
+    {
+    }
+
+    static String transform(StructuredTableTransformer transformer, String tableAsString, TableParsers tableParsers,
+            TableProperties tableProperties)
+    {
+        ColumnarTable table = getRenderedTable(tableAsString, tableProperties)
+                .orElseGet(() -> transformer.parse(tableAsString, tableParsers, tableProperties));
+        return render(transformer.transform(table, tableParsers, tableProperties), tableProperties);
+    }
+
+    private static Optional<ColumnarTable> getRenderedTable(String tableAsString, TableProperties tableProperties)
+    {
+        if (PARSING_PROPERTIES.stream().anyMatch(tableProperties.getProperties()::containsKey))
+        {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(RENDERED_TABLES.getIfPresent(tableAsString));
+    }
+
+    static String render(ColumnarTable table, TableProperties tableProperties)
+    {
+        String tableAsString = ExamplesTableProcessor.buildExamplesTable(table.getHeaders(), table.getRows(),
+                tableProperties, true);
+        if (!table.isEmpty() && isParsedAsIs(table, tableProperties))
+        {
+            RENDERED_TABLES.put(tableAsString, table);
+        }
+        return tableAsString;
+    }
+
+    /**
+     * Checks whether parsing of the rendered table gives the same table: the values must not be trimmed, must not
+     * contain separators and line breaks, and the lines must not be treated as ignorable.
+     */
+    private static boolean isParsedAsIs(ColumnarTable table, TableProperties tableProperties)
+    {
+        String headerSeparator = tableProperties.getHeaderSeparator();
+        String valueSeparator = tableProperties.getValueSeparator();
+        String ignorableSeparator = tableProperties.getIgnorableSeparator();
+        Predicate<String> plainValue = value -> value != null && value.equals(value.trim())
+                && !value.contains(headerSeparator) && !value.contains(valueSeparator) && !value.contains(LINE_BREAK)
+                && !value.contains(CARRIAGE_RETURN);
+        return table.getHeaders().stream().allMatch(plainValue)
+                && table.getColumns().stream().flatMap(List::stream).allMatch(plainValue)
+                && !(headerSeparator + table.getHeaders().get(0)).startsWith(ignorableSeparator)
+                && table.getColumns().get(0).stream()
+                        .noneMatch(value -> (valueSeparator + value).startsWith(ignorableSeparator));
+    }
+}
@@ -86,8 +86,9 @@ public final class ExamplesTableProcessor
         {
             appendTableProperties(examplesTableBuilder, properties, properties.getRowSeparator());
         }
+        List<List<String>> rows = data instanceof List ? (List<List<String>>) data : List.copyOf(data);
         String stringExampleTable = ExamplesTableStringBuilder.buildExamplesTableString(properties, List.copyOf(header),
-                List.copyOf(data)).trim();
+                rows).trim();
         return examplesTableBuilder.length() > 0 ? examplesTableBuilder.append(stringExampleTable).toString()
                 : stringExampleTable;
     }
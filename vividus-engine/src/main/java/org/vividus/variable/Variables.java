@@ -16,18 +16,21 @@
 
 package org.vividus.variable;
 
-import java.util.Deque;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
 
@@ -38,71 +41,120 @@ public class Variables
     private static final int MAP_KEY_GROUP = 3;
     private static final Pattern COMPOUND_VARIABLE_PATTERN = Pattern.compile(
             "([^\\[\\].:]+):?(?:\\[(\\d+)])?:?(?:\\.([^:]+))?:?");
+    private static final int VARIABLE_KEYS_CACHE_SIZE = 10_000;
+
+    private static final LoadingCache<String, VariableKey> VARIABLE_KEYS = CacheBuilder.newBuilder()
+            .maximumSize(VARIABLE_KEYS_CACHE_SIZE)
+            .build(CacheLoader.from(VariableKey::new));
+
+    private static final ClassValue<Map<String, Optional<Field>>> DECLARED_FIELDS = new ClassValue<>()
+    {
+        @Override
+        protected Map<String, Optional<Field>> computeValue(Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     private final Map<String, Object> batchVariables;
     private final Map<String, Object> storyVariables;
     private final Map<String, Object> scenarioVariables;
-    private final Deque<Map<String, Object>> stepVariables;
+    // The stack of step variables: the last element contains variables of the innermost step
+    private final List<Map<String, Object>> stepVariables;
+    private Map<String, Object> mergedVariables;
 
     public Variables(Map<String, Object> batchVariables)
     {
         this.batchVariables = batchVariables;
         storyVariables = new HashMap<>();
         scenarioVariables = new HashMap<>();
-        stepVariables = new LinkedList<>();
+        stepVariables = new ArrayList<>();
     }
 
     public Object getVariable(String variableKey)
     {
-        VariableKey key = new VariableKey(variableKey);
-        return concatedVariables()
-                .map(scopedVariables -> getVariable(scopedVariables, key))
-                .flatMap(Optional::stream)
-                .findFirst()
-                .or(() -> key.defaultValue)
-                .or(() -> getSystemProperty(variableKey))
-                .orElseGet(() -> System.getenv(variableKey));
-    }
-
-    private Stream<Map<String, Object>> concatedVariables()
-    {
-        return Stream.concat(stepVariables.stream(), Stream.of(scenarioVariables, storyVariables, batchVariables));
+        VariableKey key = VARIABLE_KEYS.getUnchecked(variableKey);
+        for (int i = stepVariables.size() - 1; i >= 0; i--)
+        {
+            Object variable = getVariable(stepVariables.get(i), key);
+            if (variable != null)
+            {
+                return variable;
+            }
+        }
+        Object variable = getVariable(scenarioVariables, key);
+        if (variable == null)
+        {
+            variable = getVariable(storyVariables, key);
+            if (variable == null)
+            {
+                variable = getVariable(batchVariables, key);
+            }
+        }
+        if (variable != null)
+        {
+            return variable;
+        }
+        if (key.defaultValue != null)
+        {
+            return key.defaultValue;
+        }
+        String systemProperty = variableKey.isBlank() ? null : System.getProperty(variableKey);
+        return systemProperty != null ? systemProperty : System.getenv(variableKey);
     }
 
+    /**
+     * Returns all variables available in the current scope, the merged view is built once and re-used until any
+     * of the scoped variables are changed.
+     *
+     * @return unmodifiable map of variables
+     */
     public Map<String, Object> getVariables()
     {
-        return concatedVariables().map(Map::entrySet)
-                                  .flatMap(Set::stream)
-                                  .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (k1, k2) -> k2));
+        if (mergedVariables == null)
+        {
+            Map<String, Object> variables = new HashMap<>();
+            for (int i = stepVariables.size() - 1; i >= 0; i--)
+            {
+                variables.putAll(stepVariables.get(i));
+            }
+            variables.putAll(scenarioVariables);
+            variables.putAll(storyVariables);
+            variables.putAll(batchVariables);
+            mergedVariables = Collections.unmodifiableMap(variables);
+        }
+        return mergedVariables;
     }
 
-    private Optional<Object> getVariable(Map<String, Object> variables, VariableKey variableKey)
+    private Object getVariable(Map<String, Object> variables, VariableKey variableKey)
     {
-        return Optional.ofNullable(variables.get(variableKey.key))
-                .or(() -> variableKey.hasDefaultValue()
-                        ? Optional.ofNullable(variables.get(variableKey.name))
-                        : Optional.empty()
-                )
-                .or(() -> resolveAsCompound(variables, variableKey.key));
+        Object variable = variables.get(variableKey.key);
+        if (variable == null && variableKey.defaultValue != null)
+        {
+            variable = variables.get(variableKey.name);
+        }
+        return variable != null ? variable : resolveAsCompound(variables, variableKey);
     }
 
-    private Optional<Object> resolveAsCompound(Map<String, Object> variables, String key)
+    private Object resolveAsCompound(Map<String, Object> variables, VariableKey variableKey)
     {
-        Matcher variableMatcher = COMPOUND_VARIABLE_PATTERN.matcher(key);
-        if (!variableMatcher.find())
+        if (variableKey.compoundName == null)
         {
-            return Optional.empty();
+            return null;
+        }
+        Object variable = variables.get(variableKey.compoundName);
+        if (variable == null)
+        {
+            return null;
         }
-        String variableKey = variableMatcher.group(VARIABLE_NAME_GROUP);
-        return Optional.ofNullable(variables.get(variableKey))
-                       .map(v -> resolveAsListItem(variableMatcher, v))
-                       .map(v -> resolveAsMapItemOrObjectField(variableMatcher, v));
+        variable = resolveAsListItem(variableKey, variable);
+        return variable != null ? resolveAsMapItemOrObjectField(variableKey, variable) : null;
     }
 
     @SuppressWarnings("unchecked")
-    private Object resolveAsMapItemOrObjectField(Matcher variableMatcher, Object variable)
+    private Object resolveAsMapItemOrObjectField(VariableKey variableKey, Object variable)
     {
-        String key = variableMatcher.group(MAP_KEY_GROUP);
+        String key = variableKey.mapKey;
         if (key == null)
         {
             return variable;
@@ -110,19 +162,30 @@ public class Variables
         if (variable instanceof Map)
         {
             Map<String, Object> map = (Map<String, Object>) variable;
-            return Optional.ofNullable(map.get(key)).or(() -> resolveAsCompound(map, key)).orElse(null);
-        }
-        else
-        {
-            return Optional.ofNullable(readFieldSafely(variable, key)).orElse(variable);
+            Object value = map.get(key);
+            return value != null ? value : resolveAsCompound(map, VARIABLE_KEYS.getUnchecked(key));
         }
+        Object fieldValue = readFieldSafely(variable, key);
+        return fieldValue != null ? fieldValue : variable;
     }
 
     private Object readFieldSafely(Object variable, String fieldName)
     {
+        Class<?> type = variable.getClass();
+        Map<String, Optional<Field>> fields = DECLARED_FIELDS.get(type);
+        Optional<Field> field = fields.get(fieldName);
+        if (field == null)
+        {
+            field = findDeclaredField(type, fieldName);
+            fields.put(fieldName, field);
+        }
+        if (field.isEmpty())
+        {
+            return null;
+        }
         try
         {
-            return FieldUtils.readDeclaredField(variable, fieldName, true);
+            return field.get().get(variable);
         }
         catch (IllegalAccessException | IllegalArgumentException e)
         {
@@ -130,41 +193,50 @@ public class Variables
         }
     }
 
-    private Object resolveAsListItem(Matcher variableMatcher, Object variable)
+    private static Optional<Field> findDeclaredField(Class<?> type, String fieldName)
     {
-        String listIndex = variableMatcher.group(LIST_INDEX_GROUP);
-        if (listIndex != null && variable instanceof List)
+        try
         {
-            List<?> listVariable = (List<?>) variable;
-            int elementIndex = Integer.parseInt(listIndex);
-            return elementIndex < listVariable.size() ? listVariable.get(elementIndex) : null;
+            return Optional.ofNullable(FieldUtils.getDeclaredField(type, fieldName, true));
+        }
+        catch (InaccessibleObjectException | SecurityException e)
+        {
+            return Optional.empty();
         }
-        return variable;
     }
 
-    private Optional<String> getSystemProperty(String variableKey)
+    private Object resolveAsListItem(VariableKey variableKey, Object variable)
     {
-        return variableKey.isBlank() ? Optional.empty() : Optional.ofNullable(System.getProperty(variableKey));
+        if (variableKey.listIndex >= 0 && variable instanceof List)
+        {
+            List<?> listVariable = (List<?>) variable;
+            return variableKey.listIndex < listVariable.size() ? listVariable.get(variableKey.listIndex) : null;
+        }
+        return variable;
     }
 
     public void putStepVariable(String variableKey, Object variableValue)
     {
-        stepVariables.peek().put(variableKey, variableValue);
+        stepVariables.get(stepVariables.size() - 1).put(variableKey, variableValue);
+        mergedVariables = null;
     }
 
     public void putScenarioVariable(String variableKey, Object variableValue)
     {
         scenarioVariables.put(variableKey, variableValue);
+        mergedVariables = null;
     }
 
     public void putStoryVariable(String variableKey, Object variableValue)
     {
         storyVariables.put(variableKey, variableValue);
+        mergedVariables = null;
     }
 
     public void initStepVariables()
     {
-        stepVariables.push(new HashMap<>());
+        stepVariables.add(new HashMap<>());
+        mergedVariables = null;
     }
 
     public void clearStepVariables()
@@ -173,22 +245,30 @@ public class Variables
         // report 'failed', which will trigger  step variables clean up
         if (!stepVariables.isEmpty())
         {
-            stepVariables.pop();
+            stepVariables.remove(stepVariables.size() - 1);
+            mergedVariables = null;
         }
     }
 
     public void clearScenarioVariables()
     {
         scenarioVariables.clear();
+        mergedVariables = null;
     }
 
+    /**
+     * Parsed variable key: <code>name[index].field:default</code>, all parts except the name are optional.
+     */
     private static final class VariableKey
     {
         private static final char COLON = ':';
 
         private final String key;
         private final String name;
-        private final Optional<String> defaultValue;
+        private final String defaultValue;
+        private final String compoundName;
+        private final int listIndex;
+        private final String mapKey;
 
         private VariableKey(String key)
         {
@@ -198,18 +278,44 @@ public class Variables
             if (colonIndex >= 0)
             {
                 name = key.substring(0, colonIndex);
-                defaultValue = Optional.of(key.substring(colonIndex + 1));
+                defaultValue = key.substring(colonIndex + 1);
             }
             else
             {
                 name = key;
-                defaultValue = Optional.empty();
+                defaultValue = null;
+            }
+
+            Matcher variableMatcher = COMPOUND_VARIABLE_PATTERN.matcher(key);
+            if (variableMatcher.find())
+            {
+                compoundName = variableMatcher.group(VARIABLE_NAME_GROUP);
+                listIndex = parseListIndex(variableMatcher.group(LIST_INDEX_GROUP));
+                mapKey = variableMatcher.group(MAP_KEY_GROUP);
+            }
+            else
+            {
+                compoundName = null;
+                listIndex = -1;
+                mapKey = null;
             }
         }
 
-        private boolean hasDefaultValue()
+        private static int parseListIndex(String listIndex)
         {
-            return defaultValue.isPresent();
+            if (listIndex == null)
+            {
+                return -1;
+            }
+            try
+            {
+                return Integer.parseInt(listIndex);
+            }
+            catch (NumberFormatException e)
+            {
+                // The index is out of int range, so it is definitely out of the list bounds
+                return Integer.MAX_VALUE;
+            }
         }
     }
 }
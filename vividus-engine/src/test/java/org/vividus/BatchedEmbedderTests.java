@@ -18,8 +18,12 @@ package org.vividus;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
@@ -38,6 +42,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
@@ -157,6 +162,41 @@ class BatchedEmbedderTests
         assertThat(executorService.getThreadFactory(), instanceOf(BasicThreadFactory.class));
     }
 
+    @Test
+    void shouldRunBatchOnVirtualThreads()
+    {
+        BatchedEmbedder spy = createBatchedEmbedderSpy(false);
+        ThreadFactory virtualThreadFactory = mock(ThreadFactory.class);
+        doReturn(virtualThreadFactory).when(spy).createVirtualThreadFactory();
+        MetaFilter mockedFilter = mock(MetaFilter.class);
+        doReturn(mockedFilter).when(spy).metaFilter();
+        EmbedderControls mockedEmbedderControls = mockEmbedderControls(spy);
+        when(mockedEmbedderControls.threads()).thenReturn(THREADS);
+        mockBatchConfiguration(false).setVirtualThreads(true);
+        spy.runStoriesAsPaths(Map.of(BATCH, List.of(PATH)));
+        List<ExecutorService> service = new ArrayList<>(1);
+        verify(spy).useExecutorService(argThat(service::add));
+        verify(storyManager).runStoriesAsPaths(eq(List.of(PATH)), eq(mockedFilter), any(BatchFailures.class));
+        verifyExecutorService(service.get(0));
+        BasicThreadFactory threadFactory = (BasicThreadFactory) ((ThreadPoolExecutor) service.get(0))
+                .getThreadFactory();
+        assertSame(virtualThreadFactory, threadFactory.getWrappedFactory());
+    }
+
+    @Test
+    void shouldFailToRunBatchOnVirtualThreadsIfRuntimeDoesNotSupportThem()
+    {
+        assumeTrue(Runtime.version().feature() < 21);
+        BatchedEmbedder spy = createBatchedEmbedderSpy(false);
+        EmbedderControls mockedEmbedderControls = mockEmbedderControls(spy);
+        when(mockedEmbedderControls.threads()).thenReturn(THREADS);
+        mockBatchConfiguration(false).setVirtualThreads(true);
+        Map<String, List<String>> batches = Map.of(BATCH, List.of(PATH));
+        var exception = assertThrows(IllegalStateException.class, () -> spy.runStoriesAsPaths(batches));
+        assertThat(exception.getMessage(), startsWith("Virtual threads are not supported by the current Java runtime"));
+        verify(runTestContext, never()).putRunningBatch(BATCH);
+    }
+
     @Test
     void testRunStoriesAsPathsSkip()
     {
@@ -262,12 +302,12 @@ class BatchedEmbedderTests
         return mockedEmbedderControls;
     }
 
-    private void mockBatchConfiguration(boolean failFast)
+    private BatchConfiguration mockBatchConfiguration(boolean failFast)
     {
-        mockBatchConfiguration(failFast, null);
+        return mockBatchConfiguration(failFast, null);
     }
 
-    private void mockBatchConfiguration(boolean failFast, Boolean failStoryFast)
+    private BatchConfiguration mockBatchConfiguration(boolean failFast, Boolean failStoryFast)
     {
         var batchConfiguration = spy(new BatchConfiguration());
         batchConfiguration.setStoryExecutionTimeout(Duration.ofHours(1));
@@ -276,6 +316,7 @@ class BatchedEmbedderTests
         batchConfiguration.setFailFast(failFast);
         when(batchConfiguration.isFailStoryFast()).thenReturn(failStoryFast);
         when(batchStorage.getBatchConfiguration(BATCH)).thenReturn(batchConfiguration);
+        return batchConfiguration;
     }
 
     private boolean assertEmbedderControls(EmbedderControls controls)
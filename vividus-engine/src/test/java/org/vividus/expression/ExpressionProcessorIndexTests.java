@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ExpressionProcessorIndexTests
+{
+    @Mock private IExpressionProcessor<String> trimProcessor;
+    @Mock private IExpressionProcessor<String> caseProcessor;
+    @Mock private IExpressionProcessor<String> unnamedProcessor;
+
+    @Test
+    void shouldFindProcessorsByExpressionName()
+    {
+        when(trimProcessor.getExpressionNames()).thenReturn(Set.of("trim"));
+        when(caseProcessor.getExpressionNames()).thenReturn(Set.of("toUpperCase", "toLowerCase"));
+        ExpressionProcessorIndex<IExpressionProcessor<String>> index = new ExpressionProcessorIndex<>(
+                List.of(trimProcessor, unnamedProcessor, caseProcessor));
+        assertEquals(List.of(trimProcessor, unnamedProcessor), index.getProcessors("trim( value )"));
+        assertEquals(List.of(unnamedProcessor, caseProcessor), index.getProcessors("TOUPPERCASE(value)"));
+        assertEquals(List.of(unnamedProcessor), index.getProcessors("capitalize(value)"));
+        assertEquals(List.of(trimProcessor, unnamedProcessor, caseProcessor), index.getProcessors("trim"));
+        assertEquals(List.of(trimProcessor, unnamedProcessor, caseProcessor), index.getProcessors("(value)"));
+        assertEquals(Set.of(), index.getExpressionNames());
+    }
+
+    @Test
+    void shouldProvideExpressionNamesIfAllProcessorsAreNamed()
+    {
+        when(trimProcessor.getExpressionNames()).thenReturn(Set.of("trim"));
+        when(caseProcessor.getExpressionNames()).thenReturn(Set.of("toUpperCase"));
+        ExpressionProcessorIndex<IExpressionProcessor<String>> index = new ExpressionProcessorIndex<>(
+                List.of(trimProcessor, caseProcessor));
+        assertEquals(Set.of("trim", "touppercase"), index.getExpressionNames());
+        assertEquals(List.of(), index.getProcessors("capitalize(value)"));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,8 +19,10 @@ package org.vividus.expression;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -59,4 +61,10 @@ class FunctionalExpressionProcessorTests
         Optional<String> actual = processor.execute(expression);
         assertEquals(Optional.empty(), actual);
     }
+
+    @Test
+    void shouldProvideExpressionName()
+    {
+        assertEquals(Set.of("expression"), processor.getExpressionNames());
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jbehave.core.model.Story;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DurationBasedStoryExecutionPriorityTests
+{
+    private static final String MORROWIND_STORY = "morrowind.story";
+    private static final String OBLIVION_STORY = "oblivion.story";
+    private static final String SKYRIM_STORY = "skyrim.story";
+
+    @Test
+    void shouldSortStoriesByHistoricalDurationDescending(@TempDir Path tempDir)
+    {
+        StoryDurationHistory history = new StoryDurationHistory(tempDir.resolve("durations.properties").toString());
+        history.recordDuration(OBLIVION_STORY, Duration.ofMinutes(1));
+        history.recordDuration(SKYRIM_STORY, Duration.ofMinutes(10));
+        Story oblivionStory = create(OBLIVION_STORY);
+        Story morrowindStory = create(MORROWIND_STORY);
+        Story skyrimStory = create(SKYRIM_STORY);
+
+        assertEquals(List.of(morrowindStory, skyrimStory, oblivionStory),
+                List.of(oblivionStory, skyrimStory, morrowindStory).stream()
+                        .sorted(DurationBasedStoryExecutionPriority.byHistoricalDuration(history))
+                        .collect(Collectors.toList()));
+    }
+
+    private static Story create(String path)
+    {
+        Story story = mock(Story.class);
+        when(story.getPath()).thenReturn(path);
+        return story;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StoryDurationHistoryTests
+{
+    private static final String STORY_PATH = "story/path.story";
+    private static final String ANOTHER_STORY_PATH = "story/another.story";
+
+    @Test
+    void shouldSaveAndLoadDurations(@TempDir Path tempDir) throws IOException
+    {
+        String historyFile = tempDir.resolve("nested/durations.properties").toString();
+        StoryDurationHistory history = new StoryDurationHistory(historyFile);
+        history.load();
+        history.recordDuration(STORY_PATH, Duration.ofSeconds(2));
+        history.save();
+
+        StoryDurationHistory nextRunHistory = new StoryDurationHistory(historyFile);
+        nextRunHistory.load();
+        nextRunHistory.recordDuration(ANOTHER_STORY_PATH, Duration.ofSeconds(1));
+        nextRunHistory.save();
+
+        StoryDurationHistory loadedHistory = new StoryDurationHistory(historyFile);
+        loadedHistory.load();
+        assertEquals(Optional.of(Duration.ofSeconds(2)), loadedHistory.getDuration(STORY_PATH));
+        assertEquals(Optional.of(Duration.ofSeconds(1)), loadedHistory.getDuration(ANOTHER_STORY_PATH));
+    }
+
+    @Test
+    void shouldNotRecordDurationsIfDisabled(@TempDir Path tempDir) throws IOException
+    {
+        StoryDurationHistory history = new StoryDurationHistory("");
+        assertFalse(history.isEnabled());
+        history.load();
+        history.recordDuration(STORY_PATH, Duration.ofSeconds(2));
+        history.save();
+        assertEquals(Optional.empty(), history.getDuration(STORY_PATH));
+        try (var files = Files.list(tempDir))
+        {
+            assertTrue(files.findAny().isEmpty());
+        }
+    }
+}
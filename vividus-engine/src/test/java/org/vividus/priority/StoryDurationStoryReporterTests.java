@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.StepCollector.Stage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.context.RunContext;
+import org.vividus.model.RunningStory;
+
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
+class StoryDurationStoryReporterTests
+{
+    private static final String STORY_PATH = "story/path.story";
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(StoryDurationStoryReporter.class);
+
+    @Mock private StoryDurationHistory storyDurationHistory;
+    @Mock private RunContext runContext;
+    @InjectMocks private StoryDurationStoryReporter reporter;
+
+    @Test
+    void shouldRecordStoryDuration()
+    {
+        Story story = new Story(STORY_PATH);
+        when(storyDurationHistory.isEnabled()).thenReturn(true);
+        mockRunningStory(story);
+        reporter.beforeStory(story, false);
+        reporter.afterStory(false);
+        verify(storyDurationHistory).recordDuration(eq(STORY_PATH), argThat(duration -> !duration.isNegative()));
+    }
+
+    @Test
+    void shouldRecordStoryDurationOnlyOnce()
+    {
+        Story story = new Story(STORY_PATH);
+        when(storyDurationHistory.isEnabled()).thenReturn(true);
+        mockRunningStory(story);
+        reporter.beforeStory(story, false);
+        reporter.afterStory(false);
+        reporter.afterStory(false);
+        verify(storyDurationHistory).recordDuration(eq(STORY_PATH), any());
+    }
+
+    @Test
+    void shouldNotRecordDurationIfHistoryIsDisabled()
+    {
+        Story story = new Story(STORY_PATH);
+        mockRunningStory(story);
+        reporter.beforeStory(story, false);
+        reporter.afterStory(false);
+        verify(storyDurationHistory, never()).recordDuration(any(), any());
+    }
+
+    @Test
+    void shouldNotRecordDurationOfGivenStory()
+    {
+        reporter.beforeStory(new Story(STORY_PATH), true);
+        reporter.afterStory(true);
+        verifyNoInteractions(storyDurationHistory, runContext);
+    }
+
+    @Test
+    void shouldSaveHistoryAfterAllStories() throws IOException
+    {
+        reporter.afterStoriesSteps(Stage.BEFORE);
+        verify(storyDurationHistory, never()).save();
+        reporter.afterStoriesSteps(Stage.AFTER);
+        verify(storyDurationHistory).save();
+        assertTrue(logger.getLoggingEvents().isEmpty());
+    }
+
+    @Test
+    void shouldLogFailureOfHistorySaving() throws IOException
+    {
+        IOException exception = new IOException("Disk is full");
+        doThrow(exception).when(storyDurationHistory).save();
+        reporter.afterStoriesSteps(Stage.AFTER);
+        assertThat(logger.getLoggingEvents(),
+                is(List.of(warn(exception, "Unable to save story execution durations"))));
+    }
+
+    private void mockRunningStory(Story story)
+    {
+        RunningStory runningStory = new RunningStory();
+        runningStory.setStory(story);
+        when(runContext.getRunningStory()).thenReturn(runningStory);
+    }
+}
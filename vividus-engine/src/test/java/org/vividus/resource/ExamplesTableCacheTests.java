@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.resource;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.jbehave.core.model.ExamplesTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.vividus.steps.VariableResolver;
+
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
+class ExamplesTableCacheTests
+{
+    private static final String TABLE_PATH = "/data/table.table";
+    private static final String NESTED_TABLE_PATH = "/data/nested.table";
+    private static final String RENDERED_TABLE = "|key|\n|value|";
+    private static final long MODIFICATION_TIME = 1L;
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(ExamplesTableCache.class);
+
+    @Mock private VariableResolver variableResolver;
+    @Mock private ExamplesTableLoader examplesTableLoader;
+
+    private final List<String> createdTables = new ArrayList<>();
+
+    private ExamplesTableCache createCache()
+    {
+        return createCache(1000);
+    }
+
+    private ExamplesTableCache createCache(long maximumWeight)
+    {
+        ExamplesTableCache cache = new ExamplesTableCache(variableResolver, examplesTableLoader, maximumWeight);
+        cache.setEnabled(true);
+        return cache;
+    }
+
+    private Function<String, ExamplesTable> factory(ExamplesTable table)
+    {
+        return input -> {
+            createdTables.add(input);
+            return table;
+        };
+    }
+
+    private Resource mockResource(String path) throws IOException
+    {
+        when(variableResolver.resolve(path)).thenReturn(path);
+        Resource resource = mock(Resource.class);
+        when(examplesTableLoader.getResource(path)).thenReturn(resource);
+        when(resource.lastModified()).thenReturn(MODIFICATION_TIME);
+        return resource;
+    }
+
+    @Test
+    void shouldCreateTableFromRenderedFormOnCacheHit() throws IOException
+    {
+        mockResource(TABLE_PATH);
+        ExamplesTable table = mock(ExamplesTable.class);
+        ExamplesTableCache cache = createCache();
+        Function<ExamplesTable, Optional<String>> renderer = t -> Optional.of(RENDERED_TABLE);
+        assertSame(table, cache.getExamplesTable(TABLE_PATH, factory(table), renderer));
+        assertSame(table, cache.getExamplesTable(TABLE_PATH, factory(table), renderer));
+        assertEquals(List.of(TABLE_PATH, RENDERED_TABLE), createdTables);
+        verify(examplesTableLoader).getResource(TABLE_PATH);
+    }
+
+    @Test
+    void shouldRecreateTableFromInputIfTableCannotBeRendered() throws IOException
+    {
+        mockResource(TABLE_PATH);
+        ExamplesTable table = mock(ExamplesTable.class);
+        ExamplesTableCache cache = createCache();
+        Function<ExamplesTable, Optional<String>> renderer = t -> Optional.empty();
+        cache.getExamplesTable(TABLE_PATH, factory(table), renderer);
+        cache.getExamplesTable(TABLE_PATH, factory(table), renderer);
+        assertEquals(List.of(TABLE_PATH, TABLE_PATH), createdTables);
+        verify(examplesTableLoader).getResource(TABLE_PATH);
+    }
+
+    @Test
+    void shouldLogStatistics() throws IOException
+    {
+        String largeTablePath = "/data/large.table";
+        mockResource(TABLE_PATH);
+        mockResource(NESTED_TABLE_PATH);
+        mockResource(largeTablePath);
+        ExamplesTable table = mock(ExamplesTable.class);
+        ExamplesTableCache cache = createCache(100);
+        cache.getExamplesTable(TABLE_PATH, factory(table), t -> Optional.empty());
+        cache.getExamplesTable(TABLE_PATH, factory(table), t -> Optional.empty());
+        cache.getExamplesTable(NESTED_TABLE_PATH, factory(table), t -> Optional.of(RENDERED_TABLE));
+        cache.getExamplesTable(NESTED_TABLE_PATH, factory(table), t -> Optional.of(RENDERED_TABLE));
+        cache.getExamplesTable(largeTablePath, factory(table), t -> Optional.of("|key|\n|" + "v".repeat(100) + "|"));
+        cache.logStatistics();
+        assertThat(logger.getLoggingEvents(), is(List.of(info("ExamplesTables cache: {} hits, {} misses, {}"
+                + " invalidations, {} evictions, {} tables are not cacheable", 1L, 4L, 0L, 1L, 1L))));
+    }
+
+    @Test
+    void shouldInvalidateTableWhenResourceIsModified() throws IOException
+    {
+        Resource resource = mockResource(TABLE_PATH);
+        ExamplesTable table = mock(ExamplesTable.class);
+        ExamplesTableCache cache = createCache();
+        Function<ExamplesTable, Optional<String>> renderer = t -> Optional.of(RENDERED_TABLE);
+        cache.getExamplesTable(TABLE_PATH, factory(table), renderer);
+        when(resource.lastModified()).thenReturn(MODIFICATION_TIME + 1);
+        cache.getExamplesTable(TABLE_PATH, factory(table), renderer);
+        cache.getExamplesTable(TABLE_PATH, factory(table), renderer);
+        assertEquals(List.of(TABLE_PATH, TABLE_PATH, RENDERED_TABLE), createdTables);
+        verify(examplesTableLoader, times(2)).getResource(TABLE_PATH);
+    }
+
+    @Test
+    void shouldInvalidateTableWhenNestedTableResourceIsModified() throws IOException
+    {
+        mockResource(TABLE_PATH);
+        Resource nestedResource = mockResource(NESTED_TABLE_PATH);
+        ExamplesTable table = mock(ExamplesTable.class);
+        ExamplesTableCache cache = createCache();
+        Function<ExamplesTable, Optional<String>> renderer = t -> Optional.of(RENDERED_TABLE);
+        Function<String, ExamplesTable> factory = input -> {
+            createdTables.add(input);
+            if (TABLE_PATH.equals(input))
+            {
+                cache.getExamplesTable(NESTED_TABLE_PATH, factory(table), renderer);
+            }
+            return table;
+        };
+        cache.getExamplesTable(TABLE_PATH, factory, renderer);
+        cache.getExamplesTable(TABLE_PATH, factory, renderer);
+        when(nestedResource.lastModified()).thenReturn(MODIFICATION_TIME + 1);
+        cache.getExamplesTable(TABLE_PATH, factory, renderer);
+        assertEquals(List.of(TABLE_PATH, NESTED_TABLE_PATH, RENDERED_TABLE, TABLE_PATH, NESTED_TABLE_PATH),
+                createdTables);
+    }
+
+    @Test
+    void shouldNotCacheInlineTables()
+    {
+        ExamplesTable table = mock(ExamplesTable.class);
+        ExamplesTableCache cache = createCache();
+        String input = "|key|\n|table.table|";
+        cache.getExamplesTable(input, factory(table), t -> Optional.of(RENDERED_TABLE));
+        cache.getExamplesTable(input, factory(table), t -> Optional.of(RENDERED_TABLE));
+        assertEquals(List.of(input, input), createdTables);
+        verifyNoInteractions(variableResolver, examplesTableLoader);
+    }
+
+    @Test
+    void shouldNotCacheTablesIfDisabled()
+    {
+        ExamplesTable table = mock(ExamplesTable.class);
+        ExamplesTableCache cache = createCache();
+        cache.setEnabled(false);
+        cache.getExamplesTable(TABLE_PATH, factory(table), t -> Optional.of(RENDERED_TABLE));
+        cache.getExamplesTable(TABLE_PATH, factory(table), t -> Optional.of(RENDERED_TABLE));
+        assertEquals(List.of(TABLE_PATH, TABLE_PATH), createdTables);
+        verifyNoInteractions(variableResolver, examplesTableLoader);
+    }
+}
@@ -63,6 +63,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.IPathFinder;
 import org.vividus.batch.BatchConfiguration;
 import org.vividus.log.LoggingTableTransformerMonitor;
+import org.vividus.resource.CachingExamplesTableFactory;
+import org.vividus.resource.ExamplesTableCache;
 import org.vividus.steps.ParameterConvertersDecorator;
 import org.vividus.steps.PlaceholderResolver;
 
@@ -74,6 +76,7 @@ class ExtendedConfigurationTests
     @Mock private IPathFinder pathFinder;
     @Mock private PlaceholderResolver placeholderResolver;
     @Mock private TableParsers tableParsers;
+    @Mock private ExamplesTableCache examplesTableCache;
 
     @InjectMocks
     @Spy
@@ -131,6 +134,12 @@ class ExtendedConfigurationTests
                     assertEquals(1, context.getCount());
                     assertEquals(List.of(tableParsers), context.arguments());
                     constructedMocks.put(LoggingTableTransformerMonitor.class, mock);
+                });
+            MockedConstruction<CachingExamplesTableFactory> ignoredFactory = mockConstruction(
+                CachingExamplesTableFactory.class, (mock, context) -> {
+                    assertEquals(1, context.getCount());
+                    assertEquals(List.of(configuration, examplesTableCache), context.arguments());
+                    constructedMocks.put(CachingExamplesTableFactory.class, mock);
                 }))
         {
             StoryControls storyControls = mock(StoryControls.class);
@@ -151,6 +160,8 @@ class ExtendedConfigurationTests
                     (ParameterConvertersDecorator) constructedMocks.get(ParameterConvertersDecorator.class));
             ordered.verify(configuration).useTableTransformerMonitor(
                     (LoggingTableTransformerMonitor) constructedMocks.get(LoggingTableTransformerMonitor.class));
+            ordered.verify(configuration).useExamplesTableFactory(
+                    (CachingExamplesTableFactory) constructedMocks.get(CachingExamplesTableFactory.class));
             ordered.verify(configuration).useStoryParser(
                     (RegexStoryParser) constructedMocks.get(RegexStoryParser.class));
             ordered.verify(configuration).useStoryControls(storyControls);
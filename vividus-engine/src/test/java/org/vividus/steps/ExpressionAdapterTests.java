@@ -26,13 +26,13 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
@@ -132,6 +132,45 @@ class ExpressionAdapterTests
         assertEquals(output, actual);
     }
 
+    @Test
+    void shouldExecuteOnlyProcessorsSupportingExpressionName()
+    {
+        when(mockedTargetProcessor.getExpressionNames()).thenReturn(Set.of("target"));
+        when(mockedAnotherProcessor.getExpressionNames()).thenReturn(Set.of("another"));
+        when(mockedTargetProcessor.execute("target(value)")).thenReturn(Optional.of(EXPRESSION_RESULT));
+        expressionAdaptor.setProcessors(List.of(mockedAnotherProcessor, mockedTargetProcessor));
+        assertEquals(EXPRESSION_RESULT, expressionAdaptor.processRawExpression("#{target(value)}"));
+        verify(mockedAnotherProcessor, never()).execute(anyString());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'#{toUpperCase(a} b)',                    '#{toUpperCase(a} b)'",
+        "'#{toUpperCase(a} b',                     '#{toUpperCase(a} b'",
+        "'#{toUpperCase({\"a\": 1}.a)}',          '{\"A\": 1}.A'",
+        "'#{toUpperCase(\\)x)}',                   '\\)X'",
+        "'#{toUpperCase(a)b} #{toUpperCase(c)}',   '#{toUpperCase(a)b} C'",
+        "'#{toUpperCase(${var})} #{trim( b )}',    '#{toUpperCase(${var})} b'",
+        "'#{toUpperCase(#{unknown(a)})}',          '#{toUpperCase(#{unknown(a)})}'",
+        "'{\"a\": \"#{trim( a )}\"}',             '{\"a\": \"a\"}'",
+        "'#{#{toUpperCase(a)}}',                   '#{A}'",
+        "'#{unclosed(#{trim( a )}',                '#{unclosed(a'"
+    })
+    void shouldProcessExpressionsInSinglePass(String input, String expected)
+    {
+        expressionAdaptor.setProcessors(List.of(new UnaryExpressionProcessor("toUpperCase", StringUtils::upperCase),
+                new UnaryExpressionProcessor(EXPRESSION_TRIM, StringUtils::trim)));
+        assertEquals(expected, expressionAdaptor.processRawExpression(input));
+    }
+
+    @Test
+    void shouldProcessExpressionsFromExpressionResult()
+    {
+        expressionAdaptor.setProcessors(List.of(new UnaryExpressionProcessor("wrap", v -> "#{trim(" + v + ")}"),
+                new UnaryExpressionProcessor(EXPRESSION_TRIM, StringUtils::trim)));
+        assertEquals("[value]", expressionAdaptor.processRawExpression("[#{wrap( value )}]"));
+    }
+
     @Test
     void shouldProcessSimpleExpression()
     {
@@ -149,8 +188,8 @@ class ExpressionAdapterTests
         Object actual = expressionAdaptor.processRawExpression(UNSUPPORTED_EXPRESSION);
         assertEquals(UNSUPPORTED_EXPRESSION, actual, "Unsupported expression, should leave as is");
 
-        verify(mockedTargetProcessor, times(2)).execute(UNSUPPORTED_EXPRESSION_KEYWORD);
-        verify(mockedAnotherProcessor, times(2)).execute(UNSUPPORTED_EXPRESSION_KEYWORD);
+        verify(mockedTargetProcessor).execute(UNSUPPORTED_EXPRESSION_KEYWORD);
+        verify(mockedAnotherProcessor).execute(UNSUPPORTED_EXPRESSION_KEYWORD);
     }
 
     @ParameterizedTest
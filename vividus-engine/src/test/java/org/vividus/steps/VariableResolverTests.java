@@ -140,6 +140,25 @@ class VariableResolverTests
         assertEquals("varvar12moremore", actualValue);
     }
 
+    @Test
+    void shouldResolveCachedValueUsingActualVariables()
+    {
+        var variableResolver = new VariableResolver(variableContext, Map.of(), storyControls);
+        var input = "value=${var1}";
+        when(variableContext.getVariable(VAR1)).thenReturn(VALUE1, VALUE2);
+        assertEquals("value=2", variableResolver.resolve(input));
+        assertEquals("value=3", variableResolver.resolve(input));
+    }
+
+    @Test
+    void shouldResolveVariableAsObjectIfPrecedingVariablesAreResolvedToLineBreaks()
+    {
+        var object = new Object();
+        when(variableContext.getVariable(VAR1)).thenReturn("\r\n");
+        when(variableContext.getVariable(VAR2)).thenReturn(object);
+        assertEquals(object, convert("${var1}\n${var2}\n"));
+    }
+
     @Test
     void shouldResolveDefaultValueWithVariable()
     {
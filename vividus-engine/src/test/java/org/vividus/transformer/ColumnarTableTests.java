@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.jbehave.core.model.ExamplesTable;
+import org.junit.jupiter.api.Test;
+
+class ColumnarTableTests
+{
+    private static final String KEY1 = "key1";
+    private static final String KEY2 = "key2";
+    private static final List<String> HEADERS = List.of(KEY1, KEY2);
+
+    private final ColumnarTable table = ColumnarTable.fromRows(HEADERS,
+            List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f")));
+
+    @Test
+    void shouldStoreRowsByColumns()
+    {
+        assertEquals(HEADERS, table.getHeaders());
+        assertEquals(3, table.getRowCount());
+        assertEquals(List.of(List.of("a", "c", "e"), List.of("b", "d", "f")), table.getColumns());
+        assertEquals(List.of("c", "d"), table.getRow(1));
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f")), table.getRows());
+    }
+
+    @Test
+    void shouldCreateTableFromExamplesTable()
+    {
+        ColumnarTable fromExamplesTable = ColumnarTable.fromExamplesTable(
+                new ExamplesTable("|key1|key2|\n|a|b|\n|c|d|\n|e|f|"));
+        assertEquals(HEADERS, fromExamplesTable.getHeaders());
+        assertEquals(table.getColumns(), fromExamplesTable.getColumns());
+    }
+
+    @Test
+    void shouldSelectColumnsAndRows()
+    {
+        ColumnarTable selected = table.selectColumns(List.of(KEY2)).selectRows(2, 0, 2);
+        assertEquals(List.of(KEY2), selected.getHeaders());
+        assertEquals(List.of(List.of("f", "b", "f")), selected.getColumns());
+        assertSame(table.getColumn(KEY2), table.selectColumns(List.of(KEY2, KEY1)).getColumns().get(0));
+    }
+
+    @Test
+    void shouldAppendColumns()
+    {
+        ColumnarTable appended = table.appendColumns(
+                ColumnarTable.fromColumns(List.of("key3"), List.of(List.of("1", "2", "3"))));
+        assertEquals(List.of(KEY1, KEY2, "key3"), appended.getHeaders());
+        assertEquals(List.of("c", "d", "2"), appended.getRow(1));
+    }
+
+    @Test
+    void shouldRepeatRows()
+    {
+        ColumnarTable repeated = table.selectColumns(List.of(KEY1)).repeatRows(2);
+        assertEquals(6, repeated.getRowCount());
+        assertEquals(List.of(List.of("a", "c", "e", "a", "c", "e")), repeated.getColumns());
+        assertEquals(0, table.repeatRows(0).getRowCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> repeated.getColumn(KEY1).get(6));
+    }
+
+    @Test
+    void shouldBuildCartesianProduct()
+    {
+        ColumnarTable product = table.selectColumns(List.of(KEY1)).cartesianProduct(
+                ColumnarTable.fromColumns(List.of("key3"), List.of(List.of("1", "2"))));
+        assertEquals(List.of(KEY1, "key3"), product.getHeaders());
+        assertEquals(List.of(List.of("a", "1"), List.of("a", "2"), List.of("c", "1"), List.of("c", "2"),
+                List.of("e", "1"), List.of("e", "2")), product.getRows());
+    }
+
+    @Test
+    void shouldFailOnNegativeNumberOfRepetitions()
+    {
+        var exception = assertThrows(IllegalArgumentException.class, () -> table.repeatRows(-1));
+        assertEquals("The number of repetitions must be non-negative, but got -1", exception.getMessage());
+    }
+
+    @Test
+    void shouldMapValues()
+    {
+        ColumnarTable mapped = table.mapValues(String::toUpperCase);
+        assertEquals(List.of(List.of("A", "B"), List.of("C", "D"), List.of("E", "F")), mapped.getRows());
+    }
+
+    @Test
+    void shouldFailOnMisalignedColumns()
+    {
+        List<List<String>> columns = List.of(List.of("a", "b"), List.of("c"));
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> ColumnarTable.fromColumns(HEADERS, columns));
+        assertEquals("Columns are not aligned: column 'key1' has 2 value(s), column 'key2' has 1 value(s)",
+                exception.getMessage());
+    }
+
+    @Test
+    void shouldFailOnMissingColumn()
+    {
+        var exception = assertThrows(IllegalArgumentException.class, () -> table.getColumn("key3"));
+        assertEquals("The table does not contain column 'key3'", exception.getMessage());
+    }
+
+    @Test
+    void shouldProvideEmptyTable()
+    {
+        assertTrue(ColumnarTable.empty().isEmpty());
+        assertEquals(0, ColumnarTable.empty().getRowCount());
+    }
+}
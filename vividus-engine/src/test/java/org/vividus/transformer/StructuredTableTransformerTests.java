@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableParsers;
+import org.jbehave.core.steps.ParameterConverters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StructuredTableTransformerTests
+{
+    private static final String KEY = "key";
+    private static final String TABLE = "|key|\n|a|\n|b|";
+    private static final String REVERSED_TABLE = "|key|\n|b|\n|a|";
+
+    private final ParameterConverters parameterConverters = new ParameterConverters();
+    private final TableParsers tableParsers = spy(new TableParsers(parameterConverters));
+
+    private final StructuredTableTransformer transformer = (table, parsers, properties) -> table.selectRows(
+            IntStream.range(0, table.getRowCount()).map(i -> table.getRowCount() - i - 1).toArray());
+
+    @Test
+    void shouldPassTableToNextTransformerWithoutParsing()
+    {
+        String reversed = transformer.transform(TABLE, tableParsers, createProperties(""));
+        assertEquals(REVERSED_TABLE, reversed);
+        assertEquals(TABLE, transformer.transform(reversed, tableParsers, createProperties("")));
+        verify(tableParsers).parseRows(any(String.class), any(TableProperties.class));
+    }
+
+    @Test
+    void shouldParseTableNotProducedByStructuredTransformer()
+    {
+        String reversed = transformer.transform(TABLE, tableParsers, createProperties(""));
+        assertEquals(TABLE, transformer.transform(new String(reversed), tableParsers, createProperties("")));
+        verify(tableParsers, times(2)).parseRows(any(String.class), any(TableProperties.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "--a", " a" })
+    void shouldParseTableIfItCanNotBeParsedAsIs(String value)
+    {
+        StructuredTableTransformer generator = (table, parsers, properties) -> ColumnarTable.fromColumns(
+                List.of(KEY), List.of(List.of(value)));
+        String generated = generator.transform("", tableParsers, createProperties(""));
+        transformer.transform(generated, tableParsers, createProperties(""));
+        verify(tableParsers).parseRows(any(String.class), any(TableProperties.class));
+    }
+
+    @Test
+    void shouldParseTableIfPropertiesAffectParsing()
+    {
+        String reversed = transformer.transform(TABLE, tableParsers, createProperties(""));
+        assertEquals(TABLE, transformer.transform(reversed, tableParsers, createProperties("commentSeparator=#")));
+        verify(tableParsers, times(2)).parseRows(any(String.class), any(TableProperties.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "headerSeparator=!", "valueSeparator=!", "ignorableSeparator=!--" })
+    void shouldParseTableIfSeparatorsAreOverridden(String separatorProperty)
+    {
+        String reversed = transformer.transform(TABLE, tableParsers, createProperties(""));
+        transformer.transform(reversed, tableParsers, createProperties(separatorProperty));
+        verify(tableParsers, times(2)).parseRows(any(String.class), any(TableProperties.class));
+    }
+
+    @Test
+    void shouldNotParseBlankTable()
+    {
+        StructuredTableTransformer generator = (table, parsers, properties) -> ColumnarTable.fromColumns(
+                List.of(KEY), List.of(List.of(String.valueOf(table.isEmpty()))));
+        assertEquals("|key|\n|true|", generator.transform(" ", null, createProperties("")));
+    }
+
+    private TableProperties createProperties(String propertiesAsString)
+    {
+        return new TableProperties(propertiesAsString, new Keywords(), parameterConverters);
+    }
+}
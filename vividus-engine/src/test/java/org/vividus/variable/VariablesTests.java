@@ -18,6 +18,7 @@ package org.vividus.variable;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.util.List;
@@ -182,6 +183,33 @@ class VariablesTests
         assertEquals(Map.of(KEY1, SCENARIO, KEY2, STORY, KEY3, STEP), variables.getVariables());
     }
 
+    @Test
+    void shouldRebuildMergedVariablesAfterChange()
+    {
+        Variables variables = new Variables(Map.of());
+        variables.putScenarioVariable(KEY1, SCENARIO);
+        Map<String, Object> merged = variables.getVariables();
+        assertSame(merged, variables.getVariables());
+        variables.initStepVariables();
+        variables.putStepVariable(KEY2, STEP);
+        assertEquals(Map.of(KEY1, SCENARIO, KEY2, STEP), variables.getVariables());
+        variables.clearStepVariables();
+        assertEquals(Map.of(KEY1, SCENARIO), variables.getVariables());
+    }
+
+    @Test
+    void shouldResolveStepVariableFromInnermostStep()
+    {
+        Variables variables = new Variables(Map.of());
+        variables.initStepVariables();
+        variables.putStepVariable(KEY, STEP);
+        variables.initStepVariables();
+        variables.putStepVariable(KEY, VALUE);
+        assertEquals(VALUE, variables.getVariable(KEY));
+        variables.clearStepVariables();
+        assertEquals(STEP, variables.getVariable(KEY));
+    }
+
     private static final class Pojo
     {
         @SuppressWarnings("unused")
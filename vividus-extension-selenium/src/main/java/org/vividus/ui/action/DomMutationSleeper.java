@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.action;
+
+import java.time.Duration;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.selenium.IWebDriverProvider;
+import org.vividus.util.ResourceUtils;
+
+class DomMutationSleeper implements Sleeper
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(DomMutationSleeper.class);
+
+    private static final String WAIT_FOR_DOM_MUTATION_SCRIPT = ResourceUtils.loadResource(DomMutationSleeper.class,
+            "wait-for-dom-mutation.js");
+
+    private final IWebDriverProvider webDriverProvider;
+    private final Sleeper fallbackSleeper;
+    private boolean scriptAllowed = true;
+    private Object lastMutationsCount;
+
+    DomMutationSleeper(IWebDriverProvider webDriverProvider, Sleeper fallbackSleeper)
+    {
+        this.webDriverProvider = webDriverProvider;
+        this.fallbackSleeper = fallbackSleeper;
+    }
+
+    @Override
+    public void sleep(Duration maxInterval) throws InterruptedException
+    {
+        if (scriptAllowed && webDriverProvider.isWebDriverInitialized())
+        {
+            WebDriver webDriver = webDriverProvider.get();
+            if (webDriver instanceof JavascriptExecutor)
+            {
+                try
+                {
+                    lastMutationsCount = ((JavascriptExecutor) webDriver).executeAsyncScript(
+                            WAIT_FOR_DOM_MUTATION_SCRIPT, lastMutationsCount, maxInterval.toMillis());
+                    return;
+                }
+                catch (ScriptTimeoutException e)
+                {
+                    // The polling period is longer than the script timeout, so the condition is checked earlier
+                    return;
+                }
+                catch (WebDriverException e)
+                {
+                    LOGGER.debug("Unable to wait for DOM mutations, exponential backoff polling is used instead", e);
+                }
+            }
+            scriptAllowed = false;
+        }
+        fallbackSleeper.sleep(maxInterval);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.action;
+
+import java.time.Duration;
+
+import org.openqa.selenium.support.ui.Sleeper;
+
+class ExponentialBackoffSleeper implements Sleeper
+{
+    private static final Duration INITIAL_INTERVAL = Duration.ofMillis(50);
+
+    private final Sleeper sleeper;
+    private Duration nextInterval = INITIAL_INTERVAL;
+
+    ExponentialBackoffSleeper(Sleeper sleeper)
+    {
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public void sleep(Duration maxInterval) throws InterruptedException
+    {
+        Duration interval = nextInterval.compareTo(maxInterval) < 0 ? nextInterval : maxInterval;
+        nextInterval = interval.multipliedBy(2);
+        sleeper.sleep(interval);
+    }
+}
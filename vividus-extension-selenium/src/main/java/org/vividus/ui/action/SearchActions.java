@@ -19,9 +19,12 @@ package org.vividus.ui.action;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
@@ -29,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import org.vividus.ui.action.search.ElementActionService;
 import org.vividus.ui.action.search.IElementFilterAction;
 import org.vividus.ui.action.search.IElementSearchAction;
+import org.vividus.ui.action.search.IInBrowserElementEvaluator;
 import org.vividus.ui.action.search.Locator;
 import org.vividus.ui.action.search.LocatorType;
 import org.vividus.ui.action.search.SearchParameters;
@@ -40,6 +44,8 @@ public class SearchActions implements ISearchActions
 
     @Inject private IUiContext uiContext;
     @Inject private ElementActionService elementActionService;
+    private boolean inBrowserEvaluation;
+    private Optional<IInBrowserElementEvaluator> inBrowserElementEvaluator = Optional.empty();
 
     @Override
     public List<WebElement> findElements(SearchContext searchContext, Locator locator)
@@ -47,29 +53,75 @@ public class SearchActions implements ISearchActions
         SearchParameters searchParameters = locator.getSearchParameters();
         IElementSearchAction searchAction = elementActionService.find(locator.getLocatorType());
         List<WebElement> foundElements = searchAction.search(searchContext, searchParameters);
-        for (Entry<LocatorType, List<String>> entry : locator.getFilterAttributes().entrySet())
+        List<Entry<LocatorType, String>> filters = locator.getFilterAttributes().entrySet().stream()
+                .flatMap(e -> e.getValue().stream().map(value -> Pair.of(e.getKey(), value)))
+                .collect(Collectors.toList());
+        int filterIndex = 0;
+        while (filterIndex < filters.size() && !foundElements.isEmpty())
         {
-            IElementFilterAction filterAction = elementActionService.find(entry.getKey());
-            for (String filterValue : entry.getValue())
+            List<Entry<LocatorType, String>> inBrowserFilters = collectInBrowserFilters(filters, filterIndex);
+            if (inBrowserFilters.isEmpty())
             {
-                int size = foundElements.size();
-                if (size == 0)
-                {
-                    break;
-                }
+                foundElements = filter(foundElements, filters.get(filterIndex));
+                filterIndex++;
+            }
+            else
+            {
+                foundElements = filterInBrowser(foundElements, inBrowserFilters);
+                filterIndex += inBrowserFilters.size();
+            }
+        }
+        return foundElements;
+    }
 
-                List<WebElement> filteredElements = filterAction.filter(foundElements, filterValue);
+    private List<WebElement> filter(List<WebElement> elements, Entry<LocatorType, String> filter)
+    {
+        IElementFilterAction filterAction = elementActionService.find(filter.getKey());
+        String filterValue = filter.getValue();
+        int size = elements.size();
 
-                LOGGER.atInfo().addArgument(() -> size - filteredElements.size())
-                               .addArgument(size)
-                               .addArgument(entry::getKey)
-                               .addArgument(filterValue)
-                               .log("{} of {} elements were filtered out by {} filter with '{}' value");
+        List<WebElement> filteredElements = filterAction.filter(elements, filterValue);
 
-                foundElements = filteredElements;
-            }
+        LOGGER.atInfo().addArgument(() -> size - filteredElements.size())
+                       .addArgument(size)
+                       .addArgument(filter::getKey)
+                       .addArgument(filterValue)
+                       .log("{} of {} elements were filtered out by {} filter with '{}' value");
+        return filteredElements;
+    }
+
+    private List<Entry<LocatorType, String>> collectInBrowserFilters(List<Entry<LocatorType, String>> filters,
+            int fromIndex)
+    {
+        if (!inBrowserEvaluation || inBrowserElementEvaluator.isEmpty())
+        {
+            return List.of();
         }
-        return foundElements;
+        return filters.subList(fromIndex, filters.size()).stream()
+                .takeWhile(filter -> inBrowserElementEvaluator.get().isSupported(filter.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    private List<WebElement> filterInBrowser(List<WebElement> elements, List<Entry<LocatorType, String>> filters)
+    {
+        List<Entry<LocatorType, String>> effectiveFilters = filters.stream()
+                .filter(filter -> StringUtils.isNotEmpty(filter.getValue()))
+                .collect(Collectors.toList());
+        if (effectiveFilters.isEmpty())
+        {
+            return elements;
+        }
+        int size = elements.size();
+        List<WebElement> filteredElements = inBrowserElementEvaluator.get().filter(elements, effectiveFilters);
+
+        LOGGER.atInfo().addArgument(() -> size - filteredElements.size())
+                       .addArgument(size)
+                       .addArgument(() -> effectiveFilters.stream()
+                               .map(filter -> String.format("%s filter with '%s' value", filter.getKey(),
+                                       filter.getValue()))
+                               .collect(Collectors.joining(", ")))
+                       .log("{} of {} elements were filtered out in browser by {}");
+        return filteredElements;
     }
 
     @Override
@@ -90,4 +142,15 @@ public class SearchActions implements ISearchActions
         List<WebElement> elements = findElements(searchContext, attributes);
         return elements.isEmpty() ? Optional.empty() : Optional.of(elements.get(0));
     }
+
+    public void setInBrowserEvaluation(boolean inBrowserEvaluation)
+    {
+        this.inBrowserEvaluation = inBrowserEvaluation;
+    }
+
+    @Inject
+    public void setInBrowserElementEvaluator(Optional<IInBrowserElementEvaluator> inBrowserElementEvaluator)
+    {
+        this.inBrowserElementEvaluator = inBrowserElementEvaluator;
+    }
 }
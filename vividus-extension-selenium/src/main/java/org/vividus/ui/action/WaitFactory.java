@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,20 @@
 
 package org.vividus.ui.action;
 
+import java.time.Clock;
 import java.time.Duration;
 
 import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
 import org.openqa.selenium.support.ui.Wait;
+import org.vividus.selenium.IWebDriverProvider;
 
 public class WaitFactory implements IWaitFactory
 {
     private Duration timeout;
     private Duration pollingPeriod;
+    private WaitPollingStrategy pollingStrategy = WaitPollingStrategy.FIXED;
+    private IWebDriverProvider webDriverProvider;
 
     @Override
     public <T> Wait<T> createWait(T input)
@@ -41,12 +46,27 @@ public class WaitFactory implements IWaitFactory
     @Override
     public <T> Wait<T> createWait(T input, Duration timeout, Duration pollingPeriod)
     {
-        FluentWait<T> fluentWait = new FluentWait<>(input).pollingEvery(pollingPeriod);
+        FluentWait<T> fluentWait = new FluentWait<>(input, Clock.systemDefaultZone(), createSleeper())
+                .pollingEvery(pollingPeriod);
         DescriptiveWait<T> wait = new DescriptiveWait<>(fluentWait);
         wait.setTimeout(timeout);
         return wait;
     }
 
+    private Sleeper createSleeper()
+    {
+        switch (pollingStrategy)
+        {
+            case EXPONENTIAL_BACKOFF:
+                return new ExponentialBackoffSleeper(Sleeper.SYSTEM_SLEEPER);
+            case DOM_MUTATION:
+                return new DomMutationSleeper(webDriverProvider,
+                        new ExponentialBackoffSleeper(Sleeper.SYSTEM_SLEEPER));
+            default:
+                return Sleeper.SYSTEM_SLEEPER;
+        }
+    }
+
     public void setTimeout(Duration timeout)
     {
         this.timeout = timeout;
@@ -56,4 +76,14 @@ public class WaitFactory implements IWaitFactory
     {
         this.pollingPeriod = pollingPeriod;
     }
+
+    public void setPollingStrategy(WaitPollingStrategy pollingStrategy)
+    {
+        this.pollingStrategy = pollingStrategy;
+    }
+
+    public void setWebDriverProvider(IWebDriverProvider webDriverProvider)
+    {
+        this.webDriverProvider = webDriverProvider;
+    }
 }
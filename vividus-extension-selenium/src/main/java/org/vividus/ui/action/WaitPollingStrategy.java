@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.action;
+
+public enum WaitPollingStrategy
+{
+    /**
+     * The wait condition is checked with the fixed polling period
+     */
+    FIXED,
+    /**
+     * The interval between the wait condition checks starts from a small value and doubles after every check until
+     * it reaches the polling period
+     */
+    EXPONENTIAL_BACKOFF,
+    /**
+     * The wait condition is re-checked as soon as the DOM of the page is changed, but not later than the polling
+     * period elapses, if JavaScript can't be executed the exponential backoff polling is used
+     */
+    DOM_MUTATION
+}
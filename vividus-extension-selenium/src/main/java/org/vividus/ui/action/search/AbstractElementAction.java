@@ -17,9 +17,12 @@
 package org.vividus.ui.action.search;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.inject.Inject;
 
@@ -46,6 +49,8 @@ public abstract class AbstractElementAction implements IElementAction
     @Inject private ElementActions elementActions;
     private Duration waitForElementTimeout;
     private boolean retrySearchIfStale;
+    private boolean inBrowserEvaluation;
+    private Optional<IInBrowserElementEvaluator> inBrowserElementEvaluator = Optional.empty();
 
     private final LocatorType type;
 
@@ -115,10 +120,15 @@ public abstract class AbstractElementAction implements IElementAction
             boolean retry)
     {
         boolean visible = visibility == Visibility.VISIBLE;
-        return elements.stream().filter(element -> {
+        List<Boolean> displayedInBrowser = evaluateVisibilityInBrowser(elements);
+        return IntStream.range(0, elements.size()).filter(index -> {
+            if (displayedInBrowser.get(index))
+            {
+                return visible;
+            }
             try
             {
-                return visible == elementActions.isElementVisible(element);
+                return visible == elementActions.isElementVisible(elements.get(index));
             }
             catch (StaleElementReferenceException e)
             {
@@ -129,7 +139,24 @@ public abstract class AbstractElementAction implements IElementAction
                 LOGGER.warn(e.getMessage(), e);
                 return false;
             }
-        }).collect(Collectors.toList());
+        }).mapToObj(elements::get).collect(Collectors.toList());
+    }
+
+    private List<Boolean> evaluateVisibilityInBrowser(List<WebElement> elements)
+    {
+        if (inBrowserEvaluation && inBrowserElementEvaluator.isPresent())
+        {
+            try
+            {
+                return inBrowserElementEvaluator.get().evaluateVisibility(elements);
+            }
+            catch (StaleElementReferenceException e)
+            {
+                // Stale elements are handled one by one
+                LOGGER.debug("Falling back to per-element visibility check", e);
+            }
+        }
+        return Collections.nCopies(elements.size(), Boolean.FALSE);
     }
 
     private List<WebElement> waitForElement(SearchContext searchContext, By locator, Visibility visibility)
@@ -161,4 +188,15 @@ public abstract class AbstractElementAction implements IElementAction
     {
         this.retrySearchIfStale = retrySearchIfStale;
     }
+
+    public void setInBrowserEvaluation(boolean inBrowserEvaluation)
+    {
+        this.inBrowserEvaluation = inBrowserEvaluation;
+    }
+
+    @Inject
+    public void setInBrowserElementEvaluator(Optional<IInBrowserElementEvaluator> inBrowserElementEvaluator)
+    {
+        this.inBrowserElementEvaluator = inBrowserElementEvaluator;
+    }
 }
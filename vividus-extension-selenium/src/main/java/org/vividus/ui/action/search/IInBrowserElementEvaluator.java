@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.action.search;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * Evaluates visibility and filters for the whole list of found elements within a single call to the browser instead
+ * of querying the browser element by element.
+ */
+public interface IInBrowserElementEvaluator
+{
+    /**
+     * Checks which of the elements are displayed.
+     *
+     * @param elements The elements to check
+     * @return The list of the same size as the input one, where <code>true</code> means the element is displayed for
+     * sure, while <code>false</code> means the visibility of the element must be double-checked using WebDriver
+     */
+    List<Boolean> evaluateVisibility(List<WebElement> elements);
+
+    /**
+     * Checks whether the filter of the specified type can be evaluated in the browser.
+     *
+     * @param filterType The type of the filter
+     * @return <code>true</code> if the filter is evaluated in the browser, otherwise <code>false</code>
+     */
+    boolean isSupported(LocatorType filterType);
+
+    /**
+     * Applies the filters sequentially to the elements.
+     *
+     * @param elements The elements to filter
+     * @param filters  The filter types along with their values, all the types must be supported
+     * @return The elements matching all the filters in their original order
+     */
+    List<WebElement> filter(List<WebElement> elements, List<Entry<LocatorType, String>> filters);
+}
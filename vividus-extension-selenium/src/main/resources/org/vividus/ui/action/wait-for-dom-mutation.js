@@ -0,0 +1,30 @@
+const lastMutationsCount = arguments[0];
+const timeout = arguments[1];
+const exit = arguments[arguments.length - 1];
+
+let mutations = window.vividusDomMutations;
+if (!mutations) {
+    mutations = {count: 0, listeners: []};
+    new MutationObserver(() => {
+        mutations.count++;
+        mutations.listeners.splice(0).forEach(listener => listener());
+    }).observe(document, {attributes: true, characterData: true, childList: true, subtree: true});
+    window.vividusDomMutations = mutations;
+}
+
+// The DOM has been changed since the previous wait, e.g. after the wait condition has been checked
+if (lastMutationsCount !== null && lastMutationsCount !== mutations.count) {
+    exit(mutations.count);
+}
+else {
+    let timer;
+    const listener = () => {
+        clearTimeout(timer);
+        exit(mutations.count);
+    };
+    timer = setTimeout(() => {
+        mutations.listeners = mutations.listeners.filter(l => l !== listener);
+        exit(mutations.count);
+    }, timeout);
+    mutations.listeners.push(listener);
+}
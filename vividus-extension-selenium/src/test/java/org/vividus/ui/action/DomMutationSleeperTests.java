@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.action;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.debug;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.vividus.selenium.IWebDriverProvider;
+
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
+class DomMutationSleeperTests
+{
+    private static final Duration MAX_INTERVAL = Duration.ofSeconds(2);
+    private static final long MAX_INTERVAL_MILLIS = MAX_INTERVAL.toMillis();
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(DomMutationSleeper.class);
+
+    @Mock private IWebDriverProvider webDriverProvider;
+    @Mock(extraInterfaces = JavascriptExecutor.class)
+    private WebDriver webDriver;
+    @Mock private Sleeper fallbackSleeper;
+
+    private DomMutationSleeper sleeper;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        sleeper = new DomMutationSleeper(webDriverProvider, fallbackSleeper);
+    }
+
+    @Test
+    void shouldWaitForDomMutationAndPassPreviousMutationsCount() throws InterruptedException
+    {
+        when(webDriverProvider.isWebDriverInitialized()).thenReturn(true);
+        when(webDriverProvider.get()).thenReturn(webDriver);
+        JavascriptExecutor javascriptExecutor = (JavascriptExecutor) webDriver;
+        long mutationsCount = 5L;
+        when(javascriptExecutor.executeAsyncScript(anyString(), isNull(), eq(MAX_INTERVAL_MILLIS)))
+                .thenReturn(mutationsCount);
+        when(javascriptExecutor.executeAsyncScript(anyString(), eq(mutationsCount), eq(MAX_INTERVAL_MILLIS)))
+                .thenReturn(mutationsCount + 1);
+        sleeper.sleep(MAX_INTERVAL);
+        sleeper.sleep(MAX_INTERVAL);
+        verifyNoInteractions(fallbackSleeper);
+        assertThat(logger.getLoggingEvents(), empty());
+    }
+
+    @Test
+    void shouldNotFallBackOnScriptTimeout() throws InterruptedException
+    {
+        when(webDriverProvider.isWebDriverInitialized()).thenReturn(true);
+        when(webDriverProvider.get()).thenReturn(webDriver);
+        when(((JavascriptExecutor) webDriver).executeAsyncScript(anyString(), isNull(), eq(MAX_INTERVAL_MILLIS)))
+                .thenThrow(new ScriptTimeoutException());
+        sleeper.sleep(MAX_INTERVAL);
+        verifyNoInteractions(fallbackSleeper);
+    }
+
+    @Test
+    void shouldFallBackIfScriptIsNotAllowed() throws InterruptedException
+    {
+        when(webDriverProvider.isWebDriverInitialized()).thenReturn(true);
+        when(webDriverProvider.get()).thenReturn(webDriver);
+        JavascriptException exception = new JavascriptException("not supported");
+        when(((JavascriptExecutor) webDriver).executeAsyncScript(anyString(), isNull(), eq(MAX_INTERVAL_MILLIS)))
+                .thenThrow(exception);
+        sleeper.sleep(MAX_INTERVAL);
+        sleeper.sleep(MAX_INTERVAL);
+        verify(fallbackSleeper, times(2)).sleep(MAX_INTERVAL);
+        verify(webDriverProvider).get();
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(
+                debug(exception, "Unable to wait for DOM mutations, exponential backoff polling is used instead"))));
+    }
+
+    @Test
+    void shouldFallBackIfWebDriverIsNotInitialized() throws InterruptedException
+    {
+        when(webDriverProvider.isWebDriverInitialized()).thenReturn(false);
+        sleeper.sleep(MAX_INTERVAL);
+        verify(fallbackSleeper).sleep(MAX_INTERVAL);
+        verifyNoInteractions(webDriver);
+    }
+}
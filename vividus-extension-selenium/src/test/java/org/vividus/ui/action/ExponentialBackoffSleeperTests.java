@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.action;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.support.ui.Sleeper;
+
+@ExtendWith(MockitoExtension.class)
+class ExponentialBackoffSleeperTests
+{
+    @Mock private Sleeper sleeper;
+
+    @Test
+    void shouldDoubleIntervalUntilItReachesMaximum() throws InterruptedException
+    {
+        ExponentialBackoffSleeper backoffSleeper = new ExponentialBackoffSleeper(sleeper);
+        Duration maxInterval = Duration.ofMillis(300);
+        for (int i = 0; i < 5; i++)
+        {
+            backoffSleeper.sleep(maxInterval);
+        }
+        InOrder ordered = inOrder(sleeper);
+        ordered.verify(sleeper).sleep(Duration.ofMillis(50));
+        ordered.verify(sleeper).sleep(Duration.ofMillis(100));
+        ordered.verify(sleeper).sleep(Duration.ofMillis(200));
+        ordered.verify(sleeper, times(2)).sleep(maxInterval);
+        ordered.verifyNoMoreInteractions();
+    }
+}
@@ -26,11 +26,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.github.valfirst.slf4jtest.TestLogger;
@@ -51,6 +54,7 @@ import org.vividus.testdouble.TestElementSearch;
 import org.vividus.testdouble.TestLocatorType;
 import org.vividus.ui.action.search.ElementActionService;
 import org.vividus.ui.action.search.IElementFilterAction;
+import org.vividus.ui.action.search.IInBrowserElementEvaluator;
 import org.vividus.ui.action.search.Locator;
 import org.vividus.ui.action.search.SearchParameters;
 import org.vividus.ui.context.IUiContext;
@@ -190,4 +194,59 @@ class SearchActionsTests
         )));
         verifyNoMoreInteractions(testFilter, additionalFilter);
     }
+
+    @Test
+    void shouldApplySupportedFiltersInBrowser()
+    {
+        Locator locator = new Locator(TestLocatorType.SEARCH, VALUE);
+        String filterOne = "filter-one";
+        locator.addFilter(TestLocatorType.FILTER, filterOne);
+        locator.addFilter(TestLocatorType.FILTER, "");
+        String filterThree = "filter-three";
+        locator.addFilter(TestLocatorType.ADDITIONAL_FILTER, filterThree);
+
+        WebElement element1 = mock(WebElement.class);
+        WebElement element2 = mock(WebElement.class);
+        WebElement element3 = mock(WebElement.class);
+        TestElementFilter additionalFilter = mock(TestElementFilter.class);
+        IInBrowserElementEvaluator inBrowserElementEvaluator = mock(IInBrowserElementEvaluator.class);
+        searchActions.setInBrowserEvaluation(true);
+        searchActions.setInBrowserElementEvaluator(Optional.of(inBrowserElementEvaluator));
+
+        when(elementActionService.find(TestLocatorType.ADDITIONAL_FILTER)).thenReturn(additionalFilter);
+        when(inBrowserElementEvaluator.isSupported(TestLocatorType.FILTER)).thenReturn(true);
+        when(inBrowserElementEvaluator.isSupported(TestLocatorType.ADDITIONAL_FILTER)).thenReturn(false);
+        when(testSearch.search(searchContext, locator.getSearchParameters()))
+                .thenReturn(List.of(element1, element2, element3));
+        when(inBrowserElementEvaluator.filter(List.of(element1, element2, element3),
+                List.of(Map.entry(TestLocatorType.FILTER, filterOne)))).thenReturn(List.of(element1, element2));
+        when(additionalFilter.filter(List.of(element1, element2), filterThree)).thenReturn(List.of(element1));
+
+        assertEquals(List.of(element1), searchActions.findElements(searchContext, locator));
+
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(
+            info("{} of {} elements were filtered out in browser by {}", 1, 3,
+                    "FILTER filter with 'filter-one' value"),
+            info(FILTER_MESSAGE, 1, 2, TestLocatorType.ADDITIONAL_FILTER, filterThree)
+        )));
+        verifyNoInteractions(testFilter);
+    }
+
+    @Test
+    void shouldSkipInBrowserFilteringIfAllFilterValuesAreEmpty()
+    {
+        Locator locator = new Locator(TestLocatorType.SEARCH, VALUE).addFilter(TestLocatorType.FILTER, "");
+        IInBrowserElementEvaluator inBrowserElementEvaluator = mock(IInBrowserElementEvaluator.class);
+        searchActions.setInBrowserEvaluation(true);
+        searchActions.setInBrowserElementEvaluator(Optional.of(inBrowserElementEvaluator));
+
+        when(inBrowserElementEvaluator.isSupported(TestLocatorType.FILTER)).thenReturn(true);
+        when(testSearch.search(searchContext, locator.getSearchParameters())).thenReturn(List.of(webElement));
+
+        assertEquals(List.of(webElement), searchActions.findElements(searchContext, locator));
+
+        verify(inBrowserElementEvaluator, never()).filter(any(), any());
+        verifyNoInteractions(testFilter);
+        assertThat(logger.getLoggingEvents(), is(empty()));
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,14 +19,24 @@ package org.vividus.ui.action;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.Wait;
+import org.vividus.selenium.IWebDriverProvider;
 
 class WaitFactoryTests
 {
@@ -62,4 +72,30 @@ class WaitFactoryTests
         DescriptiveWait<?> descriptiveWait = (DescriptiveWait<?>) wait;
         assertEquals(timeout, descriptiveWait.getTimeout());
     }
+
+    @Test
+    void shouldWaitForDomMutationBetweenConditionChecks()
+    {
+        IWebDriverProvider webDriverProvider = Mockito.mock(IWebDriverProvider.class);
+        WebDriver webDriver = Mockito.mock(WebDriver.class, Mockito.withSettings()
+                .extraInterfaces(JavascriptExecutor.class));
+        when(webDriverProvider.isWebDriverInitialized()).thenReturn(true);
+        when(webDriverProvider.get()).thenReturn(webDriver);
+        waitFactory.setWebDriverProvider(webDriverProvider);
+        waitFactory.setPollingStrategy(WaitPollingStrategy.DOM_MUTATION);
+        AtomicInteger attempts = new AtomicInteger();
+        Wait<WebDriver> wait = waitFactory.createWait(webDriver);
+        assertTrue(wait.until(driver -> attempts.incrementAndGet() > 1));
+        verify((JavascriptExecutor) webDriver).executeAsyncScript(anyString(), isNull(), eq(TIMEOUT.toMillis()));
+    }
+
+    @Test
+    void shouldUseExponentialBackoffBetweenConditionChecks()
+    {
+        waitFactory.setPollingStrategy(WaitPollingStrategy.EXPONENTIAL_BACKOFF);
+        AtomicInteger attempts = new AtomicInteger();
+        SearchContext input = Mockito.mock(SearchContext.class);
+        Wait<SearchContext> wait = waitFactory.createWait(input);
+        assertTrue(wait.until(context -> attempts.incrementAndGet() > 3));
+    }
 }
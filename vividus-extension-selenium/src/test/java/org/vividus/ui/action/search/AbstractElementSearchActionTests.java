@@ -16,6 +16,7 @@
 
 package org.vividus.ui.action.search;
 
+import static com.github.valfirst.slf4jtest.LoggingEvent.debug;
 import static com.github.valfirst.slf4jtest.LoggingEvent.error;
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
@@ -28,6 +29,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -35,6 +37,7 @@ import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import com.github.valfirst.slf4jtest.LoggingEvent;
@@ -237,4 +240,60 @@ class AbstractElementSearchActionTests
         verify(elementActions, times(2)).isElementVisible(element);
         assertThat(logger.getLoggingEvents(), equalTo(loggingEvents));
     }
+
+    @Test
+    void shouldEvaluateVisibilityInBrowser()
+    {
+        var element1 = mock(WebElement.class);
+        var element2 = mock(WebElement.class);
+        var elements = List.of(element1, element2);
+        var inBrowserElementEvaluator = mock(IInBrowserElementEvaluator.class);
+        elementSearchAction.setInBrowserEvaluation(true);
+        elementSearchAction.setInBrowserElementEvaluator(Optional.of(inBrowserElementEvaluator));
+        when(searchContext.findElements(LOCATOR)).thenReturn(elements);
+        when(inBrowserElementEvaluator.evaluateVisibility(elements)).thenReturn(List.of(true, false));
+        when(elementActions.isElementVisible(element2)).thenReturn(Boolean.TRUE);
+        var foundElements = elementSearchAction.findElements(searchContext, LOCATOR,
+                new SearchParameters().setWaitForElement(false));
+        assertEquals(elements, foundElements);
+        verify(elementActions, never()).isElementVisible(element1);
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(
+                info(NUMBER_OF_VISIBLE_ELEMENTS, LOGGED_LOCATOR, 2, Visibility.VISIBLE.getDescription(), 2)
+        )));
+    }
+
+    @Test
+    void shouldNotEvaluateVisibilityInBrowserIfDisabled()
+    {
+        var element = mock(WebElement.class);
+        var inBrowserElementEvaluator = mock(IInBrowserElementEvaluator.class);
+        elementSearchAction.setInBrowserElementEvaluator(Optional.of(inBrowserElementEvaluator));
+        when(searchContext.findElements(LOCATOR)).thenReturn(List.of(element));
+        when(elementActions.isElementVisible(element)).thenReturn(Boolean.TRUE);
+        var foundElements = elementSearchAction.findElements(searchContext, LOCATOR,
+                new SearchParameters().setWaitForElement(false).setVisibility(Visibility.INVISIBLE));
+        assertThat(foundElements, empty());
+        verifyNoInteractions(inBrowserElementEvaluator);
+    }
+
+    @Test
+    void shouldCheckVisibilityElementByElementIfElementIsStaleInBrowser()
+    {
+        var element = mock(WebElement.class);
+        var elements = List.of(element);
+        var inBrowserElementEvaluator = mock(IInBrowserElementEvaluator.class);
+        elementSearchAction.setInBrowserEvaluation(true);
+        elementSearchAction.setInBrowserElementEvaluator(Optional.of(inBrowserElementEvaluator));
+        when(searchContext.findElements(LOCATOR)).thenReturn(elements);
+        var exception = new StaleElementReferenceException(EXCEPTION);
+        when(inBrowserElementEvaluator.evaluateVisibility(elements)).thenThrow(exception);
+        when(elementActions.isElementVisible(element)).thenReturn(Boolean.TRUE);
+        var foundElements = elementSearchAction.findElements(searchContext, LOCATOR,
+                new SearchParameters().setWaitForElement(false));
+        assertEquals(elements, foundElements);
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(
+                debug(exception, "Falling back to per-element visibility check"),
+                info(NUMBER_OF_VISIBLE_ELEMENTS, LOGGED_LOCATOR, 1, Visibility.VISIBLE.getDescription(), 1)
+        )));
+    }
 }
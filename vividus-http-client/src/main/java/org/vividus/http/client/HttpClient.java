@@ -16,8 +16,13 @@
 
 package org.vividus.http.client;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import org.apache.commons.lang3.time.StopWatch;
@@ -38,6 +43,7 @@ public class HttpClient implements IHttpClient, AutoCloseable
     private HttpHost httpHost;
     private boolean skipResponseEntity;
     private List<HttpResponseHandler> httpResponseHandlers;
+    private int responseBodySpoolingThreshold = -1;
 
     @Override
     public HttpHost getHttpHost()
@@ -91,7 +97,7 @@ public class HttpClient implements IHttpClient, AutoCloseable
             {
                 if (!skipResponseEntity)
                 {
-                    httpResponse.setResponseBody(EntityUtils.toByteArray(entity));
+                    readResponseBody(entity, httpResponse);
                 }
                 else
                 {
@@ -112,6 +118,43 @@ public class HttpClient implements IHttpClient, AutoCloseable
         return httpResponse;
     }
 
+    private void readResponseBody(HttpEntity entity, HttpResponse httpResponse) throws IOException
+    {
+        long contentLength = entity.getContentLength();
+        if (responseBodySpoolingThreshold < 0 || (contentLength >= 0 && contentLength <= responseBodySpoolingThreshold))
+        {
+            httpResponse.setResponseBody(EntityUtils.toByteArray(entity));
+            return;
+        }
+        try (InputStream content = entity.getContent())
+        {
+            if (content == null)
+            {
+                return;
+            }
+            byte[] head = content.readNBytes(responseBodySpoolingThreshold);
+            int next = content.read();
+            if (next == -1)
+            {
+                httpResponse.setResponseBody(head);
+                return;
+            }
+            Path spooledResponseBody = Files.createTempFile("response-body-", ".tmp");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(spooledResponseBody)))
+            {
+                output.write(head);
+                output.write(next);
+                content.transferTo(output);
+            }
+            catch (IOException e)
+            {
+                Files.deleteIfExists(spooledResponseBody);
+                throw e;
+            }
+            httpResponse.setSpooledResponseBody(spooledResponseBody);
+        }
+    }
+
     public void setCloseableHttpClient(CloseableHttpClient closeableHttpClient)
     {
         this.closeableHttpClient = closeableHttpClient;
@@ -132,6 +175,11 @@ public class HttpClient implements IHttpClient, AutoCloseable
         this.httpResponseHandlers = httpResponseHandlers;
     }
 
+    public void setResponseBodySpoolingThreshold(int responseBodySpoolingThreshold)
+    {
+        this.responseBodySpoolingThreshold = responseBodySpoolingThreshold;
+    }
+
     @Override
     public void close() throws IOException
     {
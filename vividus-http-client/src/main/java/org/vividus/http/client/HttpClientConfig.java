@@ -57,6 +57,8 @@ public class HttpClientConfig
     private int socketTimeout;
     private CookieStore cookieStore;
     private boolean skipResponseEntity;
+    private boolean async;
+    private int responseBodySpoolingThreshold = -1;
     private DnsResolver dnsResolver;
     private boolean circularRedirectsAllowed;
     private String cookieSpec;
@@ -252,6 +254,26 @@ public class HttpClientConfig
         this.skipResponseEntity = skipResponseEntity;
     }
 
+    public boolean isAsync()
+    {
+        return async;
+    }
+
+    public void setAsync(boolean async)
+    {
+        this.async = async;
+    }
+
+    public int getResponseBodySpoolingThreshold()
+    {
+        return responseBodySpoolingThreshold;
+    }
+
+    public void setResponseBodySpoolingThreshold(int responseBodySpoolingThreshold)
+    {
+        this.responseBodySpoolingThreshold = responseBodySpoolingThreshold;
+    }
+
     public DnsResolver getDnsResolver()
     {
         return dnsResolver;
@@ -18,12 +18,15 @@ package org.vividus.http.client;
 
 import static org.apache.commons.lang3.Validate.isTrue;
 
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 
 import org.apache.http.Header;
@@ -36,15 +39,29 @@ import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.config.RequestConfig.Builder;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.DnsResolver;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.ssl.SSLContexts;
 import org.vividus.http.keystore.IKeyStoreFactory;
 
-public class HttpClientFactory implements IHttpClientFactory
+public class HttpClientFactory implements IHttpClientFactory, IAsyncHttpClientFactory
 {
     private final SslContextFactory sslContextFactory;
     private final IKeyStoreFactory keyStoreFactory;
@@ -59,6 +76,10 @@ public class HttpClientFactory implements IHttpClientFactory
     @Override
     public IHttpClient buildHttpClient(HttpClientConfig config) throws GeneralSecurityException
     {
+        if (config.isAsync())
+        {
+            return buildAsyncHttpClient(config);
+        }
         HttpClientBuilder builder = HttpClientBuilder.create();
         builder.setDefaultHeaders(config.createHeaders());
         if (config.hasCookieStore())
@@ -66,7 +87,7 @@ public class HttpClientFactory implements IHttpClientFactory
             builder.setDefaultCookieStore(config.getCookieStore());
         }
 
-        configureAuth(config, builder);
+        configureAuth(config, builder::addInterceptorFirst, builder::setDefaultCredentialsProvider);
 
         SslConfig sslConfig = config.getSslConfig();
         createSslContext(sslConfig.isSslCertificateCheckEnabled()).ifPresent(builder::setSSLContext);
@@ -86,13 +107,7 @@ public class HttpClientFactory implements IHttpClientFactory
         builder.setRedirectStrategy(config.getRedirectStrategy());
         builder.setRetryHandler(config.getHttpRequestRetryHandler());
         builder.setServiceUnavailableRetryStrategy(config.getServiceUnavailableRetryStrategy());
-        Builder requestConfigBuilder = RequestConfig.custom();
-        requestConfigBuilder.setConnectionRequestTimeout(config.getConnectionRequestTimeout());
-        requestConfigBuilder.setConnectTimeout(config.getConnectTimeout());
-        requestConfigBuilder.setCircularRedirectsAllowed(config.isCircularRedirectsAllowed());
-        requestConfigBuilder.setSocketTimeout(config.getSocketTimeout());
-        Optional.ofNullable(config.getCookieSpec()).ifPresent(requestConfigBuilder::setCookieSpec);
-        builder.setDefaultRequestConfig(requestConfigBuilder.build());
+        builder.setDefaultRequestConfig(createRequestConfig(config));
         builder.setDefaultSocketConfig(SocketConfig.copy(SocketConfig.DEFAULT)
                 .setSoTimeout(config.getSocketTimeout())
                 .build());
@@ -106,10 +121,96 @@ public class HttpClientFactory implements IHttpClientFactory
             httpClient.setHttpHost(HttpHost.create(config.getBaseUrl()));
         }
         httpClient.setSkipResponseEntity(config.isSkipResponseEntity());
+        httpClient.setResponseBodySpoolingThreshold(config.getResponseBodySpoolingThreshold());
         httpClient.setHttpResponseHandlers(Optional.ofNullable(config.getHttpResponseHandlers()).orElseGet(List::of));
         return httpClient;
     }
 
+    @Override
+    public IAsyncHttpClient buildAsyncHttpClient(HttpClientConfig config) throws GeneralSecurityException
+    {
+        HttpAsyncClientBuilder builder = HttpAsyncClientBuilder.create();
+        builder.setDefaultHeaders(config.createHeaders());
+        if (config.hasCookieStore())
+        {
+            builder.setDefaultCookieStore(config.getCookieStore());
+        }
+
+        configureAuth(config, builder::addInterceptorFirst, builder::setDefaultCredentialsProvider);
+
+        builder.setConnectionManager(createAsyncConnectionManager(config));
+
+        builder.addInterceptorFirst(config.getFirstRequestInterceptor());
+        builder.addInterceptorLast(config.getLastRequestInterceptor());
+        builder.addInterceptorLast(config.getLastResponseInterceptor());
+
+        builder.setRedirectStrategy(config.getRedirectStrategy());
+        builder.setDefaultRequestConfig(createRequestConfig(config));
+        builder.useSystemProperties();
+
+        CloseableHttpAsyncClient closeableHttpAsyncClient = builder.build();
+        closeableHttpAsyncClient.start();
+
+        AsyncHttpClient httpClient = new AsyncHttpClient();
+        httpClient.setCloseableHttpAsyncClient(closeableHttpAsyncClient);
+        if (config.hasBaseUrl())
+        {
+            httpClient.setHttpHost(HttpHost.create(config.getBaseUrl()));
+        }
+        httpClient.setSkipResponseEntity(config.isSkipResponseEntity());
+        httpClient.setHttpResponseHandlers(Optional.ofNullable(config.getHttpResponseHandlers()).orElseGet(List::of));
+        return httpClient;
+    }
+
+    private PoolingNHttpClientConnectionManager createAsyncConnectionManager(HttpClientConfig config)
+            throws GeneralSecurityException
+    {
+        SslConfig sslConfig = config.getSslConfig();
+        SSLContext sslContext = createSslContext(sslConfig.isSslCertificateCheckEnabled())
+                .orElseGet(SSLContexts::createSystemDefault);
+        HostnameVerifier hostnameVerifier = sslConfig.isSslHostnameVerificationEnabled()
+                ? SSLIOSessionStrategy.getDefaultHostnameVerifier()
+                : NoopHostnameVerifier.INSTANCE;
+        Registry<SchemeIOSessionStrategy> sessionStrategies = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", new SSLIOSessionStrategy(sslContext, hostnameVerifier))
+                .build();
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setSoTimeout(config.getSocketTimeout())
+                .build();
+        DnsResolver dnsResolver = Optional.ofNullable(config.getDnsResolver())
+                .orElse(SystemDefaultDnsResolver.INSTANCE);
+        try
+        {
+            PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig), null, sessionStrategies, dnsResolver);
+            if (config.getMaxTotalConnections() > 0)
+            {
+                connectionManager.setMaxTotal(config.getMaxTotalConnections());
+            }
+            if (config.getMaxConnectionsPerRoute() > 0)
+            {
+                connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+            }
+            return connectionManager;
+        }
+        catch (IOReactorException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static RequestConfig createRequestConfig(HttpClientConfig config)
+    {
+        Builder requestConfigBuilder = RequestConfig.custom();
+        requestConfigBuilder.setConnectionRequestTimeout(config.getConnectionRequestTimeout());
+        requestConfigBuilder.setConnectTimeout(config.getConnectTimeout());
+        requestConfigBuilder.setCircularRedirectsAllowed(config.isCircularRedirectsAllowed());
+        requestConfigBuilder.setSocketTimeout(config.getSocketTimeout());
+        Optional.ofNullable(config.getCookieSpec()).ifPresent(requestConfigBuilder::setCookieSpec);
+        return requestConfigBuilder.build();
+    }
+
     private Optional<SSLContext> createSslContext(boolean sslCertificateCheckEnabled) throws GeneralSecurityException
     {
         String protocol = SSLConnectionSocketFactory.SSL;
@@ -125,7 +226,8 @@ public class HttpClientFactory implements IHttpClientFactory
         return Optional.empty();
     }
 
-    private void configureAuth(HttpClientConfig config, HttpClientBuilder builder)
+    private void configureAuth(HttpClientConfig config, Consumer<HttpRequestInterceptor> firstInterceptorAdder,
+            Consumer<CredentialsProvider> credentialsProviderSetter)
     {
         AuthConfig authConfig = config.getAuthConfig();
         String username = authConfig.getUsername();
@@ -143,7 +245,7 @@ public class HttpClientFactory implements IHttpClientFactory
         Credentials credentials = new UsernamePasswordCredentials(username, password);
         if (authConfig.isPreemptiveAuthEnabled())
         {
-            builder.addInterceptorFirst((HttpRequestInterceptor) (req, ctx) ->
+            firstInterceptorAdder.accept((req, ctx) ->
             {
                 ContextAwareAuthScheme scheme = new BasicScheme(StandardCharsets.UTF_8);
                 Header authHeader = scheme.authenticate(credentials, req, ctx);
@@ -155,7 +257,7 @@ public class HttpClientFactory implements IHttpClientFactory
             AuthScope authScope = config.hasAuthScope() ? config.getAuthScope() : AuthScope.ANY;
             CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
             credentialsProvider.setCredentials(authScope, credentials);
-            builder.setDefaultCredentialsProvider(credentialsProvider);
+            credentialsProviderSetter.accept(credentialsProvider);
         }
     }
 
@@ -16,21 +16,37 @@
 
 package org.vividus.http.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.http.Header;
 
-public class HttpResponse
+public class HttpResponse implements Closeable
 {
+    private static final Cleaner SPOOLED_BODIES_CLEANER = Cleaner.create();
+
     private URI from;
     private String method;
     private int statusCode;
     private long responseTimeInMs;
     private byte[] responseBody;
+    private SpooledBody spooledResponseBody;
+    private Cleaner.Cleanable spooledResponseBodyCleanable;
+    private boolean spooledResponseBodyReleased;
     private Header[] responseHeaders;
 
     public Optional<Header> getHeaderByName(String headerName)
@@ -75,19 +91,136 @@ public class HttpResponse
 
     public byte[] getResponseBody()
     {
+        SpooledBody spooledBody = getSpooledResponseBody();
+        if (spooledBody != null)
+        {
+            return spooledBody.readAllBytes();
+        }
         return ArrayUtils.clone(responseBody);
     }
 
     public void setResponseBody(byte[] responseBody)
     {
+        releaseSpooledResponseBody();
+        this.spooledResponseBodyReleased = false;
         this.responseBody = ArrayUtils.clone(responseBody);
     }
 
+    /**
+     * Sets the response body spooled to the file, the file is read only on demand and is deleted once the response
+     * is closed or becomes unreachable and all streams opened over the body are closed.
+     * @param spooledResponseBody The file containing the response body
+     */
+    void setSpooledResponseBody(Path spooledResponseBody)
+    {
+        releaseSpooledResponseBody();
+        this.spooledResponseBodyReleased = false;
+        this.responseBody = null;
+        SpooledBody spooledBody = new SpooledBody(spooledResponseBody);
+        this.spooledResponseBody = spooledBody;
+        this.spooledResponseBodyCleanable = SPOOLED_BODIES_CLEANER.register(this, spooledBody::release);
+    }
+
+    public boolean hasResponseBody()
+    {
+        return responseBody != null || spooledResponseBody != null || spooledResponseBodyReleased;
+    }
+
+    /**
+     * Gets the size of the response body without reading it
+     * @return The size of the response body in bytes or <code>0</code> if the response has no body
+     * @throws IllegalStateException If the spooled response body is released since the response is closed
+     */
+    public long getResponseBodySize()
+    {
+        SpooledBody spooledBody = getSpooledResponseBody();
+        if (spooledBody != null)
+        {
+            return spooledBody.size();
+        }
+        return responseBody != null ? responseBody.length : 0;
+    }
+
+    /**
+     * Opens the stream reading the response body without copying it, the spooled response body is kept on the disk
+     * until the stream is closed even if the response is closed earlier
+     * @return The stream reading the response body or <code>null</code> if the response has no body
+     * @throws IOException If the spooled response body can't be read
+     * @throws IllegalStateException If the spooled response body is released since the response is closed
+     */
+    public InputStream getResponseBodyAsStream() throws IOException
+    {
+        SpooledBody spooledBody = getSpooledResponseBody();
+        if (spooledBody != null)
+        {
+            return spooledBody.openStream();
+        }
+        return responseBody != null ? new ByteArrayInputStream(responseBody) : null;
+    }
+
+    /**
+     * Retains the response body, so it stays readable after the response is closed. The spooled response body is
+     * deleted once the response is closed and all the retained bodies become unreachable.
+     * @return The retained response body or <code>null</code> if the response has no body
+     * @throws IllegalStateException If the spooled response body is released since the response is closed
+     */
+    public RetainedResponseBody retainResponseBody()
+    {
+        SpooledBody spooledBody = getSpooledResponseBody();
+        if (spooledBody != null)
+        {
+            spooledBody.retain();
+            RetainedResponseBody retainedBody = spooledBody::openStream;
+            SPOOLED_BODIES_CLEANER.register(retainedBody, spooledBody::release);
+            return retainedBody;
+        }
+        byte[] body = responseBody;
+        return body != null ? () -> new ByteArrayInputStream(body) : null;
+    }
+
     public String getResponseBodyAsString()
     {
+        SpooledBody spooledBody = getSpooledResponseBody();
+        if (spooledBody != null)
+        {
+            return new String(spooledBody.readAllBytes(), StandardCharsets.UTF_8);
+        }
         return responseBody != null ? new String(responseBody, StandardCharsets.UTF_8) : null;
     }
 
+    /**
+     * Releases the spooled response body, it is deleted from the disk as soon as all streams opened over it are
+     * closed, any further attempt to read it fails. The response body kept in the memory is left untouched.
+     */
+    @Override
+    public void close()
+    {
+        if (spooledResponseBody != null)
+        {
+            releaseSpooledResponseBody();
+            spooledResponseBodyReleased = true;
+        }
+    }
+
+    private void releaseSpooledResponseBody()
+    {
+        if (spooledResponseBodyCleanable != null)
+        {
+            spooledResponseBodyCleanable.clean();
+            spooledResponseBodyCleanable = null;
+        }
+        spooledResponseBody = null;
+    }
+
+    private SpooledBody getSpooledResponseBody()
+    {
+        if (spooledResponseBodyReleased)
+        {
+            throw new IllegalStateException("The response body can't be read, since the response is closed");
+        }
+        return spooledResponseBody;
+    }
+
     public Header[] getResponseHeaders()
     {
         return ArrayUtils.clone(responseHeaders);
@@ -133,7 +266,7 @@ public class HttpResponse
     @Override
     public String toString()
     {
-        return statusCode + " : " + getResponseBodyAsString();
+        return statusCode + " : " + (spooledResponseBodyReleased ? "<closed>" : getResponseBodyAsString());
     }
 
     private StringBuilder appendWithSeparators(StringBuilder builder, int[] codes, String separator)
@@ -148,4 +281,119 @@ public class HttpResponse
         }
         return builder;
     }
+
+    @FunctionalInterface
+    public interface RetainedResponseBody
+    {
+        InputStream openStream() throws IOException;
+    }
+
+    private static final class SpooledBody
+    {
+        // The arrays of the bigger sizes can't be allocated by the most of JVMs
+        private static final long MAX_IN_MEMORY_SIZE = Integer.MAX_VALUE - 8;
+
+        private final Path file;
+        // The response holds one reference, every opened stream holds one more
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        SpooledBody(Path file)
+        {
+            this.file = file;
+        }
+
+        long size()
+        {
+            retain();
+            try
+            {
+                return Files.size(file);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            finally
+            {
+                release();
+            }
+        }
+
+        byte[] readAllBytes()
+        {
+            long size = size();
+            if (size > MAX_IN_MEMORY_SIZE)
+            {
+                throw new IllegalStateException(String.format(
+                        "The response body of %d bytes is too large to be read into the memory, read it as a stream",
+                        size));
+            }
+            try (InputStream body = openStream())
+            {
+                return body.readAllBytes();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        InputStream openStream() throws IOException
+        {
+            retain();
+            try
+            {
+                AtomicBoolean closed = new AtomicBoolean();
+                return new FilterInputStream(Files.newInputStream(file))
+                {
+                    @Override
+                    public void close() throws IOException
+                    {
+                        try
+                        {
+                            super.close();
+                        }
+                        finally
+                        {
+                            if (closed.compareAndSet(false, true))
+                            {
+                                release();
+                            }
+                        }
+                    }
+                };
+            }
+            catch (IOException e)
+            {
+                release();
+                throw e;
+            }
+        }
+
+        void retain()
+        {
+            references.getAndUpdate(count -> {
+                if (count == 0)
+                {
+                    throw new IllegalStateException("The spooled response body is already deleted");
+                }
+                return count + 1;
+            });
+        }
+
+        void release()
+        {
+            if (references.decrementAndGet() == 0)
+            {
+                try
+                {
+                    Files.deleteIfExists(file);
+                }
+                catch (IOException e)
+                {
+                    file.toFile().deleteOnExit();
+                }
+            }
+        }
+    }
 }
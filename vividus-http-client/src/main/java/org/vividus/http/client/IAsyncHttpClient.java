@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.client;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * HTTP client executing requests without holding a thread per in-flight request. Response handlers are invoked only
+ * for blocking executions, since they may rely on the test context of the calling thread. The client must be closed
+ * to stop its IO reactor threads.
+ */
+public interface IAsyncHttpClient extends IHttpClient, Closeable
+{
+    CompletableFuture<HttpResponse> executeAsync(HttpUriRequest request);
+
+    CompletableFuture<HttpResponse> executeAsync(HttpUriRequest request, HttpContext context);
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.client;
+
+import java.security.GeneralSecurityException;
+
+public interface IAsyncHttpClientFactory
+{
+    /**
+     * Builds the HTTP client executing the requests without blocking the calling thread. The client owns the IO
+     * reactor threads, so it must be closed once it's not needed anymore.
+     *
+     * @param config The configuration of the client
+     * @return The asynchronous HTTP client
+     * @throws GeneralSecurityException If the SSL context can't be initialized
+     */
+    IAsyncHttpClient buildAsyncHttpClient(HttpClientConfig config) throws GeneralSecurityException;
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpStatus;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.http.handler.HttpResponseHandler;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncHttpClientTests
+{
+    private static final URI URI_TO_GO = URI.create("https://www.vividus.org/");
+
+    @Mock private HttpResponseHandler handler;
+    @Mock private Header header;
+    @Mock private CloseableHttpAsyncClient closeableHttpAsyncClient;
+    @InjectMocks private AsyncHttpClient httpClient;
+
+    @BeforeEach
+    void init()
+    {
+        httpClient.setHttpResponseHandlers(List.of(handler));
+    }
+
+    @Test
+    void shouldExecuteRequestAsynchronouslyWithoutInvokingHandlers()
+    {
+        HttpHost httpHost = HttpHost.create(URI_TO_GO.toString());
+        httpClient.setHttpHost(httpHost);
+        HttpContext context = mock(HttpContext.class);
+        CompletableFuture<HttpResponse> result = httpClient.executeAsync(new HttpGet(URI_TO_GO), context);
+        assertFalse(result.isDone());
+
+        byte[] body = { 0, 1, 2 };
+        Header[] headers = { header };
+        org.apache.http.HttpResponse response = mockResponse(HttpStatus.SC_OK, headers);
+        when(response.getEntity()).thenReturn(new ByteArrayEntity(body));
+        captureCallback(httpHost, context).completed(response);
+
+        HttpResponse httpResponse = result.join();
+        assertEquals("GET", httpResponse.getMethod());
+        assertEquals(URI_TO_GO, httpResponse.getFrom());
+        assertArrayEquals(body, httpResponse.getResponseBody());
+        assertArrayEquals(headers, httpResponse.getResponseHeaders());
+        assertEquals(HttpStatus.SC_OK, httpResponse.getStatusCode());
+        verifyNoInteractions(handler);
+    }
+
+    @Test
+    void shouldExecuteRequestBlockingAndInvokeHandlers() throws IOException
+    {
+        httpClient.setSkipResponseEntity(true);
+        org.apache.http.HttpResponse response = mockResponse(HttpStatus.SC_NOT_FOUND, new Header[0]);
+        when(response.getEntity()).thenReturn(new ByteArrayEntity(new byte[] { 1 }));
+        when(closeableHttpAsyncClient.execute(isA(HttpHead.class), isNull(), any())).thenAnswer(invocation -> {
+            FutureCallback<org.apache.http.HttpResponse> callback = invocation.getArgument(2);
+            callback.completed(response);
+            return null;
+        });
+        HttpResponse httpResponse = httpClient.doHttpHead(URI_TO_GO);
+        assertEquals(HttpStatus.SC_NOT_FOUND, httpResponse.getStatusCode());
+        assertNull(httpResponse.getResponseBody());
+        verify(handler).handle(httpResponse);
+    }
+
+    @Test
+    void shouldRethrowIOExceptionOnBlockingExecution()
+    {
+        IOException exception = new IOException("connection refused");
+        when(closeableHttpAsyncClient.execute(isA(HttpGet.class), isNull(), any())).thenAnswer(invocation -> {
+            FutureCallback<org.apache.http.HttpResponse> callback = invocation.getArgument(2);
+            callback.failed(exception);
+            return null;
+        });
+        IOException actual = assertThrows(IOException.class, () -> httpClient.doHttpGet(URI_TO_GO));
+        assertSame(exception, actual);
+        verifyNoInteractions(handler);
+    }
+
+    @Test
+    void shouldCancelFutureOnCancelledExecution()
+    {
+        CompletableFuture<HttpResponse> result = httpClient.executeAsync(new HttpGet(URI_TO_GO));
+        ArgumentCaptor<FutureCallback<org.apache.http.HttpResponse>> callbackCaptor = callbackCaptor();
+        verify(closeableHttpAsyncClient).execute(isA(HttpGet.class), isNull(), callbackCaptor.capture());
+        callbackCaptor.getValue().cancelled();
+        assertTrue(result.isCancelled());
+    }
+
+    @Test
+    void testClose() throws IOException
+    {
+        httpClient.close();
+        verify(closeableHttpAsyncClient).close();
+    }
+
+    private org.apache.http.HttpResponse mockResponse(int statusCode, Header... headers)
+    {
+        org.apache.http.HttpResponse response = mock(org.apache.http.HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        when(statusLine.getStatusCode()).thenReturn(statusCode);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        when(response.getAllHeaders()).thenReturn(headers);
+        return response;
+    }
+
+    private FutureCallback<org.apache.http.HttpResponse> captureCallback(HttpHost httpHost, HttpContext context)
+    {
+        ArgumentCaptor<FutureCallback<org.apache.http.HttpResponse>> callbackCaptor = callbackCaptor();
+        verify(closeableHttpAsyncClient).execute(eq(httpHost), isA(HttpGet.class), eq(context),
+                callbackCaptor.capture());
+        return callbackCaptor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<FutureCallback<org.apache.http.HttpResponse>> callbackCaptor()
+    {
+        return ArgumentCaptor.forClass(FutureCallback.class);
+    }
+}
@@ -31,6 +31,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.util.Collections;
@@ -112,6 +113,22 @@ class HttpClientFactoryTests
         config.setSocketTimeout(0);
     }
 
+    @Test
+    void shouldBuildAsyncHttpClient() throws GeneralSecurityException, IOException
+    {
+        String baseUrl = "https://vividus.org";
+        config.setBaseUrl(baseUrl);
+        config.setAuthConfig(authConfig(null, null, false));
+        config.setMaxTotalConnections(2);
+        config.setMaxConnectionsPerRoute(1);
+        config.setAsync(true);
+        when(keyStoreFactory.getKeyStore()).thenReturn(Optional.empty());
+        try (AsyncHttpClient httpClient = (AsyncHttpClient) httpClientFactory.buildHttpClient(config))
+        {
+            assertEquals(HttpHost.create(baseUrl), httpClient.getHttpHost());
+        }
+    }
+
     @Test
     void testBuildHttpClientWithHeaders() throws GeneralSecurityException
     {
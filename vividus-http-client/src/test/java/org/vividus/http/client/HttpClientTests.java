@@ -32,6 +32,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.time.Duration;
 import java.util.List;
@@ -44,11 +45,14 @@ import org.apache.http.StatusLine;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
+import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.protocol.HttpContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -216,6 +220,36 @@ class HttpClientTests
         verify(handler).handle(httpResponse);
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "-1,  3, false",
+        "4,  -1, false",
+        "2,  -1, true",
+        "3,   3, false",
+        "2,   3, true"
+    })
+    void shouldSpoolResponseBodyExceedingThreshold(int threshold, long contentLength, boolean spooled)
+            throws IOException
+    {
+        httpClient.setResponseBodySpoolingThreshold(threshold);
+        byte[] body = { 0, 1, 2 };
+        CloseableHttpResponse closeableHttpResponse = mock(CloseableHttpResponse.class);
+        BasicHttpEntity httpEntity = new BasicHttpEntity();
+        httpEntity.setContent(new ByteArrayInputStream(body));
+        httpEntity.setContentLength(contentLength);
+        when(closeableHttpResponse.getEntity()).thenReturn(httpEntity);
+        when(closeableHttpResponse.getStatusLine()).thenReturn(mock(StatusLine.class));
+        when(closeableHttpClient.execute(isA(HttpGet.class), eq((HttpContext) null))).thenReturn(
+                closeableHttpResponse);
+        HttpResponse httpResponse = httpClient.doHttpGet(URI_TO_GO);
+        assertArrayEquals(body, httpResponse.getResponseBody());
+        assertEquals(body.length, httpResponse.getResponseBodySize());
+        try (InputStream stream = httpResponse.getResponseBodyAsStream())
+        {
+            assertEquals(spooled, !(stream instanceof ByteArrayInputStream));
+        }
+    }
+
     private static Answer<CloseableHttpResponse> getAnswerWithSleep(CloseableHttpResponse closeableHttpResponse)
     {
         return invocation ->
@@ -17,13 +17,21 @@
 package org.vividus.http.client;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -32,6 +40,8 @@ import org.apache.http.Header;
 import org.apache.http.HttpStatus;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -55,6 +65,135 @@ class HttpResponseTests
         assertEquals(statusCode + " : " + responseBody, httpResponse.toString());
     }
 
+    @Test
+    void shouldReadSpooledResponseBody(@TempDir Path tempDir) throws IOException
+    {
+        String responseBody = "spooled response body";
+        Path spooledResponseBody = tempDir.resolve("body.tmp");
+        Files.writeString(spooledResponseBody, responseBody);
+        httpResponse.setSpooledResponseBody(spooledResponseBody);
+        assertTrue(httpResponse.hasResponseBody());
+        assertEquals(responseBody.length(), httpResponse.getResponseBodySize());
+        assertEquals(responseBody, httpResponse.getResponseBodyAsString());
+        assertArrayEquals(responseBody.getBytes(StandardCharsets.UTF_8), httpResponse.getResponseBody());
+        try (InputStream stream = httpResponse.getResponseBodyAsStream())
+        {
+            assertEquals(responseBody, new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldDeleteSpooledResponseBodyOnClose(@TempDir Path tempDir) throws IOException
+    {
+        Path spooledResponseBody = Files.writeString(tempDir.resolve("closed.tmp"), HEADER_NAME);
+        httpResponse.setSpooledResponseBody(spooledResponseBody);
+        httpResponse.close();
+        assertFalse(Files.exists(spooledResponseBody));
+        assertTrue(httpResponse.hasResponseBody());
+        httpResponse.close();
+        String message = "The response body can't be read, since the response is closed";
+        List<Executable> readers = List.of(httpResponse::getResponseBody, httpResponse::getResponseBodyAsString,
+                httpResponse::getResponseBodyAsStream, httpResponse::getResponseBodySize,
+                httpResponse::retainResponseBody);
+        for (Executable reader : readers)
+        {
+            IllegalStateException exception = assertThrows(IllegalStateException.class, reader);
+            assertEquals(message, exception.getMessage());
+        }
+        assertEquals("0 : <closed>", httpResponse.toString());
+    }
+
+    @Test
+    void shouldReadResponseBodyAfterClosedSpooledBodyIsReplaced(@TempDir Path tempDir) throws IOException
+    {
+        httpResponse.setSpooledResponseBody(Files.writeString(tempDir.resolve("first.tmp"), HEADER_NAME));
+        httpResponse.close();
+        httpResponse.setSpooledResponseBody(Files.writeString(tempDir.resolve("second.tmp"), OTHER_HEADER_NAME));
+        assertEquals(OTHER_HEADER_NAME, httpResponse.getResponseBodyAsString());
+    }
+
+    @Test
+    void shouldNotReadTooLargeSpooledResponseBodyIntoMemory(@TempDir Path tempDir) throws IOException
+    {
+        Path spooledResponseBody = tempDir.resolve("large.tmp");
+        long size = 3L * Integer.MAX_VALUE;
+        try (RandomAccessFile file = new RandomAccessFile(spooledResponseBody.toFile(), "rw"))
+        {
+            file.setLength(size);
+        }
+        httpResponse.setSpooledResponseBody(spooledResponseBody);
+        assertEquals(size, httpResponse.getResponseBodySize());
+        IllegalStateException exception = assertThrows(IllegalStateException.class, httpResponse::getResponseBody);
+        assertEquals("The response body of " + size
+                + " bytes is too large to be read into the memory, read it as a stream", exception.getMessage());
+        httpResponse.close();
+    }
+
+    @Test
+    void shouldKeepSpooledResponseBodyUntilOpenedStreamIsClosed(@TempDir Path tempDir) throws IOException
+    {
+        Path spooledResponseBody = Files.writeString(tempDir.resolve("streamed.tmp"), HEADER_NAME);
+        httpResponse.setSpooledResponseBody(spooledResponseBody);
+        try (InputStream stream = httpResponse.getResponseBodyAsStream())
+        {
+            httpResponse.close();
+            assertTrue(Files.exists(spooledResponseBody));
+            assertEquals(HEADER_NAME, new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertFalse(Files.exists(spooledResponseBody));
+    }
+
+    @Test
+    void shouldReadRetainedSpooledResponseBodyAfterClose(@TempDir Path tempDir) throws IOException
+    {
+        Path spooledResponseBody = Files.writeString(tempDir.resolve("retained.tmp"), HEADER_NAME);
+        httpResponse.setSpooledResponseBody(spooledResponseBody);
+        HttpResponse.RetainedResponseBody retainedBody = httpResponse.retainResponseBody();
+        httpResponse.close();
+        assertTrue(Files.exists(spooledResponseBody));
+        for (int i = 0; i < 2; i++)
+        {
+            try (InputStream stream = retainedBody.openStream())
+            {
+                assertEquals(HEADER_NAME, new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertTrue(Files.exists(spooledResponseBody));
+    }
+
+    @Test
+    void shouldRetainResponseBodyKeptInMemory() throws IOException
+    {
+        assertNull(httpResponse.retainResponseBody());
+        byte[] responseBody = HEADER_NAME.getBytes(StandardCharsets.UTF_8);
+        httpResponse.setResponseBody(responseBody);
+        try (InputStream stream = httpResponse.retainResponseBody().openStream())
+        {
+            assertArrayEquals(responseBody, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldDeletePreviousSpooledResponseBodyOnBodyReplacement(@TempDir Path tempDir) throws IOException
+    {
+        Path spooledResponseBody = Files.writeString(tempDir.resolve("replaced.tmp"), HEADER_NAME);
+        httpResponse.setSpooledResponseBody(spooledResponseBody);
+        byte[] responseBody = OTHER_HEADER_NAME.getBytes(StandardCharsets.UTF_8);
+        httpResponse.setResponseBody(responseBody);
+        assertFalse(Files.exists(spooledResponseBody));
+        assertArrayEquals(responseBody, httpResponse.getResponseBody());
+        httpResponse.close();
+        assertArrayEquals(responseBody, httpResponse.getResponseBody());
+    }
+
+    @Test
+    void shouldHandleMissingResponseBody() throws IOException
+    {
+        assertFalse(httpResponse.hasResponseBody());
+        assertEquals(0, httpResponse.getResponseBodySize());
+        assertNull(httpResponse.getResponseBodyAsStream());
+    }
+
     @Test
     void testToStringForHead()
     {
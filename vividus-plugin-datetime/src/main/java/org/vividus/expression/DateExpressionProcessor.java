@@ -39,7 +39,7 @@ public class DateExpressionProcessor extends AbstractExpressionProcessor<String>
 
     public DateExpressionProcessor(DateUtils dateUtils)
     {
-        super(GENERATE_DATE_PATTERN);
+        super(GENERATE_DATE_PATTERN, "generateDate");
         this.dateUtils = dateUtils;
     }
 
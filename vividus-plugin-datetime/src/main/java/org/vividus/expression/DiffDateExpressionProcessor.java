@@ -49,7 +49,7 @@ public class DiffDateExpressionProcessor extends AbstractExpressionProcessor<Str
 
     public DiffDateExpressionProcessor(DateUtils dateUtils)
     {
-        super(DIFF_DATE_PATTERN);
+        super(DIFF_DATE_PATTERN, "diffDate");
         this.dateUtils = dateUtils;
     }
 
@@ -41,7 +41,7 @@ public class FormatDateExpressionProcessor extends AbstractExpressionProcessor<S
 
     public FormatDateExpressionProcessor(DateUtils dateUtils)
     {
-        super(FORMAT_PATTERN);
+        super(FORMAT_PATTERN, "formatDate");
         this.dateUtils = dateUtils;
     }
 
@@ -39,7 +39,7 @@ public class FormatDateToExpressionProcessor extends AbstractExpressionProcessor
 
     public FormatDateToExpressionProcessor(DateUtils dateUtils)
     {
-        super(FORMAT_TO_PATTERN);
+        super(FORMAT_TO_PATTERN, "formatDateTo");
         this.dateUtils = dateUtils;
     }
 
@@ -44,7 +44,7 @@ public class ShiftDateExpressionProcessor extends AbstractExpressionProcessor<St
 
     public ShiftDateExpressionProcessor(DateUtils dateUtils)
     {
-        super(SHIFT_DATE_PATTERN);
+        super(SHIFT_DATE_PATTERN, "shiftDate");
         this.dateUtils = dateUtils;
     }
 
@@ -36,11 +36,16 @@ public enum DataSetComparisonRule
         }
 
         @Override
-        public void fillStatistics(DataSourceStatistics statistics,
-                List<Pair<Map<String, Object>, Map<String, Object>>> comparison)
+        boolean isKeyCompared(boolean presentInRight)
         {
-            statistics.getLeft().setNoPair(comparison.stream().map(Pair::getRight).filter(Map::isEmpty).count());
-            statistics.getRight().setNoPair(comparison.stream().map(Pair::getLeft).filter(Map::isEmpty).count());
+            return true;
+        }
+
+        @Override
+        void fillStatistics(DataSourceStatistics statistics, long leftNoPair, long rightNoPair)
+        {
+            statistics.getLeft().setNoPair(leftNoPair);
+            statistics.getRight().setNoPair(rightNoPair);
         }
     },
     CONTAINS("The left data set contains all rows from the right data set")
@@ -53,10 +58,15 @@ public enum DataSetComparisonRule
         }
 
         @Override
-        public void fillStatistics(DataSourceStatistics statistics,
-                List<Pair<Map<String, Object>, Map<String, Object>>> comparison)
+        boolean isKeyCompared(boolean presentInRight)
+        {
+            return presentInRight;
+        }
+
+        @Override
+        void fillStatistics(DataSourceStatistics statistics, long leftNoPair, long rightNoPair)
         {
-            statistics.getRight().setNoPair(comparison.stream().map(Pair::getLeft).filter(Map::isEmpty).count());
+            statistics.getRight().setNoPair(rightNoPair);
         }
     };
 
@@ -75,6 +85,20 @@ public enum DataSetComparisonRule
     abstract Stream<Object> collectComparisonKeys(ListMultimap<Object, Map<String, Object>> leftData,
             ListMultimap<Object, Map<String, Object>> rightData);
 
-    abstract void fillStatistics(DataSourceStatistics statistics,
-            List<Pair<Map<String, Object>, Map<String, Object>>> comparison);
+    /**
+     * Defines whether the rows sharing the same key must be compared, it is used by streaming comparison where the
+     * full set of keys is not known in advance
+     * @param presentInRight <code>true</code> if the right data set contains at least one row with the key
+     * @return <code>true</code> if the rows must be compared
+     */
+    abstract boolean isKeyCompared(boolean presentInRight);
+
+    abstract void fillStatistics(DataSourceStatistics statistics, long leftNoPair, long rightNoPair);
+
+    void fillStatistics(DataSourceStatistics statistics,
+            List<Pair<Map<String, Object>, Map<String, Object>>> comparison)
+    {
+        fillStatistics(statistics, comparison.stream().map(Pair::getRight).filter(Map::isEmpty).count(),
+                comparison.stream().map(Pair::getLeft).filter(Map::isEmpty).count());
+    }
 }
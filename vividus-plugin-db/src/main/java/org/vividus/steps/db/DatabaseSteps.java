@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -69,6 +70,9 @@ public class DatabaseSteps
     private Duration dbQueryTimeout;
     private DuplicateKeysStrategy duplicateKeysStrategy;
     private int diffLimit;
+    private boolean streamingComparisonEnabled;
+    private int streamingComparisonFetchSize;
+    private int streamingComparisonInMemoryRowsLimit;
 
     public DatabaseSteps(DataSourceManager dataSourceManager, VariableContext variableContext,
                          IAttachmentPublisher attachmentPublisher, ISoftAssert softAssert)
@@ -224,6 +228,14 @@ public class DatabaseSteps
      *   <li><code>NOOP</code> (by default)</li>
      *   <li><code>DISTINCT</code></li>
      * </ul>
+     * <p>
+     *   Use the following property to compare the data sets without loading them into memory entirely:
+     *   <code>db.streaming-comparison.enabled</code>. In this mode the rows are read through forward-only result
+     *   sets, if both queries end with <code>ORDER BY</code> clause listing the key columns, the data sets are merged
+     *   row by row, otherwise the rows exceeding <code>db.streaming-comparison.in-memory-rows-limit</code> are
+     *   spilled to the temporary files. The merge requires the database to order the key values consistently with
+     *   their natural ordering (e.g. binary collation for strings), the comparison fails otherwise.
+     * </p>
      *
      * @param leftSqlQuery   baseline SQL query
      * @param leftDbKey      key identifying the database connection for the left data set
@@ -244,20 +256,64 @@ public class DatabaseSteps
     {
         DataSourceStatistics dataSourceStatistics = new DataSourceStatistics(dataSourceManager.getDataSource(leftDbKey),
                 dataSourceManager.getDataSource(rightDbKey));
+        dataSourceStatistics.getLeft().setQuery(leftSqlQuery);
+        dataSourceStatistics.getRight().setQuery(rightSqlQuery);
+        JdbcTemplate leftJdbcTemplate = dataSourceManager.getJdbcTemplate(leftDbKey);
+        JdbcTemplate rightJdbcTemplate = dataSourceManager.getJdbcTemplate(rightDbKey);
+
+        CompletableFuture<List<List<EntryComparisonResult>>> comparison = streamingComparisonEnabled
+                ? compareDataInStreamingMode(comparisonRule, dataSourceStatistics, leftJdbcTemplate,
+                        rightJdbcTemplate, keys)
+                : compareDataInMemory(comparisonRule, dataSourceStatistics, leftJdbcTemplate, rightJdbcTemplate,
+                        keys);
+        List<List<EntryComparisonResult>> result = comparison.get(dbQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        verifyComparisonResult(comparisonRule, dataSourceStatistics, result);
+    }
+
+    private CompletableFuture<List<List<EntryComparisonResult>>> compareDataInMemory(
+            DataSetComparisonRule comparisonRule, DataSourceStatistics dataSourceStatistics,
+            JdbcTemplate leftJdbcTemplate, JdbcTemplate rightJdbcTemplate, Set<String> keys)
+    {
         QueryStatistic left = dataSourceStatistics.getLeft();
-        left.setQuery(leftSqlQuery);
         QueryStatistic right = dataSourceStatistics.getRight();
-        right.setQuery(rightSqlQuery);
         CompletableFuture<ListMultimap<Object, Map<String, Object>>> leftData =
-                createCompletableRequest(dataSourceManager.getJdbcTemplate(leftDbKey), leftSqlQuery, keys, left);
+                createCompletableRequest(leftJdbcTemplate, left.getQuery(), keys, left);
         CompletableFuture<ListMultimap<Object, Map<String, Object>>> rightData =
-                createCompletableRequest(dataSourceManager.getJdbcTemplate(rightDbKey), rightSqlQuery, keys, right);
+                createCompletableRequest(rightJdbcTemplate, right.getQuery(), keys, right);
 
-        List<List<EntryComparisonResult>> result = leftData.thenCombine(rightData,
-                (leftResult, rightResult) -> compareData(comparisonRule, dataSourceStatistics, leftResult, rightResult))
-                .get(dbQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        return leftData.thenCombine(rightData,
+                (leftResult, rightResult) -> compareData(comparisonRule, dataSourceStatistics, leftResult,
+                        rightResult));
+    }
 
-        verifyComparisonResult(comparisonRule, dataSourceStatistics, result);
+    private CompletableFuture<List<List<EntryComparisonResult>>> compareDataInStreamingMode(
+            DataSetComparisonRule comparisonRule, DataSourceStatistics dataSourceStatistics,
+            JdbcTemplate leftJdbcTemplate, JdbcTemplate rightJdbcTemplate, Set<String> keys)
+    {
+        QueryStatistic left = dataSourceStatistics.getLeft();
+        QueryStatistic right = dataSourceStatistics.getRight();
+        StreamingDataSetComparator comparator = new StreamingDataSetComparator(comparisonRule,
+                duplicateKeysStrategy, diffLimit, streamingComparisonInMemoryRowsLimit);
+        Optional<List<String>> orderingKeys = StreamingDataSetComparator.findOrderingKeys(left.getQuery(),
+                right.getQuery(), keys);
+        return CompletableFuture.supplyAsync(() -> {
+            try (StreamingQuery leftRows = StreamingQuery.execute(leftJdbcTemplate, left.getQuery(),
+                    streamingComparisonFetchSize, left);
+                    StreamingQuery rightRows = StreamingQuery.execute(rightJdbcTemplate, right.getQuery(),
+                            streamingComparisonFetchSize, right))
+            {
+                if (orderingKeys.isPresent())
+                {
+                    LOGGER.info("Both queries are ordered by the key columns {}, the data sets are compared using"
+                            + " merge join", orderingKeys.get());
+                    return comparator.compareOrdered(leftRows, rightRows,
+                            StreamingDataSetComparator.createKeyComparator(orderingKeys.get()), dataSourceStatistics);
+                }
+                return comparator.compareUnordered(leftRows, rightRows, row -> hash(keys, row),
+                        dataSourceStatistics);
+            }
+        });
     }
 
     /**
@@ -459,4 +515,19 @@ public class DatabaseSteps
     {
         this.diffLimit = diffLimit;
     }
+
+    public void setStreamingComparisonEnabled(boolean streamingComparisonEnabled)
+    {
+        this.streamingComparisonEnabled = streamingComparisonEnabled;
+    }
+
+    public void setStreamingComparisonFetchSize(int streamingComparisonFetchSize)
+    {
+        this.streamingComparisonFetchSize = streamingComparisonFetchSize;
+    }
+
+    public void setStreamingComparisonInMemoryRowsLimit(int streamingComparisonInMemoryRowsLimit)
+    {
+        this.streamingComparisonInMemoryRowsLimit = streamingComparisonInMemoryRowsLimit;
+    }
 }
@@ -0,0 +1,671 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.hash.HashCode;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.vividus.util.comparison.ComparisonUtils;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+/**
+ * Compares data sets without loading them into memory entirely:
+ * <ul>
+ *     <li>if both data sets are ordered by the key columns, they are merged group by group, so only the rows sharing
+ *     the same key are kept in memory, the merge relies on the database ordering the key values consistently with
+ *     their natural ordering in Java (e.g. binary collation for strings) and fails as soon as a row violating this
+ *     ordering is met;</li>
+ *     <li>otherwise the rows are grouped by key hash in memory until the configured limit of rows is reached, after
+ *     that all the rows are spilled to the temporary files partitioned by key hash, the partitions are compared one
+ *     by one and may be partitioned further if they still don't fit the limit.</li>
+ * </ul>
+ */
+final class StreamingDataSetComparator
+{
+    private static final Pattern ORDER_BY = Pattern.compile("\\border\\s+by\\s+([^()]+?)\\s*;?\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern ASCENDING_ORDER = Pattern.compile("\\s+asc$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern QUOTES = Pattern.compile("[\"`\\[\\]]");
+
+    private static final int PARTITION_BITS = 6;
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+    private static final int MAX_SPILL_DEPTH = Integer.SIZE / PARTITION_BITS;
+
+    private final DataSetComparisonRule comparisonRule;
+    private final DuplicateKeysStrategy duplicateKeysStrategy;
+    private final int diffLimit;
+    private final int inMemoryRowsLimit;
+
+    private final List<List<EntryComparisonResult>> mismatches = new ArrayList<>();
+    private long totalRows;
+    private long mismatchedRows;
+    private long leftNoPair;
+    private long rightNoPair;
+
+    StreamingDataSetComparator(DataSetComparisonRule comparisonRule, DuplicateKeysStrategy duplicateKeysStrategy,
+            int diffLimit, int inMemoryRowsLimit)
+    {
+        this.comparisonRule = comparisonRule;
+        this.duplicateKeysStrategy = duplicateKeysStrategy;
+        this.diffLimit = diffLimit;
+        this.inMemoryRowsLimit = inMemoryRowsLimit;
+    }
+
+    /**
+     * Finds the key columns both queries are ordered by, it's possible only if the queries end with
+     * <code>ORDER BY</code> clause listing all the key columns (in ascending order) before any other column.
+     *
+     * @param leftSqlQuery  baseline SQL query
+     * @param rightSqlQuery checkpoint SQL query
+     * @param keys          the key columns
+     * @return the key columns in the order they are sorted by or empty optional if the queries are not ordered
+     * by the key columns in the same way
+     */
+    static Optional<List<String>> findOrderingKeys(String leftSqlQuery, String rightSqlQuery, Set<String> keys)
+    {
+        if (keys.isEmpty())
+        {
+            return Optional.empty();
+        }
+        Optional<List<String>> leftOrderingKeys = findOrderingKeys(leftSqlQuery, keys);
+        return leftOrderingKeys.equals(findOrderingKeys(rightSqlQuery, keys)) ? leftOrderingKeys : Optional.empty();
+    }
+
+    private static Optional<List<String>> findOrderingKeys(String sqlQuery, Set<String> keys)
+    {
+        Matcher matcher = ORDER_BY.matcher(sqlQuery);
+        if (!matcher.find())
+        {
+            return Optional.empty();
+        }
+        List<String> columns = Stream.of(matcher.group(1).split(","))
+                .map(String::trim)
+                .map(column -> ASCENDING_ORDER.matcher(column).replaceFirst(""))
+                .limit(keys.size())
+                .collect(Collectors.toList());
+        if (columns.size() < keys.size() || columns.stream().anyMatch(c -> c.chars().anyMatch(Character::isWhitespace)))
+        {
+            return Optional.empty();
+        }
+        List<String> orderingKeys = columns.stream()
+                .map(column -> column.substring(column.lastIndexOf('.') + 1))
+                .map(column -> QUOTES.matcher(column).replaceAll("").toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        Set<String> normalizedKeys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        normalizedKeys.addAll(keys);
+        return normalizedKeys.size() == orderingKeys.size() && normalizedKeys.containsAll(orderingKeys)
+                ? Optional.of(orderingKeys) : Optional.empty();
+    }
+
+    static Comparator<Map<String, Object>> createKeyComparator(List<String> orderingKeys)
+    {
+        return orderingKeys.stream()
+                .map(key -> Comparator.comparing((Map<String, Object> row) -> row.get(key),
+                        StreamingDataSetComparator::compareValues))
+                .reduce(Comparator::thenComparing)
+                .orElseThrow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object left, Object right)
+    {
+        if (left == right)
+        {
+            return 0;
+        }
+        if (left == null)
+        {
+            return -1;
+        }
+        if (right == null)
+        {
+            return 1;
+        }
+        if (left instanceof Number && right instanceof Number)
+        {
+            return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString()));
+        }
+        if (left instanceof Comparable && left.getClass() == right.getClass())
+        {
+            return ((Comparable<Object>) left).compareTo(right);
+        }
+        return left.toString().compareTo(right.toString());
+    }
+
+    /**
+     * Compares the data sets sorted by the key columns using merge join.
+     *
+     * @param left          baseline rows
+     * @param right         checkpoint rows
+     * @param keyComparator the comparator of the rows keys consistent with the data sets ordering
+     * @param statistics    the statistics to fill
+     * @return the mismatched rows limited by the diff limit
+     */
+    List<List<EntryComparisonResult>> compareOrdered(Iterator<Map<String, Object>> left,
+            Iterator<Map<String, Object>> right, Comparator<Map<String, Object>> keyComparator,
+            DataSourceStatistics statistics)
+    {
+        RowGroups leftGroups = new RowGroups(left, keyComparator, "left");
+        RowGroups rightGroups = new RowGroups(right, keyComparator, "right");
+        List<Map<String, Object>> leftGroup = leftGroups.next();
+        List<Map<String, Object>> rightGroup = rightGroups.next();
+        while (!leftGroup.isEmpty() || !rightGroup.isEmpty())
+        {
+            int result;
+            if (leftGroup.isEmpty())
+            {
+                result = 1;
+            }
+            else if (rightGroup.isEmpty())
+            {
+                result = -1;
+            }
+            else
+            {
+                result = keyComparator.compare(leftGroup.get(0), rightGroup.get(0));
+            }
+
+            if (result < 0)
+            {
+                compareGroup(leftGroup, List.of());
+                leftGroup = leftGroups.next();
+            }
+            else if (result > 0)
+            {
+                compareGroup(List.of(), rightGroup);
+                rightGroup = rightGroups.next();
+            }
+            else
+            {
+                compareGroup(leftGroup, rightGroup);
+                leftGroup = leftGroups.next();
+                rightGroup = rightGroups.next();
+            }
+        }
+        return complete(statistics);
+    }
+
+    /**
+     * Compares the data sets in arbitrary order using hash join spilling the rows to disk when the in-memory limit
+     * is exceeded.
+     *
+     * @param left       baseline rows
+     * @param right      checkpoint rows
+     * @param keyHasher  the function calculating hash of the row key
+     * @param statistics the statistics to fill
+     * @return the mismatched rows limited by the diff limit
+     */
+    List<List<EntryComparisonResult>> compareUnordered(Iterator<Map<String, Object>> left,
+            Iterator<Map<String, Object>> right, Function<Map<String, Object>, HashCode> keyHasher,
+            DataSourceStatistics statistics)
+    {
+        try (Buckets buckets = new Buckets(0))
+        {
+            left.forEachRemaining(row -> buckets.add(keyHasher.apply(row), true, row));
+            right.forEachRemaining(row -> buckets.add(keyHasher.apply(row), false, row));
+            buckets.compare();
+        }
+        return complete(statistics);
+    }
+
+    private void compareGroup(List<Map<String, Object>> left, List<Map<String, Object>> right)
+    {
+        if (!comparisonRule.isKeyCompared(!right.isEmpty()))
+        {
+            return;
+        }
+        int leftSize = left.size();
+        int rightSize = right.size();
+        int size = duplicateKeysStrategy.getTargetSize(comparisonRule, leftSize, rightSize);
+        for (int i = 0; i < size; i++)
+        {
+            Map<String, Object> leftRow = i < leftSize ? left.get(i) : Map.of();
+            Map<String, Object> rightRow = i < rightSize ? right.get(i) : Map.of();
+            if (rightRow.isEmpty())
+            {
+                leftNoPair++;
+            }
+            if (leftRow.isEmpty())
+            {
+                rightNoPair++;
+            }
+            totalRows++;
+            List<EntryComparisonResult> result = ComparisonUtils.compareMaps(leftRow, rightRow);
+            if (!result.stream().allMatch(EntryComparisonResult::isPassed))
+            {
+                mismatchedRows++;
+                if (mismatches.size() < diffLimit)
+                {
+                    mismatches.add(result);
+                }
+            }
+        }
+    }
+
+    private List<List<EntryComparisonResult>> complete(DataSourceStatistics statistics)
+    {
+        comparisonRule.fillStatistics(statistics, leftNoPair, rightNoPair);
+        statistics.setMismatched(mismatchedRows);
+        statistics.setTotalRows(totalRows);
+        return mismatches;
+    }
+
+    private static final class RowGroups
+    {
+        private final Iterator<Map<String, Object>> rows;
+        private final Comparator<Map<String, Object>> keyComparator;
+        private final String side;
+        private Map<String, Object> nextRow;
+
+        RowGroups(Iterator<Map<String, Object>> rows, Comparator<Map<String, Object>> keyComparator, String side)
+        {
+            this.rows = rows;
+            this.keyComparator = keyComparator;
+            this.side = side;
+            this.nextRow = rows.hasNext() ? rows.next() : null;
+        }
+
+        List<Map<String, Object>> next()
+        {
+            if (nextRow == null)
+            {
+                return List.of();
+            }
+            Map<String, Object> first = nextRow;
+            List<Map<String, Object>> group = new ArrayList<>();
+            group.add(first);
+            nextRow = null;
+            while (rows.hasNext())
+            {
+                Map<String, Object> row = rows.next();
+                int result = keyComparator.compare(first, row);
+                if (result > 0)
+                {
+                    throw new IllegalStateException(String.format("The %s data set is not ordered by the key columns"
+                            + " consistently with the natural ordering of the key values (e.g. the database uses"
+                            + " case-insensitive or locale-specific collation): row %s follows row %s."
+                            + " Remove ORDER BY clause from the query to use the unordered comparison", side, row,
+                            first));
+                }
+                if (result < 0)
+                {
+                    nextRow = row;
+                    break;
+                }
+                group.add(row);
+            }
+            return group;
+        }
+    }
+
+    private final class Buckets implements Closeable
+    {
+        private final int depth;
+        private final Map<HashCode, Bucket> inMemory = new HashMap<>();
+        private Partition[] partitions;
+        private int rowsInMemory;
+
+        Buckets(int depth)
+        {
+            this.depth = depth;
+        }
+
+        void add(HashCode key, boolean left, Map<String, Object> row)
+        {
+            if (partitions != null)
+            {
+                partitions[getPartitionIndex(key)].add(key, left, row);
+                return;
+            }
+            inMemory.computeIfAbsent(key, k -> new Bucket()).add(left, row);
+            rowsInMemory++;
+            if (rowsInMemory > inMemoryRowsLimit && depth < MAX_SPILL_DEPTH)
+            {
+                spill();
+            }
+        }
+
+        private void spill()
+        {
+            partitions = new Partition[PARTITIONS];
+            for (int i = 0; i < PARTITIONS; i++)
+            {
+                partitions[i] = new Partition();
+            }
+            inMemory.forEach((key, bucket) -> {
+                Partition partition = partitions[getPartitionIndex(key)];
+                bucket.left.forEach(row -> partition.add(key, true, row));
+                bucket.right.forEach(row -> partition.add(key, false, row));
+            });
+            inMemory.clear();
+            rowsInMemory = 0;
+        }
+
+        private int getPartitionIndex(HashCode key)
+        {
+            return (key.asInt() >>> (depth * PARTITION_BITS)) & (PARTITIONS - 1);
+        }
+
+        void compare()
+        {
+            if (partitions == null)
+            {
+                inMemory.values().forEach(bucket -> compareGroup(bucket.left, bucket.right));
+                inMemory.clear();
+                return;
+            }
+            for (Partition partition : partitions)
+            {
+                try (Buckets buckets = new Buckets(depth + 1))
+                {
+                    partition.left.readTo((key, row) -> buckets.add(key, true, row));
+                    partition.right.readTo((key, row) -> buckets.add(key, false, row));
+                    partition.close();
+                    buckets.compare();
+                }
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            if (partitions != null)
+            {
+                for (Partition partition : partitions)
+                {
+                    partition.close();
+                }
+            }
+        }
+    }
+
+    private static final class Bucket
+    {
+        private final List<Map<String, Object>> left = new ArrayList<>(1);
+        private final List<Map<String, Object>> right = new ArrayList<>(1);
+
+        void add(boolean toLeft, Map<String, Object> row)
+        {
+            (toLeft ? left : right).add(row);
+        }
+    }
+
+    private static final class Partition implements Closeable
+    {
+        private final SpillFile left = new SpillFile();
+        private final SpillFile right = new SpillFile();
+
+        void add(HashCode key, boolean toLeft, Map<String, Object> row)
+        {
+            (toLeft ? left : right).write(key, row);
+        }
+
+        @Override
+        public void close()
+        {
+            left.close();
+            right.close();
+        }
+    }
+
+    /**
+     * Stores the rows in the binary form independent of the JDBC driver types: the numbers are stored as decimals,
+     * the strings, the booleans and the byte arrays are stored as is, the values of any other types are stored as
+     * their type names and string representations and restored as {@link SpilledValue}s.
+     */
+    private static final class SpillFile implements Closeable
+    {
+        private static final byte NULL = 0;
+        private static final byte STRING = 1;
+        private static final byte NUMBER = 2;
+        private static final byte BOOLEAN = 3;
+        private static final byte BYTES = 4;
+        private static final byte OTHER = 5;
+
+        private Path file;
+        private DataOutputStream output;
+        private long rows;
+
+        void write(HashCode key, Map<String, Object> row)
+        {
+            try
+            {
+                if (output == null)
+                {
+                    file = Files.createTempFile("vividus-db-comparison-", ".spill");
+                    output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+                }
+                writeBytes(key.asBytes());
+                output.writeInt(row.size());
+                for (Map.Entry<String, Object> column : row.entrySet())
+                {
+                    output.writeUTF(column.getKey());
+                    writeValue(column.getValue());
+                }
+                rows++;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeValue(Object value) throws IOException
+        {
+            if (value == null)
+            {
+                output.writeByte(NULL);
+            }
+            else if (value instanceof String)
+            {
+                output.writeByte(STRING);
+                writeString((String) value);
+            }
+            else if (value instanceof Number)
+            {
+                output.writeByte(NUMBER);
+                writeString(value.toString());
+            }
+            else if (value instanceof Boolean)
+            {
+                output.writeByte(BOOLEAN);
+                output.writeBoolean((Boolean) value);
+            }
+            else if (value instanceof byte[])
+            {
+                output.writeByte(BYTES);
+                writeBytes((byte[]) value);
+            }
+            else
+            {
+                output.writeByte(OTHER);
+                output.writeUTF(value.getClass().getName());
+                writeString(value.toString());
+            }
+        }
+
+        private void writeString(String value) throws IOException
+        {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeBytes(byte[] value) throws IOException
+        {
+            output.writeInt(value.length);
+            output.write(value);
+        }
+
+        void readTo(BiConsumer<HashCode, Map<String, Object>> consumer)
+        {
+            if (file == null)
+            {
+                return;
+            }
+            try
+            {
+                output.close();
+                output = null;
+                try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+                {
+                    for (long i = 0; i < rows; i++)
+                    {
+                        HashCode key = HashCode.fromBytes(readBytes(input));
+                        int columns = input.readInt();
+                        Map<String, Object> row = new LinkedCaseInsensitiveMap<>(columns);
+                        for (int j = 0; j < columns; j++)
+                        {
+                            row.put(input.readUTF(), readValue(input));
+                        }
+                        consumer.accept(key, row);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static Object readValue(DataInputStream input) throws IOException
+        {
+            byte type = input.readByte();
+            switch (type)
+            {
+                case NULL:
+                    return null;
+                case STRING:
+                    return readString(input);
+                case NUMBER:
+                    return new BigDecimal(readString(input));
+                case BOOLEAN:
+                    return input.readBoolean();
+                case BYTES:
+                    return readBytes(input);
+                case OTHER:
+                    return new SpilledValue(input.readUTF(), readString(input));
+                default:
+                    throw new IllegalStateException("Unknown type of the spilled value: " + type);
+            }
+        }
+
+        private static String readString(DataInputStream input) throws IOException
+        {
+            return new String(readBytes(input), StandardCharsets.UTF_8);
+        }
+
+        private static byte[] readBytes(DataInputStream input) throws IOException
+        {
+            byte[] value = new byte[input.readInt()];
+            input.readFully(value);
+            return value;
+        }
+
+        @Override
+        public void close()
+        {
+            try
+            {
+                if (output != null)
+                {
+                    output.close();
+                    output = null;
+                }
+                if (file != null)
+                {
+                    Files.deleteIfExists(file);
+                    file = null;
+                }
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * The value of the driver-specific type read from the spill file, the values are equal if they have the same type
+     * and the same string representation.
+     */
+    static final class SpilledValue
+    {
+        private final String type;
+        private final String value;
+
+        SpilledValue(String type, String value)
+        {
+            this.type = type;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            SpilledValue that = (SpilledValue) o;
+            return type.equals(that.type) && value.equals(that.value);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(type, value);
+        }
+
+        @Override
+        public String toString()
+        {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Reads the query result row by row through forward-only read-only {@link ResultSet}, so only the rows of the current
+ * fetch are kept in memory. The auto-commit is disabled for the underlying connection, since some JDBC drivers (e.g.
+ * PostgreSQL) ignore the fetch size otherwise. The transaction is rolled back and the original auto-commit mode is
+ * restored on close, so the pooled connections are returned to the pool in their original state.
+ */
+final class StreamingQuery implements Iterator<Map<String, Object>>, AutoCloseable
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingQuery.class);
+    private static final String TASK = "StreamingQuery";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String sqlQuery;
+    private final QueryStatistic statistic;
+    private final ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+
+    private Connection connection;
+    private Boolean originalAutoCommit;
+    private Statement statement;
+    private ResultSet resultSet;
+    private Boolean hasNext;
+    private int rowNumber;
+
+    private StreamingQuery(JdbcTemplate jdbcTemplate, String sqlQuery, QueryStatistic statistic)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlQuery = sqlQuery;
+        this.statistic = statistic;
+    }
+
+    static StreamingQuery execute(JdbcTemplate jdbcTemplate, String sqlQuery, int fetchSize,
+            QueryStatistic statistic)
+    {
+        StreamingQuery query = new StreamingQuery(jdbcTemplate, sqlQuery, statistic);
+        statistic.start();
+        try
+        {
+            query.connection = jdbcTemplate.getDataSource().getConnection();
+            query.originalAutoCommit = query.connection.getAutoCommit();
+            query.connection.setAutoCommit(false);
+            query.statement = query.connection.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            query.statement.setFetchSize(fetchSize);
+            query.resultSet = query.statement.executeQuery(sqlQuery);
+            return query;
+        }
+        catch (SQLException e)
+        {
+            query.close();
+            throw query.translate(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (hasNext == null)
+        {
+            try
+            {
+                hasNext = resultSet.next();
+            }
+            catch (SQLException e)
+            {
+                throw translate(e);
+            }
+            if (!hasNext)
+            {
+                statistic.end();
+                statistic.setRowsQuantity(rowNumber);
+            }
+        }
+        return hasNext;
+    }
+
+    @Override
+    public Map<String, Object> next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+        hasNext = null;
+        try
+        {
+            return rowMapper.mapRow(resultSet, rowNumber++);
+        }
+        catch (SQLException e)
+        {
+            throw translate(e);
+        }
+    }
+
+    private RuntimeException translate(SQLException e)
+    {
+        DataAccessException exception = jdbcTemplate.getExceptionTranslator().translate(TASK, sqlQuery, e);
+        return exception != null ? exception : new UncategorizedSQLException(TASK, sqlQuery, e);
+    }
+
+    @Override
+    public void close()
+    {
+        JdbcUtils.closeResultSet(resultSet);
+        JdbcUtils.closeStatement(statement);
+        if (originalAutoCommit != null)
+        {
+            try
+            {
+                connection.rollback();
+                connection.setAutoCommit(originalAutoCommit);
+            }
+            catch (SQLException e)
+            {
+                LOGGER.warn("Unable to restore the auto-commit mode of the connection", e);
+            }
+        }
+        JdbcUtils.closeConnection(connection);
+    }
+}
@@ -39,15 +39,20 @@ import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import com.github.valfirst.slf4jtest.TestLogger;
@@ -62,6 +67,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
@@ -115,10 +121,12 @@ class DatabaseStepsTests
     private static final String VAL2 = "val2";
     private static final String COL3 = "col3";
     private static final String VAL3 = "val3";
+    private static final String VAL4 = "val4";
     private static final List<Map<String, String>> TABLE = List.of(Map.of(COL1, VAL2));
 
     private static final String QUERY = "select col1 from table";
     private static final String QUERY2 = "select col1 from table2";
+    private static final String ORDERED_QUERY = "select col1, col2 from table order by col1";
     private static final Set<String> KEYS = Set.of(COL1);
 
     private static final HashCode HASH1 = Hashing.murmur3_128().hashString(VAL1, StandardCharsets.UTF_8);
@@ -359,6 +367,102 @@ class DatabaseStepsTests
                 eq(DATA_SETS_COMPARISON_TITLE));
     }
 
+    @SuppressWarnings("unchecked")
+    @ParameterizedTest
+    @CsvSource({ "true, 100", "false, 100", "false, 1" })
+    void shouldCompareDataSetsInStreamingMode(boolean ordered, int inMemoryRowsLimit) throws InterruptedException,
+            ExecutionException, TimeoutException, SQLException
+    {
+        String query = ordered ? ORDERED_QUERY : QUERY;
+        mockStreamingQuery(query, DB_KEY, List.of(row(VAL1, VAL1), row(VAL2, VAL2), row(VAL3, VAL3)));
+        mockStreamingQuery(query, DB_KEY2, List.of(row(VAL2, VAL2), row(VAL3, VAL1), row(VAL4, VAL1)));
+        when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, false)).thenReturn(false);
+        configureStreamingComparison(inMemoryRowsLimit);
+        databaseSteps.compareData(query, DB_KEY, DataSetComparisonRule.IS_EQUAL_TO, query, DB_KEY2, KEYS);
+        verify(attachmentPublisher).publishAttachment(eq(DATA_SOURCES_STATISTICS_FTL),
+                argThat(r -> {
+                    DataSourceStatistics statistics = ((Map<String, DataSourceStatistics>) r).get(STATISTICS);
+                    QueryStatistic right = statistics.getRight();
+                    QueryStatistic left = statistics.getLeft();
+                    return 3 == statistics.getMismatched()
+                            && 4 == statistics.getTotalRows()
+                            && 1 == statistics.getMatched()
+                            && 3 == left.getRowsQuantity()
+                            && 3 == right.getRowsQuantity()
+                            && 1 == left.getNoPair()
+                            && 1 == right.getNoPair();
+                }), eq(DATA_SOURCES_STATISTICS_TITLE));
+        verify(attachmentPublisher).publishAttachment(eq(DATA_SET_COMPARISON_FTL), argThat(r ->
+            ((Map<String, List<List<EntryComparisonResult>>>) r).get(RESULTS).size() == 3),
+                eq(DATA_SETS_COMPARISON_TITLE));
+        assertThat(LOGGER.getLoggingEvents(), equalTo(ordered ? List.of(info(
+                "Both queries are ordered by the key columns {}, the data sets are compared using merge join",
+                List.of(COL1))) : List.of()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "true, 100", "false, 100", "false, 1" })
+    void shouldCompareEqualDataSetsInStreamingMode(boolean ordered, int inMemoryRowsLimit)
+            throws InterruptedException, ExecutionException, TimeoutException, SQLException
+    {
+        String query = ordered ? ORDERED_QUERY : QUERY;
+        List<Map<String, Object>> rows = List.of(row(VAL1, VAL2), row(VAL2, VAL3), row(VAL3, VAL1));
+        mockStreamingQuery(query, DB_KEY, rows);
+        mockStreamingQuery(query, DB_KEY2, rows);
+        when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, true)).thenReturn(true);
+        configureStreamingComparison(inMemoryRowsLimit);
+        databaseSteps.compareData(query, DB_KEY, DataSetComparisonRule.IS_EQUAL_TO, query, DB_KEY2, KEYS);
+        verify(attachmentPublisher).publishAttachment(eq(DATA_SOURCES_STATISTICS_FTL), any(Map.class),
+                eq(DATA_SOURCES_STATISTICS_TITLE));
+        verify(attachmentPublisher, never()).publishAttachment(eq(DATA_SET_COMPARISON_FTL), any(Map.class),
+                eq(DATA_SETS_COMPARISON_TITLE));
+    }
+
+    private void configureStreamingComparison(int inMemoryRowsLimit)
+    {
+        configureTimeout();
+        databaseSteps.setDuplicateKeysStrategy(DuplicateKeysStrategy.NOOP);
+        databaseSteps.setHashFunction(Hashing.murmur3_128());
+        databaseSteps.setStreamingComparisonEnabled(true);
+        databaseSteps.setStreamingComparisonFetchSize(2);
+        databaseSteps.setStreamingComparisonInMemoryRowsLimit(inMemoryRowsLimit);
+    }
+
+    private void mockStreamingQuery(String query, String dbKey, List<Map<String, Object>> rows) throws SQLException
+    {
+        DriverManagerDataSource dataSource = mock(DriverManagerDataSource.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSourceManager.getJdbcTemplate(dbKey)).thenReturn(jdbcTemplate);
+        when(dataSourceManager.getDataSource(dbKey)).thenReturn(dataSource);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(
+                statement);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(statement.executeQuery(query)).thenReturn(resultSet);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn(COL1);
+        when(metaData.getColumnLabel(2)).thenReturn(COL2);
+        Iterator<Map<String, Object>> iterator = rows.iterator();
+        AtomicReference<Map<String, Object>> currentRow = new AtomicReference<>();
+        when(resultSet.next()).thenAnswer(invocation -> {
+            boolean hasNext = iterator.hasNext();
+            currentRow.set(hasNext ? iterator.next() : null);
+            return hasNext;
+        });
+        when(resultSet.getObject(1)).thenAnswer(invocation -> currentRow.get().get(COL1));
+        when(resultSet.getObject(2)).thenAnswer(invocation -> currentRow.get().get(COL2));
+    }
+
+    private static Map<String, Object> row(String key, String value)
+    {
+        return Map.of(COL1, key, COL2, value);
+    }
+
     @Test
     void shouldThrowTimeoutExceptionIfQueryTakesTooMuchTime()
     {
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+class StreamingDataSetComparatorTests
+{
+    private static final String ID = "id";
+    private static final String VALUE = "value";
+    private static final String BYTES = "bytes";
+    private static final String NULL = "null";
+    private static final Set<String> KEYS = Set.of(ID);
+    private static final Function<Map<String, Object>, HashCode> KEY_HASHER = row -> Hashing.murmur3_128()
+            .hashString(row.get(ID).toString(), StandardCharsets.UTF_8);
+
+    private final DataSourceStatistics statistics = new DataSourceStatistics(new DriverManagerDataSource(),
+            new DriverManagerDataSource());
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "select * from t order by id           | select id, value from t2 ORDER BY t2.ID asc",
+        "select * from t order by \"id\", value; | select * from (select * from t2) order by id"
+    })
+    void shouldFindOrderingKeys(String leftQuery, String rightQuery)
+    {
+        assertEquals(Optional.of(List.of(ID)), StreamingDataSetComparator.findOrderingKeys(leftQuery, rightQuery,
+                KEYS));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "select * from t                   | select * from t2 order by id",
+        "select * from t order by id desc  | select * from t2 order by id",
+        "select * from t order by value    | select * from t2 order by value",
+        "select * from (select * from t order by id) | select * from t2 order by id",
+        "select * from t order by id limit 10 | select * from t2 order by id"
+    })
+    void shouldNotFindOrderingKeys(String leftQuery, String rightQuery)
+    {
+        assertEquals(Optional.empty(), StreamingDataSetComparator.findOrderingKeys(leftQuery, rightQuery, KEYS));
+    }
+
+    @Test
+    void shouldNotFindOrderingKeysWithoutKeys()
+    {
+        String query = "select * from t order by id";
+        assertEquals(Optional.empty(), StreamingDataSetComparator.findOrderingKeys(query, query, Set.of()));
+    }
+
+    @Test
+    void shouldCompareOrderedDataSets()
+    {
+        List<Map<String, Object>> left = List.of(row(1, "a"), row(2, "b"), row(2, "c"), row(4, "d"));
+        List<Map<String, Object>> right = List.of(row(1, "a"), row(2, "b"), row(3, "x"), row(4, "e"));
+        List<List<EntryComparisonResult>> result = createComparator(DataSetComparisonRule.IS_EQUAL_TO, 10)
+                .compareOrdered(left.iterator(), right.iterator(),
+                        StreamingDataSetComparator.createKeyComparator(List.of(ID)), statistics);
+        assertEquals(3, result.size());
+        assertStatistics(5, 3, 1L, 1L);
+    }
+
+    @Test
+    void shouldFailIfDataSetIsNotOrdered()
+    {
+        List<Map<String, Object>> left = List.of(row(2, "a"), row(1, "b"));
+        Iterator<Map<String, Object>> right = List.<Map<String, Object>>of().iterator();
+        StreamingDataSetComparator comparator = createComparator(DataSetComparisonRule.IS_EQUAL_TO, 10);
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> comparator.compareOrdered(left.iterator(), right,
+                        StreamingDataSetComparator.createKeyComparator(List.of(ID)), statistics));
+        assertTrue(exception.getMessage().startsWith("The left data set is not ordered by the key columns"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 3, 1000 })
+    void shouldCompareUnorderedDataSets(int inMemoryRowsLimit)
+    {
+        List<Map<String, Object>> left = List.of(row(4, "d"), row(2, "b"), row(1, "a"), row(5, "f"));
+        List<Map<String, Object>> right = List.of(row(3, "x"), row(1, "a"), row(4, "e"), row(2, "b"));
+        List<List<EntryComparisonResult>> result = new StreamingDataSetComparator(DataSetComparisonRule.CONTAINS,
+                DuplicateKeysStrategy.NOOP, 1, inMemoryRowsLimit).compareUnordered(left.iterator(), right.iterator(),
+                        KEY_HASHER, statistics);
+        assertEquals(1, result.size());
+        assertStatistics(4, 2, null, 1L);
+    }
+
+    @Test
+    void shouldCompareOnlyFirstRowsWithDuplicateKeysUsingDistinctStrategy()
+    {
+        List<Map<String, Object>> left = List.of(row(1, "a"), row(1, "b"));
+        List<Map<String, Object>> right = List.of(row(1, "a"));
+        List<List<EntryComparisonResult>> result = new StreamingDataSetComparator(DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.DISTINCT, 10, 1).compareUnordered(left.iterator(), right.iterator(),
+                        KEY_HASHER, statistics);
+        assertEquals(List.of(), result);
+        assertStatistics(1, 0, 0L, 0L);
+    }
+
+    @Test
+    void shouldSpillValuesOfDriverSpecificTypes()
+    {
+        String json = "{\"a\":2}";
+        Map<String, Object> leftRow = new HashMap<>();
+        leftRow.put(ID, 1);
+        leftRow.put(VALUE, new DriverValue("{}"));
+        leftRow.put(NULL, null);
+        Map<String, Object> rightRow = new HashMap<>(leftRow);
+        rightRow.put(ID, 1L);
+        rightRow.put(VALUE, new DriverValue("{}"));
+        List<Map<String, Object>> left = List.of(leftRow, Map.of(ID, 2, VALUE, new DriverValue(json), BYTES,
+                new byte[] { 1, 2 }), row(3, "c"));
+        List<Map<String, Object>> right = List.of(rightRow, Map.of(ID, 2, VALUE, json), row(3, "c"));
+        List<List<EntryComparisonResult>> result = new StreamingDataSetComparator(DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.NOOP, 10, 1).compareUnordered(left.iterator(), right.iterator(),
+                        KEY_HASHER, statistics);
+        assertEquals(1, result.size());
+        assertStatistics(3, 1, 0L, 0L);
+        Map<Object, EntryComparisonResult> mismatchedRow = result.get(0).stream()
+                .collect(Collectors.toMap(EntryComparisonResult::getKey, Function.identity()));
+        EntryComparisonResult value = mismatchedRow.get(VALUE);
+        assertAll(
+            () -> assertEquals(json, value.getLeft().toString()),
+            () -> assertEquals(json, value.getRight()),
+            () -> assertFalse(value.isPassed()),
+            () -> assertArrayEquals(new byte[] { 1, 2 }, (byte[]) mismatchedRow.get(BYTES).getLeft()));
+    }
+
+    private StreamingDataSetComparator createComparator(DataSetComparisonRule comparisonRule, int diffLimit)
+    {
+        return new StreamingDataSetComparator(comparisonRule, DuplicateKeysStrategy.NOOP, diffLimit, 1);
+    }
+
+    private void assertStatistics(long totalRows, long mismatched, Long leftNoPair, Long rightNoPair)
+    {
+        assertEquals(totalRows, statistics.getTotalRows());
+        assertEquals(mismatched, statistics.getMismatched());
+        if (leftNoPair == null)
+        {
+            assertNull(statistics.getLeft().getNoPair());
+        }
+        else
+        {
+            assertEquals(leftNoPair, statistics.getLeft().getNoPair());
+        }
+        assertEquals(rightNoPair, statistics.getRight().getNoPair());
+    }
+
+    private static Map<String, Object> row(int id, String value)
+    {
+        return Map.of(ID, id, VALUE, value);
+    }
+
+    private static final class DriverValue
+    {
+        private final String value;
+
+        DriverValue(String value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof DriverValue && value.equals(((DriverValue) o).value);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return value.hashCode();
+        }
+
+        @Override
+        public String toString()
+        {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingQueryTests
+{
+    private static final String QUERY = "select id from table";
+    private static final String ID = "id";
+    private static final int FETCH_SIZE = 100;
+
+    private final QueryStatistic statistic = new QueryStatistic(null);
+
+    @Mock private DriverManagerDataSource dataSource;
+    @Mock private Connection connection;
+    @Mock private Statement statement;
+    @Mock private ResultSet resultSet;
+
+    @Test
+    void shouldReadRowsOneByOne() throws SQLException
+    {
+        mockStatement();
+        when(statement.executeQuery(QUERY)).thenReturn(resultSet);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn(ID);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(1, 2);
+        try (StreamingQuery query = StreamingQuery.execute(createJdbcTemplate(), QUERY, FETCH_SIZE, statistic))
+        {
+            assertTrue(query.hasNext());
+            assertEquals(Map.of(ID, 1), query.next());
+            assertEquals(Map.of(ID, 2), query.next());
+            assertFalse(query.hasNext());
+            assertFalse(query.hasNext());
+            assertThrows(NoSuchElementException.class, query::next);
+        }
+        assertEquals(2, statistic.getRowsQuantity());
+        InOrder ordered = inOrder(connection, statement, resultSet);
+        ordered.verify(connection).setAutoCommit(false);
+        ordered.verify(statement).setFetchSize(FETCH_SIZE);
+        ordered.verify(resultSet).close();
+        ordered.verify(statement).close();
+        ordered.verify(connection).rollback();
+        ordered.verify(connection).setAutoCommit(true);
+        ordered.verify(connection).close();
+    }
+
+    @Test
+    void shouldTranslateExceptionOfQueryExecution() throws SQLException
+    {
+        mockStatement();
+        SQLException exception = new SQLException("syntax error");
+        when(statement.executeQuery(QUERY)).thenThrow(exception);
+        JdbcTemplate jdbcTemplate = createJdbcTemplate();
+        DataAccessException actual = assertThrows(DataAccessException.class,
+            () -> StreamingQuery.execute(jdbcTemplate, QUERY, FETCH_SIZE, statistic));
+        assertSame(exception, actual.getCause());
+        verify(statement).close();
+        InOrder ordered = inOrder(connection);
+        ordered.verify(connection).rollback();
+        ordered.verify(connection).setAutoCommit(true);
+        ordered.verify(connection).close();
+    }
+
+    @Test
+    void shouldCloseConnectionIfAutoCommitModeCanNotBeRestored() throws SQLException
+    {
+        mockStatement();
+        when(statement.executeQuery(QUERY)).thenReturn(resultSet);
+        doThrow(new SQLException("connection is broken")).when(connection).rollback();
+        StreamingQuery.execute(createJdbcTemplate(), QUERY, FETCH_SIZE, statistic).close();
+        verify(connection, never()).setAutoCommit(true);
+        verify(connection).close();
+    }
+
+    @Test
+    void shouldTranslateExceptionOfRowReading() throws SQLException
+    {
+        mockStatement();
+        when(statement.executeQuery(QUERY)).thenReturn(resultSet);
+        SQLException exception = new SQLException("connection reset");
+        when(resultSet.next()).thenThrow(exception);
+        try (StreamingQuery query = StreamingQuery.execute(createJdbcTemplate(), QUERY, FETCH_SIZE, statistic))
+        {
+            DataAccessException actual = assertThrows(DataAccessException.class, query::hasNext);
+            assertSame(exception, actual.getCause());
+        }
+    }
+
+    private void mockStatement() throws SQLException
+    {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(
+                statement);
+    }
+
+    private JdbcTemplate createJdbcTemplate()
+    {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate();
+        jdbcTemplate.setDataSource(dataSource);
+        jdbcTemplate.setExceptionTranslator(new SQLStateSQLExceptionTranslator());
+        return jdbcTemplate;
+    }
+}
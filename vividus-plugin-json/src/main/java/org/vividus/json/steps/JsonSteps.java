@@ -521,7 +521,7 @@ public class JsonSteps
     {
         try
         {
-            return Optional.of(Optional.ofNullable(JsonPathUtils.getData(json, jsonPath)));
+            return Optional.of(Optional.ofNullable(JsonPathUtils.getDataFromReusedJson(json, jsonPath)));
         }
         catch (PathNotFoundException e)
         {
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+/**
+ * The buffer of the consumed messages: the messages are added by the listener thread, while the waiting threads are
+ * woken up as soon as the buffer is changed, so no polling is needed.
+ */
+class KafkaMessageBuffer
+{
+    private final int capacity;
+    private final BufferOverflowPolicy overflowPolicy;
+
+    private final Deque<String> messages = new ArrayDeque<>();
+    private final Lock lock = new ReentrantLock();
+    private final Condition bufferChanged = lock.newCondition();
+    private int droppedMessagesCount;
+
+    /**
+     * @param capacity       The maximum number of the buffered messages, any negative value means unbounded buffer
+     * @param overflowPolicy The policy to apply when the new message is consumed and the buffer is full
+     */
+    KafkaMessageBuffer(int capacity, BufferOverflowPolicy overflowPolicy)
+    {
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    void add(String message)
+    {
+        lock.lock();
+        try
+        {
+            if (capacity >= 0 && messages.size() >= capacity)
+            {
+                droppedMessagesCount++;
+                if (overflowPolicy == BufferOverflowPolicy.DROP_NEWEST || messages.isEmpty())
+                {
+                    return;
+                }
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+            bufferChanged.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the number of the buffered messages matches the condition or until the timeout is exceeded.
+     *
+     * @param condition The condition to check against the number of the buffered messages
+     * @param timeout   The maximum time to wait
+     * @return The number of the buffered messages at the end of the wait
+     * @throws InterruptedException If the current thread was interrupted while waiting
+     */
+    int waitForSize(IntPredicate condition, Duration timeout) throws InterruptedException
+    {
+        long remainingNanos = timeout.toNanos();
+        lock.lock();
+        try
+        {
+            while (!condition.test(messages.size()) && remainingNanos > 0)
+            {
+                remainingNanos = bufferChanged.awaitNanos(remainingNanos);
+            }
+            return messages.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    List<String> peek()
+    {
+        lock.lock();
+        try
+        {
+            return new ArrayList<>(messages);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    List<String> drain()
+    {
+        lock.lock();
+        try
+        {
+            List<String> drained = new ArrayList<>(messages);
+            messages.clear();
+            bufferChanged.signalAll();
+            return drained;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of the messages dropped due to the buffer overflow since the previous call of this method.
+     *
+     * @return The number of the dropped messages
+     */
+    int pollDroppedMessagesCount()
+    {
+        lock.lock();
+        try
+        {
+            int count = droppedMessagesCount;
+            droppedMessagesCount = 0;
+            return count;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    int getCapacity()
+    {
+        return capacity;
+    }
+}
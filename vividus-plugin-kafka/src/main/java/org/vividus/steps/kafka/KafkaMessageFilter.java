@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+import com.jayway.jsonpath.JsonPathException;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.hamcrest.Matcher;
+import org.vividus.util.json.JsonPathUtils;
+
+public enum KafkaMessageFilter
+{
+    KEY
+    {
+        @Override
+        Predicate<ConsumerRecord<String, String>> createFilter(String name, Matcher<String> matcher)
+        {
+            return consumerRecord -> matcher.matches(consumerRecord.key());
+        }
+    },
+    HEADER
+    {
+        @Override
+        Predicate<ConsumerRecord<String, String>> createFilter(String name, Matcher<String> matcher)
+        {
+            return consumerRecord -> {
+                Header header = consumerRecord.headers().lastHeader(name);
+                return header != null && header.value() != null
+                        && matcher.matches(new String(header.value(), StandardCharsets.UTF_8));
+            };
+        }
+    },
+    JSON_PATH
+    {
+        @Override
+        Predicate<ConsumerRecord<String, String>> createFilter(String name, Matcher<String> matcher)
+        {
+            return consumerRecord -> {
+                if (consumerRecord.value() == null)
+                {
+                    return false;
+                }
+                try
+                {
+                    Object data = JsonPathUtils.getData(consumerRecord.value(), name);
+                    if (data instanceof Collection)
+                    {
+                        return ((Collection<?>) data).stream().map(String::valueOf).anyMatch(matcher::matches);
+                    }
+                    return matcher.matches(String.valueOf(data));
+                }
+                catch (JsonPathException e)
+                {
+                    return false;
+                }
+            };
+        }
+    };
+
+    /**
+     * Creates the filter matching the consumed messages.
+     *
+     * @param name    The name of the message part to check: header name for {@link #HEADER}, JSON path for
+     *                {@link #JSON_PATH}, it's ignored for {@link #KEY}
+     * @param matcher The matcher to check the message part against
+     * @return The filter returning <code>true</code> for the matching messages
+     */
+    abstract Predicate<ConsumerRecord<String, String>> createFilter(String name, Matcher<String> matcher);
+}
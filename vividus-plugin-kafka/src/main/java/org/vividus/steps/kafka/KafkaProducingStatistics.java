@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Collects the acknowledgements of the messages sent asynchronously: the sending latencies are grouped by the
+ * partitions the messages are written to.
+ */
+class KafkaProducingStatistics
+{
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+    private static final double NANOS_IN_SECOND = 1_000_000_000.0;
+    private static final int[] PERCENTILES = { 50, 95, 99 };
+
+    private final int messagesCount;
+    private final CountDownLatch pendingAcknowledgements;
+    private final long startTime = System.nanoTime();
+    private final SortedMap<Integer, List<Long>> latenciesByPartition = new TreeMap<>();
+    private final AtomicInteger failuresCount = new AtomicInteger();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    private long duration;
+
+    KafkaProducingStatistics(int messagesCount)
+    {
+        this.messagesCount = messagesCount;
+        this.pendingAcknowledgements = new CountDownLatch(messagesCount);
+    }
+
+    void recordSuccess(int partition, long latencyInNanos)
+    {
+        synchronized (latenciesByPartition)
+        {
+            latenciesByPartition.computeIfAbsent(partition, p -> new ArrayList<>()).add(latencyInNanos);
+        }
+        pendingAcknowledgements.countDown();
+    }
+
+    void recordFailure(Throwable failure)
+    {
+        failuresCount.incrementAndGet();
+        firstFailure.compareAndSet(null, failure);
+        pendingAcknowledgements.countDown();
+    }
+
+    boolean awaitAcknowledgements(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        boolean acknowledged = pendingAcknowledgements.await(timeout, unit);
+        duration = System.nanoTime() - startTime;
+        return acknowledged;
+    }
+
+    int getMessagesCount()
+    {
+        return messagesCount;
+    }
+
+    int getFailuresCount()
+    {
+        return failuresCount.get();
+    }
+
+    Throwable getFirstFailure()
+    {
+        return firstFailure.get();
+    }
+
+    long getDurationInMillis()
+    {
+        return Math.round(duration / NANOS_IN_MILLI);
+    }
+
+    double getThroughput()
+    {
+        return duration > 0 ? (messagesCount - getFailuresCount()) * NANOS_IN_SECOND / duration : 0;
+    }
+
+    /**
+     * Calculates the sending latency percentiles per partition using the nearest-rank method.
+     *
+     * @return The list of the partitions statistics containing the partition number, the count of the acknowledged
+     * messages and the latency percentiles in milliseconds
+     */
+    List<Map<String, Object>> getPartitionsStatistics()
+    {
+        List<Map<String, Object>> partitionsStatistics = new ArrayList<>();
+        synchronized (latenciesByPartition)
+        {
+            latenciesByPartition.forEach((partition, latencies) -> {
+                Collections.sort(latencies);
+                Map<String, Object> partitionStatistics = new LinkedHashMap<>();
+                partitionStatistics.put("partition", partition);
+                partitionStatistics.put("messages", latencies.size());
+                for (int percentile : PERCENTILES)
+                {
+                    int rank = (int) Math.ceil(percentile / 100.0 * latencies.size());
+                    partitionStatistics.put("p" + percentile, toMillis(latencies.get(rank - 1)));
+                }
+                partitionStatistics.put("max", toMillis(latencies.get(latencies.size() - 1)));
+                partitionsStatistics.add(partitionStatistics);
+            });
+        }
+        return partitionsStatistics;
+    }
+
+    private static double toMillis(long nanos)
+    {
+        return nanos / NANOS_IN_MILLI;
+    }
+}
@@ -20,31 +20,37 @@ import static java.util.Map.entry;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 import static org.apache.commons.lang3.StringUtils.substringAfter;
 import static org.apache.commons.lang3.StringUtils.substringBefore;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.Validate;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.hamcrest.Matcher;
 import org.jbehave.core.annotations.AfterStory;
 import org.jbehave.core.annotations.When;
+import org.jbehave.core.model.ExamplesTable;
+import org.jbehave.core.steps.Parameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
@@ -55,16 +61,19 @@ import org.springframework.kafka.listener.GenericMessageListenerContainer;
 import org.springframework.kafka.listener.KafkaMessageListenerContainer;
 import org.springframework.kafka.listener.MessageListener;
 import org.vividus.context.VariableContext;
+import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.steps.ComparisonRule;
+import org.vividus.steps.StringComparisonRule;
 import org.vividus.testcontext.TestContext;
 import org.vividus.util.property.IPropertyParser;
-import org.vividus.util.wait.DurationBasedWaiter;
 import org.vividus.variable.VariableScope;
 
 public class KafkaSteps
 {
     private static final String DOT = ".";
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaSteps.class);
 
@@ -79,13 +88,17 @@ public class KafkaSteps
     private final TestContext testContext;
     private final VariableContext variableContext;
     private final ISoftAssert softAssert;
+    private final IAttachmentPublisher attachmentPublisher;
+
+    private int messageBufferCapacity = -1;
+    private BufferOverflowPolicy messageBufferOverflowPolicy = BufferOverflowPolicy.DROP_OLDEST;
 
     public KafkaSteps(IPropertyParser propertyParser, TestContext testContext, VariableContext variableContext,
-            ISoftAssert softAssert)
+            ISoftAssert softAssert, IAttachmentPublisher attachmentPublisher)
     {
         this.kafkaTemplates = convert("kafka.producer.", propertyParser, config -> {
-            config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-            config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+            config.putIfAbsent(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+            config.putIfAbsent(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
             DefaultKafkaProducerFactory<String, String> producerFactory =
                 new DefaultKafkaProducerFactory<>(config);
             return new KafkaTemplate<>(producerFactory);
@@ -98,6 +111,7 @@ public class KafkaSteps
         this.testContext = testContext;
         this.variableContext = variableContext;
         this.softAssert = softAssert;
+        this.attachmentPublisher = attachmentPublisher;
     }
 
     private <T> Map<String, T> convert(String propertiesPrefix, IPropertyParser propertyParser,
@@ -128,6 +142,77 @@ public class KafkaSteps
         kafkaTemplates.get(producerKey).send(topic, data).get(WAIT_TIMEOUT_IN_MINUTES, TimeUnit.MINUTES);
     }
 
+    /**
+     * Sends the messages to the provided topic asynchronously: the step doesn't wait for the acknowledgement of each
+     * message before sending the next one, so the messages are batched by the producer according to its
+     * configuration (e.g. <code>batch.size</code>, <code>linger.ms</code>, <code>compression.type</code>). The step
+     * waits until all the messages are acknowledged and publishes the achieved throughput and the sending latency
+     * percentiles per partition.
+     *
+     * @param producerKey           The key of the producer configuration
+     * @param topic                 The topic name
+     * @param messages              The ExamplesTable with the messages to send, the mandatory column
+     *                              <code>value</code> contains the messages values, the optional column
+     *                              <code>key</code> contains the messages keys, all other columns are sent as the
+     *                              messages headers
+     * @throws InterruptedException If the current thread was interrupted while waiting
+     */
+    @When("I send messages to `$producerKey` Kafka topic `$topic`:$messages")
+    public void sendMessages(String producerKey, String topic, ExamplesTable messages) throws InterruptedException
+    {
+        List<String> columns = messages.getHeaders();
+        Validate.isTrue(columns.contains(VALUE), "'%s' column is mandatory for the messages to send", VALUE);
+        List<String> headerColumns = columns.stream()
+                .filter(column -> !KEY.equals(column) && !VALUE.equals(column))
+                .collect(Collectors.toList());
+
+        KafkaTemplate<String, String> kafkaTemplate = kafkaTemplates.get(producerKey);
+        List<Map<String, String>> rows = messages.getRows();
+        KafkaProducingStatistics statistics = new KafkaProducingStatistics(rows.size());
+        for (Map<String, String> row : rows)
+        {
+            ProducerRecord<String, String> producerRecord = new ProducerRecord<>(topic, null,
+                    defaultIfEmpty(row.get(KEY), null), row.get(VALUE), createRecordHeaders(headerColumns, row));
+            long sendingStartTime = System.nanoTime();
+            kafkaTemplate.send(producerRecord).addCallback(
+                    result -> statistics.recordSuccess(result.getRecordMetadata().partition(),
+                            System.nanoTime() - sendingStartTime),
+                    statistics::recordFailure);
+        }
+        kafkaTemplate.flush();
+        boolean acknowledged = statistics.awaitAcknowledgements(WAIT_TIMEOUT_IN_MINUTES, TimeUnit.MINUTES);
+
+        LOGGER.info("{} messages are sent to Kafka topic {} in {} ms, throughput: {} messages/s",
+                statistics.getMessagesCount(), topic, statistics.getDurationInMillis(),
+                String.format("%.1f", statistics.getThroughput()));
+        attachmentPublisher.publishAttachment("/org/vividus/steps/kafka/producing-statistics.ftl", Map.of(
+                "messages", statistics.getMessagesCount(),
+                "failures", statistics.getFailuresCount(),
+                "duration", statistics.getDurationInMillis(),
+                "throughput", statistics.getThroughput(),
+                "partitions", statistics.getPartitionsStatistics()
+        ), "Kafka producing statistics");
+        if (!acknowledged)
+        {
+            softAssert.recordFailedAssertion(String.format(
+                    "Not all Kafka messages are acknowledged within %d minutes", WAIT_TIMEOUT_IN_MINUTES));
+        }
+        else if (statistics.getFailuresCount() > 0)
+        {
+            softAssert.recordFailedAssertion(String.format("%d of %d Kafka messages are not sent",
+                    statistics.getFailuresCount(), statistics.getMessagesCount()), statistics.getFirstFailure());
+        }
+    }
+
+    static List<Header> createRecordHeaders(List<String> headerColumns, Map<String, String> row)
+    {
+        // The cells with null values, e.g. the ones matching the null placeholder, mean that the message has no header
+        return headerColumns.stream()
+                .filter(column -> row.get(column) != null)
+                .map(column -> new RecordHeader(column, row.get(column).getBytes(StandardCharsets.UTF_8)))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Starts the Kafka consumer with the provided configuration to listen the specified topics. The consumer must be
      * stopped when it's not needed.
@@ -137,13 +222,58 @@ public class KafkaSteps
      */
     @When("I start consuming messages from `$consumerKey` Kafka topics `$topics`")
     public void startKafkaListener(String consumerKey, Set<String> topics)
+    {
+        startKafkaListener(consumerKey, topics, consumerRecord -> true);
+    }
+
+    /**
+     * Starts the Kafka consumer with the provided configuration to listen the specified topics and keeps only the
+     * messages matching all the filters, the rest of the messages are discarded right after consumption. The consumer
+     * must be stopped when it's not needed.
+     *
+     * @param consumerKey The key of the producer configuration
+     * @param topics      The comma-separated set of topics to listen
+     * @param filters     The ExamplesTable with the filters to apply to the consumed messages, the columns:
+     *                    <ul>
+     *                    <li><b>filter</b> - the one of <code>KEY</code>, <code>HEADER</code> or
+     *                    <code>JSON_PATH</code></li>
+     *                    <li><b>name</b> - the header name for <code>HEADER</code> filter or the JSON path to apply to
+     *                    the message value for <code>JSON_PATH</code> filter</li>
+     *                    <li><b>rule</b> - the string comparison rule</li>
+     *                    <li><b>value</b> - the expected value</li>
+     *                    </ul>
+     */
+    @When("I start consuming messages from `$consumerKey` Kafka topics `$topics` filtered by:$filters")
+    public void startKafkaListener(String consumerKey, Set<String> topics, ExamplesTable filters)
+    {
+        Predicate<ConsumerRecord<String, String>> filter = filters.getRowsAsParameters(true).stream()
+                .map(KafkaSteps::createFilter)
+                .reduce(Predicate::and)
+                .orElseThrow(() -> new IllegalArgumentException("At least one filter must be provided"));
+        startKafkaListener(consumerKey, topics, filter);
+    }
+
+    private static Predicate<ConsumerRecord<String, String>> createFilter(Parameters row)
+    {
+        KafkaMessageFilter filter = row.valueAs("filter", KafkaMessageFilter.class);
+        StringComparisonRule rule = row.valueAs("rule", StringComparisonRule.class);
+        Matcher<String> matcher = rule.createMatcher(row.valueAs(VALUE, String.class));
+        return filter.createFilter(row.valueAs("name", String.class, null), matcher);
+    }
+
+    private void startKafkaListener(String consumerKey, Set<String> topics,
+            Predicate<ConsumerRecord<String, String>> filter)
     {
         stopListener(getListeners().remove(consumerKey), false);
-        BlockingQueue<String> messageQueue = new LinkedBlockingDeque<>();
-        testContext.get(MESSAGES_KEY, HashMap::new).put(consumerKey, messageQueue);
+        KafkaMessageBuffer messageBuffer = new KafkaMessageBuffer(messageBufferCapacity, messageBufferOverflowPolicy);
+        testContext.get(MESSAGES_KEY, HashMap::new).put(consumerKey, messageBuffer);
         ContainerProperties containerProperties = new ContainerProperties(topics.toArray(new String[0]));
-        containerProperties.setMessageListener(
-                (MessageListener<String, String>) data -> messageQueue.add(data.value()));
+        containerProperties.setMessageListener((MessageListener<String, String>) data -> {
+            if (filter.test(data))
+            {
+                messageBuffer.add(data.value());
+            }
+        });
         GenericMessageListenerContainer<String, String> container = new KafkaMessageListenerContainer<>(
                 consumerFactories.get(consumerKey), containerProperties);
         container.start();
@@ -154,7 +284,8 @@ public class KafkaSteps
 
     /**
      * Waits until the count of the consumed messaged (from the consumer start or after the last draining operation)
-     * matches to the rule or until the timeout is exceeded.
+     * matches to the rule or until the timeout is exceeded. The wait is finished as soon as the matching count of
+     * messages is consumed.
      *
      * @param timeout        The maximum time to wait for the messages in ISO-8601 format
      * @param consumerKey    The key of the producer configuration
@@ -168,22 +299,28 @@ public class KafkaSteps
      *                       <li>not equal to (!=)</li>
      *                       </ul>
      * @param expectedCount  The expected count of the messages to be matched by the rule
+     * @throws InterruptedException If the current thread was interrupted while waiting
      */
     @When("I wait with `$timeout` timeout until count of consumed `$consumerKey` Kafka messages is $comparisonRule"
             + " `$expectedCount`")
     public void waitForKafkaMessages(Duration timeout, String consumerKey, ComparisonRule comparisonRule,
-            int expectedCount)
+            int expectedCount) throws InterruptedException
     {
         Matcher<Integer> countMatcher = comparisonRule.getComparisonRule(expectedCount);
-        Integer result = new DurationBasedWaiter(timeout, Duration.ofSeconds(1)).wait(
-                () -> getMessagesBy(consumerKey).size(),
-                countMatcher::matches);
+        int result = getMessagesBy(consumerKey).waitForSize(countMatcher::matches, timeout);
         softAssert.assertThat("Total count of consumed Kafka messages", result, countMatcher);
     }
 
-    private BlockingQueue<String> getMessagesBy(String key)
+    private KafkaMessageBuffer getMessagesBy(String key)
     {
-        return testContext.<Map<String, BlockingQueue<String>>>get(MESSAGES_KEY).get(key);
+        KafkaMessageBuffer messageBuffer = testContext.<Map<String, KafkaMessageBuffer>>get(MESSAGES_KEY).get(key);
+        int droppedMessagesCount = messageBuffer.pollDroppedMessagesCount();
+        if (droppedMessagesCount > 0)
+        {
+            LOGGER.warn("{} messages consumed by `{}` Kafka consumer were dropped as the buffer capacity ({}) was"
+                    + " exceeded", droppedMessagesCount, key, messageBuffer.getCapacity());
+        }
+        return messageBuffer;
     }
 
     /**
@@ -228,6 +365,16 @@ public class KafkaSteps
         variableContext.putVariable(scopes, variableName, queueOperation.performOn(getMessagesBy(consumerKey)));
     }
 
+    public void setMessageBufferCapacity(int messageBufferCapacity)
+    {
+        this.messageBufferCapacity = messageBufferCapacity;
+    }
+
+    public void setMessageBufferOverflowPolicy(BufferOverflowPolicy messageBufferOverflowPolicy)
+    {
+        this.messageBufferOverflowPolicy = messageBufferOverflowPolicy;
+    }
+
     @AfterStory
     public void cleanUp()
     {
@@ -261,22 +408,20 @@ public class KafkaSteps
         PEEK
         {
             @Override
-            List<String> performOn(BlockingQueue<String> messagesQueue)
+            List<String> performOn(KafkaMessageBuffer messageBuffer)
             {
-                return new ArrayList<>(messagesQueue);
+                return messageBuffer.peek();
             }
         },
         DRAIN
         {
             @Override
-            List<String> performOn(BlockingQueue<String> messagesQueue)
+            List<String> performOn(KafkaMessageBuffer messageBuffer)
             {
-                List<String> messages = new ArrayList<>();
-                messagesQueue.drainTo(messages);
-                return messages;
+                return messageBuffer.drain();
             }
         };
 
-        abstract List<String> performOn(BlockingQueue<String> messagesQueue);
+        abstract List<String> performOn(KafkaMessageBuffer messageBuffer);
     }
 }
@@ -0,0 +1,69 @@
+<!doctype html>
+<html lang="en">
+<head>
+    <meta charset="utf-8">
+    <title>Kafka producing statistics</title>
+    <link rel="shortcut icon" href="img/favicon.ico" type="image/x-icon">
+    <link rel="icon" href="img/favicon.ico" type="image/x-icon">
+    <link rel="stylesheet" href="../../styles.css"/>
+    <link rel="stylesheet" href="../../webjars/bootstrap/3.3.6/css/bootstrap.min.css"/>
+</head>
+<body>
+    <style>
+        table th {
+            text-align: center;
+        }
+        td.number {
+            text-align: right;
+        }
+    </style>
+
+    <#outputformat "HTML">
+    <table class="table table-bordered table-condensed">
+        <tbody>
+            <tr>
+                <th>Messages</th>
+                <td class="number">${messages?c}</td>
+            </tr>
+            <tr class="${(failures > 0)?then('danger', '')}">
+                <th>Failed messages</th>
+                <td class="number">${failures?c}</td>
+            </tr>
+            <tr>
+                <th>Duration, ms</th>
+                <td class="number">${duration?c}</td>
+            </tr>
+            <tr>
+                <th>Throughput, messages/s</th>
+                <td class="number">${throughput?string["0.0"]}</td>
+            </tr>
+        </tbody>
+    </table>
+
+    <table class="table table-hover table-bordered table-condensed">
+        <thead>
+            <tr>
+                <th>Partition</th>
+                <th>Acknowledged messages</th>
+                <th>Latency p50, ms</th>
+                <th>Latency p95, ms</th>
+                <th>Latency p99, ms</th>
+                <th>Latency max, ms</th>
+            </tr>
+        </thead>
+        <tbody>
+            <#list partitions as partition>
+                <tr>
+                    <td class="number">${partition.partition?c}</td>
+                    <td class="number">${partition.messages?c}</td>
+                    <td class="number">${partition.p50?string["0.###"]}</td>
+                    <td class="number">${partition.p95?string["0.###"]}</td>
+                    <td class="number">${partition.p99?string["0.###"]}</td>
+                    <td class="number">${partition.max?string["0.###"]}</td>
+                </tr>
+            </#list>
+        </tbody>
+    </table>
+    </#outputformat>
+</body>
+</html>
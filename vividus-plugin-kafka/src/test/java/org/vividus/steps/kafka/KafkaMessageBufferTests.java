@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+class KafkaMessageBufferTests
+{
+    private static final String MESSAGE_1 = "message-1";
+    private static final String MESSAGE_2 = "message-2";
+    private static final String MESSAGE_3 = "message-3";
+
+    @Test
+    void shouldBufferAllMessagesWhenBufferIsUnbounded()
+    {
+        KafkaMessageBuffer buffer = new KafkaMessageBuffer(-1, BufferOverflowPolicy.DROP_OLDEST);
+        List.of(MESSAGE_1, MESSAGE_2, MESSAGE_3).forEach(buffer::add);
+        assertEquals(List.of(MESSAGE_1, MESSAGE_2, MESSAGE_3), buffer.peek());
+        assertEquals(0, buffer.pollDroppedMessagesCount());
+    }
+
+    @Test
+    void shouldDropOldestMessagesWhenBufferIsFull()
+    {
+        KafkaMessageBuffer buffer = new KafkaMessageBuffer(2, BufferOverflowPolicy.DROP_OLDEST);
+        List.of(MESSAGE_1, MESSAGE_2, MESSAGE_3).forEach(buffer::add);
+        assertEquals(List.of(MESSAGE_2, MESSAGE_3), buffer.peek());
+        assertEquals(1, buffer.pollDroppedMessagesCount());
+        assertEquals(0, buffer.pollDroppedMessagesCount());
+    }
+
+    @Test
+    void shouldDropNewestMessagesWhenBufferIsFull()
+    {
+        KafkaMessageBuffer buffer = new KafkaMessageBuffer(2, BufferOverflowPolicy.DROP_NEWEST);
+        List.of(MESSAGE_1, MESSAGE_2, MESSAGE_3).forEach(buffer::add);
+        assertEquals(List.of(MESSAGE_1, MESSAGE_2), buffer.drain());
+        assertEquals(List.of(), buffer.peek());
+        assertEquals(1, buffer.pollDroppedMessagesCount());
+    }
+
+    @Test
+    void shouldFinishWaitAsSoonAsConditionIsMet() throws InterruptedException, ExecutionException, TimeoutException
+    {
+        KafkaMessageBuffer buffer = new KafkaMessageBuffer(-1, BufferOverflowPolicy.DROP_OLDEST);
+        CompletableFuture<Integer> waitResult = CompletableFuture.supplyAsync(() -> {
+            try
+            {
+                return buffer.waitForSize(size -> size == 2, Duration.ofMinutes(1));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        buffer.add(MESSAGE_1);
+        buffer.add(MESSAGE_2);
+        assertEquals(2, waitResult.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldReturnCurrentSizeWhenWaitIsTimedOut() throws InterruptedException
+    {
+        KafkaMessageBuffer buffer = new KafkaMessageBuffer(-1, BufferOverflowPolicy.DROP_OLDEST);
+        buffer.add(MESSAGE_1);
+        long start = System.nanoTime();
+        assertEquals(1, buffer.waitForSize(size -> size > 1, Duration.ofMillis(100)));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+}
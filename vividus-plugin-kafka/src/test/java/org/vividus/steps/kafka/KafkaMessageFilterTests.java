@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class KafkaMessageFilterTests
+{
+    private static final String VALUE = "{\"type\":\"created\",\"items\":[{\"id\":1},{\"id\":2}]}";
+
+    @ParameterizedTest
+    @CsvSource({
+            "KEY,       ,                 key-1,    true",
+            "KEY,       ,                 key-2,    false",
+            "HEADER,    source,           vividus,  true",
+            "HEADER,    source,           other,    false",
+            "HEADER,    missing,          vividus,  false",
+            "JSON_PATH, $.type,           created,  true",
+            "JSON_PATH, $.type,           updated,  false",
+            "JSON_PATH, $.items[*].id,    2,        true",
+            "JSON_PATH, $.missing,        created,  false"
+    })
+    void shouldFilterMessages(KafkaMessageFilter filter, String name, String expectedValue, boolean matches)
+    {
+        ConsumerRecord<String, String> consumerRecord = new ConsumerRecord<>("topic", 0, 0, "key-1", VALUE);
+        consumerRecord.headers().add("source", "vividus".getBytes(StandardCharsets.UTF_8));
+        assertEquals(matches, filter.createFilter(name, Matchers.equalTo(expectedValue)).test(consumerRecord));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = "not json")
+    void shouldNotMatchNonJsonMessages(String value)
+    {
+        ConsumerRecord<String, String> consumerRecord = new ConsumerRecord<>("topic", 0, 0, null, value);
+        assertFalse(KafkaMessageFilter.JSON_PATH.createFilter("$.type", Matchers.equalTo("created"))
+                .test(consumerRecord));
+    }
+}
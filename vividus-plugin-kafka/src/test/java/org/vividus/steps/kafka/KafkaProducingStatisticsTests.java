@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class KafkaProducingStatisticsTests
+{
+    private static final long NANOS_IN_MILLI = 1_000_000;
+
+    @Test
+    void shouldCalculateLatencyPercentilesPerPartition() throws InterruptedException
+    {
+        KafkaProducingStatistics statistics = new KafkaProducingStatistics(102);
+        IntStream.rangeClosed(1, 100).forEach(i -> statistics.recordSuccess(1, (101 - i) * NANOS_IN_MILLI));
+        statistics.recordSuccess(0, 3 * NANOS_IN_MILLI);
+        RuntimeException failure = new RuntimeException();
+        statistics.recordFailure(failure);
+        assertTrue(statistics.awaitAcknowledgements(1, TimeUnit.SECONDS));
+        assertEquals(102, statistics.getMessagesCount());
+        assertEquals(1, statistics.getFailuresCount());
+        assertEquals(failure, statistics.getFirstFailure());
+        assertEquals(List.of(
+                Map.of("partition", 0, "messages", 1, "p50", 3.0, "p95", 3.0, "p99", 3.0, "max", 3.0),
+                Map.of("partition", 1, "messages", 100, "p50", 50.0, "p95", 95.0, "p99", 99.0, "max", 100.0)
+        ), statistics.getPartitionsStatistics());
+    }
+
+    @Test
+    void shouldNotWaitLongerThanTimeoutForAcknowledgements() throws InterruptedException
+    {
+        KafkaProducingStatistics statistics = new KafkaProducingStatistics(1);
+        assertFalse(statistics.awaitAcknowledgements(1, TimeUnit.MILLISECONDS));
+        assertEquals(0, statistics.getFailuresCount());
+    }
+}
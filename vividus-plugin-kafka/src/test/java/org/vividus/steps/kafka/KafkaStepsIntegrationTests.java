@@ -20,8 +20,10 @@ import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static java.util.stream.Collectors.toMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -40,7 +42,9 @@ import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.jbehave.core.model.ExamplesTable;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -55,6 +59,7 @@ import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.kafka.test.utils.KafkaTestUtils;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.vividus.context.VariableContext;
+import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.steps.ComparisonRule;
 import org.vividus.steps.kafka.KafkaSteps.QueueOperation;
@@ -62,11 +67,12 @@ import org.vividus.testcontext.SimpleTestContext;
 import org.vividus.util.property.IPropertyParser;
 import org.vividus.variable.VariableScope;
 
-@EmbeddedKafka(topics = KafkaStepsIntegrationTests.TOPIC)
+@EmbeddedKafka(topics = { KafkaStepsIntegrationTests.TOPIC, KafkaStepsIntegrationTests.BULK_TOPIC })
 @ExtendWith({ MockitoExtension.class, SpringExtension.class, TestLoggerFactoryExtension.class })
 class KafkaStepsIntegrationTests
 {
     static final String TOPIC = "test-topic";
+    static final String BULK_TOPIC = "bulk-test-topic";
 
     private static final String DOT = ".";
 
@@ -88,6 +94,7 @@ class KafkaStepsIntegrationTests
     @Mock private IPropertyParser propertyParser;
     @Mock private VariableContext variableContext;
     @Mock private ISoftAssert softAssert;
+    @Mock private IAttachmentPublisher attachmentPublisher;
     private KafkaSteps kafkaSteps;
 
     @BeforeEach
@@ -106,7 +113,8 @@ class KafkaStepsIntegrationTests
 
         when(propertyParser.getPropertyValuesByPrefix("kafka.producer.")).thenReturn(producerConfigs);
         when(propertyParser.getPropertyValuesByPrefix("kafka.consumer.")).thenReturn(consumerConfigs);
-        kafkaSteps = new KafkaSteps(propertyParser, new SimpleTestContext(), variableContext, softAssert);
+        kafkaSteps = new KafkaSteps(propertyParser, new SimpleTestContext(), variableContext, softAssert,
+                attachmentPublisher);
     }
 
     static Stream<Arguments> kafkaOperations()
@@ -146,4 +154,30 @@ class KafkaStepsIntegrationTests
 
         test.accept(kafkaSteps, variableContext);
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldSendMessagesFromTable() throws InterruptedException
+    {
+        kafkaSteps.startKafkaListener(CONSUMER, Set.of(BULK_TOPIC));
+
+        String message1 = "message-1";
+        String message2 = "message-2";
+        ExamplesTable messages = new ExamplesTable(
+                "|key|value|source|\n|key-1|" + message1 + "|table|\n||" + message2 + "|table|");
+        kafkaSteps.sendMessages(PRODUCER, BULK_TOPIC, messages);
+        verify(attachmentPublisher).publishAttachment(eq("/org/vividus/steps/kafka/producing-statistics.ftl"),
+                argThat(statistics -> {
+                    Map<String, Object> statisticsMap = (Map<String, Object>) statistics;
+                    return Integer.valueOf(2).equals(statisticsMap.get("messages"))
+                            && Integer.valueOf(0).equals(statisticsMap.get("failures"));
+                }), eq("Kafka producing statistics"));
+
+        kafkaSteps.waitForKafkaMessages(Duration.ofSeconds(10), CONSUMER, ComparisonRule.EQUAL_TO, 2);
+        kafkaSteps.stopKafkaListener(CONSUMER);
+        kafkaSteps.processKafkaMessages(QueueOperation.DRAIN, CONSUMER, SCOPES, VARIABLE_NAME);
+        verify(variableContext).putVariable(eq(SCOPES), eq(VARIABLE_NAME),
+                argThat(values -> Set.of(message1, message2).equals(Set.copyOf((List<String>) values))));
+        verify(softAssert, never()).recordFailedAssertion(any(String.class), any(Throwable.class));
+    }
 }
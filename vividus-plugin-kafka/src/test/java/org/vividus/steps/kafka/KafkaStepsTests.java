@@ -17,6 +17,7 @@
 package org.vividus.steps.kafka;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -27,10 +28,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +46,9 @@ import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.jbehave.core.model.ExamplesTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,17 +56,26 @@ import org.mockito.Mock;
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.GenericMessageListenerContainer;
 import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
 import org.vividus.context.VariableContext;
+import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
+import org.vividus.steps.kafka.KafkaSteps.QueueOperation;
 import org.vividus.testcontext.TestContext;
 import org.vividus.util.property.IPropertyParser;
+import org.vividus.variable.VariableScope;
 
 @ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
 class KafkaStepsTests
 {
     private static final String KEY2 = "key2";
+    private static final String KEY_1 = "key-1";
+    private static final String TOPIC = "topic";
+    private static final String VARIABLE_NAME = "messages";
+    private static final Set<VariableScope> SCOPES = Set.of(VariableScope.SCENARIO);
 
     private static final Class<?> LISTENER_KEY = GenericMessageListenerContainer.class;
 
@@ -71,6 +87,7 @@ class KafkaStepsTests
     @Mock private TestContext testContext;
     @Mock private VariableContext variableContext;
     @Mock private ISoftAssert softAssert;
+    @Mock private IAttachmentPublisher attachmentPublisher;
     private KafkaSteps kafkaSteps;
 
     @BeforeEach
@@ -81,7 +98,7 @@ class KafkaStepsTests
 
         when(propertyParser.getPropertyValuesByPrefix("kafka.producer.")).thenReturn(producerConfigs);
         when(propertyParser.getPropertyValuesByPrefix("kafka.consumer.")).thenReturn(consumerConfigs);
-        kafkaSteps = new KafkaSteps(propertyParser, testContext, variableContext, softAssert);
+        kafkaSteps = new KafkaSteps(propertyParser, testContext, variableContext, softAssert, attachmentPublisher);
     }
 
     @Test
@@ -94,6 +111,29 @@ class KafkaStepsTests
                 exception.getMessage());
     }
 
+    @Test
+    void shouldThrowExceptionWhenSendingMessagesWithoutValues()
+    {
+        ExamplesTable messages = new ExamplesTable("|key|\n|" + KEY_1 + "|");
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> kafkaSteps.sendMessages("key", TOPIC, messages));
+        assertEquals("'value' column is mandatory for the messages to send", exception.getMessage());
+        verifyNoInteractions(attachmentPublisher);
+    }
+
+    @Test
+    void shouldSkipHeadersWithNullValues()
+    {
+        String headerName = "event-type";
+        String headerValue = "order-created";
+        String nullHeaderName = "trace-id";
+        Map<String, String> row = new HashMap<>();
+        row.put(headerName, headerValue);
+        row.put(nullHeaderName, null);
+        List<Header> headers = KafkaSteps.createRecordHeaders(List.of(headerName, nullHeaderName), row);
+        assertEquals(List.of(new RecordHeader(headerName, headerValue.getBytes(StandardCharsets.UTF_8))), headers);
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void shouldStopListenerInAfterStory()
@@ -134,7 +174,7 @@ class KafkaStepsTests
                 KafkaMessageListenerContainer.class,
                 withSettings().extraInterfaces(GenericMessageListenerContainer.class)))
         {
-            String topic = "topic";
+            String topic = TOPIC;
             String consumerKey = KEY2;
             Map<String, GenericMessageListenerContainer<String, String>> listeners = new HashMap<>();
             mockListeners(listeners);
@@ -158,4 +198,76 @@ class KafkaStepsTests
                                info(listenerIsStarted))));
         }
     }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    void shouldKeepOnlyMessagesMatchingFilters()
+    {
+        List<ContainerProperties> containerProperties = new ArrayList<>();
+        try (MockedConstruction<KafkaMessageListenerContainer> construction = Mockito.mockConstruction(
+                KafkaMessageListenerContainer.class,
+                withSettings().extraInterfaces(GenericMessageListenerContainer.class),
+                (mock, context) -> containerProperties.add((ContainerProperties) context.arguments().get(1))))
+        {
+            mockListeners(new HashMap<>());
+            Map<String, Object> messages = new HashMap<>();
+            when(testContext.get(eq(ConsumerRecord.class), any(Supplier.class))).thenReturn(messages);
+            when(testContext.get(ConsumerRecord.class)).thenReturn(messages);
+            ExamplesTable filters = new ExamplesTable("|filter|name|rule|value|\n"
+                    + "|KEY||IS_EQUAL_TO|key-1|\n"
+                    + "|JSON_PATH|$.type|IS_EQUAL_TO|created|");
+            kafkaSteps.startKafkaListener(KEY2, Set.of(TOPIC), filters);
+
+            MessageListener<String, String> listener = (MessageListener<String, String>) containerProperties.get(0)
+                    .getMessageListener();
+            String matchingMessage = "{\"type\":\"created\"}";
+            listener.onMessage(new ConsumerRecord<>(TOPIC, 0, 0, KEY_1, matchingMessage));
+            listener.onMessage(new ConsumerRecord<>(TOPIC, 0, 1, KEY_1, "{\"type\":\"updated\"}"));
+            listener.onMessage(new ConsumerRecord<>(TOPIC, 0, 2, "key-2", matchingMessage));
+
+            kafkaSteps.processKafkaMessages(QueueOperation.PEEK, KEY2, SCOPES, VARIABLE_NAME);
+            verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, List.of(matchingMessage));
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    void shouldReportMessagesDroppedDueToBufferOverflow()
+    {
+        List<ContainerProperties> containerProperties = new ArrayList<>();
+        try (MockedConstruction<KafkaMessageListenerContainer> construction = Mockito.mockConstruction(
+                KafkaMessageListenerContainer.class,
+                withSettings().extraInterfaces(GenericMessageListenerContainer.class),
+                (mock, context) -> containerProperties.add((ContainerProperties) context.arguments().get(1))))
+        {
+            mockListeners(new HashMap<>());
+            Map<String, Object> messages = new HashMap<>();
+            when(testContext.get(eq(ConsumerRecord.class), any(Supplier.class))).thenReturn(messages);
+            when(testContext.get(ConsumerRecord.class)).thenReturn(messages);
+            kafkaSteps.setMessageBufferCapacity(1);
+            kafkaSteps.setMessageBufferOverflowPolicy(BufferOverflowPolicy.DROP_NEWEST);
+            kafkaSteps.startKafkaListener(KEY2, Set.of(TOPIC));
+
+            MessageListener<String, String> listener = (MessageListener<String, String>) containerProperties.get(0)
+                    .getMessageListener();
+            listener.onMessage(new ConsumerRecord<>(TOPIC, 0, 0, KEY_1, "first"));
+            listener.onMessage(new ConsumerRecord<>(TOPIC, 0, 1, KEY_1, "second"));
+
+            kafkaSteps.processKafkaMessages(QueueOperation.DRAIN, KEY2, SCOPES, VARIABLE_NAME);
+            verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, List.of("first"));
+            assertThat(logger.getLoggingEvents(), is(List.of(info("Kafka message listener is started"),
+                    warn("{} messages consumed by `{}` Kafka consumer were dropped as the buffer capacity ({}) was"
+                            + " exceeded", 1, KEY2, 1))));
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionWhenNoFiltersAreProvided()
+    {
+        ExamplesTable filters = new ExamplesTable("|filter|name|rule|value|");
+        Set<String> topics = Set.of(TOPIC);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> kafkaSteps.startKafkaListener(KEY2, topics, filters));
+        assertEquals("At least one filter must be provided", exception.getMessage());
+    }
 }
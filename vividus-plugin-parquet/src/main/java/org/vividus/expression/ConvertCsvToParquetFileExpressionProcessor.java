@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -50,7 +50,7 @@ public class ConvertCsvToParquetFileExpressionProcessor extends AbstractExpressi
 
     public ConvertCsvToParquetFileExpressionProcessor(CsvReader csvReader)
     {
-        super(CONVERT_CSV_TO_PARQUET_PATTERN);
+        super(CONVERT_CSV_TO_PARQUET_PATTERN, "convertCsvToParquetFile");
         this.csvReader = csvReader;
     }
 
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http;
+
+public enum HttpExchangeAttachmentPolicy
+{
+    /**
+     * Every HTTP request and response is attached to the report
+     */
+    ALWAYS,
+    /**
+     * Only the exchanges responded with the client or server error status codes (4xx and 5xx) and the requests
+     * without responses are attached to the report
+     */
+    ON_FAILURE,
+    /**
+     * The failed exchanges and every N-th successful exchange are attached to the report
+     */
+    SAMPLED
+}
@@ -67,7 +67,13 @@ public class HttpTestContext implements JsonContext
     public void putResponse(HttpResponse response)
     {
         HttpTestContextData data = getData();
+        if (data.response != null && data.response != response)
+        {
+            // The body of the replaced response is not accessible anymore, so its spooled copy is deleted right away
+            data.response.close();
+        }
         data.response = response;
+        data.responseBody = null;
         data.jsonElement = Optional.empty();
     }
 
@@ -105,7 +111,14 @@ public class HttpTestContext implements JsonContext
     @Override
     public String getJsonContext()
     {
-        return getData().jsonElement.orElse(getResponse() == null ? null : getResponse().getResponseBodyAsString());
+        HttpTestContextData data = getData();
+        return data.jsonElement.orElseGet(() -> {
+            if (data.responseBody == null && data.response != null)
+            {
+                data.responseBody = data.response.getResponseBodyAsString();
+            }
+            return data.responseBody;
+        });
     }
 
     public Optional<CookieStore> getCookieStore()
@@ -137,6 +150,7 @@ public class HttpTestContext implements JsonContext
         private ConnectionDetails connectionDetails;
 
         private HttpResponse response;
+        private String responseBody;
         private Optional<String> jsonElement = Optional.empty();
         private RequestConfig requestConfig;
     }
@@ -18,13 +18,21 @@ package org.vividus.http;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
+import com.google.common.io.ByteSource;
+
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 import org.apache.http.Header;
 import org.apache.http.HeaderElement;
 import org.apache.http.HttpEntity;
@@ -32,30 +40,49 @@ import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpStatus;
 import org.apache.http.RequestLine;
 import org.apache.http.entity.ContentType;
 import org.apache.http.protocol.HttpContext;
+import org.jbehave.core.annotations.AfterScenario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.http.client.HttpResponse;
+import org.vividus.http.client.HttpResponse.RetainedResponseBody;
 import org.vividus.http.handler.HttpResponseHandler;
 import org.vividus.reporter.event.IAttachmentPublisher;
+import org.vividus.testcontext.TestContext;
 
 public class PublishingAttachmentInterceptor implements HttpRequestInterceptor, HttpResponseHandler
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(PublishingAttachmentInterceptor.class);
 
+    private static final String API_MESSAGE_TEMPLATE = "/org/vividus/http/attachment/api-message.ftl";
+    private static final String EXCHANGES_TEMPLATE = "/org/vividus/http/attachment/http-exchanges.ftl";
+    private static final Object PENDING_REQUEST_KEY = HttpMessage.class;
+    private static final Object EXCHANGES_KEY = PublishingAttachmentInterceptor.class;
+    private static final String BODY_TRUNCATED_TO = "bodyTruncatedTo";
+    private static final int NO_STATUS_CODE = -1;
+
     private final IAttachmentPublisher attachmentPublisher;
+    private final TestContext testContext;
+    private final AtomicLong successfulExchangesCounter = new AtomicLong();
+
+    private HttpExchangeAttachmentPolicy attachmentPolicy = HttpExchangeAttachmentPolicy.ALWAYS;
+    private int samplingRate = 1;
+    private int maxBodySize = -1;
+    private boolean publishExchangesSummary;
 
-    public PublishingAttachmentInterceptor(IAttachmentPublisher attachmentPublisher)
+    public PublishingAttachmentInterceptor(IAttachmentPublisher attachmentPublisher, TestContext testContext)
     {
         this.attachmentPublisher = attachmentPublisher;
+        this.testContext = testContext;
     }
 
     @Override
     public void process(HttpRequest request, HttpContext context)
     {
-        byte[] body = null;
+        ByteSource body = null;
         String mimeType = null;
         if (request instanceof HttpEntityEnclosingRequest)
         {
@@ -68,41 +95,179 @@ public class PublishingAttachmentInterceptor implements HttpRequestInterceptor,
                                 Optional.ofNullable(ContentType.getLenient(entity))
                                         .orElse(ContentType.DEFAULT_TEXT).getMimeType()
                         );
-                try (ByteArrayOutputStream baos = new ByteArrayOutputStream((int) entity.getContentLength()))
-                {
-                    // https://github.com/apache/httpcomponents-client/commit/09cefc2b8970eea56d81b1a886d9bb769a48daf3
-                    entity.writeTo(baos);
-                    body = baos.toByteArray();
-                }
-                catch (IOException e)
-                {
-                    LOGGER.error("Error is occurred at HTTP message parsing", e);
-                }
+                body = captureRequestBody(entity);
             }
         }
         RequestLine requestLine = request.getRequestLine();
         String attachmentTitle = String.format("Request: %s %s", requestLine.getMethod(), requestLine.getUri());
-        attachApiMessage(attachmentTitle, request.getAllHeaders(), body, mimeType, -1);
+        HttpMessage httpRequest = new HttpMessage(attachmentTitle, request.getAllHeaders(), body, mimeType,
+                NO_STATUS_CODE);
+        if (attachmentPolicy == HttpExchangeAttachmentPolicy.ALWAYS)
+        {
+            attachApiMessage(httpRequest);
+            return;
+        }
+        // The request is attached along with its response once it's known whether the exchange is failed
+        attachUnansweredRequest();
+        testContext.put(PENDING_REQUEST_KEY, httpRequest);
+    }
+
+    private ByteSource captureRequestBody(HttpEntity entity)
+    {
+        if (entity.isRepeatable())
+        {
+            // Repeatable entities can be re-read at any time, so the body is read only if it's attached
+            return new ByteSource()
+            {
+                @Override
+                public InputStream openStream() throws IOException
+                {
+                    return entity.getContent();
+                }
+            };
+        }
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream((int) entity.getContentLength()))
+        {
+            // https://github.com/apache/httpcomponents-client/commit/09cefc2b8970eea56d81b1a886d9bb769a48daf3
+            entity.writeTo(baos);
+            return ByteSource.wrap(baos.toByteArray());
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("Error is occurred at HTTP message parsing", e);
+            return null;
+        }
     }
 
     @Override
     public void handle(HttpResponse response) throws IOException
     {
-        Header[] headers = response.getResponseHeaders();
-        String attachmentTitle = String.format("Response: %s %s", response.getMethod(), response.getFrom());
-        String mimeType = getMimeType(headers).orElseGet(ContentType.DEFAULT_TEXT::getMimeType);
-        attachApiMessage(attachmentTitle, headers, response.getResponseBody(), mimeType, response.getStatusCode());
+        HttpMessage httpRequest = testContext.remove(PENDING_REQUEST_KEY);
+        int statusCode = response.getStatusCode();
+        boolean attach = isAttachable(statusCode);
+        if (attach)
+        {
+            if (httpRequest != null)
+            {
+                attachApiMessage(httpRequest);
+            }
+            Header[] headers = response.getResponseHeaders();
+            String attachmentTitle = String.format("Response: %s %s", response.getMethod(), response.getFrom());
+            String mimeType = getMimeType(headers).orElseGet(ContentType.DEFAULT_TEXT::getMimeType);
+            attachApiMessage(new HttpMessage(attachmentTitle, headers, getResponseBody(response), mimeType,
+                    statusCode));
+        }
+        if (publishExchangesSummary)
+        {
+            Map<String, Object> exchange = new HashMap<>();
+            exchange.put("method", response.getMethod());
+            exchange.put("uri", Optional.ofNullable(response.getFrom()).map(URI::toString).orElse(""));
+            exchange.put("statusCode", statusCode);
+            exchange.put("responseTime", response.getResponseTimeInMs());
+            exchange.put("responseBodySize", response.getResponseBodySize());
+            exchange.put("attached", attach);
+            testContext.get(EXCHANGES_KEY, ArrayList::new).add(exchange);
+        }
     }
 
-    private void attachApiMessage(String title, Header[] headers, byte[] body, String mimeType, int statusCode)
+    private boolean isAttachable(int statusCode)
+    {
+        if (attachmentPolicy == HttpExchangeAttachmentPolicy.ALWAYS || statusCode >= HttpStatus.SC_BAD_REQUEST)
+        {
+            return true;
+        }
+        return attachmentPolicy == HttpExchangeAttachmentPolicy.SAMPLED
+                && successfulExchangesCounter.getAndIncrement() % samplingRate == 0;
+    }
+
+    private ByteSource getResponseBody(HttpResponse response)
+    {
+        if (maxBodySize < 0)
+        {
+            byte[] body = response.getResponseBody();
+            return body != null ? ByteSource.wrap(body) : null;
+        }
+        RetainedResponseBody body = response.retainResponseBody();
+        if (body == null)
+        {
+            return null;
+        }
+        // The body is streamed to read only the attached part of the response spooled to the disk, it is retained,
+        // so the attachments written later are able to read it even if the response is already closed
+        return new ByteSource()
+        {
+            @Override
+            public InputStream openStream() throws IOException
+            {
+                return body.openStream();
+            }
+        };
+    }
+
+    @AfterScenario
+    public void publishScenarioExchanges()
+    {
+        attachUnansweredRequest();
+        List<Map<String, Object>> exchanges = testContext.remove(EXCHANGES_KEY);
+        if (exchanges != null && !exchanges.isEmpty())
+        {
+            attachmentPublisher.publishAttachment(EXCHANGES_TEMPLATE, Map.of("exchanges", exchanges),
+                    "HTTP exchanges");
+        }
+    }
+
+    private void attachUnansweredRequest()
+    {
+        HttpMessage unansweredRequest = testContext.remove(PENDING_REQUEST_KEY);
+        if (unansweredRequest != null)
+        {
+            attachApiMessage(unansweredRequest);
+        }
+    }
+
+    private void attachApiMessage(HttpMessage message)
     {
         Map<String, Object> dataMap = new HashMap<>();
-        dataMap.put("headers", headers);
-        dataMap.put("body", body != null ? new String(body, StandardCharsets.UTF_8) : null);
-        dataMap.put("bodyContentType", mimeType);
-        dataMap.put("statusCode", statusCode);
+        dataMap.put("headers", message.headers);
+        dataMap.put("body", readBody(message, dataMap));
+        dataMap.put("bodyContentType", message.mimeType);
+        dataMap.put("statusCode", message.statusCode);
 
-        attachmentPublisher.publishAttachment("/org/vividus/http/attachment/api-message.ftl", dataMap, title);
+        attachmentPublisher.publishAttachment(API_MESSAGE_TEMPLATE, dataMap, message.title);
+        if (dataMap.containsKey(BODY_TRUNCATED_TO))
+        {
+            // The full body is streamed to the report file without loading it into the memory
+            attachmentPublisher.publishAttachment(message.body::copyTo, message.title + " (full body)",
+                    message.mimeType);
+        }
+    }
+
+    private String readBody(HttpMessage message, Map<String, Object> dataMap)
+    {
+        ByteSource body = message.body;
+        if (body == null)
+        {
+            return null;
+        }
+        try
+        {
+            if (maxBodySize < 0)
+            {
+                return new String(body.read(), StandardCharsets.UTF_8);
+            }
+            byte[] head = body.slice(0, maxBodySize + 1L).read();
+            if (head.length <= maxBodySize)
+            {
+                return new String(head, StandardCharsets.UTF_8);
+            }
+            dataMap.put(BODY_TRUNCATED_TO, maxBodySize);
+            return new String(head, 0, maxBodySize, StandardCharsets.UTF_8);
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("Error is occurred at HTTP message parsing", e);
+            return null;
+        }
     }
 
     private Optional<String> getMimeType(Header... headers)
@@ -115,4 +280,44 @@ public class PublishingAttachmentInterceptor implements HttpRequestInterceptor,
                 .map(elements -> elements[0])
                 .map(HeaderElement::getName);
     }
+
+    public void setAttachmentPolicy(HttpExchangeAttachmentPolicy attachmentPolicy)
+    {
+        this.attachmentPolicy = attachmentPolicy;
+    }
+
+    public void setSamplingRate(int samplingRate)
+    {
+        Validate.isTrue(samplingRate >= 1, "The sampling rate must be greater than or equal to 1, but got %d",
+                samplingRate);
+        this.samplingRate = samplingRate;
+    }
+
+    public void setMaxBodySize(int maxBodySize)
+    {
+        this.maxBodySize = maxBodySize;
+    }
+
+    public void setPublishExchangesSummary(boolean publishExchangesSummary)
+    {
+        this.publishExchangesSummary = publishExchangesSummary;
+    }
+
+    private static final class HttpMessage
+    {
+        private final String title;
+        private final Header[] headers;
+        private final ByteSource body;
+        private final String mimeType;
+        private final int statusCode;
+
+        HttpMessage(String title, Header[] headers, ByteSource body, String mimeType, int statusCode)
+        {
+            this.title = title;
+            this.headers = headers;
+            this.body = body;
+            this.mimeType = mimeType;
+            this.statusCode = statusCode;
+        }
+    }
 }
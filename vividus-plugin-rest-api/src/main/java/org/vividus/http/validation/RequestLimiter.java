@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.validation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of requests executed at the same time both in total and per host. The requests exceeding the
+ * limits are queued and started as soon as the running ones complete, so no thread is blocked while waiting.
+ */
+final class RequestLimiter
+{
+    private final int maxRequests;
+    private final int maxRequestsPerHost;
+
+    private final List<QueuedRequest> queue = new LinkedList<>();
+    private final Map<String, Integer> runningRequestsPerHost = new HashMap<>();
+    private final AtomicInteger pendingDispatches = new AtomicInteger();
+    private int runningRequests;
+
+    RequestLimiter(int maxRequests, int maxRequestsPerHost)
+    {
+        this.maxRequests = maxRequests;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    <R> CompletableFuture<R> submit(String host, Supplier<CompletableFuture<R>> request)
+    {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        synchronized (this)
+        {
+            queue.add(new QueuedRequest(host, () -> start(host, request, result)));
+        }
+        dispatch();
+        return result;
+    }
+
+    private <R> void start(String host, Supplier<CompletableFuture<R>> request, CompletableFuture<R> result)
+    {
+        CompletableFuture<R> execution;
+        try
+        {
+            execution = request.get();
+        }
+        catch (RuntimeException e)
+        {
+            execution = CompletableFuture.failedFuture(e);
+        }
+        execution.whenComplete((r, e) -> {
+            release(host);
+            if (e != null)
+            {
+                result.completeExceptionally(e);
+            }
+            else
+            {
+                result.complete(r);
+            }
+        });
+    }
+
+    private void release(String host)
+    {
+        synchronized (this)
+        {
+            runningRequests--;
+            runningRequestsPerHost.computeIfPresent(host, (h, count) -> count > 1 ? count - 1 : null);
+        }
+        dispatch();
+    }
+
+    private void dispatch()
+    {
+        // Only one thread starts the requests at a time, the other ones just ask it to make one more pass. This also
+        // prevents deep recursion when the requests are completed synchronously.
+        if (pendingDispatches.getAndIncrement() != 0)
+        {
+            return;
+        }
+        int dispatches = 1;
+        do
+        {
+            takeRequestsToStart().forEach(Runnable::run);
+            dispatches = pendingDispatches.addAndGet(-dispatches);
+        }
+        while (dispatches != 0);
+    }
+
+    private synchronized List<Runnable> takeRequestsToStart()
+    {
+        List<Runnable> requestsToStart = new ArrayList<>();
+        Iterator<QueuedRequest> iterator = queue.iterator();
+        while (runningRequests < maxRequests && iterator.hasNext())
+        {
+            QueuedRequest queuedRequest = iterator.next();
+            int hostRequests = runningRequestsPerHost.getOrDefault(queuedRequest.host, 0);
+            if (hostRequests < maxRequestsPerHost)
+            {
+                iterator.remove();
+                runningRequests++;
+                runningRequestsPerHost.put(queuedRequest.host, hostRequests + 1);
+                requestsToStart.add(queuedRequest.starter);
+            }
+        }
+        return requestsToStart;
+    }
+
+    private static final class QueuedRequest
+    {
+        private final String host;
+        private final Runnable starter;
+
+        private QueuedRequest(String host, Runnable starter)
+        {
+            this.host = host;
+            this.starter = starter;
+        }
+    }
+}
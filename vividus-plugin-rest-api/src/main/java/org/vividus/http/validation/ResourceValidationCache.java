@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.validation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of resources validation results: the results from the previous runs are loaded from the file at
+ * start-up and saved back at the end of the run. The results checked within the time-to-live are reused as is, the
+ * older ones are revalidated using conditional requests. The cache is disabled if the file path is blank.
+ */
+public class ResourceValidationCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceValidationCache.class);
+    private static final String SEPARATOR = ",";
+    private static final int FIELDS = 4;
+
+    private final Path cacheFile;
+    private final Duration timeToLive;
+    private final Map<URI, CachedValidation> validations = new ConcurrentHashMap<>();
+
+    public ResourceValidationCache(String cacheFile, Duration timeToLive)
+    {
+        this.cacheFile = StringUtils.isBlank(cacheFile) ? null : Paths.get(cacheFile);
+        this.timeToLive = timeToLive;
+    }
+
+    public void load() throws IOException
+    {
+        if (cacheFile == null || !Files.exists(cacheFile))
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8))
+        {
+            properties.load(reader);
+        }
+        properties.forEach((uri, validation) -> {
+            String[] fields = ((String) validation).split(SEPARATOR, FIELDS);
+            String etag = StringUtils.defaultIfEmpty(fields[3], null);
+            validations.put(URI.create((String) uri), new CachedValidation(Integer.parseInt(fields[0]),
+                    Long.parseLong(fields[1]), Long.parseLong(fields[2]), etag));
+        });
+        LOGGER.info("Loaded validation results of {} resources from {}", validations.size(), cacheFile);
+    }
+
+    public boolean isEnabled()
+    {
+        return cacheFile != null;
+    }
+
+    Optional<CachedValidation> get(URI uri)
+    {
+        return Optional.ofNullable(validations.get(uri));
+    }
+
+    void put(URI uri, CachedValidation validation)
+    {
+        if (isEnabled())
+        {
+            validations.put(uri, validation);
+        }
+    }
+
+    void remove(URI uri)
+    {
+        validations.remove(uri);
+    }
+
+    boolean isFresh(CachedValidation validation)
+    {
+        return validation.getCheckTime() + timeToLive.toMillis() > System.currentTimeMillis();
+    }
+
+    public void save() throws IOException
+    {
+        if (!isEnabled())
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        validations.forEach((uri, validation) -> properties.setProperty(uri.toString(),
+                validation.getStatusCode() + SEPARATOR + validation.getCheckTime() + SEPARATOR
+                        + validation.getLastModified() + SEPARATOR + StringUtils.defaultString(validation.getEtag())));
+        Path parent = cacheFile.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(cacheFile, StandardCharsets.UTF_8))
+        {
+            properties.store(writer, "Resources validation results: status code, check time, last modified, ETag");
+        }
+        LOGGER.info("Saved validation results of {} resources to {}", validations.size(), cacheFile);
+    }
+
+    static final class CachedValidation
+    {
+        private final int statusCode;
+        private final long checkTime;
+        private final long lastModified;
+        private final String etag;
+
+        CachedValidation(int statusCode, long checkTime, long lastModified, String etag)
+        {
+            this.statusCode = statusCode;
+            this.checkTime = checkTime;
+            this.lastModified = lastModified;
+            this.etag = etag;
+        }
+
+        int getStatusCode()
+        {
+            return statusCode;
+        }
+
+        long getCheckTime()
+        {
+            return checkTime;
+        }
+
+        long getLastModified()
+        {
+            return lastModified;
+        }
+
+        String getEtag()
+        {
+            return etag;
+        }
+    }
+}
@@ -21,24 +21,47 @@ import static org.hamcrest.Matchers.oneOf;
 
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.DateUtils;
 import org.hamcrest.Matcher;
 import org.vividus.http.HttpMethod;
 import org.vividus.http.client.HttpResponse;
+import org.vividus.http.client.IAsyncHttpClient;
 import org.vividus.http.client.IHttpClient;
+import org.vividus.http.validation.ResourceValidationCache.CachedValidation;
 import org.vividus.http.validation.model.AbstractResourceValidation;
 import org.vividus.http.validation.model.CheckStatus;
 import org.vividus.softassert.ISoftAssert;
 
 public class ResourceValidator<T extends AbstractResourceValidation<T>>
 {
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
     private final IHttpClient httpClient;
 
     private final ISoftAssert softAssert;
@@ -48,8 +71,18 @@ public class ResourceValidator<T extends AbstractResourceValidation<T>>
                                                                   HttpStatus.SC_SERVICE_UNAVAILABLE,
                                                                   HttpStatus.SC_NOT_FOUND,
                                                                   HttpStatus.SC_NOT_IMPLEMENTED);
+    private final Set<Integer> retryStatusCodes = Set.of(SC_TOO_MANY_REQUESTS, HttpStatus.SC_SERVICE_UNAVAILABLE);
+
+    private final Map<URI, CompletableFuture<T>> cache = new ConcurrentHashMap<>();
 
-    private final Map<URI, T> cache = new ConcurrentHashMap<>();
+    private int maxParallelRequests = 16;
+    private int maxParallelRequestsPerHost = 8;
+    private int maxRetries;
+    private Duration initialRetryBackoff = Duration.ofSeconds(1);
+
+    private ResourceValidationCache validationCache;
+    private RequestLimiter requestLimiter;
+    private ExecutorService executor;
 
     public ResourceValidator(IHttpClient httpClient, ISoftAssert softAssert)
     {
@@ -59,49 +92,294 @@ public class ResourceValidator<T extends AbstractResourceValidation<T>>
 
     public T perform(T resourceValidation)
     {
-        return cache.compute(resourceValidation.getUri(), (u, rv) -> {
-            return Optional.ofNullable(rv).map(r -> {
-                T cachedResult = r.copy();
-                cachedResult.setCheckStatus(CheckStatus.SKIPPED);
-                return cachedResult;
-            }).orElseGet(() -> {
+        return perform(List.of(resourceValidation)).get(0);
+    }
+
+    /**
+     * Validates the resources concurrently: the number of simultaneous requests is limited both in total and per
+     * host. In case of asynchronous HTTP client the requests don't occupy a thread each, otherwise they are executed
+     * by the internal thread pool. The requests responded with 429 or 503 status codes are retried with backoff. The
+     * results are verified in the calling thread. The resources already checked before are not requested again, their
+     * results are copied with {@link CheckStatus#SKIPPED} status. If the persistent validation cache is enabled, the
+     * resources checked successfully in the previous runs are either reused within the cache time-to-live or
+     * revalidated using conditional requests.
+     *
+     * @param resourceValidations The resources to validate
+     * @return The validation results in the same order as the resources
+     */
+    public List<T> perform(Collection<T> resourceValidations)
+    {
+        List<PendingValidation> pendingValidations = new ArrayList<>(resourceValidations.size());
+        resourceValidations.forEach(resourceValidation -> pendingValidations.add(submit(resourceValidation)));
+        // The own validations are completed first, since the cached ones may wait for them
+        pendingValidations.stream().filter(PendingValidation::isOwn).forEach(PendingValidation::complete);
+        List<T> results = new ArrayList<>(pendingValidations.size());
+        pendingValidations.forEach(p -> results.add(p.complete()));
+        return results;
+    }
+
+    private PendingValidation submit(T resourceValidation)
+    {
+        URI uri = resourceValidation.getUri();
+        CompletableFuture<T> validation = new CompletableFuture<>();
+        CompletableFuture<T> cachedValidation = cache.putIfAbsent(uri, validation);
+        if (cachedValidation != null)
+        {
+            return new PendingValidation(resourceValidation, cachedValidation, null);
+        }
+        CachedValidation previousValidation = validationCache != null ? validationCache.get(uri).orElse(null)
+                : null;
+        if (previousValidation != null && validationCache.isFresh(previousValidation))
+        {
+            HttpResponse cachedResponse = new HttpResponse();
+            cachedResponse.setStatusCode(previousValidation.getStatusCode());
+            cachedResponse.setResponseTimeInMs(-1);
+            return new PendingValidation(resourceValidation, validation,
+                    CompletableFuture.completedFuture(cachedResponse));
+        }
+        HttpClientContext httpClientContext = HttpClientContext.create();
+        CompletableFuture<HttpResponse> response = checkResource(uri, httpClientContext, HttpMethod.HEAD, 0,
+                previousValidation);
+        if (validationCache != null)
+        {
+            response = response.thenApply(r -> {
+                updateValidationCache(uri, r, previousValidation);
+                return r;
+            });
+        }
+        return new PendingValidation(resourceValidation, validation, response);
+    }
+
+    private void updateValidationCache(URI uri, HttpResponse response, CachedValidation previousValidation)
+    {
+        int statusCode = response.getStatusCode();
+        if (!allowedStatusCodes.contains(statusCode))
+        {
+            validationCache.remove(uri);
+            return;
+        }
+        String etag = response.getHeaderByName(HttpHeaders.ETAG).map(Header::getValue)
+                .orElseGet(() -> previousValidation != null ? previousValidation.getEtag() : null);
+        long lastModified = response.getHeaderByName(HttpHeaders.LAST_MODIFIED)
+                .map(Header::getValue)
+                .map(DateUtils::parseDate)
+                .map(Date::getTime)
+                .orElseGet(() -> previousValidation != null ? previousValidation.getLastModified() : -1);
+        validationCache.put(uri, new CachedValidation(statusCode, System.currentTimeMillis(), lastModified, etag));
+    }
+
+    private void verify(T resourceValidation, CompletableFuture<HttpResponse> responseFuture)
+    {
+        URI uri = resourceValidation.getUri();
+        try
+        {
+            HttpResponse response = responseFuture.join();
+            int statusCode = response.getStatusCode();
+            resourceValidation.setStatusCode(statusCode);
+            resourceValidation.setResponseTimeInMs(response.getResponseTimeInMs());
+            String message = String.format("Status code for %s is %d. expected one of %s", uri, statusCode,
+                    allowedStatusCodes);
+            Matcher<Object> oneOf = is(oneOf(allowedStatusCodes.toArray()));
+            resourceValidation.setCheckStatus(CheckStatus.get(oneOf.matches(statusCode)));
+            softAssert.assertThat(message, statusCode, oneOf);
+        }
+        catch (CompletionException e)
+        {
+            if (!(e.getCause() instanceof IOException))
+            {
+                throw e;
+            }
+            softAssert.recordFailedAssertion("Exception occured during check of: " + uri, e.getCause());
+            resourceValidation.setCheckStatus(CheckStatus.BROKEN);
+        }
+    }
+
+    private CompletableFuture<HttpResponse> checkResource(URI uri, HttpClientContext httpClientContext,
+            HttpMethod httpMethod, int attempt, CachedValidation previousValidation)
+    {
+        return executeHttpMethod(httpMethod, httpClientContext, uri, previousValidation).thenCompose(httpResponse -> {
+            int statusCode = httpResponse.getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && previousValidation != null)
+            {
+                httpResponse.setStatusCode(previousValidation.getStatusCode());
+                return CompletableFuture.completedFuture(httpResponse);
+            }
+            if (attempt < maxRetries && retryStatusCodes.contains(statusCode))
+            {
+                long delay = getRetryDelay(httpResponse, attempt).toMillis();
+                return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay,
+                        TimeUnit.MILLISECONDS)).thenCompose(
+                                v -> checkResource(uri, httpClientContext, httpMethod, attempt + 1,
+                                        previousValidation));
+            }
+            if (HttpMethod.GET == httpMethod || !notAllowedHeadStatusCodes.contains(statusCode))
+            {
+                return CompletableFuture.completedFuture(httpResponse);
+            }
+            return checkResource(uri, httpClientContext, HttpMethod.GET, 0, previousValidation);
+        });
+    }
+
+    private Duration getRetryDelay(HttpResponse httpResponse, int attempt)
+    {
+        return httpResponse.getHeaderByName(HttpHeaders.RETRY_AFTER)
+                .map(Header::getValue)
+                .flatMap(ResourceValidator::parseRetryAfter)
+                .orElseGet(() -> initialRetryBackoff.multipliedBy(1L << attempt));
+    }
+
+    private static Optional<Duration> parseRetryAfter(String retryAfter)
+    {
+        if (StringUtils.isNumeric(retryAfter))
+        {
+            return Optional.of(Duration.ofSeconds(Long.parseLong(retryAfter)));
+        }
+        Date date = DateUtils.parseDate(retryAfter);
+        return Optional.ofNullable(date).map(d -> Duration.ofMillis(Math.max(0,
+                d.getTime() - System.currentTimeMillis())));
+    }
+
+    private CompletableFuture<HttpResponse> executeHttpMethod(HttpMethod httpMethod,
+            HttpClientContext httpClientContext, URI uri, CachedValidation previousValidation)
+    {
+        String host = Objects.toString(uri.getHost(), "");
+        return getRequestLimiter().submit(host, () -> {
+            HttpRequestBase request = httpMethod.createRequest(uri);
+            if (previousValidation != null)
+            {
+                if (previousValidation.getEtag() != null)
+                {
+                    request.setHeader(HttpHeaders.IF_NONE_MATCH, previousValidation.getEtag());
+                }
+                if (previousValidation.getLastModified() >= 0)
+                {
+                    request.setHeader(HttpHeaders.IF_MODIFIED_SINCE,
+                            DateUtils.formatDate(new Date(previousValidation.getLastModified())));
+                }
+            }
+            if (httpClient instanceof IAsyncHttpClient)
+            {
+                return ((IAsyncHttpClient) httpClient).executeAsync(request, httpClientContext);
+            }
+            return CompletableFuture.supplyAsync(() -> {
                 try
                 {
-                    HttpClientContext httpClientContext = HttpClientContext.create();
-                    int statusCode = checkResource(u, httpClientContext, HttpMethod.HEAD);
-                    resourceValidation.setStatusCode(statusCode);
-                    String message = String.format("Status code for %s is %d. expected one of %s", u,
-                            statusCode, allowedStatusCodes);
-                    Matcher<Object> oneOf = is(oneOf(allowedStatusCodes.toArray()));
-                    resourceValidation.setCheckStatus(CheckStatus.get(oneOf.matches(statusCode)));
-                    softAssert.assertThat(message, statusCode, oneOf);
+                    return httpClient.execute(request, httpClientContext);
                 }
                 catch (IOException e)
                 {
-                    softAssert.recordFailedAssertion("Exception occured during check of: " + u, e);
-                    resourceValidation.setCheckStatus(CheckStatus.BROKEN);
+                    throw new CompletionException(e);
                 }
-                return resourceValidation;
-            });
+            }, executor);
         });
     }
 
-    private int checkResource(URI uri, HttpClientContext httpClientContext, HttpMethod httpMethod)
-            throws IOException
+    private synchronized RequestLimiter getRequestLimiter()
+    {
+        if (requestLimiter == null)
+        {
+            requestLimiter = new RequestLimiter(maxParallelRequests, maxParallelRequestsPerHost);
+            if (!(httpClient instanceof IAsyncHttpClient))
+            {
+                ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxParallelRequests,
+                        maxParallelRequests, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                        new BasicThreadFactory.Builder().namingPattern("resource-validator-%d").daemon(true).build());
+                threadPoolExecutor.allowCoreThreadTimeOut(true);
+                executor = threadPoolExecutor;
+            }
+        }
+        return requestLimiter;
+    }
+
+    public synchronized void shutdown() throws IOException
     {
-        HttpResponse httpResponse = executeHttpMethod(httpMethod, httpClientContext, uri);
-        int statusCode = httpResponse.getStatusCode();
-        if (HttpMethod.GET == httpMethod || !notAllowedHeadStatusCodes.contains(statusCode))
+        if (executor != null)
         {
-            return statusCode;
+            MoreExecutors.shutdownAndAwaitTermination(executor, 1, TimeUnit.MINUTES);
+            executor = null;
         }
-        return checkResource(uri, httpClientContext, HttpMethod.GET);
+        requestLimiter = null;
+        if (httpClient instanceof IAsyncHttpClient)
+        {
+            ((IAsyncHttpClient) httpClient).close();
+        }
+    }
+
+    public void setValidationCache(ResourceValidationCache validationCache)
+    {
+        this.validationCache = validationCache;
+    }
+
+    public void setMaxParallelRequests(int maxParallelRequests)
+    {
+        this.maxParallelRequests = maxParallelRequests;
+    }
+
+    public void setMaxParallelRequestsPerHost(int maxParallelRequestsPerHost)
+    {
+        this.maxParallelRequestsPerHost = maxParallelRequestsPerHost;
     }
 
-    private HttpResponse executeHttpMethod(HttpMethod httpMethod, HttpClientContext httpClientContext, URI uri)
-            throws IOException
+    public void setMaxRetries(int maxRetries)
     {
-        HttpRequestBase request = httpMethod.createRequest(uri);
-        return httpClient.execute(request, httpClientContext);
+        this.maxRetries = maxRetries;
+    }
+
+    public void setInitialRetryBackoff(Duration initialRetryBackoff)
+    {
+        this.initialRetryBackoff = initialRetryBackoff;
+    }
+
+    private final class PendingValidation
+    {
+        private final T resourceValidation;
+        private final CompletableFuture<T> validation;
+        private final CompletableFuture<HttpResponse> response;
+        private T result;
+
+        private PendingValidation(T resourceValidation, CompletableFuture<T> validation,
+                CompletableFuture<HttpResponse> response)
+        {
+            this.resourceValidation = resourceValidation;
+            this.validation = validation;
+            this.response = response;
+        }
+
+        private boolean isOwn()
+        {
+            return response != null;
+        }
+
+        private T complete()
+        {
+            if (result == null)
+            {
+                result = isOwn() ? verifyOwnValidation() : copyCachedValidation();
+            }
+            return result;
+        }
+
+        private T verifyOwnValidation()
+        {
+            try
+            {
+                verify(resourceValidation, response);
+                validation.complete(resourceValidation);
+                return resourceValidation;
+            }
+            catch (RuntimeException e)
+            {
+                cache.remove(resourceValidation.getUri(), validation);
+                validation.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        private T copyCachedValidation()
+        {
+            T cachedResult = validation.join().copy();
+            cachedResult.setCheckStatus(CheckStatus.SKIPPED);
+            return cachedResult;
+        }
     }
 }
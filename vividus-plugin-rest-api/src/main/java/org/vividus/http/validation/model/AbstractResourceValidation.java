@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ public abstract class AbstractResourceValidation<T extends AbstractResourceValid
 {
     private URI uri;
     private int statusCode = -1;
+    private long responseTimeInMs = -1;
     private CheckStatus checkStatus;
 
     protected AbstractResourceValidation(URI uri)
@@ -50,6 +51,16 @@ public abstract class AbstractResourceValidation<T extends AbstractResourceValid
         this.statusCode = statusCode;
     }
 
+    public long getResponseTimeInMs()
+    {
+        return responseTimeInMs;
+    }
+
+    public void setResponseTimeInMs(long responseTimeInMs)
+    {
+        this.responseTimeInMs = responseTimeInMs;
+    }
+
     public CheckStatus getCheckStatus()
     {
         return checkStatus;
@@ -65,6 +76,7 @@ public abstract class AbstractResourceValidation<T extends AbstractResourceValid
     protected void copyParameters(AbstractResourceValidation<T> newValidation)
     {
         newValidation.statusCode = this.statusCode;
+        newValidation.responseTimeInMs = this.responseTimeInMs;
         newValidation.uri = this.uri;
     }
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.validation.model;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public final class ResourceValidationStatistics
+{
+    private final long checkedResources;
+    private final long durationInMs;
+    private final List<HostStatistics> hostStatistics;
+
+    private ResourceValidationStatistics(long checkedResources, long durationInMs,
+            List<HostStatistics> hostStatistics)
+    {
+        this.checkedResources = checkedResources;
+        this.durationInMs = durationInMs;
+        this.hostStatistics = hostStatistics;
+    }
+
+    /**
+     * Calculates the statistics of the resources validation, only the resources actually requested are taken into
+     * account, i.e. the filtered, broken and skipped ones are ignored.
+     *
+     * @param resourceValidations The results of resources validation
+     * @param durationInMs        The overall duration of resources validation
+     * @return The statistics of resources validation
+     */
+    public static ResourceValidationStatistics of(Collection<? extends AbstractResourceValidation<?>>
+            resourceValidations, long durationInMs)
+    {
+        Map<String, LongSummaryStatistics> responseTimesPerHost = resourceValidations.stream()
+                .filter(v -> v.getCheckStatus() != CheckStatus.SKIPPED && v.getResponseTimeInMs() >= 0)
+                .collect(Collectors.groupingBy(v -> Objects.toString(v.getUri().getHost(), ""), TreeMap::new,
+                        Collectors.summarizingLong(AbstractResourceValidation::getResponseTimeInMs)));
+        List<HostStatistics> hostStatistics = responseTimesPerHost.entrySet().stream()
+                .map(e -> new HostStatistics(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+        long checkedResources = hostStatistics.stream().mapToLong(HostStatistics::getRequests).sum();
+        return new ResourceValidationStatistics(checkedResources, durationInMs, hostStatistics);
+    }
+
+    public long getCheckedResources()
+    {
+        return checkedResources;
+    }
+
+    public long getDurationInMs()
+    {
+        return durationInMs;
+    }
+
+    /**
+     * @return The number of resources checked per second
+     */
+    public double getThroughput()
+    {
+        return durationInMs > 0 ? checkedResources * 1000.0 / durationInMs : 0;
+    }
+
+    public List<HostStatistics> getHostStatistics()
+    {
+        return hostStatistics;
+    }
+
+    public static final class HostStatistics
+    {
+        private final String host;
+        private final long requests;
+        private final double averageResponseTimeInMs;
+        private final long maxResponseTimeInMs;
+
+        private HostStatistics(String host, LongSummaryStatistics responseTimes)
+        {
+            this.host = host;
+            this.requests = responseTimes.getCount();
+            this.averageResponseTimeInMs = responseTimes.getAverage();
+            this.maxResponseTimeInMs = responseTimes.getMax();
+        }
+
+        public String getHost()
+        {
+            return host;
+        }
+
+        public long getRequests()
+        {
+            return requests;
+        }
+
+        public double getAverageResponseTimeInMs()
+        {
+            return averageResponseTimeInMs;
+        }
+
+        public long getMaxResponseTimeInMs()
+        {
+            return maxResponseTimeInMs;
+        }
+    }
+}
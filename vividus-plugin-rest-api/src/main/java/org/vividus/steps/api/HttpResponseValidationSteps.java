@@ -19,7 +19,9 @@ package org.vividus.steps.api;
 import static java.lang.String.format;
 import static org.hamcrest.Matchers.contains;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
@@ -154,10 +156,16 @@ public class HttpResponseValidationSteps
     {
         performIfHttpResponseIsPresent(response ->
         {
-            byte[] responseBody = response.getResponseBody();
-            String actualContentType = TIKA.detect(responseBody);
-            if ("text/plain".equals(actualContentType) && jsonUtils.isJson(
-                    new String(responseBody, StandardCharsets.UTF_8)))
+            String actualContentType;
+            try (InputStream responseBody = response.getResponseBodyAsStream())
+            {
+                actualContentType = TIKA.detect(responseBody);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            if ("text/plain".equals(actualContentType) && jsonUtils.isJson(response.getResponseBodyAsString()))
             {
                 actualContentType = "application/json";
             }
@@ -213,10 +221,10 @@ public class HttpResponseValidationSteps
      * @param sizeInBytes    The expected size of the response body in bytes
      */
     @Then("size of decompressed response body is $comparisonRule `$sizeInBytes`")
-    public void doesDecompressedResponseBodySizeConfirmRule(ComparisonRule comparisonRule, int sizeInBytes)
+    public void doesDecompressedResponseBodySizeConfirmRule(ComparisonRule comparisonRule, long sizeInBytes)
     {
         performIfHttpResponseIsPresent(response ->
-            softAssert.assertThat("Size of decompressed HTTP response body", response.getResponseBody().length,
+            softAssert.assertThat("Size of decompressed HTTP response body", response.getResponseBodySize(),
                     comparisonRule.getComparisonRule(sizeInBytes)));
     }
 
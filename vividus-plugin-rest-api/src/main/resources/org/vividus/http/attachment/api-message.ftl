@@ -68,6 +68,14 @@
             </div>
         </div>
 
+        <#if bodyTruncatedTo??>
+            <div class="panel panel-warning">
+                <div class="panel-heading">
+                    <h4 class="panel-title">Body is truncated to ${bodyTruncatedTo?c} bytes, the full body is attached separately</h4>
+                </div>
+            </div>
+        </#if>
+
         <#if body??>
             <div class="panel panel-info">
                 <div class="panel-heading">
@@ -102,7 +110,7 @@
     <script type="text/javascript">
         $(document).ready(function() {
             $("code[id='pretty-code']").each(function(i, e) {
-                if(e.className.includes("json")){
+                if(e.className.includes("json") && ${(bodyTruncatedTo??)?c} === false){
                     var text = $(this).text();
                     var pretty =  JSON.stringify(JSON.parse(text), null, 2);
                     $(this).text(pretty);
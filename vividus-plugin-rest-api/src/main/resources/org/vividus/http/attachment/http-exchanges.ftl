@@ -0,0 +1,50 @@
+<!doctype html>
+<html lang="en">
+<head>
+    <meta charset="utf-8">
+    <title>HTTP exchanges</title>
+    <link rel="shortcut icon" href="img/favicon.ico" type="image/x-icon">
+    <link rel="icon" href="img/favicon.ico" type="image/x-icon">
+    <link rel="stylesheet" href="../../styles.css"/>
+    <link rel="stylesheet" href="../../webjars/bootstrap/3.3.6/css/bootstrap.min.css"/>
+</head>
+<body>
+    <style>
+        table th {
+            text-align: center;
+        }
+        td.number {
+            text-align: right;
+        }
+    </style>
+
+    <#outputformat "HTML">
+    <table class="table table-hover table-bordered table-condensed">
+        <thead>
+            <tr>
+                <th>#</th>
+                <th>Method</th>
+                <th>URL</th>
+                <th>Status code</th>
+                <th>Response time, ms</th>
+                <th>Response body size, bytes</th>
+                <th>Attached</th>
+            </tr>
+        </thead>
+        <tbody>
+            <#list exchanges as exchange>
+                <tr class="${(exchange.statusCode >= 400)?then('danger', '')}">
+                    <td class="number">${exchange?counter}</td>
+                    <td>${exchange.method}</td>
+                    <td>${exchange.uri}</td>
+                    <td class="number">${exchange.statusCode?c}</td>
+                    <td class="number">${exchange.responseTime?c}</td>
+                    <td class="number">${exchange.responseBodySize?c}</td>
+                    <td>${exchange.attached?then('yes', 'no')}</td>
+                </tr>
+            </#list>
+        </tbody>
+    </table>
+    </#outputformat>
+</body>
+</html>
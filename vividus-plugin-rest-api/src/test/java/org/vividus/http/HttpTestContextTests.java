@@ -20,7 +20,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -89,6 +92,19 @@ class HttpTestContextTests
         assertEquals(response, httpTestContext.getResponse());
     }
 
+    @Test
+    void shouldCloseReplacedResponse()
+    {
+        HttpResponse previousResponse = mock(HttpResponse.class);
+        httpTestContext.putResponse(previousResponse);
+        httpTestContext.putResponse(previousResponse);
+        verify(previousResponse, never()).close();
+        HttpResponse response = new HttpResponse();
+        httpTestContext.putResponse(response);
+        verify(previousResponse).close();
+        assertEquals(response, httpTestContext.getResponse());
+    }
+
     @Test
     void testGetDefaultRequestHeaders()
     {
@@ -131,6 +147,17 @@ class HttpTestContextTests
         assertEquals(responseBody, httpTestContext.getJsonContext());
     }
 
+    @Test
+    void shouldDecodeResponseBodyOnceForJsonContext()
+    {
+        HttpResponse response = new HttpResponse();
+        response.setResponseBody(JSON.getBytes(StandardCharsets.UTF_8));
+        httpTestContext.putResponse(response);
+        String jsonContext = httpTestContext.getJsonContext();
+        assertEquals(JSON, jsonContext);
+        assertSame(jsonContext, httpTestContext.getJsonContext());
+    }
+
     @Test
     void testReleaseRequestData()
     {
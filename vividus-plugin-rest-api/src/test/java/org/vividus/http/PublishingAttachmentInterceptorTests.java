@@ -20,11 +20,16 @@ import static com.github.valfirst.slf4jtest.LoggingEvent.error;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -51,18 +56,24 @@ import org.apache.http.HttpRequest;
 import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
 import org.apache.http.RequestLine;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpEntityEnclosingRequest;
 import org.apache.http.protocol.HttpContext;
 import org.hamcrest.Matcher;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.http.client.HttpResponse;
 import org.vividus.reporter.event.IAttachmentPublisher;
+import org.vividus.reporter.model.Attachment.ContentWriter;
+import org.vividus.testcontext.SimpleTestContext;
 
 @ExtendWith({MockitoExtension.class, TestLoggerFactoryExtension.class})
 class PublishingAttachmentInterceptorTests
@@ -74,13 +85,21 @@ class PublishingAttachmentInterceptorTests
     private static final String REQUEST = "Request: method uri";
     private static final String CONTENT_TYPE = "Content-Type";
     private static final String TEXT_PLAIN = "text/plain";
-    private static final byte[] DATA = "data".getBytes(StandardCharsets.UTF_8);
+    private static final String DATA_STRING = "data";
+    private static final byte[] DATA = DATA_STRING.getBytes(StandardCharsets.UTF_8);
+    private static final String BODY = "body";
 
     @Mock private IAttachmentPublisher attachmentPublisher;
-    @InjectMocks private PublishingAttachmentInterceptor interceptor;
+    private PublishingAttachmentInterceptor interceptor;
 
     private final TestLogger logger = TestLoggerFactory.getTestLogger(PublishingAttachmentInterceptor.class);
 
+    @BeforeEach
+    void beforeEach()
+    {
+        interceptor = new PublishingAttachmentInterceptor(attachmentPublisher, new SimpleTestContext());
+    }
+
     @Test
     void testHttpRequestIsAttachedSuccessfully() throws IOException
     {
@@ -176,6 +195,152 @@ class PublishingAttachmentInterceptorTests
         verifyPublishAttachment(RESPONSE);
     }
 
+    @Test
+    void testRepeatableHttpRequestBodyIsReadOnlyWhenAttached()
+    {
+        interceptor.process(createRequest(DATA), mock(HttpContext.class));
+        ArgumentCaptor<Map<String, Object>> argumentCaptor = verifyApiMessageAttachment(REQUEST);
+        assertEquals(DATA_STRING, argumentCaptor.getValue().get(BODY));
+    }
+
+    @Test
+    void testSuccessfulHttpExchangeIsNotAttachedOnFailurePolicy() throws IOException
+    {
+        interceptor.setAttachmentPolicy(HttpExchangeAttachmentPolicy.ON_FAILURE);
+        interceptor.process(createRequest(DATA), mock(HttpContext.class));
+        interceptor.handle(createResponse(HttpStatus.SC_OK, DATA));
+        interceptor.publishScenarioExchanges();
+        verifyNoInteractions(attachmentPublisher);
+    }
+
+    @Test
+    void testFailedHttpExchangeIsAttachedOnFailurePolicy() throws IOException
+    {
+        interceptor.setAttachmentPolicy(HttpExchangeAttachmentPolicy.ON_FAILURE);
+        interceptor.process(createRequest(DATA), mock(HttpContext.class));
+        verifyNoInteractions(attachmentPublisher);
+        interceptor.handle(createResponse(HttpStatus.SC_INTERNAL_SERVER_ERROR, DATA));
+        InOrder ordered = inOrder(attachmentPublisher);
+        ordered.verify(attachmentPublisher).publishAttachment(eq(API_MESSAGE_FTL), any(), eq(REQUEST));
+        ordered.verify(attachmentPublisher).publishAttachment(eq(API_MESSAGE_FTL), any(), eq(RESPONSE));
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void testUnansweredHttpRequestsAreAttachedOnFailurePolicy()
+    {
+        interceptor.setAttachmentPolicy(HttpExchangeAttachmentPolicy.ON_FAILURE);
+        HttpContext httpContext = mock(HttpContext.class);
+        interceptor.process(createRequest(DATA), httpContext);
+        interceptor.process(createRequest(DATA), httpContext);
+        verifyApiMessageAttachment(REQUEST);
+        interceptor.publishScenarioExchanges();
+        verify(attachmentPublisher, times(2)).publishAttachment(eq(API_MESSAGE_FTL), any(), eq(REQUEST));
+        verifyNoMoreInteractions(attachmentPublisher);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, -1 })
+    void shouldRejectInvalidSamplingRate(int samplingRate)
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> interceptor.setSamplingRate(samplingRate));
+        assertEquals("The sampling rate must be greater than or equal to 1, but got " + samplingRate,
+                exception.getMessage());
+    }
+
+    @Test
+    void testSuccessfulHttpExchangesAreSampled() throws IOException
+    {
+        interceptor.setAttachmentPolicy(HttpExchangeAttachmentPolicy.SAMPLED);
+        interceptor.setSamplingRate(2);
+        for (int i = 0; i < 3; i++)
+        {
+            interceptor.process(createRequest(DATA), mock(HttpContext.class));
+            interceptor.handle(createResponse(HttpStatus.SC_OK, DATA));
+        }
+        interceptor.process(createRequest(DATA), mock(HttpContext.class));
+        interceptor.handle(createResponse(HttpStatus.SC_NOT_FOUND, DATA));
+        verify(attachmentPublisher, times(3)).publishAttachment(eq(API_MESSAGE_FTL), any(), eq(REQUEST));
+        verify(attachmentPublisher, times(3)).publishAttachment(eq(API_MESSAGE_FTL), any(), eq(RESPONSE));
+        verifyNoMoreInteractions(attachmentPublisher);
+    }
+
+    @Test
+    void testTruncatedHttpBodiesAreAttachedWithFullBodies() throws IOException
+    {
+        interceptor.setMaxBodySize(2);
+        interceptor.process(createRequest(DATA), mock(HttpContext.class));
+        interceptor.handle(createResponse(HttpStatus.SC_OK, DATA));
+        for (String title : List.of(REQUEST, RESPONSE))
+        {
+            Map<String, Object> dataMap = verifyApiMessageAttachment(title).getValue();
+            assertEquals("da", dataMap.get(BODY));
+            assertEquals(2, dataMap.get("bodyTruncatedTo"));
+            ArgumentCaptor<ContentWriter> contentWriterCaptor = ArgumentCaptor.forClass(ContentWriter.class);
+            verify(attachmentPublisher).publishAttachment(contentWriterCaptor.capture(), eq(title + " (full body)"),
+                    eq(TEXT_PLAIN));
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            contentWriterCaptor.getValue().write(outputStream);
+            assertArrayEquals(DATA, outputStream.toByteArray());
+        }
+    }
+
+    @Test
+    void testShortHttpBodiesAreNotTruncated() throws IOException
+    {
+        interceptor.setMaxBodySize(DATA.length);
+        interceptor.handle(createResponse(HttpStatus.SC_OK, DATA));
+        Map<String, Object> dataMap = verifyApiMessageAttachment(RESPONSE).getValue();
+        assertEquals(DATA_STRING, dataMap.get(BODY));
+        assertFalse(dataMap.containsKey("bodyTruncatedTo"));
+        verifyNoMoreInteractions(attachmentPublisher);
+    }
+
+    @Test
+    void testHttpExchangesSummaryIsPublishedAtScenarioEnd() throws IOException
+    {
+        interceptor.setAttachmentPolicy(HttpExchangeAttachmentPolicy.ON_FAILURE);
+        interceptor.setPublishExchangesSummary(true);
+        HttpResponse response = createResponse(HttpStatus.SC_OK, DATA);
+        response.setResponseTimeInMs(42);
+        interceptor.handle(response);
+        interceptor.publishScenarioExchanges();
+        Map<String, Object> exchange = Map.of("method", METHOD, "uri", ENDPOINT, "statusCode", HttpStatus.SC_OK,
+                "responseTime", 42L, "responseBodySize", (long) DATA.length, "attached", false);
+        verify(attachmentPublisher).publishAttachment("/org/vividus/http/attachment/http-exchanges.ftl",
+                Map.of("exchanges", List.of(exchange)), "HTTP exchanges");
+        interceptor.publishScenarioExchanges();
+        verifyNoMoreInteractions(attachmentPublisher);
+    }
+
+    private static HttpEntityEnclosingRequest createRequest(byte[] body)
+    {
+        HttpEntityEnclosingRequest request = new BasicHttpEntityEnclosingRequest(METHOD, ENDPOINT);
+        request.setHeader(CONTENT_TYPE, TEXT_PLAIN);
+        request.setEntity(new ByteArrayEntity(body));
+        return request;
+    }
+
+    private static HttpResponse createResponse(int statusCode, byte[] body)
+    {
+        HttpResponse response = new HttpResponse();
+        response.setMethod(METHOD);
+        response.setFrom(URI.create(ENDPOINT));
+        response.setStatusCode(statusCode);
+        response.setResponseHeaders(new BasicHeader(CONTENT_TYPE, TEXT_PLAIN));
+        response.setResponseBody(body);
+        return response;
+    }
+
+    private ArgumentCaptor<Map<String, Object>> verifyApiMessageAttachment(String title)
+    {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> argumentCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(attachmentPublisher).publishAttachment(eq(API_MESSAGE_FTL), argumentCaptor.capture(), eq(title));
+        return argumentCaptor;
+    }
+
     private Header mockContentTypeHeader()
     {
         HeaderElement headerElement = mock(HeaderElement.class);
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class RequestLimiterTests
+{
+    private static final String HOST = "vividus.org";
+
+    private final List<CompletableFuture<String>> startedRequests = new ArrayList<>();
+
+    @Test
+    void shouldLimitRequestsPerHost()
+    {
+        RequestLimiter limiter = new RequestLimiter(3, 2);
+        CompletableFuture<String> first = limiter.submit(HOST, this::startRequest);
+        limiter.submit(HOST, this::startRequest);
+        CompletableFuture<String> third = limiter.submit(HOST, this::startRequest);
+        limiter.submit("github.com", this::startRequest);
+        assertEquals(3, startedRequests.size());
+        startedRequests.get(0).complete(HOST);
+        assertEquals(HOST, first.join());
+        assertEquals(4, startedRequests.size());
+        assertFalse(third.isDone());
+    }
+
+    @Test
+    void shouldLimitRequestsInTotal()
+    {
+        RequestLimiter limiter = new RequestLimiter(1, 1);
+        limiter.submit(HOST, this::startRequest);
+        CompletableFuture<String> second = limiter.submit("github.com", this::startRequest);
+        assertEquals(1, startedRequests.size());
+        IllegalStateException exception = new IllegalStateException();
+        startedRequests.get(0).completeExceptionally(exception);
+        assertEquals(2, startedRequests.size());
+        startedRequests.get(1).complete(HOST);
+        assertEquals(HOST, second.join());
+    }
+
+    @Test
+    void shouldReleaseSlotIfRequestCannotBeStarted()
+    {
+        RequestLimiter limiter = new RequestLimiter(1, 1);
+        CompletableFuture<String> failed = limiter.submit(HOST, () -> {
+            throw new IllegalArgumentException();
+        });
+        CompletableFuture<String> completed = limiter.submit(HOST, () -> CompletableFuture.completedFuture(HOST));
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(HOST, completed.join());
+    }
+
+    private CompletableFuture<String> startRequest()
+    {
+        CompletableFuture<String> request = new CompletableFuture<>();
+        startedRequests.add(request);
+        return request;
+    }
+}
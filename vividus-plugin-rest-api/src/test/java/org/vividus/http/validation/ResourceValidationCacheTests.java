@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.validation;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vividus.http.validation.ResourceValidationCache.CachedValidation;
+
+class ResourceValidationCacheTests
+{
+    private static final URI URI_WITH_ETAG = URI.create("https://vividus.org/logo.png");
+    private static final URI URI_WITHOUT_ETAG = URI.create("https://vividus.org/style.css");
+    private static final String ETAG = "W/\"etag,with,commas\"";
+    private static final Duration TTL = Duration.ofHours(1);
+
+    @Test
+    void shouldSaveAndLoadValidations(@TempDir Path tempDir) throws IOException
+    {
+        String cacheFile = tempDir.resolve("nested/cache.properties").toString();
+        ResourceValidationCache cache = new ResourceValidationCache(cacheFile, TTL);
+        cache.load();
+        long checkTime = System.currentTimeMillis();
+        cache.put(URI_WITH_ETAG, new CachedValidation(200, checkTime, 1000, ETAG));
+        cache.put(URI_WITHOUT_ETAG, new CachedValidation(200, checkTime - TTL.toMillis(), -1, null));
+        cache.save();
+
+        ResourceValidationCache loadedCache = new ResourceValidationCache(cacheFile, TTL);
+        loadedCache.load();
+        CachedValidation withEtag = loadedCache.get(URI_WITH_ETAG).get();
+        CachedValidation withoutEtag = loadedCache.get(URI_WITHOUT_ETAG).get();
+        assertAll(
+            () -> assertEquals(200, withEtag.getStatusCode()),
+            () -> assertEquals(checkTime, withEtag.getCheckTime()),
+            () -> assertEquals(1000, withEtag.getLastModified()),
+            () -> assertEquals(ETAG, withEtag.getEtag()),
+            () -> assertTrue(loadedCache.isFresh(withEtag)),
+            () -> assertEquals(-1, withoutEtag.getLastModified()),
+            () -> assertNull(withoutEtag.getEtag()),
+            () -> assertFalse(loadedCache.isFresh(withoutEtag)));
+    }
+
+    @Test
+    void shouldNotCacheValidationsIfDisabled() throws IOException
+    {
+        ResourceValidationCache cache = new ResourceValidationCache("", TTL);
+        assertFalse(cache.isEnabled());
+        cache.load();
+        cache.put(URI_WITH_ETAG, new CachedValidation(200, System.currentTimeMillis(), -1, null));
+        cache.save();
+        assertEquals(Optional.empty(), cache.get(URI_WITH_ETAG));
+    }
+}
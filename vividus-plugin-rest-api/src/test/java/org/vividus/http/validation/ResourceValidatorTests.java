@@ -20,18 +20,27 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.message.BasicHeader;
 import org.apache.http.protocol.HttpContext;
 import org.hamcrest.Matcher;
 import org.junit.jupiter.api.Test;
@@ -41,7 +50,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.http.client.HttpResponse;
+import org.vividus.http.client.IAsyncHttpClient;
 import org.vividus.http.client.IHttpClient;
+import org.vividus.http.validation.ResourceValidationCache.CachedValidation;
 import org.vividus.http.validation.model.CheckStatus;
 import org.vividus.http.validation.model.ResourceValidation;
 import org.vividus.softassert.ISoftAssert;
@@ -52,6 +63,7 @@ class ResourceValidatorTests
     private static final String PASSED_CHECK_MESSAGE =
             "Status code for https://vividus.org is 200. expected one of [200]";
     private static final int OK = 200;
+    private static final long RESPONSE_TIME = 42;
     private static final String HEAD = "HEAD";
     private static final URI FIRST = URI.create("https://vividus.org");
     private static final ArgumentMatcher<Matcher<? super Integer>> MATCHER =
@@ -125,6 +137,60 @@ class ResourceValidatorTests
         verify(softAssert).assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER));
     }
 
+    @Test
+    void shouldRetryRequestIfServerIsBusy() throws IOException
+    {
+        resourceValidator.setMaxRetries(1);
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class)))
+            .thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(429).thenReturn(OK);
+        when(httpResponse.getHeaderByName(HttpHeaders.RETRY_AFTER)).thenReturn(
+                Optional.of(new BasicHeader(HttpHeaders.RETRY_AFTER, "0")));
+        when(httpResponse.getResponseTimeInMs()).thenReturn(RESPONSE_TIME);
+        ResourceValidation result = resourceValidator.perform(new ResourceValidation(FIRST));
+        assertEquals(CheckStatus.PASSED, result.getCheckStatus());
+        assertEquals(RESPONSE_TIME, result.getResponseTimeInMs());
+        verify(httpClient, times(2)).execute(any(HttpUriRequest.class), any(HttpContext.class));
+        verify(softAssert).assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER));
+    }
+
+    @Test
+    void shouldReuseFreshResultFromValidationCache()
+    {
+        ResourceValidationCache validationCache = mock(ResourceValidationCache.class);
+        resourceValidator.setValidationCache(validationCache);
+        CachedValidation cachedValidation = new CachedValidation(OK, System.currentTimeMillis(), -1, null);
+        when(validationCache.get(FIRST)).thenReturn(Optional.of(cachedValidation));
+        when(validationCache.isFresh(cachedValidation)).thenReturn(true);
+        ResourceValidation result = resourceValidator.perform(new ResourceValidation(FIRST));
+        assertEquals(CheckStatus.PASSED, result.getCheckStatus());
+        assertEquals(OK, result.getStatusCode());
+        verifyNoInteractions(httpClient);
+        verify(softAssert).assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER));
+    }
+
+    @Test
+    void shouldRevalidateExpiredResultFromValidationCacheUsingConditionalRequest() throws IOException
+    {
+        ResourceValidationCache validationCache = mock(ResourceValidationCache.class);
+        resourceValidator.setValidationCache(validationCache);
+        String etag = "\"v1\"";
+        long lastModified = 1_600_000_000_000L;
+        CachedValidation cachedValidation = new CachedValidation(OK, 0, lastModified, etag);
+        when(validationCache.get(FIRST)).thenReturn(Optional.of(cachedValidation));
+        HttpResponse notModified = new HttpResponse();
+        notModified.setStatusCode(304);
+        notModified.setResponseHeaders();
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())
+                && etag.equals(r.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue())
+                && r.containsHeader(HttpHeaders.IF_MODIFIED_SINCE)), any(HttpContext.class))).thenReturn(notModified);
+        ResourceValidation result = resourceValidator.perform(new ResourceValidation(FIRST));
+        assertEquals(CheckStatus.PASSED, result.getCheckStatus());
+        verify(softAssert).assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER));
+        verify(validationCache).put(eq(FIRST), argThat(v -> v.getStatusCode() == OK && etag.equals(v.getEtag())
+                && v.getLastModified() == lastModified && v.getCheckTime() > 0));
+    }
+
     @Test
     void shouldMarkValidationAsBrokenIfExceptionOccurs() throws IOException
     {
@@ -137,4 +203,49 @@ class ResourceValidatorTests
         verify(httpClient).execute(any(HttpUriRequest.class), any(HttpContext.class));
         verify(softAssert).recordFailedAssertion("Exception occured during check of: https://vividus.org", ioException);
     }
+
+    @Test
+    void shouldShutDownExecutorRunningRequestsOfSynchronousHttpClient() throws IOException, InterruptedException
+    {
+        AtomicReference<Thread> requestThread = new AtomicReference<>();
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class))).thenAnswer(a -> {
+            requestThread.set(Thread.currentThread());
+            return httpResponse;
+        });
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        ResourceValidation result = resourceValidator.perform(new ResourceValidation(FIRST));
+        assertEquals(CheckStatus.PASSED, result.getCheckStatus());
+        resourceValidator.shutdown();
+        requestThread.get().join(1000);
+        assertFalse(requestThread.get().isAlive());
+        resourceValidator.shutdown();
+    }
+
+    @Test
+    void shouldValidateResourcesUsingAsyncHttpClient()
+    {
+        IAsyncHttpClient asyncHttpClient = mock(IAsyncHttpClient.class);
+        ResourceValidator<ResourceValidation> asyncResourceValidator = new ResourceValidator<>(asyncHttpClient,
+                softAssert);
+        when(asyncHttpClient.executeAsync(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class)))
+            .thenReturn(CompletableFuture.completedFuture(httpResponse));
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        ResourceValidation first = new ResourceValidation(FIRST);
+        ResourceValidation duplicate = new ResourceValidation(FIRST);
+        List<ResourceValidation> results = asyncResourceValidator.perform(List.of(first, duplicate));
+        assertThat(results.get(0), sameInstance(first));
+        assertEquals(CheckStatus.PASSED, first.getCheckStatus());
+        assertEquals(CheckStatus.SKIPPED, results.get(1).getCheckStatus());
+        assertEquals(OK, results.get(1).getStatusCode());
+        verify(asyncHttpClient).executeAsync(any(HttpUriRequest.class), any(HttpContext.class));
+        verify(softAssert).assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER));
+    }
+
+    @Test
+    void shouldCloseAsyncHttpClientOnShutdown() throws IOException
+    {
+        IAsyncHttpClient asyncHttpClient = mock(IAsyncHttpClient.class);
+        new ResourceValidator<>(asyncHttpClient, softAssert).shutdown();
+        verify(asyncHttpClient).close();
+    }
 }
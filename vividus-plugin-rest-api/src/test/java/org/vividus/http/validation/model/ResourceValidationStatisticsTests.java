@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.validation.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.http.validation.model.ResourceValidationStatistics.HostStatistics;
+
+class ResourceValidationStatisticsTests
+{
+    private static final String VIVIDUS_HOST = "vividus.org";
+
+    @Test
+    void shouldCalculateStatistics()
+    {
+        ResourceValidation skipped = createValidation("https://vividus.org", CheckStatus.SKIPPED, 100);
+        ResourceValidation broken = createValidation("https://github.com", CheckStatus.BROKEN, -1);
+        List<ResourceValidation> validations = List.of(
+                createValidation("https://vividus.org", CheckStatus.PASSED, 100),
+                createValidation("https://vividus.org/about", CheckStatus.FAILED, 300),
+                createValidation("https://docs.vividus.dev", CheckStatus.PASSED, 50), skipped, broken);
+        ResourceValidationStatistics statistics = ResourceValidationStatistics.of(validations, 1500);
+        List<HostStatistics> hostStatistics = statistics.getHostStatistics();
+        assertThat(hostStatistics, hasSize(2));
+        HostStatistics vividusStatistics = hostStatistics.get(1);
+        assertAll(
+            () -> assertEquals(3, statistics.getCheckedResources()),
+            () -> assertEquals(1500, statistics.getDurationInMs()),
+            () -> assertEquals(2, statistics.getThroughput()),
+            () -> assertEquals("docs.vividus.dev", hostStatistics.get(0).getHost()),
+            () -> assertEquals(VIVIDUS_HOST, vividusStatistics.getHost()),
+            () -> assertEquals(2, vividusStatistics.getRequests()),
+            () -> assertEquals(200, vividusStatistics.getAverageResponseTimeInMs()),
+            () -> assertEquals(300, vividusStatistics.getMaxResponseTimeInMs()));
+    }
+
+    @Test
+    void shouldReturnZeroThroughputForZeroDuration()
+    {
+        assertEquals(0, ResourceValidationStatistics.of(List.of(), 0).getThroughput());
+    }
+
+    private static ResourceValidation createValidation(String uri, CheckStatus checkStatus, long responseTimeInMs)
+    {
+        ResourceValidation validation = new ResourceValidation(URI.create(uri));
+        validation.setCheckStatus(checkStatus);
+        validation.setResponseTimeInMs(responseTimeInMs);
+        return validation;
+    }
+}
@@ -249,8 +249,22 @@ class HttpResponseValidationStepsTests
         httpResponse.setResponseBody(body.getBytes(StandardCharsets.UTF_8));
         httpResponseValidationSteps.doesDecompressedResponseBodySizeConfirmRule(ComparisonRule.EQUAL_TO, 10);
         verify(softAssert).assertThat(eq("Size of decompressed HTTP response body"),
-                eq(body.getBytes(StandardCharsets.UTF_8).length),
-                argThat(m -> "a value equal to <10>".equals(m.toString())));
+                eq((long) body.getBytes(StandardCharsets.UTF_8).length),
+                argThat(m -> "a value equal to <10L>".equals(m.toString())));
+    }
+
+    @Test
+    void shouldValidateSizeOfDecompressedResponseBodyExceedingIntegerRange()
+    {
+        HttpResponse largeResponse = mock(HttpResponse.class);
+        when(httpTestContext.getResponse()).thenReturn(largeResponse);
+        when(softAssert.assertNotNull(HTTP_RESPONSE_IS_NOT_NULL, largeResponse)).thenReturn(true);
+        long size = 3L * Integer.MAX_VALUE;
+        when(largeResponse.getResponseBodySize()).thenReturn(size);
+        httpResponseValidationSteps.doesDecompressedResponseBodySizeConfirmRule(ComparisonRule.GREATER_THAN,
+                Integer.MAX_VALUE);
+        verify(softAssert).assertThat(eq("Size of decompressed HTTP response body"), eq(size),
+                argThat(m -> "a value greater than <2147483647L>".equals(m.toString())));
     }
 
     @Test
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pazone.ashot.Screenshot;
+
+/**
+ * Compares the {@link RasterImageDiffEngine} with the {@link AshotImageDiffEngine} on the viewport-sized and the
+ * full-page screenshots. The image with the marked difference is requested only if the images are different, the
+ * same way as {@link VisualTestingEngine} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageDiffEngineBenchmark
+{
+    private static final int WIDTH = 1920;
+    private static final int STRIPE_HEIGHT = 40;
+    private static final int CHANGED_AREA_SIZE = 200;
+
+    @Param({ "1080", "15000" })
+    private int height;
+
+    @Param({ "true", "false" })
+    private boolean identical;
+
+    private Screenshot expected;
+    private Screenshot actual;
+    private IImageDiffEngine ashotImageDiffEngine;
+    private IImageDiffEngine rasterImageDiffEngine;
+
+    @Setup
+    public void setUp()
+    {
+        expected = new Screenshot(createPage());
+        BufferedImage actualImage = createPage();
+        if (!identical)
+        {
+            Graphics2D graphics = actualImage.createGraphics();
+            graphics.setColor(Color.RED);
+            graphics.fillRect(WIDTH / 2, height / 2, CHANGED_AREA_SIZE, CHANGED_AREA_SIZE);
+            graphics.dispose();
+        }
+        actual = new Screenshot(actualImage);
+        AshotImageDiffEngine ashot = new AshotImageDiffEngine(new DiffMarkupPolicyFactory());
+        ashotImageDiffEngine = ashot;
+        rasterImageDiffEngine = new RasterImageDiffEngine(ashot);
+    }
+
+    @Benchmark
+    public Object compareUsingAshot()
+    {
+        return compare(ashotImageDiffEngine);
+    }
+
+    @Benchmark
+    public Object compareUsingRaster()
+    {
+        return compare(rasterImageDiffEngine);
+    }
+
+    private Object compare(IImageDiffEngine diffEngine)
+    {
+        IImageDiff diff = diffEngine.makeDiff(expected, actual, 0);
+        return diff.getDiffSize() == 0 ? diff : diff.getMarkedImage();
+    }
+
+    private BufferedImage createPage()
+    {
+        BufferedImage image = new BufferedImage(WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        for (int y = 0; y < height; y += STRIPE_HEIGHT)
+        {
+            graphics.setColor(y / STRIPE_HEIGHT % 2 == 0 ? Color.WHITE : Color.LIGHT_GRAY);
+            graphics.fillRect(0, y, WIDTH, STRIPE_HEIGHT);
+        }
+        graphics.dispose();
+        return image;
+    }
+}
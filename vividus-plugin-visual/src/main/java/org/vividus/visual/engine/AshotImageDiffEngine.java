@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import java.awt.image.BufferedImage;
+
+import pazone.ashot.Screenshot;
+import pazone.ashot.comparison.ImageDiff;
+import pazone.ashot.comparison.ImageDiffer;
+
+public class AshotImageDiffEngine implements IImageDiffEngine
+{
+    private final DiffMarkupPolicyFactory diffMarkupPolicyFactory;
+
+    public AshotImageDiffEngine(DiffMarkupPolicyFactory diffMarkupPolicyFactory)
+    {
+        this.diffMarkupPolicyFactory = diffMarkupPolicyFactory;
+    }
+
+    @Override
+    public IImageDiff makeDiff(Screenshot expected, Screenshot actual, double diffPercentage)
+    {
+        int height = Math.max(expected.getImage().getHeight(), actual.getImage().getHeight());
+        int width = Math.max(expected.getImage().getWidth(), actual.getImage().getWidth());
+        ImageDiffer differ = new ImageDiffer().withDiffMarkupPolicy(
+                diffMarkupPolicyFactory.create(height, width, diffPercentage));
+        ImageDiff diff = differ.makeDiff(expected, actual);
+        return new IImageDiff()
+        {
+            @Override
+            public boolean hasDiff()
+            {
+                return diff.hasDiff();
+            }
+
+            @Override
+            public int getDiffSize()
+            {
+                return diff.getDiffSize();
+            }
+
+            @Override
+            public BufferedImage getMarkedImage()
+            {
+                return diff.getMarkedImage();
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.visual.storage.Baseline;
+import org.vividus.visual.storage.BaselineStorage;
+
+import pazone.ashot.Screenshot;
+
+/**
+ * Keeps the decoded baselines, so the baselines used by many visual checks are loaded and decoded only once. A cached
+ * baseline is invalidated as soon as its version provided by the baseline storage changes. The baselines of the
+ * storages not providing the versions are never cached.
+ */
+public class BaselineCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(BaselineCache.class);
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final Cache<String, CachedBaseline> baselines;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private boolean enabled;
+
+    public BaselineCache(long maximumWeight)
+    {
+        this.baselines = CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String key, CachedBaseline baseline) -> baseline.getWeight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the baseline from the cache or loads it from the baseline storage.
+     *
+     * @param storageName  The name of the baseline storage
+     * @param storage      The baseline storage
+     * @param baselineName The name of the baseline
+     * @return The baseline or empty optional if the baseline is not found
+     * @throws IOException If an I/O error occurs on the baseline loading
+     */
+    public Optional<Screenshot> getBaseline(String storageName, BaselineStorage storage, String baselineName)
+            throws IOException
+    {
+        if (!enabled)
+        {
+            return storage.getBaseline(baselineName);
+        }
+        Optional<String> version = storage.getBaselineVersion(baselineName);
+        if (version.isEmpty())
+        {
+            return storage.getBaseline(baselineName);
+        }
+        String key = createKey(storageName, baselineName);
+        CachedBaseline cachedBaseline = baselines.getIfPresent(key);
+        if (cachedBaseline != null)
+        {
+            if (cachedBaseline.getVersion().equals(version.get()))
+            {
+                hits.increment();
+                return Optional.of(cachedBaseline.getBaseline());
+            }
+            baselines.invalidate(key);
+            invalidations.increment();
+        }
+        misses.increment();
+        Optional<Screenshot> baseline = storage.getBaseline(baselineName);
+        // The version is got before the baseline loading, so the baseline changed in between is just reloaded later
+        baseline.ifPresent(b -> baselines.put(key, new CachedBaseline(version.get(), b)));
+        return baseline;
+    }
+
+    /**
+     * Removes the baseline from the cache, it should be invoked when the baseline is saved to the baseline storage.
+     *
+     * @param storageName  The name of the baseline storage
+     * @param baselineName The name of the baseline
+     */
+    public void invalidate(String storageName, String baselineName)
+    {
+        baselines.invalidate(createKey(storageName, baselineName));
+    }
+
+    private static String createKey(String storageName, String baselineName)
+    {
+        return storageName + '/' + baselineName;
+    }
+
+    public void logStatistics()
+    {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        if (hitCount + missCount > 0)
+        {
+            LOGGER.info("Baselines cache: {} hits, {} misses, {} invalidations, {} evictions", hitCount, missCount,
+                    invalidations.sum(), baselines.stats().evictionCount());
+        }
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    private static final class CachedBaseline
+    {
+        private final String version;
+        private final Screenshot baseline;
+
+        CachedBaseline(String version, Screenshot baseline)
+        {
+            this.version = version;
+            this.baseline = baseline;
+        }
+
+        String getVersion()
+        {
+            return version;
+        }
+
+        Screenshot getBaseline()
+        {
+            return baseline;
+        }
+
+        int getWeight()
+        {
+            BufferedImage image = baseline.getImage();
+            long weight = (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+            if (baseline instanceof Baseline)
+            {
+                weight += ((Baseline) baseline).getContentLength();
+            }
+            return (int) Math.min(weight, Integer.MAX_VALUE);
+        }
+    }
+}
@@ -23,13 +23,18 @@ import pazone.ashot.comparison.ImageMarkupPolicy;
 
 public class DiffMarkupPolicyFactory
 {
-    private static final Color DIFF_COLOR = new Color(238, 111, 238);
+    static final Color DIFF_COLOR = new Color(238, 111, 238);
     private static final int ONE_HUNDRED = 100;
 
     public DiffMarkupPolicy create(int imageHeight, int imageWidth, double diffPercentage)
     {
         ImageMarkupPolicy imageMarkupPolicy = new ImageMarkupPolicy();
-        imageMarkupPolicy.setDiffSizeTrigger((int) (imageHeight * imageWidth * diffPercentage / ONE_HUNDRED));
+        imageMarkupPolicy.setDiffSizeTrigger(calculateDiffSizeTrigger(imageHeight, imageWidth, diffPercentage));
         return imageMarkupPolicy.withDiffColor(DIFF_COLOR);
     }
+
+    static int calculateDiffSizeTrigger(int imageHeight, int imageWidth, double diffPercentage)
+    {
+        return (int) (imageHeight * imageWidth * diffPercentage / ONE_HUNDRED);
+    }
 }
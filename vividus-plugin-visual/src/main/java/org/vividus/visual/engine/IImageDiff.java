@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+public interface IImageDiff
+{
+    /**
+     * @return <code>true</code> if the number of the different pixels exceeds the configured threshold
+     */
+    boolean hasDiff();
+
+    /**
+     * @return The number of the different pixels
+     */
+    int getDiffSize();
+
+    /**
+     * @return The image with the different pixels marked
+     */
+    BufferedImage getMarkedImage();
+
+    /**
+     * @return The bounding boxes of the regions containing the different pixels or empty list if the engine doesn't
+     * detect the regions
+     */
+    default List<Rectangle> getDiffRegions()
+    {
+        return List.of();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import pazone.ashot.Screenshot;
+
+public interface IImageDiffEngine
+{
+    /**
+     * Finds the difference between the baseline and the checkpoint.
+     *
+     * @param expected       The baseline screenshot
+     * @param actual         The checkpoint screenshot
+     * @param diffPercentage The percentage of the different pixels, the images are considered different if it's
+     *                       exceeded
+     * @return The difference between the images
+     */
+    IImageDiff makeDiff(Screenshot expected, Screenshot actual, double diffPercentage);
+
+    /**
+     * Finds the difference between the baseline and the checkpoint using the precomputed index of the baseline. The
+     * engines not supporting the indexes ignore it.
+     *
+     * @param expected       The baseline screenshot
+     * @param expectedIndex  The tile hash index of the baseline
+     * @param actual         The checkpoint screenshot
+     * @param diffPercentage The percentage of the different pixels, the images are considered different if it's
+     *                       exceeded
+     * @return The difference between the images
+     */
+    default IImageDiff makeDiff(Screenshot expected, TileHashIndex expectedIndex, Screenshot actual,
+            double diffPercentage)
+    {
+        return makeDiff(expected, actual, diffPercentage);
+    }
+}
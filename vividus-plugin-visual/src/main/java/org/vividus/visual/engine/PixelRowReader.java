@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+
+/**
+ * Reads rows of pixels as packed RGB integers directly from the raster buffer of the image. The images with the
+ * layouts other than packed integer RGB and interleaved 8-bit sRGB ones are read using
+ * {@link BufferedImage#getRGB(int, int, int, int, int[], int, int)}.
+ */
+abstract class PixelRowReader
+{
+    private static final int RED_MASK = 0xFF0000;
+    private static final int GREEN_MASK = 0xFF00;
+    private static final int BLUE_MASK = 0xFF;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int RED_SHIFT = 16;
+    private static final int GREEN_SHIFT = 8;
+    private static final int RGB_COMPONENTS = 3;
+
+    /**
+     * Reads the first <code>length</code> pixels of the row.
+     *
+     * @param y      The index of the row
+     * @param length The number of pixels to read
+     * @param row    The array to put the pixels into, the alpha channel value is undefined
+     */
+    abstract void readRow(int y, int length, int[] row);
+
+    static PixelRowReader create(BufferedImage image)
+    {
+        Raster raster = image.getRaster();
+        SampleModel sampleModel = raster.getSampleModel();
+        DataBuffer dataBuffer = raster.getDataBuffer();
+        ColorModel colorModel = image.getColorModel();
+        if (dataBuffer.getNumBanks() == 1 && !colorModel.isAlphaPremultiplied())
+        {
+            int translateX = raster.getSampleModelTranslateX();
+            int translateY = raster.getSampleModelTranslateY();
+            if (dataBuffer instanceof DataBufferInt && sampleModel instanceof SinglePixelPackedSampleModel
+                    && isPackedRgb(colorModel))
+            {
+                return new IntRowReader(((DataBufferInt) dataBuffer).getData(), dataBuffer.getOffset(),
+                        (SinglePixelPackedSampleModel) sampleModel, translateX, translateY);
+            }
+            if (dataBuffer instanceof DataBufferByte && sampleModel instanceof ComponentSampleModel
+                    && isInterleavedSrgb(colorModel, sampleModel))
+            {
+                return new ByteRowReader(((DataBufferByte) dataBuffer).getData(), dataBuffer.getOffset(),
+                        (ComponentSampleModel) sampleModel, translateX, translateY);
+            }
+        }
+        return new GenericRowReader(image);
+    }
+
+    private static boolean isPackedRgb(ColorModel colorModel)
+    {
+        if (colorModel instanceof DirectColorModel)
+        {
+            DirectColorModel directColorModel = (DirectColorModel) colorModel;
+            return directColorModel.getColorSpace().isCS_sRGB() && directColorModel.getRedMask() == RED_MASK
+                    && directColorModel.getGreenMask() == GREEN_MASK && directColorModel.getBlueMask() == BLUE_MASK;
+        }
+        return false;
+    }
+
+    private static boolean isInterleavedSrgb(ColorModel colorModel, SampleModel sampleModel)
+    {
+        if (colorModel instanceof ComponentColorModel && colorModel.getColorSpace().isCS_sRGB()
+                && sampleModel.getNumBands() >= RGB_COMPONENTS)
+        {
+            for (int size : colorModel.getComponentSize())
+            {
+                if (size != Byte.SIZE)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static final class IntRowReader extends PixelRowReader
+    {
+        private final int[] data;
+        private final int offset;
+        private final int scanlineStride;
+
+        IntRowReader(int[] data, int bufferOffset, SinglePixelPackedSampleModel sampleModel, int translateX,
+                int translateY)
+        {
+            this.data = data;
+            this.offset = bufferOffset + sampleModel.getOffset(-translateX, -translateY);
+            this.scanlineStride = sampleModel.getScanlineStride();
+        }
+
+        @Override
+        void readRow(int y, int length, int[] row)
+        {
+            System.arraycopy(data, offset + y * scanlineStride, row, 0, length);
+        }
+    }
+
+    private static final class ByteRowReader extends PixelRowReader
+    {
+        private final byte[] data;
+        private final int offset;
+        private final int scanlineStride;
+        private final int pixelStride;
+        private final int redOffset;
+        private final int greenOffset;
+        private final int blueOffset;
+
+        ByteRowReader(byte[] data, int bufferOffset, ComponentSampleModel sampleModel, int translateX,
+                int translateY)
+        {
+            this.data = data;
+            this.scanlineStride = sampleModel.getScanlineStride();
+            this.pixelStride = sampleModel.getPixelStride();
+            // ComponentSampleModel#getOffset includes the offset of the first band, so it's calculated explicitly
+            this.offset = bufferOffset - translateY * scanlineStride - translateX * pixelStride;
+            int[] bandOffsets = sampleModel.getBandOffsets();
+            this.redOffset = bandOffsets[0];
+            this.greenOffset = bandOffsets[1];
+            this.blueOffset = bandOffsets[2];
+        }
+
+        @Override
+        void readRow(int y, int length, int[] row)
+        {
+            int position = offset + y * scanlineStride;
+            for (int x = 0; x < length; x++, position += pixelStride)
+            {
+                row[x] = (data[position + redOffset] & BYTE_MASK) << RED_SHIFT
+                        | (data[position + greenOffset] & BYTE_MASK) << GREEN_SHIFT
+                        | data[position + blueOffset] & BYTE_MASK;
+            }
+        }
+    }
+
+    private static final class GenericRowReader extends PixelRowReader
+    {
+        private final BufferedImage image;
+
+        GenericRowReader(BufferedImage image)
+        {
+            this.image = image;
+        }
+
+        @Override
+        void readRow(int y, int length, int[] row)
+        {
+            image.getRGB(0, y, length, 1, row, 0, length);
+        }
+    }
+}
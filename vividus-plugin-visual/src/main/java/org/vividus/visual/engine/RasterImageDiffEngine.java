@@ -0,0 +1,369 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import static org.vividus.visual.engine.TileHashIndex.TILE_SIZE;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import pazone.ashot.Screenshot;
+
+/**
+ * The diff engine comparing the raster buffers of the images. The images are compared by the square tiles, the bands
+ * of the tiles are processed in parallel, the identical tile rows are skipped using the vectorized array comparison,
+ * and the image with the marked difference is built only when it's requested. If the tile hash index of the baseline
+ * is available, the tiles of the checkpoint having the same hashes are skipped without reading the baseline pixels.
+ * The pixels are considered equal if each of their color channels differs by no more than the color distortion used
+ * by aShot. The areas ignored in both screenshots are not compared, the tiles covered by such areas are skipped
+ * entirely. The screenshots with partial areas to compare are delegated to aShot.
+ */
+public class RasterImageDiffEngine implements IImageDiffEngine
+{
+    private static final int COLOR_DISTORTION = 15;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int RED_SHIFT = 16;
+    private static final int GREEN_SHIFT = 8;
+
+    private final AshotImageDiffEngine ashotImageDiffEngine;
+
+    public RasterImageDiffEngine(AshotImageDiffEngine ashotImageDiffEngine)
+    {
+        this.ashotImageDiffEngine = ashotImageDiffEngine;
+    }
+
+    @Override
+    public IImageDiff makeDiff(Screenshot expected, Screenshot actual, double diffPercentage)
+    {
+        return makeDiff(expected, null, actual, diffPercentage);
+    }
+
+    @Override
+    public IImageDiff makeDiff(Screenshot expected, TileHashIndex expectedIndex, Screenshot actual,
+            double diffPercentage)
+    {
+        if (!isComparedEntirely(expected) || !isComparedEntirely(actual))
+        {
+            return ashotImageDiffEngine.makeDiff(expected, actual, diffPercentage);
+        }
+        BufferedImage expectedImage = expected.getImage();
+        BufferedImage actualImage = actual.getImage();
+        int commonWidth = Math.min(expectedImage.getWidth(), actualImage.getWidth());
+        int commonHeight = Math.min(expectedImage.getHeight(), actualImage.getHeight());
+        // The hashes of the tiles are comparable only if the tiles of both images have the same bounds
+        boolean indexApplicable = expectedIndex != null && expectedIndex.isApplicableTo(expectedImage)
+                && expectedIndex.isApplicableTo(actualImage);
+
+        TileComparison comparison = new TileComparison(PixelRowReader.create(expectedImage),
+                PixelRowReader.create(actualImage), commonWidth, commonHeight, getIgnoredAreas(expected, actual),
+                indexApplicable ? expectedIndex : null);
+        BandDiff[] bandDiffs = new BandDiff[TileHashIndex.getTilesCount(commonHeight)];
+        IntStream.range(0, bandDiffs.length).parallel().forEach(
+                band -> bandDiffs[band] = comparison.compareBand(band));
+
+        return new RasterImageDiff(expectedImage, actualImage, commonWidth, commonHeight, bandDiffs, diffPercentage);
+    }
+
+    private static boolean isComparedEntirely(Screenshot screenshot)
+    {
+        BufferedImage image = screenshot.getImage();
+        Rectangle bounds = new Rectangle(image.getWidth(), image.getHeight());
+        return screenshot.getCoordsToCompare().stream().anyMatch(coords -> coords.contains(bounds));
+    }
+
+    /**
+     * The same way as aShot does, only the intersections of the areas ignored in the baseline and in the checkpoint
+     * are not compared.
+     */
+    private static List<Rectangle> getIgnoredAreas(Screenshot expected, Screenshot actual)
+    {
+        return expected.getIgnoredAreas().stream()
+                .flatMap(expectedArea -> actual.getIgnoredAreas().stream().map(expectedArea::intersection))
+                .filter(area -> !area.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isSimilar(int rgb1, int rgb2)
+    {
+        return isSimilar(rgb1, rgb2, RED_SHIFT) && isSimilar(rgb1, rgb2, GREEN_SHIFT) && isSimilar(rgb1, rgb2, 0);
+    }
+
+    private static boolean isSimilar(int rgb1, int rgb2, int channelShift)
+    {
+        return Math.abs((rgb1 >> channelShift & BYTE_MASK) - (rgb2 >> channelShift & BYTE_MASK)) <= COLOR_DISTORTION;
+    }
+
+    private static final class TileComparison
+    {
+        private final PixelRowReader expectedReader;
+        private final PixelRowReader actualReader;
+        private final int width;
+        private final int height;
+        private final List<Rectangle> ignoredAreas;
+        private final TileHashIndex expectedIndex;
+
+        TileComparison(PixelRowReader expectedReader, PixelRowReader actualReader, int width, int height,
+                List<Rectangle> ignoredAreas, TileHashIndex expectedIndex)
+        {
+            this.expectedReader = expectedReader;
+            this.actualReader = actualReader;
+            this.width = width;
+            this.height = height;
+            this.ignoredAreas = ignoredAreas;
+            this.expectedIndex = expectedIndex;
+        }
+
+        BandDiff compareBand(int band)
+        {
+            int[][] actualRows = TileHashIndex.readTileRows(actualReader, band, width, height);
+            int[][] expectedRows = null;
+            int startY = band * TILE_SIZE;
+            BandDiff bandDiff = null;
+            for (int tileX = 0; tileX < TileHashIndex.getTilesCount(width); tileX++)
+            {
+                int startX = tileX * TILE_SIZE;
+                int endX = Math.min(startX + TILE_SIZE, width);
+                Rectangle tile = new Rectangle(startX, startY, endX - startX, actualRows.length);
+                List<Rectangle> tileIgnoredAreas = ignoredAreas.stream().filter(tile::intersects)
+                        .collect(Collectors.toList());
+                if (tileIgnoredAreas.stream().anyMatch(area -> area.contains(tile)) || (tileIgnoredAreas.isEmpty()
+                        && expectedIndex != null
+                        && expectedIndex.getHash(tileX, band) == TileHashIndex.hash(actualRows, startX, endX)))
+                {
+                    continue;
+                }
+                if (expectedRows == null)
+                {
+                    expectedRows = TileHashIndex.readTileRows(expectedReader, band, width, height);
+                }
+                for (int i = 0; i < actualRows.length; i++)
+                {
+                    int[] expectedRow = expectedRows[i];
+                    int[] actualRow = actualRows[i];
+                    if (Arrays.equals(expectedRow, startX, endX, actualRow, startX, endX))
+                    {
+                        continue;
+                    }
+                    for (int x = startX; x < endX; x++)
+                    {
+                        if (!isSimilar(expectedRow[x], actualRow[x]) && !isIgnored(tileIgnoredAreas, x, startY + i))
+                        {
+                            if (bandDiff == null)
+                            {
+                                bandDiff = new BandDiff(startY, width);
+                            }
+                            bandDiff.add(x, i, tileX);
+                        }
+                    }
+                }
+            }
+            return bandDiff;
+        }
+
+        private static boolean isIgnored(List<Rectangle> areas, int x, int y)
+        {
+            for (Rectangle area : areas)
+            {
+                if (area.contains(x, y))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class BandDiff
+    {
+        private final int startY;
+        private final int width;
+        private final BitSet pixels = new BitSet();
+        private final Rectangle[] tileRegions;
+
+        BandDiff(int startY, int width)
+        {
+            this.startY = startY;
+            this.width = width;
+            this.tileRegions = new Rectangle[TileHashIndex.getTilesCount(width)];
+        }
+
+        void add(int x, int row, int tileX)
+        {
+            pixels.set(row * width + x);
+            int y = startY + row;
+            Rectangle region = tileRegions[tileX];
+            if (region == null)
+            {
+                tileRegions[tileX] = new Rectangle(x, y, 1, 1);
+            }
+            else if (!region.contains(x, y))
+            {
+                region.add(new Rectangle(x, y, 1, 1));
+            }
+        }
+    }
+
+    private static final class RasterImageDiff implements IImageDiff
+    {
+        private final BufferedImage expectedImage;
+        private final BufferedImage actualImage;
+        private final int commonWidth;
+        private final int commonHeight;
+        private final BandDiff[] bandDiffs;
+        private final int width;
+        private final int height;
+        private final int diffSize;
+        private final int diffSizeTrigger;
+        private BufferedImage markedImage;
+
+        RasterImageDiff(BufferedImage expectedImage, BufferedImage actualImage, int commonWidth, int commonHeight,
+                BandDiff[] bandDiffs, double diffPercentage)
+        {
+            this.expectedImage = expectedImage;
+            this.actualImage = actualImage;
+            this.commonWidth = commonWidth;
+            this.commonHeight = commonHeight;
+            this.bandDiffs = bandDiffs;
+            this.width = Math.max(expectedImage.getWidth(), actualImage.getWidth());
+            this.height = Math.max(expectedImage.getHeight(), actualImage.getHeight());
+            // The pixels out of the bounds of any of the images are always different
+            int outOfBoundsSize = width * height - commonWidth * commonHeight;
+            this.diffSize = outOfBoundsSize + Arrays.stream(bandDiffs).filter(Objects::nonNull)
+                    .mapToInt(bandDiff -> bandDiff.pixels.cardinality()).sum();
+            this.diffSizeTrigger = DiffMarkupPolicyFactory.calculateDiffSizeTrigger(height, width, diffPercentage);
+        }
+
+        @Override
+        public boolean hasDiff()
+        {
+            return diffSize > diffSizeTrigger;
+        }
+
+        @Override
+        public int getDiffSize()
+        {
+            return diffSize;
+        }
+
+        @Override
+        public BufferedImage getMarkedImage()
+        {
+            if (markedImage == null)
+            {
+                markedImage = createMarkedImage();
+            }
+            return markedImage;
+        }
+
+        /**
+         * Merges the regions of the adjacent tiles (including the diagonal ones) containing the different pixels.
+         */
+        @Override
+        public List<Rectangle> getDiffRegions()
+        {
+            int columns = TileHashIndex.getTilesCount(commonWidth);
+            Rectangle[] tileRegions = new Rectangle[bandDiffs.length * columns];
+            for (int band = 0; band < bandDiffs.length; band++)
+            {
+                if (bandDiffs[band] != null)
+                {
+                    System.arraycopy(bandDiffs[band].tileRegions, 0, tileRegions, band * columns, columns);
+                }
+            }
+            List<Rectangle> regions = new ArrayList<>();
+            Deque<Integer> tilesToVisit = new ArrayDeque<>();
+            for (int tile = 0; tile < tileRegions.length; tile++)
+            {
+                if (tileRegions[tile] == null)
+                {
+                    continue;
+                }
+                Rectangle region = new Rectangle(tileRegions[tile]);
+                tileRegions[tile] = null;
+                tilesToVisit.push(tile);
+                while (!tilesToVisit.isEmpty())
+                {
+                    int current = tilesToVisit.pop();
+                    int tileX = current % columns;
+                    int tileY = current / columns;
+                    for (int y = Math.max(tileY - 1, 0); y <= Math.min(tileY + 1, bandDiffs.length - 1); y++)
+                    {
+                        for (int x = Math.max(tileX - 1, 0); x <= Math.min(tileX + 1, columns - 1); x++)
+                        {
+                            int neighbour = y * columns + x;
+                            if (tileRegions[neighbour] != null)
+                            {
+                                region.add(tileRegions[neighbour]);
+                                tileRegions[neighbour] = null;
+                                tilesToVisit.push(neighbour);
+                            }
+                        }
+                    }
+                }
+                regions.add(region);
+            }
+            if (width > commonWidth)
+            {
+                regions.add(new Rectangle(commonWidth, 0, width - commonWidth, height));
+            }
+            if (height > commonHeight)
+            {
+                regions.add(new Rectangle(0, commonHeight, commonWidth, height - commonHeight));
+            }
+            regions.sort(Comparator.comparingInt((Rectangle r) -> r.y).thenComparingInt(r -> r.x));
+            return regions;
+        }
+
+        private BufferedImage createMarkedImage()
+        {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.drawImage(actualImage, 0, 0, null);
+            graphics.drawImage(expectedImage, 0, 0, null);
+            graphics.dispose();
+
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            int diffColor = DiffMarkupPolicyFactory.DIFF_COLOR.getRGB();
+            for (BandDiff bandDiff : bandDiffs)
+            {
+                if (bandDiff != null)
+                {
+                    bandDiff.pixels.stream().forEach(index -> pixels[(bandDiff.startY + index / commonWidth) * width
+                            + index % commonWidth] = diffColor);
+                }
+            }
+            for (int y = 0; y < height; y++)
+            {
+                int startX = y < commonHeight ? commonWidth : 0;
+                Arrays.fill(pixels, y * width + startX, (y + 1) * width, diffColor);
+            }
+            return image;
+        }
+    }
+}
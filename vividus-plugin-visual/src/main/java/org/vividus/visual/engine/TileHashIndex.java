@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import java.awt.image.BufferedImage;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * The hashes of the square tiles the image is split into. The index of the baseline allows to find the unchanged
+ * tiles of the checkpoint without reading the baseline pixels. The hashes are calculated using the RGB values of the
+ * pixels, the alpha channel is ignored the same way as it's ignored on the pixels comparison. The hash function
+ * guarantees the different hashes for the tiles which differ by a single pixel.
+ */
+public final class TileHashIndex
+{
+    static final int TILE_SIZE = 64;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_INTS = 4;
+    private static final int RGB_MASK = 0xFFFFFF;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int width;
+    private final int height;
+    private final long[] hashes;
+
+    private TileHashIndex(int width, int height, long[] hashes)
+    {
+        this.width = width;
+        this.height = height;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Calculates the hashes of the image tiles.
+     *
+     * @param image The image to index
+     * @return The index of the image
+     */
+    public static TileHashIndex create(BufferedImage image)
+    {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int columns = getTilesCount(width);
+        long[] hashes = new long[columns * getTilesCount(height)];
+        PixelRowReader reader = PixelRowReader.create(image);
+        IntStream.range(0, getTilesCount(height)).parallel().forEach(tileY -> {
+            int[][] rows = readTileRows(reader, tileY, width, height);
+            for (int tileX = 0; tileX < columns; tileX++)
+            {
+                int startX = tileX * TILE_SIZE;
+                hashes[tileY * columns + tileX] = hash(rows, startX, Math.min(startX + TILE_SIZE, width));
+            }
+        });
+        return new TileHashIndex(width, height, hashes);
+    }
+
+    /**
+     * Restores the index from its binary form.
+     *
+     * @param index The binary form of the index created by {@link #toBytes()}
+     * @return The index or empty optional if the binary form is broken or is created by the incompatible version
+     */
+    public static Optional<TileHashIndex> fromBytes(byte[] index)
+    {
+        try
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(index);
+            if (buffer.getInt() != FORMAT_VERSION || buffer.getInt() != TILE_SIZE)
+            {
+                return Optional.empty();
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            if (width <= 0 || height <= 0
+                    || buffer.remaining() != (long) getTilesCount(width) * getTilesCount(height) * Long.BYTES)
+            {
+                return Optional.empty();
+            }
+            long[] hashes = new long[buffer.remaining() / Long.BYTES];
+            buffer.asLongBuffer().get(hashes);
+            return Optional.of(new TileHashIndex(width, height, hashes));
+        }
+        catch (BufferUnderflowException e)
+        {
+            return Optional.empty();
+        }
+    }
+
+    public byte[] toBytes()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_INTS * Integer.BYTES + hashes.length * Long.BYTES);
+        buffer.putInt(FORMAT_VERSION).putInt(TILE_SIZE).putInt(width).putInt(height);
+        buffer.asLongBuffer().put(hashes);
+        return buffer.array();
+    }
+
+    /**
+     * Checks whether the index is created for the image of the same size as the specified one.
+     *
+     * @param image The image to check
+     * @return <code>true</code> if the size of the indexed image is the same
+     */
+    public boolean isApplicableTo(BufferedImage image)
+    {
+        return image.getWidth() == width && image.getHeight() == height;
+    }
+
+    long getHash(int tileX, int tileY)
+    {
+        return hashes[tileY * getTilesCount(width) + tileX];
+    }
+
+    static int getTilesCount(int size)
+    {
+        return (size + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    static int[][] readTileRows(PixelRowReader reader, int tileY, int width, int height)
+    {
+        int startY = tileY * TILE_SIZE;
+        int[][] rows = new int[Math.min(startY + TILE_SIZE, height) - startY][width];
+        for (int i = 0; i < rows.length; i++)
+        {
+            reader.readRow(startY + i, width, rows[i]);
+        }
+        return rows;
+    }
+
+    /**
+     * Calculates FNV-1a hash of the tile pixels, every step of the calculation is a bijection of the current hash
+     * for the given pixel, so the tiles differing by a single pixel always get the different hashes.
+     */
+    static long hash(int[][] rows, int startX, int endX)
+    {
+        long hash = FNV_OFFSET_BASIS;
+        for (int[] row : rows)
+        {
+            for (int x = startX; x < endX; x++)
+            {
+                hash = (hash ^ (row[x] & RGB_MASK)) * FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+}
@@ -16,12 +16,15 @@
 
 package org.vividus.visual.engine;
 
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
@@ -31,11 +34,10 @@ import org.vividus.ui.screenshot.ScreenshotParameters;
 import org.vividus.visual.model.VisualActionType;
 import org.vividus.visual.model.VisualCheck;
 import org.vividus.visual.model.VisualCheckResult;
+import org.vividus.visual.storage.Baseline;
 import org.vividus.visual.storage.BaselineStorage;
 
 import pazone.ashot.Screenshot;
-import pazone.ashot.comparison.ImageDiff;
-import pazone.ashot.comparison.ImageDiffer;
 import pazone.ashot.util.ImageTool;
 
 public class VisualTestingEngine implements IVisualTestingEngine
@@ -45,20 +47,25 @@ public class VisualTestingEngine implements IVisualTestingEngine
     private static final int SCALE = 3;
 
     private final AshotScreenshotTaker<ScreenshotParameters> ashotScreenshotTaker;
-    private final DiffMarkupPolicyFactory diffMarkupPolicyFactory;
+    private final Map<String, IImageDiffEngine> diffEngines;
     private final Map<String, BaselineStorage> baselineStorages;
+    private final BaselineCache baselineCache;
 
     private double acceptableDiffPercentage;
     private double requiredDiffPercentage;
     private boolean overrideBaselines;
     private String baselineStorage;
+    private String diffEngine;
+    private boolean tileHashIndexEnabled;
 
     public VisualTestingEngine(AshotScreenshotTaker<ScreenshotParameters> ashotScreenshotTaker,
-            DiffMarkupPolicyFactory diffMarkupPolicyFactory, Map<String, BaselineStorage> baselineStorages)
+            Map<String, IImageDiffEngine> diffEngines, Map<String, BaselineStorage> baselineStorages,
+            BaselineCache baselineCache)
     {
         this.ashotScreenshotTaker = ashotScreenshotTaker;
-        this.diffMarkupPolicyFactory = diffMarkupPolicyFactory;
+        this.diffEngines = diffEngines;
         this.baselineStorages = baselineStorages;
+        this.baselineCache = baselineCache;
     }
 
     @Override
@@ -67,7 +74,7 @@ public class VisualTestingEngine implements IVisualTestingEngine
         VisualCheckResult comparisonResult = new VisualCheckResult(visualCheck);
         Screenshot checkpoint = getCheckpointScreenshot(visualCheck);
         comparisonResult.setCheckpoint(imageToBytes(checkpoint.getImage()));
-        getBaselineStorage(visualCheck).saveBaseline(checkpoint, visualCheck.getBaselineName());
+        saveBaseline(visualCheck, checkpoint);
         return comparisonResult;
     }
 
@@ -83,20 +90,27 @@ public class VisualTestingEngine implements IVisualTestingEngine
     {
         VisualCheckResult comparisonResult = new VisualCheckResult(visualCheck);
         Screenshot checkpoint = getCheckpointScreenshot(visualCheck);
-        comparisonResult.setCheckpoint(imageToBytes(checkpoint.getImage()));
-        Optional<Screenshot> baseline = getBaselineStorage(visualCheck).getBaseline(visualCheck.getBaselineName());
+        byte[] checkpointBytes = imageToBytes(checkpoint.getImage());
+        comparisonResult.setCheckpoint(checkpointBytes);
+        String baselineStorageName = getBaselineStorageName(visualCheck);
+        Optional<Screenshot> baseline = baselineCache.getBaseline(baselineStorageName,
+                getBaselineStorage(baselineStorageName), visualCheck.getBaselineName());
         if (baseline.isPresent())
         {
             Screenshot baselineScreenshot = baseline.get();
-            comparisonResult.setBaseline(imageToBytes(baselineScreenshot.getImage()));
+            comparisonResult.setBaseline(baselineScreenshot instanceof Baseline
+                    ? ((Baseline) baselineScreenshot).getContent()
+                    : imageToBytes(baselineScreenshot.getImage()));
 
             boolean inequalityCheck = visualCheck.getAction() == VisualActionType.CHECK_INEQUALITY_AGAINST;
             int height = Math.max(baselineScreenshot.getImage().getHeight(), checkpoint.getImage().getHeight());
             int width = Math.max(baselineScreenshot.getImage().getWidth(), checkpoint.getImage().getWidth());
             double diffPercentage = calculateDiffPercentage(visualCheck, inequalityCheck);
-            ImageDiff diff = findImageDiff(baselineScreenshot, checkpoint, height, width, diffPercentage);
+            IImageDiff diff = getDiffEngine().makeDiff(baselineScreenshot, getIndex(baselineScreenshot), checkpoint,
+                    diffPercentage);
             comparisonResult.setPassed(!diff.hasDiff());
-            comparisonResult.setDiff(imageToBytes(diff.getMarkedImage()));
+            // There is nothing to mark for the identical images, so the diff is the checkpoint itself
+            comparisonResult.setDiff(diff.getDiffSize() == 0 ? checkpointBytes : imageToBytes(diff.getMarkedImage()));
             LOGGER.atInfo()
                   .addArgument(() -> inequalityCheck ? "required" : "acceptable")
                   .addArgument(BigDecimal.valueOf(diffPercentage))
@@ -104,9 +118,17 @@ public class VisualTestingEngine implements IVisualTestingEngine
                       (double) (diff.getDiffSize() * ONE_HUNDRED) / (width * height)).setScale(SCALE,
                           RoundingMode.CEILING))
                   .log("The {} visual difference percentage is {}% , but actual was {}%");
+            List<Rectangle> diffRegions = diff.getDiffRegions();
+            if (!diffRegions.isEmpty())
+            {
+                LOGGER.atInfo().addArgument(() -> diffRegions.stream()
+                        .map(r -> String.format("[x=%d, y=%d, width=%d, height=%d]", r.x, r.y, r.width, r.height))
+                        .collect(Collectors.joining(", ")))
+                        .log("The difference is found in the regions: {}");
+            }
             if (overrideBaselines)
             {
-                getBaselineStorage(visualCheck).saveBaseline(checkpoint, visualCheck.getBaselineName());
+                saveBaseline(visualCheck, checkpoint);
             }
         }
         else
@@ -117,9 +139,38 @@ public class VisualTestingEngine implements IVisualTestingEngine
         return comparisonResult;
     }
 
-    private BaselineStorage getBaselineStorage(VisualCheck visualCheck)
+    private TileHashIndex getIndex(Screenshot baseline)
+    {
+        if (tileHashIndexEnabled && baseline instanceof Baseline)
+        {
+            return ((Baseline) baseline).getIndex().flatMap(TileHashIndex::fromBytes).orElse(null);
+        }
+        return null;
+    }
+
+    private void saveBaseline(VisualCheck visualCheck, Screenshot baseline) throws IOException
+    {
+        String baselineStorageName = getBaselineStorageName(visualCheck);
+        BaselineStorage baselineStorageToUse = getBaselineStorage(baselineStorageName);
+        if (tileHashIndexEnabled)
+        {
+            baselineStorageToUse.saveBaseline(baseline, TileHashIndex.create(baseline.getImage()).toBytes(),
+                    visualCheck.getBaselineName());
+        }
+        else
+        {
+            baselineStorageToUse.saveBaseline(baseline, visualCheck.getBaselineName());
+        }
+        baselineCache.invalidate(baselineStorageName, visualCheck.getBaselineName());
+    }
+
+    private String getBaselineStorageName(VisualCheck visualCheck)
+    {
+        return visualCheck.getBaselineStorage().orElse(baselineStorage);
+    }
+
+    private BaselineStorage getBaselineStorage(String baselineStorageName)
     {
-        String baselineStorageName = visualCheck.getBaselineStorage().orElse(baselineStorage);
         BaselineStorage baselineStorageToUse = baselineStorages.get(baselineStorageName);
         Validate.isTrue(baselineStorageToUse != null,
                 "Unable to find baseline storage with name: %s. Available baseline storages: %s", baselineStorageName,
@@ -136,12 +187,12 @@ public class VisualTestingEngine implements IVisualTestingEngine
         return visualCheck.getAcceptableDiffPercentage().orElse(this.acceptableDiffPercentage);
     }
 
-    private ImageDiff findImageDiff(Screenshot expected, Screenshot actual, int height, int width,
-            double diffPercentage)
+    private IImageDiffEngine getDiffEngine()
     {
-        ImageDiffer differ = new ImageDiffer().withDiffMarkupPolicy(
-            diffMarkupPolicyFactory.create(height, width, diffPercentage));
-        return differ.makeDiff(expected, actual);
+        IImageDiffEngine diffEngineToUse = diffEngines.get(diffEngine);
+        Validate.isTrue(diffEngineToUse != null, "Unable to find diff engine with name: %s. Available diff engines: %s",
+                diffEngine, diffEngines.keySet());
+        return diffEngineToUse;
     }
 
     private byte[] imageToBytes(BufferedImage image) throws IOException
@@ -168,4 +219,14 @@ public class VisualTestingEngine implements IVisualTestingEngine
     {
         this.baselineStorage = baselineStorage;
     }
+
+    public void setDiffEngine(String diffEngine)
+    {
+        this.diffEngine = diffEngine;
+    }
+
+    public void setTileHashIndexEnabled(boolean tileHashIndexEnabled)
+    {
+        this.tileHashIndexEnabled = tileHashIndexEnabled;
+    }
 }
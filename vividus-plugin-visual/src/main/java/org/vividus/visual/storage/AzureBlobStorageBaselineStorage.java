@@ -61,8 +61,7 @@ public class AzureBlobStorageBaselineStorage implements BaselineStorage
         {
             BlobClient blobClient = blobServiceClientFactory.createBlobClient(blobName, container, storageAccountKey);
             byte[] baseline = blobClient.downloadContent().toBytes();
-            Screenshot screenshot = new Screenshot(ImageTool.toBufferedImage(baseline));
-            return Optional.of(screenshot);
+            return Optional.of(new Baseline(ImageTool.toBufferedImage(baseline), baseline));
         }
         catch (BlobStorageException e)
         {
@@ -80,6 +79,22 @@ public class AzureBlobStorageBaselineStorage implements BaselineStorage
         return Optional.empty();
     }
 
+    @Override
+    public Optional<String> getBaselineVersion(String baselineName)
+    {
+        try
+        {
+            BlobClient blobClient = blobServiceClientFactory.createBlobClient(createBlobName(baselineName), container,
+                    storageAccountKey);
+            return Optional.of(blobClient.getProperties().getETag());
+        }
+        catch (BlobStorageException e)
+        {
+            // The missing blob is reported on the baseline loading
+            return Optional.empty();
+        }
+    }
+
     @Override
     public void saveBaseline(Screenshot screenshot, String baselineName) throws IOException
     {
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.storage;
+
+import java.awt.image.BufferedImage;
+import java.util.Optional;
+
+import org.apache.commons.lang3.ArrayUtils;
+
+import pazone.ashot.Screenshot;
+
+/**
+ * The baseline screenshot keeping the original content it was decoded from, so the content can be published without
+ * re-encoding the image, and the index saved along with the baseline.
+ */
+public class Baseline extends Screenshot
+{
+    private static final long serialVersionUID = 2930475613208417116L;
+
+    private final byte[] content;
+    private final byte[] index;
+
+    public Baseline(BufferedImage image, byte[] content)
+    {
+        this(image, content, null);
+    }
+
+    public Baseline(BufferedImage image, byte[] content, byte[] index)
+    {
+        super(image);
+        this.content = ArrayUtils.clone(content);
+        this.index = ArrayUtils.clone(index);
+    }
+
+    public byte[] getContent()
+    {
+        return ArrayUtils.clone(content);
+    }
+
+    public int getContentLength()
+    {
+        return content.length;
+    }
+
+    /**
+     * @return The index saved along with the baseline or empty optional if the baseline has no index or the index
+     * was created for another content of the baseline
+     */
+    public Optional<byte[]> getIndex()
+    {
+        return Optional.ofNullable(index).map(ArrayUtils::clone);
+    }
+}
@@ -25,5 +25,33 @@ public interface BaselineStorage
 {
     Optional<Screenshot> getBaseline(String baselineName) throws IOException;
 
+    /**
+     * Returns the version of the baseline, e.g. its last modification time. The version must change every time the
+     * baseline is changed, it is used to invalidate the cached baselines.
+     *
+     * @param baselineName The name of the baseline
+     * @return The version of the baseline or empty optional if the baseline is not found or the storage is not able
+     * to track the baseline changes, such baselines are not cached
+     * @throws IOException If an I/O error occurs
+     */
+    default Optional<String> getBaselineVersion(String baselineName) throws IOException
+    {
+        return Optional.empty();
+    }
+
     void saveBaseline(Screenshot screenshot, String baselineName) throws IOException;
+
+    /**
+     * Saves the baseline along with its index. The index is provided by the loaded {@link Baseline} as long as the
+     * baseline is not changed. The storages not supporting the indexes save the baseline only.
+     *
+     * @param screenshot   The baseline to save
+     * @param index        The index of the baseline
+     * @param baselineName The name of the baseline
+     * @throws IOException If an I/O error occurs
+     */
+    default void saveBaseline(Screenshot screenshot, byte[] index, String baselineName) throws IOException
+    {
+        saveBaseline(screenshot, baselineName);
+    }
 }
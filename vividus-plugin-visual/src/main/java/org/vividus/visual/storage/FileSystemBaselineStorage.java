@@ -17,10 +17,15 @@
 package org.vividus.visual.storage;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.zip.CRC32;
 
 import javax.imageio.ImageIO;
 
@@ -34,6 +39,7 @@ import org.vividus.ui.util.ImageUtils;
 import org.vividus.util.ResourceUtils;
 
 import pazone.ashot.Screenshot;
+import pazone.ashot.util.ImageTool;
 
 public class FileSystemBaselineStorage implements BaselineStorage
 {
@@ -54,19 +60,66 @@ public class FileSystemBaselineStorage implements BaselineStorage
     @Override
     public Optional<Screenshot> getBaseline(String baselineName) throws IOException
     {
-        File baselineFile = new File(baselineFolderResolver.get(), appendExtension(baselineName));
+        File baselineFile = getBaselineFile(baselineName);
         if (!baselineFile.exists())
         {
             LOGGER.warn("Unable to find a baseline at the path: {}", baselineFile);
             return Optional.empty();
         }
-        BufferedImage baselineImage = ImageIO.read(baselineFile);
+        byte[] baselineContent = Files.readAllBytes(baselineFile.toPath());
+        BufferedImage baselineImage = ImageIO.read(new ByteArrayInputStream(baselineContent));
         if (baselineImage == null)
         {
             throw new ResourceLoadException(
                     "The baseline at the path '" + baselineFile + "' is broken or has unsupported format");
         }
-        return Optional.of(new Screenshot(baselineImage));
+        return Optional.of(new Baseline(baselineImage, baselineContent, readIndex(baselineName, baselineContent)));
+    }
+
+    /**
+     * The index file starts with the checksum of the baseline content it was created for, so the index is not used
+     * if the baseline is changed without the index, e.g. manually.
+     */
+    private byte[] readIndex(String baselineName, byte[] baselineContent) throws IOException
+    {
+        Path indexFile = getIndexFile(baselineName);
+        if (Files.exists(indexFile))
+        {
+            ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+            if (index.remaining() >= Long.BYTES && index.getLong() == calculateChecksum(baselineContent))
+            {
+                byte[] indexContent = new byte[index.remaining()];
+                index.get(indexContent);
+                return indexContent;
+            }
+            LOGGER.atInfo().addArgument(indexFile).log("The index {} is outdated and is not used");
+        }
+        return null;
+    }
+
+    private static long calculateChecksum(byte[] content)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    @Override
+    public Optional<String> getBaselineVersion(String baselineName)
+    {
+        File baselineFile = getBaselineFile(baselineName);
+        long lastModified = baselineFile.lastModified();
+        return lastModified == 0 ? Optional.empty() : Optional.of(lastModified + ":" + baselineFile.length());
+    }
+
+    private File getBaselineFile(String baselineName)
+    {
+        return new File(baselineFolderResolver.get(), appendExtension(baselineName));
+    }
+
+    private Path getIndexFile(String baselineName)
+    {
+        return new File(baselineFolderResolver.get(), baselineName + ".index").toPath();
     }
 
     private String appendExtension(String baselineName)
@@ -77,8 +130,20 @@ public class FileSystemBaselineStorage implements BaselineStorage
     @Override
     public void saveBaseline(Screenshot toSave, String baselineName) throws IOException
     {
-        File baselineToSave = new File(baselineFolderResolver.get(), appendExtension(baselineName));
+        File baselineToSave = getBaselineFile(baselineName);
         ImageUtils.writeAsPng(toSave.getImage(), baselineToSave);
+        Files.deleteIfExists(getIndexFile(baselineName));
+        LOGGER.atInfo().addArgument(baselineToSave::getAbsolutePath).log("Baseline saved to: {}");
+    }
+
+    @Override
+    public void saveBaseline(Screenshot toSave, byte[] index, String baselineName) throws IOException
+    {
+        File baselineToSave = getBaselineFile(baselineName);
+        byte[] baselineContent = ImageTool.toByteArray(toSave.getImage());
+        Files.write(baselineToSave.toPath(), baselineContent);
+        Files.write(getIndexFile(baselineName), ByteBuffer.allocate(Long.BYTES + index.length)
+                .putLong(calculateChecksum(baselineContent)).put(index).array());
         LOGGER.atInfo().addArgument(baselineToSave::getAbsolutePath).log("Baseline saved to: {}");
     }
 
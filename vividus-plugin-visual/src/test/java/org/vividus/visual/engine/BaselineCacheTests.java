@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.visual.storage.Baseline;
+import org.vividus.visual.storage.BaselineStorage;
+
+import pazone.ashot.Screenshot;
+
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
+class BaselineCacheTests
+{
+    private static final String STORAGE = "filesystem";
+    private static final String BASELINE = "baseline";
+    private static final String VERSION = "1";
+    private static final int IMAGE_SIZE = 10;
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(BaselineCache.class);
+
+    @Mock private BaselineStorage baselineStorage;
+
+    @Test
+    void shouldNotCacheBaselinesIfDisabled() throws IOException
+    {
+        BaselineCache baselineCache = new BaselineCache(Long.MAX_VALUE);
+        Optional<Screenshot> baseline = Optional.of(createBaseline());
+        when(baselineStorage.getBaseline(BASELINE)).thenReturn(baseline);
+        assertEquals(baseline, baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE));
+        assertEquals(baseline, baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE));
+        verify(baselineStorage, times(2)).getBaseline(BASELINE);
+        verifyNoMoreInteractions(baselineStorage);
+        baselineCache.logStatistics();
+        assertThat(logger.getLoggingEvents(), is(empty()));
+    }
+
+    @Test
+    void shouldNotCacheBaselinesWithoutVersion() throws IOException
+    {
+        BaselineCache baselineCache = createEnabledCache(Long.MAX_VALUE);
+        when(baselineStorage.getBaselineVersion(BASELINE)).thenReturn(Optional.empty());
+        when(baselineStorage.getBaseline(BASELINE)).thenReturn(Optional.empty());
+        assertEquals(Optional.empty(), baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE));
+        assertEquals(Optional.empty(), baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE));
+        verify(baselineStorage, times(2)).getBaseline(BASELINE);
+    }
+
+    @Test
+    void shouldReuseCachedBaselineUntilVersionIsChanged() throws IOException
+    {
+        BaselineCache baselineCache = createEnabledCache(Long.MAX_VALUE);
+        Screenshot baseline = createBaseline();
+        Screenshot updatedBaseline = createBaseline();
+        when(baselineStorage.getBaselineVersion(BASELINE)).thenReturn(Optional.of(VERSION), Optional.of(VERSION),
+                Optional.of("2"));
+        when(baselineStorage.getBaseline(BASELINE)).thenReturn(Optional.of(baseline), Optional.of(updatedBaseline));
+        assertSame(baseline, baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE).get());
+        assertSame(baseline, baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE).get());
+        assertSame(updatedBaseline, baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE).get());
+        verify(baselineStorage, times(2)).getBaseline(BASELINE);
+        baselineCache.logStatistics();
+        assertThat(logger.getLoggingEvents(), is(List.of(
+                info("Baselines cache: {} hits, {} misses, {} invalidations, {} evictions", 1L, 2L, 1L, 0L))));
+    }
+
+    @Test
+    void shouldKeepBaselinesOfDifferentStoragesSeparately() throws IOException
+    {
+        BaselineCache baselineCache = createEnabledCache(Long.MAX_VALUE);
+        Screenshot baseline = createBaseline();
+        when(baselineStorage.getBaselineVersion(BASELINE)).thenReturn(Optional.of(VERSION));
+        when(baselineStorage.getBaseline(BASELINE)).thenReturn(Optional.of(baseline));
+        baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE);
+        baselineCache.getBaseline("azure-blob-storage", baselineStorage, BASELINE);
+        verify(baselineStorage, times(2)).getBaseline(BASELINE);
+    }
+
+    @Test
+    void shouldReloadInvalidatedBaseline() throws IOException
+    {
+        BaselineCache baselineCache = createEnabledCache(Long.MAX_VALUE);
+        when(baselineStorage.getBaselineVersion(BASELINE)).thenReturn(Optional.of(VERSION));
+        when(baselineStorage.getBaseline(BASELINE)).thenReturn(Optional.of(createBaseline()));
+        baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE);
+        baselineCache.invalidate(STORAGE, BASELINE);
+        baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE);
+        verify(baselineStorage, times(2)).getBaseline(BASELINE);
+    }
+
+    @Test
+    void shouldEvictBaselinesExceedingMaximumSize() throws IOException
+    {
+        BaselineCache baselineCache = createEnabledCache(IMAGE_SIZE * IMAGE_SIZE * 4);
+        when(baselineStorage.getBaselineVersion(BASELINE)).thenReturn(Optional.of(VERSION));
+        when(baselineStorage.getBaseline(BASELINE)).thenReturn(Optional.of(createBaseline()));
+        baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE);
+        baselineCache.getBaseline(STORAGE, baselineStorage, BASELINE);
+        verify(baselineStorage, times(2)).getBaseline(BASELINE);
+    }
+
+    private static BaselineCache createEnabledCache(long maximumWeight)
+    {
+        BaselineCache baselineCache = new BaselineCache(maximumWeight);
+        baselineCache.setEnabled(true);
+        return baselineCache;
+    }
+
+    private static Screenshot createBaseline()
+    {
+        return new Baseline(new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_INT_RGB), new byte[] { 1 });
+    }
+}
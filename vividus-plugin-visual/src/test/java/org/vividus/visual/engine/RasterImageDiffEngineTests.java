@@ -0,0 +1,256 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import pazone.ashot.Screenshot;
+import pazone.ashot.coordinates.Coords;
+
+@ExtendWith(MockitoExtension.class)
+class RasterImageDiffEngineTests
+{
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 150;
+    private static final int BACKGROUND = 0x336699;
+    private static final int DIFF_COLOR = DiffMarkupPolicyFactory.DIFF_COLOR.getRGB();
+
+    @Mock private AshotImageDiffEngine ashotImageDiffEngine;
+    @InjectMocks private RasterImageDiffEngine rasterImageDiffEngine;
+
+    @ParameterizedTest
+    @ValueSource(ints = { BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_USHORT_565_RGB })
+    void shouldFindNoDifferenceForIdenticalImages(int imageType)
+    {
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(screenshot(createImage(imageType)),
+                screenshot(createImage(BufferedImage.TYPE_INT_RGB)), 0);
+        assertAll(
+            () -> assertFalse(diff.hasDiff()),
+            () -> assertEquals(0, diff.getDiffSize()));
+        verifyNoInteractions(ashotImageDiffEngine);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR })
+    void shouldCompareSubimages(int imageType)
+    {
+        BufferedImage image = createImage(imageType, WIDTH * 2, HEIGHT * 2);
+        BufferedImage expected = createImage(BufferedImage.TYPE_INT_RGB);
+        IImageDiff sameDiff = rasterImageDiffEngine.makeDiff(screenshot(expected),
+                screenshot(image.getSubimage(10, 20, WIDTH, HEIGHT)), 0);
+        IImageDiff shiftedDiff = rasterImageDiffEngine.makeDiff(screenshot(expected),
+                screenshot(image.getSubimage(10, 21, WIDTH, HEIGHT)), 0);
+        assertAll(
+            () -> assertEquals(0, sameDiff.getDiffSize()),
+            () -> assertEquals(WIDTH * HEIGHT, shiftedDiff.getDiffSize()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_BYTE_GRAY })
+    void shouldCountAndMarkDifferentPixels(int imageType)
+    {
+        BufferedImage expected = createImage(imageType);
+        BufferedImage actual = createImage(imageType);
+        actual.setRGB(10, 20, Color.WHITE.getRGB());
+        actual.setRGB(99, 149, Color.WHITE.getRGB());
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(screenshot(expected), screenshot(actual), 0);
+        BufferedImage markedImage = diff.getMarkedImage();
+        assertAll(
+            () -> assertTrue(diff.hasDiff()),
+            () -> assertEquals(2, diff.getDiffSize()),
+            () -> assertEquals(WIDTH, markedImage.getWidth()),
+            () -> assertEquals(HEIGHT, markedImage.getHeight()),
+            () -> assertEquals(DIFF_COLOR, markedImage.getRGB(10, 20)),
+            () -> assertEquals(DIFF_COLOR, markedImage.getRGB(99, 149)),
+            () -> assertNotEquals(DIFF_COLOR, markedImage.getRGB(11, 20)),
+            () -> assertSame(markedImage, diff.getMarkedImage()));
+    }
+
+    @Test
+    void shouldIgnorePixelsWithinColorDistortion()
+    {
+        BufferedImage actual = createImage(BufferedImage.TYPE_INT_RGB);
+        actual.setRGB(0, 0, BACKGROUND + 0x0F0F0F);
+        actual.setRGB(1, 0, BACKGROUND + 0x100000);
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(screenshot(createImage(BufferedImage.TYPE_INT_RGB)),
+                screenshot(actual), 0);
+        assertEquals(1, diff.getDiffSize());
+    }
+
+    @Test
+    void shouldNotReportDifferenceBelowAcceptablePercentage()
+    {
+        BufferedImage actual = createImage(BufferedImage.TYPE_INT_RGB);
+        actual.setRGB(0, 0, Color.WHITE.getRGB());
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(screenshot(createImage(BufferedImage.TYPE_INT_RGB)),
+                screenshot(actual), 1);
+        assertAll(
+            () -> assertFalse(diff.hasDiff()),
+            () -> assertEquals(1, diff.getDiffSize()));
+    }
+
+    @Test
+    void shouldTreatOutOfBoundsAreaAsDifference()
+    {
+        BufferedImage expected = createImage(BufferedImage.TYPE_INT_RGB);
+        BufferedImage actual = createImage(BufferedImage.TYPE_INT_RGB, WIDTH, HEIGHT + 10);
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(screenshot(expected), screenshot(actual), 0);
+        BufferedImage markedImage = diff.getMarkedImage();
+        assertAll(
+            () -> assertTrue(diff.hasDiff()),
+            () -> assertEquals(WIDTH * 10, diff.getDiffSize()),
+            () -> assertEquals(HEIGHT + 10, markedImage.getHeight()),
+            () -> assertEquals(DIFF_COLOR, markedImage.getRGB(0, HEIGHT)),
+            () -> assertEquals(expected.getRGB(0, HEIGHT - 1), markedImage.getRGB(0, HEIGHT - 1)));
+    }
+
+    @Test
+    void shouldNotCompareAreasIgnoredInBothScreenshots()
+    {
+        Screenshot expected = screenshot(createImage(BufferedImage.TYPE_INT_RGB));
+        expected.setIgnoredAreas(Set.of(new Coords(0, 0, 64, 64)));
+        BufferedImage actualImage = createImage(BufferedImage.TYPE_INT_RGB);
+        actualImage.setRGB(5, 5, Color.WHITE.getRGB());
+        actualImage.setRGB(20, 20, Color.WHITE.getRGB());
+        actualImage.setRGB(70, 140, Color.WHITE.getRGB());
+        Screenshot actual = screenshot(actualImage);
+        actual.setIgnoredAreas(Set.of(new Coords(0, 0, 10, 10)));
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(expected, actual, 0);
+        assertAll(
+            () -> assertEquals(2, diff.getDiffSize()),
+            () -> assertEquals(List.of(new Rectangle(20, 20, 1, 1), new Rectangle(70, 140, 1, 1)),
+                    diff.getDiffRegions()));
+        verifyNoInteractions(ashotImageDiffEngine);
+    }
+
+    @Test
+    void shouldMergeDiffRegionsOfAdjacentTiles()
+    {
+        BufferedImage actualImage = createImage(BufferedImage.TYPE_INT_RGB, WIDTH * 3, HEIGHT);
+        actualImage.setRGB(10, 10, Color.WHITE.getRGB());
+        actualImage.setRGB(130, 70, Color.WHITE.getRGB());
+        actualImage.setRGB(200, 140, Color.WHITE.getRGB());
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(
+                screenshot(createImage(BufferedImage.TYPE_INT_RGB, WIDTH * 3, HEIGHT)), screenshot(actualImage), 0);
+        assertEquals(List.of(new Rectangle(10, 10, 1, 1), new Rectangle(130, 70, 71, 71)), diff.getDiffRegions());
+    }
+
+    @Test
+    void shouldReportOutOfBoundsAreasAsDiffRegions()
+    {
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(screenshot(createImage(BufferedImage.TYPE_INT_RGB)),
+                screenshot(createImage(BufferedImage.TYPE_INT_RGB, WIDTH + 10, HEIGHT + 10)), 0);
+        assertEquals(List.of(new Rectangle(WIDTH, 0, 10, HEIGHT + 10), new Rectangle(0, HEIGHT, WIDTH, 10)),
+                diff.getDiffRegions());
+    }
+
+    @Test
+    void shouldSkipTilesWithSameHashesAsInIndex()
+    {
+        BufferedImage expectedImage = createImage(BufferedImage.TYPE_INT_RGB);
+        BufferedImage actualImage = createImage(BufferedImage.TYPE_INT_RGB);
+        actualImage.setRGB(10, 10, Color.WHITE.getRGB());
+        actualImage.setRGB(90, 140, Color.WHITE.getRGB());
+        // The index of the checkpoint is used to make sure the pixels of the tiles with the same hashes are not read
+        TileHashIndex index = TileHashIndex.create(actualImage);
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(screenshot(expectedImage), index, screenshot(actualImage),
+                0);
+        assertEquals(0, diff.getDiffSize());
+    }
+
+    @Test
+    void shouldCompareTilesWithDifferentHashesThanInIndex()
+    {
+        BufferedImage expectedImage = createImage(BufferedImage.TYPE_INT_RGB);
+        BufferedImage actualImage = createImage(BufferedImage.TYPE_INT_RGB);
+        actualImage.setRGB(10, 10, Color.WHITE.getRGB());
+        actualImage.setRGB(90, 140, Color.WHITE.getRGB());
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(screenshot(expectedImage),
+                TileHashIndex.create(expectedImage), screenshot(actualImage), 0);
+        assertAll(
+            () -> assertEquals(2, diff.getDiffSize()),
+            () -> assertEquals(List.of(new Rectangle(10, 10, 1, 1), new Rectangle(90, 140, 1, 1)),
+                    diff.getDiffRegions()));
+    }
+
+    @Test
+    void shouldIgnoreIndexOfImageWithAnotherSize()
+    {
+        BufferedImage expectedImage = createImage(BufferedImage.TYPE_INT_RGB);
+        BufferedImage actualImage = createImage(BufferedImage.TYPE_INT_RGB);
+        actualImage.setRGB(10, 10, Color.WHITE.getRGB());
+        TileHashIndex index = TileHashIndex.create(createImage(BufferedImage.TYPE_INT_RGB, WIDTH, HEIGHT + 1));
+        IImageDiff diff = rasterImageDiffEngine.makeDiff(screenshot(expectedImage), index, screenshot(actualImage),
+                0);
+        assertEquals(1, diff.getDiffSize());
+    }
+
+    @Test
+    void shouldDelegateToAshotWhenOnlyPartOfImageIsCompared()
+    {
+        Screenshot expected = screenshot(createImage(BufferedImage.TYPE_INT_RGB));
+        expected.setCoordsToCompare(Set.of(new Coords(new Rectangle(0, 0, WIDTH, HEIGHT / 2))));
+        Screenshot actual = screenshot(createImage(BufferedImage.TYPE_INT_RGB));
+        rasterImageDiffEngine.makeDiff(expected, actual, 0);
+        verify(ashotImageDiffEngine).makeDiff(expected, actual, 0);
+    }
+
+    private static Screenshot screenshot(BufferedImage image)
+    {
+        return new Screenshot(image);
+    }
+
+    private static BufferedImage createImage(int imageType)
+    {
+        return createImage(imageType, WIDTH, HEIGHT);
+    }
+
+    private static BufferedImage createImage(int imageType, int width, int height)
+    {
+        BufferedImage image = new BufferedImage(width, height, imageType);
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                image.setRGB(x, y, (y % 2 == 0 ? BACKGROUND : BACKGROUND + 0x202020) | 0xFF000000);
+            }
+        }
+        return image;
+    }
+}
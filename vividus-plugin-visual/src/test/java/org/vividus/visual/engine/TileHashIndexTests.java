@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TileHashIndexTests
+{
+    private static final int WIDTH = 150;
+    private static final int HEIGHT = 100;
+
+    @Test
+    void shouldCalculateHashesOfTiles()
+    {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        BufferedImage changedImage = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        changedImage.setRGB(WIDTH - 1, HEIGHT - 1, 0xFF000001);
+        TileHashIndex index = TileHashIndex.create(image);
+        TileHashIndex changedIndex = TileHashIndex.create(changedImage);
+        assertAll(
+            () -> assertEquals(index.getHash(0, 0), index.getHash(1, 0)),
+            () -> assertNotEquals(index.getHash(0, 0), index.getHash(2, 0)),
+            () -> assertEquals(index.getHash(0, 0), changedIndex.getHash(0, 0)),
+            () -> assertEquals(index.getHash(2, 0), changedIndex.getHash(2, 0)),
+            () -> assertNotEquals(index.getHash(2, 1), changedIndex.getHash(2, 1)));
+    }
+
+    @Test
+    void shouldRestoreIndexFromBytes()
+    {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+        image.setRGB(70, 10, 0xFFFFFF);
+        TileHashIndex index = TileHashIndex.create(image);
+        TileHashIndex restoredIndex = TileHashIndex.fromBytes(index.toBytes()).get();
+        assertAll(
+            () -> assertTrue(restoredIndex.isApplicableTo(image)),
+            () -> assertFalse(restoredIndex.isApplicableTo(new BufferedImage(WIDTH, HEIGHT + 1,
+                    BufferedImage.TYPE_INT_RGB))),
+            () -> assertEquals(index.getHash(1, 0), restoredIndex.getHash(1, 0)),
+            () -> assertEquals(index.getHash(2, 1), restoredIndex.getHash(2, 1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 4, 8, 12 })
+    void shouldNotRestoreBrokenIndex(int corruptedInt)
+    {
+        byte[] index = TileHashIndex.create(new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB)).toBytes();
+        ByteBuffer.wrap(index).putInt(corruptedInt, -1);
+        assertEquals(Optional.empty(), TileHashIndex.fromBytes(index));
+    }
+
+    @Test
+    void shouldNotRestoreTruncatedIndex()
+    {
+        byte[] index = TileHashIndex.create(new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB)).toBytes();
+        assertAll(
+            () -> assertEquals(Optional.empty(), TileHashIndex.fromBytes(Arrays.copyOf(index, index.length - 1))),
+            () -> assertEquals(Optional.empty(), TileHashIndex.fromBytes(new byte[] { 0, 0, 0, 1 })));
+    }
+}
@@ -20,6 +20,7 @@ import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -27,9 +28,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -62,6 +65,7 @@ import org.vividus.util.ResourceUtils;
 import org.vividus.visual.model.VisualActionType;
 import org.vividus.visual.model.VisualCheck;
 import org.vividus.visual.model.VisualCheckResult;
+import org.vividus.visual.storage.Baseline;
 import org.vividus.visual.storage.BaselineStorage;
 import org.vividus.visual.storage.FileSystemBaselineStorage;
 
@@ -88,6 +92,7 @@ class VisualTestingEngineTests
     private static final BigDecimal DIFF = BigDecimal.valueOf(40).setScale(3);
     private static final String FILESYSTEM = "filesystem";
     private static final String MEMORY = "MEMORY";
+    private static final String ASHOT = "ashot";
 
     private final TestLogger testLogger = TestLoggerFactory.getTestLogger(VisualTestingEngine.class);
 
@@ -95,6 +100,7 @@ class VisualTestingEngineTests
     @Mock private AshotScreenshotTaker<ScreenshotParameters> ashotScreenshotTaker;
     @Spy private DiffMarkupPolicyFactory diffMarkupPolicyFactory;
 
+    private final BaselineCache baselineCache = new BaselineCache(Long.MAX_VALUE);
     private VisualTestingEngine visualTestingEngine;
 
     void initObjectUnderTest()
@@ -104,10 +110,11 @@ class VisualTestingEngineTests
 
     void initObjectUnderTest(Map<String, BaselineStorage> baselineStorages)
     {
-        visualTestingEngine = new VisualTestingEngine(ashotScreenshotTaker, diffMarkupPolicyFactory,
-                baselineStorages);
+        visualTestingEngine = new VisualTestingEngine(ashotScreenshotTaker,
+                Map.of(ASHOT, new AshotImageDiffEngine(diffMarkupPolicyFactory)), baselineStorages, baselineCache);
         visualTestingEngine.setAcceptableDiffPercentage(0.0d);
         visualTestingEngine.setBaselineStorage(FILESYSTEM);
+        visualTestingEngine.setDiffEngine(ASHOT);
     }
 
     @Test
@@ -128,6 +135,18 @@ class VisualTestingEngineTests
         assertThat(testLogger.getLoggingEvents(), empty());
     }
 
+    @Test
+    void shouldSaveBaselineWithTileHashIndex() throws IOException
+    {
+        initObjectUnderTest();
+        visualTestingEngine.setTileHashIndexEnabled(true);
+        VisualCheck visualCheck = createVisualCheck(VisualActionType.ESTABLISH);
+        BufferedImage finalImage = mockGetCheckpointScreenshot(visualCheck);
+        visualTestingEngine.establish(visualCheck);
+        verify(baselineStorage).saveBaseline(argThat(s -> finalImage.equals(s.getImage())),
+                aryEq(TileHashIndex.create(finalImage).toBytes()), eq(BASELINE));
+    }
+
     private VisualCheck createVisualCheck(VisualActionType actionType)
     {
         VisualCheck check = new VisualCheck(BASELINE, actionType);
@@ -253,6 +272,40 @@ class VisualTestingEngineTests
                 new BigDecimal(0).setScale(3)))));
     }
 
+    @Test
+    void shouldPublishOriginalBaselineContent() throws IOException
+    {
+        initObjectUnderTest();
+        byte[] baselineContent = Base64.getDecoder().decode(BASELINE_BASE64);
+        when(baselineStorage.getBaseline(BASELINE)).thenReturn(
+                Optional.of(new Baseline(loadImage(BASELINE), baselineContent)));
+        VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
+        mockGetCheckpointScreenshot(visualCheck, BASELINE);
+        VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
+        assertArrayEquals(baselineContent, checkResult.getBaseline());
+        assertTrue(checkResult.isPassed());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "false, 1",
+        "true,  2"
+    })
+    void shouldReuseCachedBaselineUntilItIsOverridden(boolean overrideBaselines, int baselineLoads) throws IOException
+    {
+        initObjectUnderTest();
+        baselineCache.setEnabled(true);
+        visualTestingEngine.setOverrideBaselines(overrideBaselines);
+        when(baselineStorage.getBaselineVersion(BASELINE)).thenReturn(Optional.of("1"));
+        when(baselineStorage.getBaseline(BASELINE)).thenReturn(Optional.of(new Screenshot(loadImage(BASELINE))));
+        VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
+        mockGetCheckpointScreenshot(visualCheck, BASELINE);
+        visualTestingEngine.compareAgainst(visualCheck);
+        VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
+        assertEquals(BASELINE_BASE64, toBase64(checkResult.getBaseline()));
+        verify(baselineStorage, times(baselineLoads)).getBaseline(BASELINE);
+    }
+
     @Test
     void shouldThrowAnExceptionIfInvalidBaselineStorageSet() throws IOException
     {
@@ -267,6 +320,20 @@ class VisualTestingEngineTests
                 iae.getMessage());
     }
 
+    @Test
+    void shouldThrowAnExceptionIfInvalidDiffEngineSet() throws IOException
+    {
+        initObjectUnderTest();
+        visualTestingEngine.setDiffEngine("raster");
+        when(baselineStorage.getBaseline(BASELINE)).thenReturn(Optional.of(new Screenshot(loadImage(BASELINE))));
+        VisualCheck visualCheck = createVisualCheck(VisualActionType.COMPARE_AGAINST);
+        mockGetCheckpointScreenshot(visualCheck, BASELINE);
+        var iae = assertThrows(IllegalArgumentException.class,
+                () -> visualTestingEngine.compareAgainst(visualCheck));
+        assertEquals("Unable to find diff engine with name: raster. Available diff engines: [ashot]",
+                iae.getMessage());
+    }
+
     @Test
     void shouldReturnVisualCheckResultWithDiffAgainstEmptyImageAndCheckpoint() throws IOException
     {
@@ -33,6 +33,7 @@ import java.util.Optional;
 
 import com.azure.core.util.BinaryData;
 import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.models.BlobProperties;
 import com.azure.storage.blob.models.BlobStorageException;
 import com.github.valfirst.slf4jtest.LoggingEvent;
 import com.github.valfirst.slf4jtest.TestLogger;
@@ -81,7 +82,29 @@ class AzureBlobStorageBaselineStorageTests
         var blobClient = mock(BlobClient.class);
         when(blobServiceClientFactory.createBlobClient(BASELINE_PNG, CONTAINER, KEY)).thenReturn(blobClient);
         when(blobClient.downloadContent()).thenReturn(BinaryData.fromBytes(IMAGE));
-        assertArrayEquals(IMAGE, ImageTool.toByteArray(storage.getBaseline(BASELINE).get().getImage()));
+        Screenshot baseline = storage.getBaseline(BASELINE).get();
+        assertArrayEquals(IMAGE, ImageTool.toByteArray(baseline.getImage()));
+        assertArrayEquals(IMAGE, ((Baseline) baseline).getContent());
+    }
+
+    @Test
+    void shouldReturnETagAsBaselineVersion()
+    {
+        var blobClient = mock(BlobClient.class);
+        when(blobServiceClientFactory.createBlobClient(BASELINE_PNG, CONTAINER, KEY)).thenReturn(blobClient);
+        var blobProperties = mock(BlobProperties.class);
+        when(blobClient.getProperties()).thenReturn(blobProperties);
+        String eTag = "0x8DAB6B0F2A6E8D1";
+        when(blobProperties.getETag()).thenReturn(eTag);
+        assertEquals(Optional.of(eTag), storage.getBaselineVersion(BASELINE));
+    }
+
+    @Test
+    void shouldReturnEmptyBaselineVersionIfBlobIsNotAvailable()
+    {
+        var exception = new BlobStorageException("The specified blob does not exist.", null, null);
+        when(blobServiceClientFactory.createBlobClient(BASELINE_PNG, CONTAINER, KEY)).thenThrow(exception);
+        assertEquals(Optional.empty(), storage.getBaselineVersion(BASELINE));
     }
 
     @Test
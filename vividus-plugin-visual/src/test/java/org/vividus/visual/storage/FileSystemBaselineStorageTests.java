@@ -20,8 +20,11 @@ import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +32,7 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,6 +48,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.vividus.resource.ResourceLoadException;
+import org.vividus.ui.util.ImageUtils;
 import org.vividus.util.ResourceUtils;
 
 import pazone.ashot.Screenshot;
@@ -55,6 +60,7 @@ class FileSystemBaselineStorageTests
     private static final String BASELINE = "baseline";
     private static final File BASELINES_FOLDER = new File("./baselines");
     private static final String DEFAULT_EXTENSION = ".png";
+    private static final String INDEX_EXTENSION = ".index";
 
     private final TestLogger logger = TestLoggerFactory.getTestLogger(FileSystemBaselineStorage.class);
     private final FileSystemBaselineStorage fileSystemBaselineStorage = new FileSystemBaselineStorage();
@@ -64,7 +70,21 @@ class FileSystemBaselineStorageTests
     {
         fileSystemBaselineStorage.setBaselinesFolder(BASELINES_FOLDER);
         BufferedImage baseline = loadBaseline();
-        assertThat(fileSystemBaselineStorage.getBaseline(BASELINE).get().getImage(), ImageTool.equalImage(baseline));
+        Screenshot screenshot = fileSystemBaselineStorage.getBaseline(BASELINE).get();
+        assertThat(screenshot.getImage(), ImageTool.equalImage(baseline));
+        assertArrayEquals(Files.readAllBytes(ResourceUtils.loadFile(FileSystemBaselineStorageTests.class,
+                "/baselines/baseline.png").toPath()), ((Baseline) screenshot).getContent());
+    }
+
+    @Test
+    void shouldReturnBaselineVersion(@TempDir File baselineFolder) throws IOException
+    {
+        fileSystemBaselineStorage.setBaselinesFolder(baselineFolder);
+        File baselineFile = new File(baselineFolder, BASELINE + DEFAULT_EXTENSION);
+        Files.write(baselineFile.toPath(), new byte[] { 1, 2, 3 });
+        assertTrue(baselineFile.setLastModified(1_000_000L));
+        assertEquals(Optional.of("1000000:3"), fileSystemBaselineStorage.getBaselineVersion(BASELINE));
+        assertEquals(Optional.empty(), fileSystemBaselineStorage.getBaselineVersion("missing_baseline"));
     }
 
     @Test
@@ -109,6 +129,47 @@ class FileSystemBaselineStorageTests
         assertThat(ImageIO.read(baselineFile), ImageTool.equalImage(baseline));
     }
 
+    @Test
+    void shouldSaveBaselineWithIndexIntoFolder(@TempDir File folder) throws IOException
+    {
+        fileSystemBaselineStorage.setBaselinesFolder(folder);
+        BufferedImage baseline = loadBaseline();
+        byte[] index = { 1, 2, 3 };
+        fileSystemBaselineStorage.saveBaseline(new Screenshot(baseline), index, BASELINE);
+        File baselineFile = new File(folder, BASELINE + DEFAULT_EXTENSION);
+        assertThat(new File(folder, BASELINE + INDEX_EXTENSION), FileMatchers.anExistingFile());
+        Baseline savedBaseline = (Baseline) fileSystemBaselineStorage.getBaseline(BASELINE).get();
+        assertThat(savedBaseline.getImage(), ImageTool.equalImage(baseline));
+        assertArrayEquals(index, savedBaseline.getIndex().get());
+        assertThat(logger.getLoggingEvents(), is(List.of(info("Baseline saved to: {}",
+                baselineFile.getAbsolutePath()))));
+    }
+
+    @Test
+    void shouldNotUseIndexOfChangedBaseline(@TempDir File folder) throws IOException
+    {
+        fileSystemBaselineStorage.setBaselinesFolder(folder);
+        fileSystemBaselineStorage.saveBaseline(new Screenshot(loadBaseline()), new byte[] { 1 }, BASELINE);
+        File baselineFile = new File(folder, BASELINE + DEFAULT_EXTENSION);
+        ImageUtils.writeAsPng(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), baselineFile);
+        logger.clear();
+        Baseline savedBaseline = (Baseline) fileSystemBaselineStorage.getBaseline(BASELINE).get();
+        assertEquals(Optional.empty(), savedBaseline.getIndex());
+        assertThat(logger.getLoggingEvents(), is(List.of(info("The index {} is outdated and is not used",
+                new File(folder, BASELINE + INDEX_EXTENSION).toPath()))));
+    }
+
+    @Test
+    void shouldDeleteIndexOnBaselineSavingWithoutIndex(@TempDir File folder) throws IOException
+    {
+        fileSystemBaselineStorage.setBaselinesFolder(folder);
+        Screenshot screenshot = new Screenshot(loadBaseline());
+        fileSystemBaselineStorage.saveBaseline(screenshot, new byte[] { 1 }, BASELINE);
+        fileSystemBaselineStorage.saveBaseline(screenshot, BASELINE);
+        assertThat(new File(folder, BASELINE + INDEX_EXTENSION), not(FileMatchers.anExistingFile()));
+        assertEquals(Optional.empty(), ((Baseline) fileSystemBaselineStorage.getBaseline(BASELINE).get()).getIndex());
+    }
+
     private BufferedImage loadBaseline()
     {
         try
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -42,6 +43,7 @@ import org.vividus.http.HttpRequestExecutor;
 import org.vividus.http.HttpTestContext;
 import org.vividus.http.validation.ResourceValidator;
 import org.vividus.http.validation.model.CheckStatus;
+import org.vividus.http.validation.model.ResourceValidationStatistics;
 import org.vividus.reporter.event.AttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.testcontext.ContextCopyingExecutor;
@@ -122,18 +124,16 @@ public class ResourceCheckSteps
 
     private void validateResources(Stream<WebPageResourceValidation> resourceValidation)
     {
-        Set<WebPageResourceValidation> results = resourceValidation
-               .map(this::validate)
-               .collect(Collectors.toCollection(TreeSet::new));
-        attachmentPublisher.publishAttachment("resources-validation-result.ftl", Map.of("results", results),
-                "Resource validation results");
-    }
-
-    private WebPageResourceValidation validate(WebPageResourceValidation r)
-    {
-        return CheckStatus.BROKEN == r.getCheckStatus() || CheckStatus.FILTERED == r.getCheckStatus()
-                ? r
-                : resourceValidator.perform(r);
+        long start = System.currentTimeMillis();
+        Map<Boolean, List<WebPageResourceValidation>> validations = resourceValidation.collect(
+                Collectors.partitioningBy(r -> CheckStatus.BROKEN == r.getCheckStatus()
+                        || CheckStatus.FILTERED == r.getCheckStatus()));
+        Set<WebPageResourceValidation> results = new TreeSet<>(validations.get(true));
+        results.addAll(resourceValidator.perform(validations.get(false)));
+        ResourceValidationStatistics statistics = ResourceValidationStatistics.of(results,
+                System.currentTimeMillis() - start);
+        attachmentPublisher.publishAttachment("resources-validation-result.ftl",
+                Map.of("results", results, "statistics", statistics), "Resource validation results");
     }
 
     private Stream<WebPageResourceValidation> createResourceValidations(Collection<Element> elements,
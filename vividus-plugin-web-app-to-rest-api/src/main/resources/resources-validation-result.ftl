@@ -39,6 +39,37 @@
         }
     </style>
 
+    <#if statistics??>
+    <table class="table table-bordered table-condensed">
+        <thead>
+            <tr>
+                <th>Host</th>
+                <th>Checked resources</th>
+                <th>Average response time, ms</th>
+                <th>Max response time, ms</th>
+            </tr>
+        </thead>
+        <tbody>
+            <#list statistics.hostStatistics as hostStatistics>
+                <tr>
+                    <td>${hostStatistics.host}</td>
+                    <td>${hostStatistics.requests}</td>
+                    <td>${hostStatistics.averageResponseTimeInMs?string["0.#"]}</td>
+                    <td>${hostStatistics.maxResponseTimeInMs}</td>
+                </tr>
+            </#list>
+        </tbody>
+        <tfoot>
+            <tr>
+                <th colspan="4">
+                    ${statistics.checkedResources} resources checked in ${statistics.durationInMs} ms
+                    (${statistics.throughput?string["0.##"]} resources per second)
+                </th>
+            </tr>
+        </tfoot>
+    </table>
+    </#if>
+
     <table class="table table-hover table-bordered table-condensed fixedHeader">
         <thead>
             <tr>
@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -35,7 +36,10 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -60,6 +64,8 @@ import org.vividus.http.HttpTestContext;
 import org.vividus.http.client.HttpResponse;
 import org.vividus.http.validation.ResourceValidator;
 import org.vividus.http.validation.model.CheckStatus;
+import org.vividus.http.validation.model.ResourceValidationStatistics;
+import org.vividus.http.validation.model.ResourceValidationStatistics.HostStatistics;
 import org.vividus.reporter.event.AttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.testcontext.ContextCopyingExecutor;
@@ -78,6 +84,8 @@ class ResourceCheckStepsTests
     private static final String THIRD_PAGE_URL = "https://third.page";
     private static final String N_A = "N/A";
     private static final String RESULTS = "results";
+    private static final String STATISTICS = "statistics";
+    private static final long RESPONSE_TIME = 100;
     private static final String MAILTO_ID = "#mailto";
     private static final URI MAILTO_URI = URI.create("mailto:by.kalinin@gmail.com");
     private static final String JS_ID = "#js";
@@ -201,6 +209,16 @@ class ResourceCheckStepsTests
             validate(resourceValidations, FTP_URI, FTP_ID, CheckStatus.FILTERED, N_A);
             validate(resourceValidations, JS_URI, JS_ID, CheckStatus.FILTERED, N_A);
             validate(resourceValidations, MAILTO_URI, MAILTO_ID, CheckStatus.FILTERED, N_A);
+            ResourceValidationStatistics statistics = (ResourceValidationStatistics) ((Map<?, ?>) m)
+                    .get(STATISTICS);
+            assertEquals(7, statistics.getCheckedResources());
+            List<HostStatistics> hostStatistics = statistics.getHostStatistics();
+            assertThat(hostStatistics, hasSize(4));
+            HostStatistics vividusStatistics = hostStatistics.get(2);
+            assertEquals("vividus.org", vividusStatistics.getHost());
+            assertEquals(4, vividusStatistics.getRequests());
+            assertEquals(RESPONSE_TIME, vividusStatistics.getAverageResponseTimeInMs());
+            assertEquals(RESPONSE_TIME, vividusStatistics.getMaxResponseTimeInMs());
             return true;
         }), eq(REPORT_NAME));
     }
@@ -412,11 +430,14 @@ class ResourceCheckStepsTests
 
     private void mockResourceValidator()
     {
-        when(resourceValidator.perform(any(WebPageResourceValidation.class)))
+        when(resourceValidator.perform(anyCollection()))
             .thenAnswer(invocation -> {
-                WebPageResourceValidation resourceValidation = invocation.getArgument(0);
-                resourceValidation.setCheckStatus(CheckStatus.PASSED);
-                return resourceValidation;
+                Collection<WebPageResourceValidation> resourceValidations = invocation.getArgument(0);
+                resourceValidations.forEach(resourceValidation -> {
+                    resourceValidation.setCheckStatus(CheckStatus.PASSED);
+                    resourceValidation.setResponseTimeInMs(RESPONSE_TIME);
+                });
+                return new ArrayList<>(resourceValidations);
             });
     }
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action.search;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.WebElement;
+import org.vividus.ui.action.search.IInBrowserElementEvaluator;
+import org.vividus.ui.action.search.LocatorType;
+import org.vividus.ui.web.action.WebJavascriptActions;
+import org.vividus.util.ResourceUtils;
+
+public class InBrowserElementEvaluator implements IInBrowserElementEvaluator
+{
+    private static final String EVALUATE_VISIBILITY_SCRIPT = loadScript("evaluate-visibility.js");
+    private static final String FILTER_ELEMENTS_SCRIPT = loadScript("filter-elements.js");
+
+    private static final Set<WebLocatorType> SUPPORTED_FILTERS = EnumSet.of(WebLocatorType.CLASS_ATTRIBUTE_PART,
+            WebLocatorType.PLACEHOLDER, WebLocatorType.TOOLTIP, WebLocatorType.IMAGE_SRC_PART,
+            WebLocatorType.FIELD_TEXT, WebLocatorType.FIELD_TEXT_PART);
+
+    private final WebJavascriptActions javascriptActions;
+
+    public InBrowserElementEvaluator(WebJavascriptActions javascriptActions)
+    {
+        this.javascriptActions = javascriptActions;
+    }
+
+    @Override
+    public List<Boolean> evaluateVisibility(List<WebElement> elements)
+    {
+        return javascriptActions.executeScript(EVALUATE_VISIBILITY_SCRIPT, elements);
+    }
+
+    @Override
+    public boolean isSupported(LocatorType filterType)
+    {
+        return SUPPORTED_FILTERS.contains(filterType);
+    }
+
+    @Override
+    public List<WebElement> filter(List<WebElement> elements, List<Entry<LocatorType, String>> filters)
+    {
+        List<List<String>> scriptFilters = filters.stream()
+                .map(filter -> List.of(filter.getKey().getKey(), filter.getValue()))
+                .collect(Collectors.toList());
+        List<Number> matchingIndices = javascriptActions.executeScript(FILTER_ELEMENTS_SCRIPT, elements,
+                scriptFilters);
+        return matchingIndices.stream().map(index -> elements.get(index.intValue())).collect(Collectors.toList());
+    }
+
+    private static String loadScript(String scriptName)
+    {
+        return ResourceUtils.loadResource(InBrowserElementEvaluator.class, scriptName);
+    }
+}
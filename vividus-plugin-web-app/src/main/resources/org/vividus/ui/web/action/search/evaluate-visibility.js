@@ -0,0 +1,22 @@
+const elements = arguments[0];
+
+// The check is conservative: 'true' is returned only for elements which are displayed for sure,
+// the rest ones are double-checked using WebDriver
+function isDisplayed(element) {
+    if (!element.isConnected || window.getComputedStyle(element).visibility !== 'visible') {
+        return false;
+    }
+    const rects = Array.from(element.getClientRects());
+    if (!rects.some(rect => rect.width > 0 && rect.height > 0)) {
+        return false;
+    }
+    for (let node = element; node instanceof Element; node = node.parentElement || node.getRootNode().host) {
+        const style = window.getComputedStyle(node);
+        if (style.display === 'none' || parseFloat(style.opacity) === 0) {
+            return false;
+        }
+    }
+    return true;
+}
+
+return elements.map(isDisplayed);
@@ -0,0 +1,28 @@
+const elements = arguments[0];
+const filters = arguments[1];
+
+function getSource(element) {
+    const source = element.src !== undefined ? element.src : element.getAttribute('src');
+    return source == null ? '' : String(source);
+}
+
+function getValue(element) {
+    return element.value == null ? null : String(element.value);
+}
+
+const predicates = {
+    CLASS_ATTRIBUTE_PART: (element, value) => (element.getAttribute('class') || '').includes(value),
+    PLACEHOLDER: (element, value) => element.getAttribute('placeholder') === value,
+    TOOLTIP: (element, value) => element.getAttribute('title') === value,
+    IMAGE_SRC_PART: (element, value) => getSource(element).includes(value),
+    FIELD_TEXT: (element, value) => getValue(element) === value,
+    FIELD_TEXT_PART: (element, value) => (getValue(element) || '').includes(value)
+};
+
+const matchingIndices = [];
+elements.forEach((element, index) => {
+    if (filters.every(([type, value]) => predicates[type](element, value))) {
+        matchingIndices.push(index);
+    }
+});
+return matchingIndices;
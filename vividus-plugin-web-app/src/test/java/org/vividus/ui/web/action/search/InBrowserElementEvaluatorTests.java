@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.WebElement;
+import org.vividus.ui.web.action.WebJavascriptActions;
+
+@ExtendWith(MockitoExtension.class)
+class InBrowserElementEvaluatorTests
+{
+    @Mock private WebElement element1;
+    @Mock private WebElement element2;
+    @Mock private WebJavascriptActions javascriptActions;
+    @InjectMocks private InBrowserElementEvaluator inBrowserElementEvaluator;
+
+    @Test
+    void shouldEvaluateVisibility()
+    {
+        List<WebElement> elements = List.of(element1, element2);
+        List<Boolean> visibility = List.of(true, false);
+        when(javascriptActions.executeScript(argThat(script -> script.contains("getClientRects")), eq(elements)))
+                .thenReturn(visibility);
+        assertEquals(visibility, inBrowserElementEvaluator.evaluateVisibility(elements));
+    }
+
+    @Test
+    void shouldFilterElements()
+    {
+        List<WebElement> elements = List.of(element1, element2);
+        String value = "value";
+        when(javascriptActions.executeScript(argThat(script -> script.contains("predicates")), eq(elements),
+                eq(List.of(List.of("PLACEHOLDER", value))))).thenReturn(List.of(1L));
+        assertEquals(List.of(element2), inBrowserElementEvaluator.filter(elements,
+                List.of(Map.entry(WebLocatorType.PLACEHOLDER, value))));
+    }
+
+    @ParameterizedTest
+    @EnumSource(names = { "CLASS_ATTRIBUTE_PART", "PLACEHOLDER", "TOOLTIP", "IMAGE_SRC_PART", "FIELD_TEXT",
+            "FIELD_TEXT_PART" })
+    void shouldSupportFilter(WebLocatorType filterType)
+    {
+        assertTrue(inBrowserElementEvaluator.isSupported(filterType));
+    }
+
+    @ParameterizedTest
+    @EnumSource(names = { "TEXT_PART", "STATE", "RELATIVE_TO_PARENT_WIDTH", "DROP_DOWN_TEXT" })
+    void shouldNotSupportFilter(WebLocatorType filterType)
+    {
+        assertFalse(inBrowserElementEvaluator.isSupported(filterType));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import com.google.common.eventbus.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.reporter.model.Attachment;
+import org.vividus.reporter.model.Attachment.ContentWriter;
 import org.vividus.util.freemarker.FreemarkerProcessor;
 
 import freemarker.template.TemplateException;
@@ -39,6 +40,8 @@ public class AttachmentPublisher implements IAttachmentPublisher
     {
         try
         {
+            // The template is rendered on the publishing thread, so the later changes of the data model do not affect
+            // the attachment, and only the attachment writing is deferred
             byte[] attachmentContent = freemarkerProcessor.process(templateName, dataModel);
             publishAttachment(new Attachment(attachmentContent, title, "text/html"));
         }
@@ -54,6 +57,12 @@ public class AttachmentPublisher implements IAttachmentPublisher
         publishAttachment(new Attachment(attachmentContent, fileName));
     }
 
+    @Override
+    public void publishAttachment(ContentWriter contentWriter, String title, String contentType)
+    {
+        publishAttachment(new Attachment(contentWriter, title, contentType));
+    }
+
     private void publishAttachment(Attachment attachment)
     {
         eventBus.post(new AttachmentPublishEvent(attachment));
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,20 @@
 
 package org.vividus.reporter.event;
 
+import org.vividus.reporter.model.Attachment.ContentWriter;
+
 public interface IAttachmentPublisher
 {
     void publishAttachment(String templateName, Object dataModel, String title);
 
     void publishAttachment(byte[] attachmentContent, String fileName);
+
+    /**
+     * Publishes the attachment which content is written on demand, so the content is never held in the memory
+     *
+     * @param contentWriter the writer generating the attachment content
+     * @param title         the attachment title
+     * @param contentType   the attachment content type
+     */
+    void publishAttachment(ContentWriter contentWriter, String title, String contentType);
 }
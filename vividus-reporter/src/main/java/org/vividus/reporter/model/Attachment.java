@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,10 @@
 
 package org.vividus.reporter.model;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URLConnection;
 
 import com.google.common.io.Files;
@@ -25,12 +29,29 @@ import org.apache.commons.lang3.ArrayUtils;
 public class Attachment
 {
     private final byte[] content;
+    private final ContentWriter contentWriter;
     private final String title;
     private final String contentType;
 
     public Attachment(byte[] content, String title, String contentType)
     {
         this.content = ArrayUtils.clone(content);
+        this.contentWriter = outputStream -> outputStream.write(this.content);
+        this.title = title;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Creates the attachment which content is generated on demand, e.g. when the attachment is written to the report.
+     *
+     * @param contentWriter the writer generating the attachment content
+     * @param title         the attachment title
+     * @param contentType   the attachment content type
+     */
+    public Attachment(ContentWriter contentWriter, String title, String contentType)
+    {
+        this.content = null;
+        this.contentWriter = contentWriter;
         this.title = title;
         this.contentType = contentType;
     }
@@ -47,7 +68,24 @@ public class Attachment
 
     public byte[] getContent()
     {
-        return ArrayUtils.clone(content);
+        if (content != null)
+        {
+            return ArrayUtils.clone(content);
+        }
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream())
+        {
+            contentWriter.write(outputStream);
+            return outputStream.toByteArray();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void writeContent(OutputStream outputStream) throws IOException
+    {
+        contentWriter.write(outputStream);
     }
 
     public String getTitle()
@@ -59,4 +97,10 @@ public class Attachment
     {
         return contentType;
     }
+
+    @FunctionalInterface
+    public interface ContentWriter
+    {
+        void write(OutputStream outputStream) throws IOException;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,15 +17,20 @@
 package org.vividus.reporter.event;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.error;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
@@ -34,6 +39,7 @@ import com.google.common.eventbus.EventBus;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -48,6 +54,7 @@ class AttachmentPublisherTests
     private static final String TEMPLATE_NAME = "templateName";
     private static final String TITLE = "title";
     private static final String TEXT_HTML = "text/html";
+    private static final String RENDERED_CONTENT = "rendered content";
 
     private final TestLogger logger = TestLoggerFactory.getTestLogger(AttachmentPublisher.class);
 
@@ -82,6 +89,23 @@ class AttachmentPublisherTests
         assertEquals(List.of(), logger.getLoggingEvents());
     }
 
+    @Test
+    void shouldNotReflectDataModelChangesMadeAfterPublishing() throws IOException, TemplateException
+    {
+        Map<String, String> dataModel = new HashMap<>(Map.of(TITLE, RENDERED_CONTENT));
+        when(freemarkerProcessor.process(TEMPLATE_NAME, dataModel)).thenAnswer(
+                invocation -> dataModel.get(TITLE).getBytes(StandardCharsets.UTF_8));
+        attachmentPublisher.publishAttachment(TEMPLATE_NAME, dataModel, TITLE);
+        dataModel.put(TITLE, "changed content");
+        ArgumentCaptor<AttachmentPublishEvent> eventCaptor = ArgumentCaptor.forClass(AttachmentPublishEvent.class);
+        verify(eventBus).post(eventCaptor.capture());
+        Attachment attachment = eventCaptor.getValue().getAttachment();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        attachment.writeContent(outputStream);
+        assertEquals(RENDERED_CONTENT, outputStream.toString(StandardCharsets.UTF_8));
+        assertEquals(RENDERED_CONTENT, new String(attachment.getContent(), StandardCharsets.UTF_8));
+    }
+
     @Test
     void testPublishAttachmentWithTemplateProcessingException() throws IOException, TemplateException
     {
@@ -111,4 +135,20 @@ class AttachmentPublisherTests
         }));
         assertEquals(List.of(), logger.getLoggingEvents());
     }
+
+    @Test
+    void testPublishStreamedAttachment() throws IOException
+    {
+        byte[] attachmentContent = { 1, 2, 3 };
+        attachmentPublisher.publishAttachment(outputStream -> outputStream.write(attachmentContent), TITLE,
+                TEXT_HTML);
+        ArgumentCaptor<AttachmentPublishEvent> eventCaptor = ArgumentCaptor.forClass(AttachmentPublishEvent.class);
+        verify(eventBus).post(eventCaptor.capture());
+        Attachment attachment = eventCaptor.getValue().getAttachment();
+        assertEquals(TITLE, attachment.getTitle());
+        assertEquals(TEXT_HTML, attachment.getContentType());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        attachment.writeContent(outputStream);
+        assertArrayEquals(attachmentContent, outputStream.toByteArray());
+    }
 }
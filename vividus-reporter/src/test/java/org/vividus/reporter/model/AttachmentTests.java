@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,7 +18,11 @@ package org.vividus.reporter.model;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
@@ -39,6 +43,36 @@ class AttachmentTests
         assertArrayEquals(CONTENT, attachment.getContent());
     }
 
+    @Test
+    void shouldWriteContent() throws IOException
+    {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        attachment.writeContent(outputStream);
+        assertArrayEquals(CONTENT, outputStream.toByteArray());
+    }
+
+    @Test
+    void shouldGenerateContentOnDemand() throws IOException
+    {
+        Attachment generatedAttachment = new Attachment(outputStream -> outputStream.write(CONTENT), TITLE,
+                CONTENT_TYPE);
+        assertArrayEquals(CONTENT, generatedAttachment.getContent());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generatedAttachment.writeContent(outputStream);
+        assertArrayEquals(CONTENT, outputStream.toByteArray());
+    }
+
+    @Test
+    void shouldWrapContentGenerationError()
+    {
+        IOException exception = new IOException("error");
+        Attachment generatedAttachment = new Attachment(outputStream -> {
+            throw exception;
+        }, TITLE, CONTENT_TYPE);
+        UncheckedIOException actual = assertThrows(UncheckedIOException.class, generatedAttachment::getContent);
+        assertEquals(exception, actual.getCause());
+    }
+
     @Test
     void testGetTitle()
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,8 +38,16 @@ public class ContextCopyingExecutor
     {
         Map<Object, Object> runContextData = new HashMap<>();
         testContext.copyAllTo(runContextData);
-        new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
-                new ContextAwareForkJoinThreadsFactory(runContextData), handler, false).submit(toRun).get();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                new ContextAwareForkJoinThreadsFactory(runContextData), handler, false);
+        try
+        {
+            pool.submit(toRun).get();
+        }
+        finally
+        {
+            pool.shutdown();
+        }
     }
 
     private final class ContextAwareForkJoinThreadsFactory implements ForkJoinWorkerThreadFactory
@@ -18,7 +18,9 @@ package org.vividus.util.freemarker;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -40,16 +42,22 @@ public class FreemarkerProcessor
 
     public byte[] process(String templateName, Object dataModel) throws IOException, TemplateException
     {
-        Template template = getTemplate(templateName);
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-                OutputStreamWriter outputStreamWriter = new OutputStreamWriter(byteArrayOutputStream,
-                        StandardCharsets.UTF_8.name()))
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream())
         {
-            template.process(dataModel, outputStreamWriter);
+            process(templateName, dataModel, byteArrayOutputStream);
             return byteArrayOutputStream.toByteArray();
         }
     }
 
+    public void process(String templateName, Object dataModel, OutputStream outputStream)
+            throws IOException, TemplateException
+    {
+        Template template = getTemplate(templateName);
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        template.process(dataModel, writer);
+        writer.flush();
+    }
+
     public String process(String templateName, Object dataModel, Charset charset) throws IOException, TemplateException
     {
         byte[] data = process(templateName, dataModel);
@@ -16,12 +16,17 @@
 
 package org.vividus.util.json;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
@@ -33,6 +38,19 @@ import com.jayway.jsonpath.spi.mapper.MappingProvider;
 
 public final class JsonPathUtils
 {
+    private static final int MAX_CACHED_DOCUMENTS = 8;
+
+    /**
+     * Parsed documents are keyed by the JSON content, so the sequential lookups of different paths in the same
+     * JSON (e.g. in the current JSON context) parse it only once. Compiled JSON paths are cached by the JsonPath
+     * library itself. The memory used by the parsed documents is much larger than the size of the JSON, so only a
+     * few documents are cached and they can be reclaimed by the garbage collector at any time.
+     */
+    private static final Cache<String, DocumentContext> DOCUMENTS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_DOCUMENTS)
+            .softValues()
+            .build();
+
     static
     {
         setJacksonConfiguration();
@@ -67,9 +85,50 @@ public final class JsonPathUtils
         return jsonPaths.stream().map(jsonPathContext::<T>read).collect(Collectors.toList());
     }
 
+    /**
+     * Gets data using jsonPath from the JSON which is queried many times (e.g. JSON context), the JSON is parsed
+     * only once and the parsed document is cached. The returned objects and arrays are copies, so they can be
+     * modified without affecting the cached document.
+     * @param <T> resulting type
+     * @param json JSON String
+     * @param jsonPath JSON path
+     * @return desired data from JSON
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getDataFromReusedJson(String json, String jsonPath)
+    {
+        if (json == null)
+        {
+            return getData(json, jsonPath);
+        }
+        DocumentContext document = DOCUMENTS.getIfPresent(json);
+        if (document == null)
+        {
+            document = JsonPath.parse(json);
+            DOCUMENTS.put(json, document);
+        }
+        return (T) copy(document.read(jsonPath));
+    }
+
+    private static Object copy(Object data)
+    {
+        if (data instanceof Map)
+        {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<?, ?>) data).forEach((key, value) -> copy.put(key, copy(value)));
+            return copy;
+        }
+        if (data instanceof List)
+        {
+            return ((List<?>) data).stream().map(JsonPathUtils::copy).collect(Collectors.toCollection(ArrayList::new));
+        }
+        return data;
+    }
+
     public static void setJacksonConfiguration()
     {
         Configuration.setDefaults(new JacksonConfiguration());
+        DOCUMENTS.invalidateAll();
     }
 
     private static final class JacksonConfiguration implements Configuration.Defaults
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
@@ -63,6 +64,15 @@ class FreemarkerProcessorTests
         assertEquals(EXPECTED_JSON, actualJson);
     }
 
+    @Test
+    void shouldProcessTemplateToOutputStream() throws IOException, TemplateException
+    {
+        Map<String, Object> map = Map.of("id", ID, "field", "test field");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        freemarkerProcessor.process(RELATIVE_PATH, map, outputStream);
+        assertEquals(EXPECTED_JSON, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
     @Test
     void testProcessIOException()
     {
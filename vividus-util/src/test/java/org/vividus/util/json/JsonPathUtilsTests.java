@@ -17,6 +17,7 @@
 package org.vividus.util.json;
 
 import java.util.List;
+import java.util.Map;
 
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
@@ -55,6 +56,19 @@ class JsonPathUtilsTests
         Assertions.assertEquals(data, List.of(VALUES, 1, true, "data"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldNotModifyCachedDocument()
+    {
+        String json = "{\"test\":{\"name\":\"value\"},\"array\":[{\"key\":1}]}";
+        Map<String, Object> data = JsonPathUtils.getDataFromReusedJson(json, "$");
+        data.remove("test");
+        ((Map<String, Object>) ((List<Object>) data.get("array")).get(0)).put("key", 2);
+        Map<String, Object> test = JsonPathUtils.getDataFromReusedJson(new String(json), "$.test");
+        Assertions.assertEquals(Map.of("name", "value"), test);
+        Assertions.assertEquals(1, JsonPathUtils.<Integer>getDataFromReusedJson(json, "$.array[0].key"));
+    }
+
     @Test
     void testConfiguration()
     {
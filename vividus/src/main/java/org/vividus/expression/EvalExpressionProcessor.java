@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,7 +47,7 @@ public class EvalExpressionProcessor extends AbstractExpressionProcessor<String>
 
     public EvalExpressionProcessor(VariableContext variableContext)
     {
-        super(EVAL_PATTERN);
+        super(EVAL_PATTERN, "eval");
         this.variableContext = variableContext;
     }
 
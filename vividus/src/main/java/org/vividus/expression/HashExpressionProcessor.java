@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,7 +40,7 @@ public class HashExpressionProcessor extends AbstractExpressionProcessor<String>
 
     protected HashExpressionProcessor(FluentTrimmedEnumConverter fluentTrimmedEnumConverter)
     {
-        super(HASH_PATTERN);
+        super(HASH_PATTERN, "calculateHash", "calculateFileHash");
         this.fluentTrimmedEnumConverter = fluentTrimmedEnumConverter;
     }
 
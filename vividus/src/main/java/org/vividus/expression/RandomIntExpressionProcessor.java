@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,7 +31,7 @@ public class RandomIntExpressionProcessor extends AbstractExpressionProcessor<In
 
     public RandomIntExpressionProcessor()
     {
-        super(RANDOM_VALUE_PATTERN);
+        super(RANDOM_VALUE_PATTERN, "randomInt");
     }
 
     @Override
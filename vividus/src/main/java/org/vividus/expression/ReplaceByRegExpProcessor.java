@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -37,6 +38,8 @@ public class ReplaceByRegExpProcessor implements IExpressionProcessor<String>
             buildPattern("First"), matcher -> matcher::replaceFirst,
             buildPattern("All"),   matcher -> matcher::replaceAll);
 
+    private static final Set<String> EXPRESSION_NAMES = Set.of("replaceFirstByRegExp", "replaceAllByRegExp");
+
     private static final int REG_EXP_INDEX = 0;
     private static final int REPLACEMENT_INDEX = 1;
     private static final int INPUT_INDEX = 2;
@@ -67,6 +70,12 @@ public class ReplaceByRegExpProcessor implements IExpressionProcessor<String>
         return Optional.empty();
     }
 
+    @Override
+    public Set<String> getExpressionNames()
+    {
+        return EXPRESSION_NAMES;
+    }
+
     private static List<String> processMatchExpressionResult(Matcher expressionMatcher)
     {
         return IntStream.rangeClosed(1, expressionMatcher.groupCount())
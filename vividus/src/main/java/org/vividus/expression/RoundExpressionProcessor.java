@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,7 +49,7 @@ public class RoundExpressionProcessor extends AbstractExpressionProcessor<String
 
     public RoundExpressionProcessor(FluentEnumConverter fluentEnumConverter)
     {
-        super(ROUND_EXPRESSION_PATTERN);
+        super(ROUND_EXPRESSION_PATTERN, "round");
         this.fluentEnumConverter = fluentEnumConverter;
     }
 
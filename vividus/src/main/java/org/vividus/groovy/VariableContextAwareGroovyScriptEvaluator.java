@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,22 +16,173 @@
 
 package org.vividus.groovy;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scripting.ScriptCompilationException;
 import org.springframework.scripting.ScriptSource;
 import org.springframework.scripting.groovy.GroovyScriptEvaluator;
+import org.springframework.util.ClassUtils;
 import org.vividus.context.VariableContext;
 
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.MissingPropertyException;
+import groovy.lang.Script;
+
+/**
+ * Groovy script evaluator exposing the variables of the current context to the scripts. The scripts are compiled once
+ * per source text and the compiled classes are kept in a bounded cache, while every evaluation runs its own script
+ * instance, so no state leaks between evaluations. The variables are resolved from the variable context only when the
+ * script reads them.
+ */
 public class VariableContextAwareGroovyScriptEvaluator extends GroovyScriptEvaluator
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VariableContextAwareGroovyScriptEvaluator.class);
+
     private final VariableContext variableContext;
+    private final Cache<String, Class<? extends Script>> scriptClasses;
 
-    public VariableContextAwareGroovyScriptEvaluator(VariableContext variableContext)
+    private CompilerConfiguration compilerConfiguration = new CompilerConfiguration();
+    private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    public VariableContextAwareGroovyScriptEvaluator(VariableContext variableContext, int cacheSize)
     {
         this.variableContext = variableContext;
+        this.scriptClasses = CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build();
     }
 
     @Override
     public Object evaluate(ScriptSource script)
     {
-        return evaluate(script, variableContext.getVariables());
+        return evaluate(script, null);
+    }
+
+    @Override
+    public Object evaluate(ScriptSource script, Map<String, Object> arguments)
+    {
+        Class<? extends Script> scriptClass = getScriptClass(script);
+        Binding binding = new VariableContextBinding(arguments == null ? new HashMap<>() : new HashMap<>(arguments));
+        return InvokerHelper.createScript(scriptClass, binding).run();
+    }
+
+    private Class<? extends Script> getScriptClass(ScriptSource script)
+    {
+        try
+        {
+            String source = script.getScriptAsString();
+            return scriptClasses.get(source, () -> compile(source));
+        }
+        catch (IOException e)
+        {
+            throw new ScriptCompilationException(script, "Cannot access Groovy script", e);
+        }
+        catch (ExecutionException | UncheckedExecutionException e)
+        {
+            if (e.getCause() instanceof CompilationFailedException)
+            {
+                throw new ScriptCompilationException(script, e.getCause());
+            }
+            throw new ScriptCompilationException(script, "Unable to compile Groovy script", e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends Script> compile(String source) throws IOException
+    {
+        // Each script gets its own class loader, so the classes evicted from the cache can be unloaded
+        try (GroovyClassLoader groovyClassLoader = new GroovyClassLoader(classLoader, compilerConfiguration))
+        {
+            return groovyClassLoader.parseClass(source);
+        }
+    }
+
+    /**
+     * Provides the statistics of the compiled scripts cache: the hits, the compilations and their total time.
+     *
+     * @return the statistics of the compiled scripts cache
+     */
+    public CacheStats getCacheStatistics()
+    {
+        return scriptClasses.stats();
+    }
+
+    public void logStatistics()
+    {
+        CacheStats statistics = getCacheStatistics();
+        if (statistics.requestCount() > 0)
+        {
+            LOGGER.info("Groovy scripts: {} evaluations, {} compiled scripts cache hits, {} compilations took {} ms,"
+                    + " {} evictions", statistics.requestCount(), statistics.hitCount(), statistics.loadCount(),
+                    TimeUnit.NANOSECONDS.toMillis(statistics.totalLoadTime()), statistics.evictionCount());
+        }
+    }
+
+    @Override
+    public void setCompilerConfiguration(CompilerConfiguration compilerConfiguration)
+    {
+        super.setCompilerConfiguration(compilerConfiguration);
+        this.compilerConfiguration = compilerConfiguration != null ? compilerConfiguration
+                : new CompilerConfiguration();
+        scriptClasses.invalidateAll();
+    }
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader)
+    {
+        super.setBeanClassLoader(classLoader);
+        this.classLoader = classLoader;
+        scriptClasses.invalidateAll();
+    }
+
+    /**
+     * The binding keeps the variables defined by the script and the passed arguments locally, the variables of the
+     * context are looked up on the first access, so the scripts do not pay for copying the whole variable context.
+     * Only the variables of the context itself are visible to the scripts: the lookup uses the merged view of the
+     * scopes, without falling back to the system properties and the environment variables.
+     */
+    private final class VariableContextBinding extends Binding
+    {
+        private VariableContextBinding(Map<String, Object> variables)
+        {
+            super(variables);
+        }
+
+        @Override
+        public Object getVariable(String name)
+        {
+            Map<String, Object> variables = getVariables();
+            if (variables.containsKey(name))
+            {
+                return variables.get(name);
+            }
+            Map<String, Object> contextVariables = variableContext.getVariables();
+            if (!contextVariables.containsKey(name))
+            {
+                throw new MissingPropertyException(name, getClass());
+            }
+            Object value = contextVariables.get(name);
+            variables.put(name, value);
+            return value;
+        }
+
+        @Override
+        public boolean hasVariable(String name)
+        {
+            return getVariables().containsKey(name) || variableContext.getVariables().containsKey(name);
+        }
     }
 }
@@ -21,12 +21,11 @@ import static org.apache.commons.lang3.Validate.isTrue;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 
-public abstract class AbstractFilteringTableTransformer implements ExtendedTableTransformer
+public abstract class AbstractFilteringTableTransformer implements StructuredTableTransformer
 {
     protected static final String BY_COLUMNS_NAMES_PROPERTY = "byColumnNames";
 
@@ -45,19 +44,4 @@ public abstract class AbstractFilteringTableTransformer implements ExtendedTable
         filtered.retainAll(selectedColumnNames);
         return filtered;
     }
-
-    protected void filterRowsByColumnNames(List<String> allColumnNames, List<List<String>> rows,
-            List<String> columnNamesToKeep)
-    {
-        int[] indexesToRemove = IntStream.range(0, allColumnNames.size())
-                .filter(i -> !columnNamesToKeep.contains(allColumnNames.get(i)))
-                .sorted()
-                .toArray();
-        rows.forEach(row -> {
-            for (int i = indexesToRemove.length - 1; i >= 0; i--)
-            {
-                row.remove(indexesToRemove[i]);
-            }
-        });
-    }
 }
@@ -22,6 +22,9 @@ import static org.apache.commons.lang3.Validate.isTrue;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -46,6 +49,25 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
     }
 
     protected List<ExamplesTable> loadTables(String tableAsString, TableProperties tableProperties)
+    {
+        return loadTables(!tableAsString.isBlank(), () -> parseInputTable(tableAsString, tableProperties),
+                tableProperties, Function.identity(), ExamplesTable::getRowCount);
+    }
+
+    protected List<ColumnarTable> loadTables(ColumnarTable inputTable, TableProperties tableProperties)
+    {
+        return loadTables(!inputTable.isEmpty(), () -> inputTable, tableProperties, ColumnarTable::fromExamplesTable,
+                ColumnarTable::getRowCount);
+    }
+
+    protected ExamplesTable parseInputTable(String tableAsString, TableProperties tableProperties)
+    {
+        return configuration.examplesTableFactory().createExamplesTable(
+                getSeparatorsAsString(tableProperties) + tableAsString);
+    }
+
+    private <T> List<T> loadTables(boolean hasInputTable, Supplier<T> inputTable, TableProperties tableProperties,
+            Function<ExamplesTable, T> tableMapper, ToIntFunction<T> rowCounter)
     {
         List<String> tables = Optional.ofNullable(tableProperties.getProperties().getProperty("tables"))
                 .stream()
@@ -58,8 +80,8 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
 
         ExamplesTableFactory factory = configuration.examplesTableFactory();
 
-        List<DescriptiveTable> descriptiveTables = new ArrayList<>();
-        if (tableAsString.isBlank())
+        List<DescriptiveTable<T>> descriptiveTables = new ArrayList<>();
+        if (!hasInputTable)
         {
             isTrue(tables.size() > 1, "Please, specify more than one unique table paths");
         }
@@ -67,20 +89,19 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
         {
             isTrue(!tables.isEmpty(), "Please, specify at least one table path");
 
-            descriptiveTables.add(new DescriptiveTable("input table",
-                    factory.createExamplesTable(getSeparatorsAsString(tableProperties) + tableAsString)));
+            descriptiveTables.add(new DescriptiveTable<>("input table", inputTable.get()));
         }
 
-        List<DescriptiveTable> pathTables = IntStream.range(0, tables.size())
-                 .mapToObj(index -> new DescriptiveTable(String.format("table at index %d", index + 1),
-                        factory.createExamplesTable(tables.get(index))))
+        List<DescriptiveTable<T>> pathTables = IntStream.range(0, tables.size())
+                 .mapToObj(index -> new DescriptiveTable<>(String.format("table at index %d", index + 1),
+                        tableMapper.apply(factory.createExamplesTable(tables.get(index)))))
                  .collect(Collectors.toList());
 
         descriptiveTables.addAll(0, pathTables);
 
         if (forbidEmptyTables)
         {
-            checkEmptyTables(descriptiveTables);
+            checkEmptyTables(descriptiveTables, rowCounter);
         }
 
         return descriptiveTables.stream()
@@ -104,10 +125,10 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
                 valueSeparator, ignorableSeparator);
     }
 
-    private void checkEmptyTables(List<DescriptiveTable> tables)
+    private <T> void checkEmptyTables(List<DescriptiveTable<T>> tables, ToIntFunction<T> rowCounter)
     {
         List<String> emptyTables = tables.stream()
-                                         .filter(w -> w.getTable().getRowCount() == 0)
+                                         .filter(w -> rowCounter.applyAsInt(w.getTable()) == 0)
                                          .map(DescriptiveTable::getDescription)
                                          .collect(Collectors.toList());
 
@@ -119,12 +140,12 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
         return configuration;
     }
 
-    private static final class DescriptiveTable
+    private static final class DescriptiveTable<T>
     {
         private final String description;
-        private final ExamplesTable table;
+        private final T table;
 
-        DescriptiveTable(String description, ExamplesTable table)
+        DescriptiveTable(String description, T table)
         {
             this.description = description;
             this.table = table;
@@ -135,7 +156,7 @@ public abstract class AbstractTableLoadingTransformer implements ExtendedTableTr
             return description;
         }
 
-        ExamplesTable getTable()
+        T getTable()
         {
             return table;
         }
@@ -18,24 +18,16 @@ package org.vividus.transformer;
 
 import static org.apache.commons.lang3.Validate.isTrue;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
-
-import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
 public class CartesianProductTableTransformer extends AbstractTableLoadingTransformer
+        implements StructuredTableTransformer
 {
     public CartesianProductTableTransformer()
     {
@@ -43,12 +35,19 @@ public class CartesianProductTableTransformer extends AbstractTableLoadingTransf
     }
 
     @Override
-    public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
+    public ColumnarTable parse(String tableAsString, TableParsers tableParsers, TableProperties properties)
+    {
+        return tableAsString.isBlank() ? ColumnarTable.empty()
+                : ColumnarTable.fromExamplesTable(parseInputTable(tableAsString, properties));
+    }
+
+    @Override
+    public ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties properties)
     {
-        List<ExamplesTable> tables = loadTables(tableAsString, properties);
+        List<ColumnarTable> tables = loadTables(table, properties);
 
         Set<String> repeatingKeys = tables.stream()
-                                          .map(ExamplesTable::getHeaders)
+                                          .map(ColumnarTable::getHeaders)
                                           .flatMap(List::stream)
                                           .collect(Collectors.collectingAndThen(
                                               Collectors.groupingBy(Function.identity(),
@@ -61,57 +60,8 @@ public class CartesianProductTableTransformer extends AbstractTableLoadingTransf
         isTrue(repeatingKeys.isEmpty(), "Tables must contain different keys, but found the same keys: %s",
                 repeatingKeys);
 
-        if (hasEmptyTable(tables))
-        {
-            return getEmptyTableWithHeaders(tables, properties);
-        }
-
         return tables.stream()
-                     .reduce(CartesianProductTableTransformer::cartesianProduct)
-                     .map(ExamplesTable::asString)
+                     .reduce(ColumnarTable::cartesianProduct)
                      .get();
     }
-
-    private static ExamplesTable cartesianProduct(ExamplesTable left, ExamplesTable right)
-    {
-        List<String> headers = new ArrayList<>(left.getHeaders());
-        headers.addAll(right.getHeaders());
-
-        int counter = headers.size();
-        List<Map<String, String>> examplesTableRows = new ArrayList<>(left.getRowCount() * right.getRowCount());
-
-        Lists.cartesianProduct(List.of(getRows(left), getRows(right)))
-             .stream()
-             .map(Iterables::concat)
-             .map(Lists::newArrayList)
-             .forEach(row ->
-             {
-                 Map<String, String> tableRow = new LinkedHashMap<>(counter);
-                 IntStream.range(0, counter).forEach(index -> tableRow.put(headers.get(index), row.get(index)));
-                 examplesTableRows.add(tableRow);
-             });
-
-        return ExamplesTable.empty().withRows(examplesTableRows);
-    }
-
-    private static List<List<String>> getRows(ExamplesTable table)
-    {
-        return table.getRows().stream()
-                              .map(Map::values)
-                              .map(ArrayList::new)
-                              .collect(Collectors.toList());
-    }
-
-    private static boolean hasEmptyTable(List<ExamplesTable> tables)
-    {
-        return tables.stream().anyMatch(t -> t.getRowCount() == 0);
-    }
-
-    private static String getEmptyTableWithHeaders(List<ExamplesTable> tables, TableProperties tableProperties)
-    {
-        List<String> headers = new ArrayList<>();
-
-        tables.forEach(t -> headers.addAll(t.getHeaders()));
-        return ExamplesTableProcessor.buildExamplesTable(headers, List.of(), tableProperties);
-    }
 }
@@ -21,24 +21,19 @@ import java.util.List;
 import java.util.Set;
 
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
 public class DistinctingTableTransformer extends AbstractFilteringTableTransformer
 {
     @Override
-    public String transform(String tableAsString, TableParsers tableParsers, TableProperties tableProperties)
+    public ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties tableProperties)
     {
         String byColumnNames = tableProperties.getMandatoryNonBlankProperty(BY_COLUMNS_NAMES_PROPERTY, String.class);
-        TableRows tableRows = tableParsers.parseRows(tableAsString, tableProperties);
-        List<String> allColumnNames = tableRows.getHeaders();
-        List<String> filteredColumnNames = filterColumnNames(allColumnNames, byColumnNames);
-        List<List<String>> rows = tableRows.getRows();
-        filterRowsByColumnNames(allColumnNames, rows, filteredColumnNames);
+        List<String> filteredColumnNames = filterColumnNames(table.getHeaders(), byColumnNames);
+        ColumnarTable filteredTable = table.selectColumns(filteredColumnNames);
 
-        Set<List<String>> distinctRows = new LinkedHashSet<>(rows);
+        Set<List<String>> distinctRows = new LinkedHashSet<>(filteredTable.getRows());
 
-        return ExamplesTableProcessor.buildExamplesTable(filteredColumnNames, distinctRows, tableProperties);
+        return ColumnarTable.fromRows(filteredColumnNames, distinctRows);
     }
 }
@@ -35,9 +35,7 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
 public class FilteringTableTransformer extends AbstractFilteringTableTransformer
 {
@@ -52,7 +50,7 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
             "Conflicting properties declaration found: '%s' and '%s'";
 
     @Override
-    public String transform(String tableAsString, TableParsers tableParsers, TableProperties tableProperties)
+    public ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties tableProperties)
     {
         Properties properties = tableProperties.getProperties();
 
@@ -69,8 +67,7 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 BY_MAX_COLUMNS_PROPERTY, BY_MAX_ROWS_PROPERTY, BY_COLUMNS_NAMES_PROPERTY, REGEX_FILTER_DECLARATION,
                 BY_ROW_INDEXES_PROPERTY, BY_RANDOM_ROWS_PROPERTY);
 
-        TableRows tableRows = tableParsers.parseRows(tableAsString, tableProperties);
-        List<String> allColumnNames = tableRows.getHeaders();
+        List<String> allColumnNames = table.getHeaders();
         if (!columnFilters.isEmpty())
         {
             isTrue(allNull(byMaxColumns, byColumnNames, byMaxRows, byRowIndexes, byRandomRows),
@@ -79,8 +76,7 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                     BY_MAX_COLUMNS_PROPERTY, BY_COLUMNS_NAMES_PROPERTY, BY_MAX_ROWS_PROPERTY, BY_ROW_INDEXES_PROPERTY,
                     BY_RANDOM_ROWS_PROPERTY);
 
-            return ExamplesTableProcessor.buildExamplesTable(tableRows.getHeaders(),
-                    filterRows(columnFilters, allColumnNames, tableRows.getRows(), properties), tableProperties);
+            return table.selectRows(filterRows(columnFilters, table, properties));
         }
 
         isTrue(anyNull(byMaxColumns, byColumnNames), CONFLICTING_PROPERTIES_MESSAGE,
@@ -96,22 +92,20 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 BY_RANDOM_ROWS_PROPERTY, BY_MAX_ROWS_PROPERTY);
 
         List<String> filteredColumnNames = filterColumnNames(byMaxColumns, byColumnNames, allColumnNames);
-        List<List<String>> filteredRows = filterRows(byMaxRows, byRowIndexes, byRandomRows, tableRows.getRows());
-        filterRowsByColumnNames(allColumnNames, filteredRows, filteredColumnNames);
-
-        return ExamplesTableProcessor.buildExamplesTable(filteredColumnNames, filteredRows, tableProperties);
+        ColumnarTable filteredTable = table.selectColumns(filteredColumnNames);
+        if (allNull(byMaxRows, byRowIndexes, byRandomRows))
+        {
+            return filteredTable;
+        }
+        return filteredTable.selectRows(filterRows(byMaxRows, byRowIndexes, byRandomRows, table.getRowCount()));
     }
 
-    private <T> List<T> filterRows(String byMaxRows, String byRowIndexes, String byRandomRows, List<T> rows)
+    private int[] filterRows(String byMaxRows, String byRowIndexes, String byRandomRows, int numberOfRows)
     {
-        int numberOfRows = rows.size();
         if (byRowIndexes == null && byRandomRows == null)
         {
-            return Optional.ofNullable(byMaxRows)
-                    .map(Integer::parseInt)
-                    .filter(m -> m < numberOfRows)
-                    .map(m -> rows.subList(0, m))
-                    .orElse(rows);
+            int rowsLimit = Math.min(numberOfRows, Integer.parseInt(byMaxRows));
+            return IntStream.range(0, rowsLimit).toArray();
         }
         else if (byRandomRows != null)
         {
@@ -123,15 +117,13 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                     .ints(0, numberOfRows)
                     .distinct()
                     .limit(randomRowsCount)
-                    .mapToObj(rows::get)
-                    .collect(Collectors.toList());
+                    .toArray();
         }
         else
         {
             return Stream.of(StringUtils.split(byRowIndexes, ';'))
                     .mapToInt(Integer::parseInt)
-                    .mapToObj(rows::get)
-                    .collect(Collectors.toList());
+                    .toArray();
         }
     }
 
@@ -158,13 +150,14 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 .collect(Collectors.toSet());
     }
 
-    private List<List<String>> filterRows(Set<String> columnFilters, List<String> allColumnNames,
-            List<List<String>> rows, Properties properties)
+    private int[] filterRows(Set<String> columnFilters, ColumnarTable table, Properties properties)
     {
-        return columnFilters.stream().collect(
-                Collectors.collectingAndThen(Collectors.toMap(k -> StringUtils.substringAfter(k, COLUMN_PREFIX),
-                        k -> createFilter(properties.getProperty(k))),
-                        filters -> filterRows(allColumnNames, rows, filters)));
+        Map<String, Predicate<String>> filters = columnFilters.stream().collect(Collectors.toMap(
+                k -> StringUtils.substringAfter(k, COLUMN_PREFIX), k -> createFilter(properties.getProperty(k))));
+        List<String> allColumnNames = table.getHeaders();
+        return IntStream.range(0, table.getRowCount())
+                .filter(rowIndex -> applyFilters(allColumnNames, table.getRow(rowIndex), filters))
+                .toArray();
     }
 
     private static Predicate<String> createFilter(String regex)
@@ -172,14 +165,6 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
         return Pattern.compile(regex).asPredicate();
     }
 
-    public static List<List<String>> filterRows(List<String> allColumnNames, List<List<String>> rows,
-            Map<String, Predicate<String>> columnFilters)
-    {
-        return rows.stream()
-                   .filter(row -> applyFilters(allColumnNames, row, columnFilters))
-                   .collect(Collectors.toList());
-    }
-
     private static boolean applyFilters(List<String> allColumnNames, List<String> row,
             Map<String, Predicate<String>> columnFilters)
     {
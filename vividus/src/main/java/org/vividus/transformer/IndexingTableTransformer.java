@@ -18,34 +18,29 @@ package org.vividus.transformer;
 
 import java.util.List;
 import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.Validate;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.jbehave.core.model.TableTransformers.TableTransformer;
-import org.vividus.util.ExamplesTableProcessor;
 
-public class IndexingTableTransformer implements TableTransformer
+public class IndexingTableTransformer implements StructuredTableTransformer
 {
     private static final String INDEX = "index";
 
     @Override
-    public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
+    public ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties properties)
     {
-        TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
-        List<String> headers = tableRows.getHeaders();
-        Validate.isTrue(!headers.contains(INDEX),
+        Validate.isTrue(!table.getHeaders().contains(INDEX),
             "Unable to add column with row indices to the table, because it has `index` column.");
         Order order = properties.getMandatoryNonBlankProperty("order", Order.class);
-        List<List<String>> rows = tableRows.getRows();
-        IntUnaryOperator indexer = order.getIndexer(rows);
-        for (int i = 0; i < rows.size(); i++)
-        {
-            rows.get(i).add(Integer.toString(indexer.applyAsInt(i)));
-        }
-        headers.add(INDEX);
-        return ExamplesTableProcessor.buildExamplesTable(headers, rows, properties);
+        IntUnaryOperator indexer = order.getIndexer(table.getRowCount());
+        List<String> indices = IntStream.range(0, table.getRowCount())
+                .map(indexer)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.toList());
+        return table.appendColumns(ColumnarTable.fromColumns(List.of(INDEX), List.of(indices)));
     }
 
     private enum Order
@@ -53,7 +48,7 @@ public class IndexingTableTransformer implements TableTransformer
         ASCENDING
         {
             @Override
-            IntUnaryOperator getIndexer(List<?> rows)
+            IntUnaryOperator getIndexer(int size)
             {
                 return i -> i;
             }
@@ -61,13 +56,12 @@ public class IndexingTableTransformer implements TableTransformer
         DESCENDING
         {
             @Override
-            IntUnaryOperator getIndexer(List<?> rows)
+            IntUnaryOperator getIndexer(int size)
             {
-                int size = rows.size();
                 return i -> size - i - 1;
             }
         };
 
-        abstract IntUnaryOperator getIndexer(List<?> rows);
+        abstract IntUnaryOperator getIndexer(int size);
     }
 }
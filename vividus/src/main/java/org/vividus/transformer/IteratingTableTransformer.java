@@ -26,9 +26,8 @@ import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.vividus.util.ExamplesTableProcessor;
 
-public class IteratingTableTransformer implements ExtendedTableTransformer
+public class IteratingTableTransformer implements StructuredTableTransformer
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(IteratingTableTransformer.class);
 
@@ -39,9 +38,16 @@ public class IteratingTableTransformer implements ExtendedTableTransformer
     private static final List<String> ITERATOR = List.of("iterator");
 
     @Override
-    public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
+    public ColumnarTable parse(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
         checkTableEmptiness(tableAsString);
+        return ColumnarTable.empty();
+    }
+
+    @Override
+    public ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties properties)
+    {
+        Validate.isTrue(table.isEmpty(), "Input table must be empty");
         int startInclusive;
         int endInclusive;
         if (properties.getProperties().containsKey(LIMIT))
@@ -67,6 +73,6 @@ public class IteratingTableTransformer implements ExtendedTableTransformer
         List<String> column = IntStream.rangeClosed(startInclusive, endInclusive)
                 .mapToObj(String::valueOf)
                 .collect(Collectors.toList());
-        return ExamplesTableProcessor.buildExamplesTableFromColumns(ITERATOR, List.of(column), properties);
+        return ColumnarTable.fromColumns(ITERATOR, List.of(column));
     }
 }
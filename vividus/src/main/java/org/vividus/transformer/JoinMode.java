@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -27,23 +28,22 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.steps.Parameters;
-import org.vividus.util.ExamplesTableProcessor;
 
 public enum JoinMode
 {
     ROWS
     {
         @Override
-        protected String join(ExamplesTable table, TableProperties properties)
+        protected ColumnarTable join(ColumnarTable table, TableProperties properties)
         {
-            Map<String, String> tableMap = table.getRowsAsParameters(true).stream()
+            Map<String, String> tableMap = asExamplesTable(table).getRowsAsParameters(true).stream()
                     .map(Parameters::values)
                     .map(Map::entrySet)
                     .flatMap(Set::stream)
@@ -52,18 +52,28 @@ public enum JoinMode
                     );
             List<List<String>> tableData = tableMap.values().stream().map(List::of).collect(Collectors.toList());
 
-            return ExamplesTableProcessor.buildExamplesTableFromColumns(tableMap.keySet(), tableData, properties);
+            return ColumnarTable.fromColumns(List.copyOf(tableMap.keySet()), tableData);
+        }
+
+        private ExamplesTable asExamplesTable(ColumnarTable table)
+        {
+            List<String> headers = table.getHeaders();
+            List<Map<String, String>> rows = table.getRows().stream().map(row -> {
+                Map<String, String> tableRow = new LinkedHashMap<>(headers.size());
+                IntStream.range(0, headers.size()).forEach(index -> tableRow.put(headers.get(index), row.get(index)));
+                return tableRow;
+            }).collect(Collectors.toList());
+            return ExamplesTable.empty().withRows(rows);
         }
     },
     COLUMNS
     {
         @Override
-        protected String join(ExamplesTable table, TableProperties properties)
+        protected ColumnarTable join(ColumnarTable table, TableProperties properties)
         {
             String joinedColumn = properties.getMandatoryNonBlankProperty("joinedColumn", String.class);
             Set<String> columnsToJoin = getColumnsToJoin(table, properties);
 
-            List<Map<String, String>> rows = table.getRows();
             List<String> headers = new ArrayList<>();
             List<List<String>> columns = new ArrayList<>();
             for (String header : table.getHeaders())
@@ -71,20 +81,19 @@ public enum JoinMode
                 if (!columnsToJoin.contains(header))
                 {
                     headers.add(header);
-                    columns.add(buildColumn(rows, row -> row.get(header)));
+                    columns.add(table.getColumn(header));
                 }
                 else if (!headers.contains(joinedColumn))
                 {
                     headers.add(joinedColumn);
-                    columns.add(buildColumn(rows,
-                        row -> columnsToJoin.stream().map(row::get).collect(Collectors.joining(DELIMITER))));
+                    columns.add(joinColumns(table, columnsToJoin));
                 }
             }
 
-            return ExamplesTableProcessor.buildExamplesTableFromColumns(headers, columns, properties);
+            return ColumnarTable.fromColumns(headers, columns);
         }
 
-        private Set<String> getColumnsToJoin(ExamplesTable table, TableProperties properties)
+        private Set<String> getColumnsToJoin(ColumnarTable table, TableProperties properties)
         {
             return Optional.ofNullable(properties.getProperties().getProperty("columnsToJoin"))
                     .map(columnsToJoin ->
@@ -94,15 +103,22 @@ public enum JoinMode
                     .orElseGet(() -> table.getHeaders().stream())
                     .collect(Collectors.toCollection(LinkedHashSet::new));
         }
+
+        private List<String> joinColumns(ColumnarTable table, Set<String> columnNames)
+        {
+            int rowCount = table.getRowCount();
+            List<List<String>> columns = columnNames.stream()
+                    .map(columnName -> table.getHeaders().contains(columnName) ? table.getColumn(columnName)
+                            : Collections.<String>nCopies(rowCount, null))
+                    .collect(Collectors.toList());
+            return IntStream.range(0, rowCount)
+                    .mapToObj(rowIndex -> columns.stream().map(column -> column.get(rowIndex))
+                            .collect(Collectors.joining(DELIMITER)))
+                    .collect(Collectors.toList());
+        }
     };
 
     private static final String DELIMITER = " ";
 
-    private static List<String> buildColumn(List<Map<String, String>> rows,
-            Function<Map<String, String>, String> cellBuilder)
-    {
-        return rows.stream().map(cellBuilder).collect(Collectors.toList());
-    }
-
-    protected abstract String join(ExamplesTable table, TableProperties properties);
+    protected abstract ColumnarTable join(ColumnarTable table, TableProperties properties);
 }
@@ -23,15 +23,21 @@ import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 
-public class JoiningTableTransformer implements ExtendedTableTransformer
+public class JoiningTableTransformer implements StructuredTableTransformer
 {
     @Inject private Configuration configuration;
 
     @Override
-    public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
+    public ColumnarTable parse(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
-        JoinMode joinMode = properties.getMandatoryNonBlankProperty("joinMode", JoinMode.class);
         ExamplesTable examplesTable = configuration.examplesTableFactory().createExamplesTable(tableAsString);
-        return joinMode.join(examplesTable, properties);
+        return ColumnarTable.fromExamplesTable(examplesTable);
+    }
+
+    @Override
+    public ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties properties)
+    {
+        JoinMode joinMode = properties.getMandatoryNonBlankProperty("joinMode", JoinMode.class);
+        return joinMode.join(table, properties);
     }
 }
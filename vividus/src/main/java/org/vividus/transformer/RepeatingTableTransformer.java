@@ -16,33 +16,15 @@
 
 package org.vividus.transformer;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
-public class RepeatingTableTransformer implements ExtendedTableTransformer
+public class RepeatingTableTransformer implements StructuredTableTransformer
 {
     @Override
-    public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
+    public ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties properties)
     {
-        TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
         int times = properties.getMandatoryNonBlankProperty("times", int.class);
-        List<List<String>> rows = nCopies(times, tableRows);
-        return ExamplesTableProcessor.buildExamplesTable(tableRows.getHeaders(), rows, properties);
-    }
-
-    private List<List<String>> nCopies(int times, TableRows tableRows)
-    {
-        List<List<String>> examplesTableRows = tableRows.getRows();
-        List<List<String>> rows = new LinkedList<>();
-        for (int i = 0; i < times; i++)
-        {
-            rows.addAll(examplesTableRows);
-        }
-        return rows;
+        return table.repeatRows(times);
     }
 }
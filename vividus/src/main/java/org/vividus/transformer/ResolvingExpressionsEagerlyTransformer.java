@@ -16,15 +16,11 @@
 
 package org.vividus.transformer;
 
-import java.util.List;
-
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
 import org.vividus.steps.ExpressionAdaptor;
-import org.vividus.util.ExamplesTableProcessor;
 
-public class ResolvingExpressionsEagerlyTransformer implements ExtendedTableTransformer
+public class ResolvingExpressionsEagerlyTransformer implements StructuredTableTransformer
 {
     private final ExpressionAdaptor expressionAdaptor;
 
@@ -34,17 +30,8 @@ public class ResolvingExpressionsEagerlyTransformer implements ExtendedTableTran
     }
 
     @Override
-    public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
-    {
-        TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
-        List<List<String>> rows = tableRows.getRows();
-        resolveExpressions(rows);
-        return ExamplesTableProcessor.buildExamplesTable(tableRows.getHeaders(), rows, properties);
-    }
-
-    private void resolveExpressions(List<List<String>> rows)
+    public ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties properties)
     {
-        rows.forEach(row -> row.replaceAll(
-                expression -> String.valueOf(expressionAdaptor.processRawExpression(expression))));
+        return table.mapValues(expression -> String.valueOf(expressionAdaptor.processRawExpression(expression)));
     }
 }
@@ -16,45 +16,41 @@
 
 package org.vividus.transformer;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
-public class SortingTableTransformer implements ExtendedTableTransformer
+public class SortingTableTransformer implements StructuredTableTransformer
 {
     @Override
-    public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
+    public ColumnarTable transform(ColumnarTable table, TableParsers tableParsers, TableProperties properties)
     {
-        TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
         String byColumns = properties.getMandatoryNonBlankProperty("byColumns", String.class);
-        List<String> headerValues = tableRows.getHeaders();
-        List<String> columnsToCompare = Stream.of(StringUtils.split(byColumns, '|'))
+        List<String> headerValues = table.getHeaders();
+        List<List<String>> columnsToCompare = Stream.of(StringUtils.split(byColumns, '|'))
                 .map(String::trim)
+                .filter(headerValues::contains)
+                .map(table::getColumn)
                 .collect(Collectors.toList());
-        List<List<String>> rows = tableRows.getRows().stream()
+        int[] rowIndices = IntStream.range(0, table.getRowCount())
+                .boxed()
                 .sorted((r1, r2) ->
                 {
                     int result = 0;
-                    Iterator<String> columnIterator = columnsToCompare.iterator();
-                    while (result == 0 && columnIterator.hasNext())
+                    for (int i = 0; result == 0 && i < columnsToCompare.size(); i++)
                     {
-                        String column = columnIterator.next();
-                        int indexOfColumn = headerValues.indexOf(column);
-                        if (indexOfColumn > -1)
-                        {
-                            result = r1.get(indexOfColumn).compareTo(r2.get(indexOfColumn));
-                        }
+                        List<String> column = columnsToCompare.get(i);
+                        result = column.get(r1).compareTo(column.get(r2));
                     }
                     return result;
                 })
-                .collect(Collectors.toList());
-        return ExamplesTableProcessor.buildExamplesTable(headerValues, rows, properties);
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return table.selectRows(rowIndices);
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,35 +17,143 @@
 package org.vividus.groovy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.HashMap;
 import java.util.Map;
 
+import com.google.common.cache.CacheStats;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.scripting.ScriptSource;
+import org.springframework.scripting.ScriptCompilationException;
 import org.springframework.scripting.support.StaticScriptSource;
 import org.vividus.context.VariableContext;
 
+import groovy.lang.MissingPropertyException;
+
 @ExtendWith(MockitoExtension.class)
 class VariableContextAwareGroovyScriptEvaluatorTests
 {
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+    private static final String RETURN_KEY = "return key";
+
     @Mock
     private VariableContext variableContext;
 
+    private VariableContextAwareGroovyScriptEvaluator createEvaluator()
+    {
+        return new VariableContextAwareGroovyScriptEvaluator(variableContext, 10);
+    }
+
+    @Test
+    void shouldResolveVariablesOnAccess()
+    {
+        when(variableContext.getVariables()).thenReturn(Map.of(KEY, VALUE));
+        assertEquals("value-value", createEvaluator().evaluate(new StaticScriptSource("key + '-' + key")));
+        verify(variableContext).getVariables();
+        verifyNoMoreInteractions(variableContext);
+    }
+
+    @Test
+    void shouldResolveShadowedVariableUsingMergedScopes()
+    {
+        lenient().when(variableContext.getVariable(KEY)).thenReturn("step value");
+        when(variableContext.getVariables()).thenReturn(Map.of(KEY, VALUE));
+        assertEquals(VALUE, createEvaluator().evaluate(new StaticScriptSource(RETURN_KEY)));
+    }
+
+    @Test
+    void shouldCompileSameScriptOnce()
+    {
+        VariableContextAwareGroovyScriptEvaluator evaluator = createEvaluator();
+        String script = "return x * 2";
+        assertEquals(4, evaluator.evaluate(new StaticScriptSource(script), Map.of("x", 2)));
+        assertEquals(6, evaluator.evaluate(new StaticScriptSource(script), Map.of("x", 3)));
+        assertEquals(3, evaluator.evaluate(new StaticScriptSource("return 1 + 2")));
+        CacheStats statistics = evaluator.getCacheStatistics();
+        assertEquals(1, statistics.hitCount());
+        assertEquals(2, statistics.loadCount());
+        verifyNoMoreInteractions(variableContext);
+    }
+
+    @Test
+    void shouldNotShareScriptStateBetweenEvaluations()
+    {
+        VariableContextAwareGroovyScriptEvaluator evaluator = createEvaluator();
+        StaticScriptSource script = new StaticScriptSource(
+                "@groovy.transform.Field List calls = []; calls << x; return calls.size()");
+        assertEquals(1, evaluator.evaluate(script, Map.of("x", 1)));
+        assertEquals(1, evaluator.evaluate(script, Map.of("x", 2)));
+        assertEquals(1, evaluator.getCacheStatistics().hitCount());
+    }
+
+    @Test
+    void shouldNotPropagateScriptVariablesToContext()
+    {
+        VariableContextAwareGroovyScriptEvaluator evaluator = createEvaluator();
+        Map<String, Object> arguments = new HashMap<>();
+        String script = "key = 'changed'; return key";
+        assertEquals("changed", evaluator.evaluate(new StaticScriptSource(script), arguments));
+        assertEquals(Map.of(), arguments);
+        when(variableContext.getVariables()).thenReturn(Map.of(KEY, VALUE));
+        assertEquals(VALUE, evaluator.evaluate(new StaticScriptSource(RETURN_KEY)));
+        verify(variableContext).getVariables();
+        verifyNoMoreInteractions(variableContext);
+    }
+
     @Test
-    void shouldPassVariableToEvaluate()
+    void shouldResolveVariableWithNullValue()
     {
-        VariableContextAwareGroovyScriptEvaluator evaluator =
-            Mockito.spy(new VariableContextAwareGroovyScriptEvaluator(variableContext));
-        ScriptSource script = new StaticScriptSource("return 'value'");
-        Map<String, Object> variables = Map.of();
+        Map<String, Object> variables = new HashMap<>();
+        variables.put(KEY, null);
         when(variableContext.getVariables()).thenReturn(variables);
-        String expected = "value";
-        when(evaluator.evaluate(script, variables)).thenReturn(expected);
-        assertEquals(expected, evaluator.evaluate(script));
+        assertEquals(true, createEvaluator().evaluate(new StaticScriptSource(RETURN_KEY + " == null")));
+    }
+
+    @Test
+    void shouldFailOnUnknownVariable()
+    {
+        when(variableContext.getVariables()).thenReturn(Map.of());
+        StaticScriptSource script = new StaticScriptSource("return unknown");
+        VariableContextAwareGroovyScriptEvaluator evaluator = createEvaluator();
+        MissingPropertyException exception = assertThrows(MissingPropertyException.class,
+                () -> evaluator.evaluate(script));
+        assertEquals("unknown", exception.getProperty());
+    }
+
+    @Test
+    void shouldNotResolveUnknownVariableFromSystemProperties()
+    {
+        String name = "groovyEvaluatorSystemProperty";
+        when(variableContext.getVariables()).thenReturn(Map.of());
+        StaticScriptSource script = new StaticScriptSource("return " + name);
+        VariableContextAwareGroovyScriptEvaluator evaluator = createEvaluator();
+        System.setProperty(name, VALUE);
+        try
+        {
+            MissingPropertyException exception = assertThrows(MissingPropertyException.class,
+                    () -> evaluator.evaluate(script));
+            assertEquals(name, exception.getProperty());
+        }
+        finally
+        {
+            System.clearProperty(name);
+        }
+    }
+
+    @Test
+    void shouldWrapCompilationFailure()
+    {
+        StaticScriptSource script = new StaticScriptSource("return (");
+        VariableContextAwareGroovyScriptEvaluator evaluator = createEvaluator();
+        assertThrows(ScriptCompilationException.class, () -> evaluator.evaluate(script));
     }
 }
@@ -29,38 +29,38 @@ import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.steps.ParameterConverters;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class CartesianProductTableTransformerTests
 {
-    private static final ExamplesTable FIRST_TABLE = new ExamplesTable(
+    private static final ColumnarTable FIRST_TABLE = ColumnarTable.fromExamplesTable(new ExamplesTable(
             "|name   |planet  |\n"
           + "|Junit  |Jupiter |\n"
           + "|Freddie|Mercury |\n"
-    );
+    ));
 
-    private static final ExamplesTable SECOND_TABLE = new ExamplesTable(
+    private static final ColumnarTable SECOND_TABLE = ColumnarTable.fromExamplesTable(new ExamplesTable(
             "|col1 |col2 |\n"
                     + "|row11|row12|\n"
                     + "|row21|row22|\n"
                     + "|row31|row32|"
-    );
+    ));
 
-    @Mock private TableProperties properties;
+    private final TableProperties properties = new TableProperties(StringUtils.EMPTY, new Keywords(),
+            new ParameterConverters());
     @Spy private CartesianProductTableTransformer transformer;
 
     @Test
     void shouldTransform()
     {
-        ExamplesTable thirdTable = new ExamplesTable(
+        ColumnarTable thirdTable = ColumnarTable.fromExamplesTable(new ExamplesTable(
                 "|number|\n"
               + "|911   |"
-        );
+        ));
 
-        doReturn(List.of(FIRST_TABLE, SECOND_TABLE, thirdTable)).when(transformer).loadTables(StringUtils.EMPTY,
+        doReturn(List.of(FIRST_TABLE, SECOND_TABLE, thirdTable)).when(transformer).loadTables(ColumnarTable.empty(),
                 properties);
 
         String tableAsString = transformer.transform(StringUtils.EMPTY, null, properties);
@@ -70,20 +70,19 @@ class CartesianProductTableTransformerTests
                              + "|Junit|Jupiter|row31|row32|911|\n"
                              + "|Freddie|Mercury|row11|row12|911|\n"
                              + "|Freddie|Mercury|row21|row22|911|\n"
-                             + "|Freddie|Mercury|row31|row32|911|\n";
+                             + "|Freddie|Mercury|row31|row32|911|";
         assertEquals(expectedTable, tableAsString);
     }
 
     @Test
     void shouldTransformToEmptyTableIfOneTableEmpty()
     {
-        var tableProperties = new TableProperties(StringUtils.EMPTY, new Keywords(), new ParameterConverters());
-        ExamplesTable thirdTable = new ExamplesTable("|number|");
+        ColumnarTable thirdTable = ColumnarTable.fromExamplesTable(new ExamplesTable("|number|"));
 
-        doReturn(List.of(FIRST_TABLE, SECOND_TABLE, thirdTable)).when(transformer).loadTables(StringUtils.EMPTY,
-                tableProperties);
+        doReturn(List.of(FIRST_TABLE, SECOND_TABLE, thirdTable)).when(transformer).loadTables(ColumnarTable.empty(),
+                properties);
 
-        String tableAsString = transformer.transform(StringUtils.EMPTY, null, tableProperties);
+        String tableAsString = transformer.transform(StringUtils.EMPTY, null, properties);
         String expectedTable = "|name|planet|col1|col2|number|";
         assertEquals(expectedTable, tableAsString);
     }
@@ -91,7 +90,7 @@ class CartesianProductTableTransformerTests
     @Test
     void shouldFailIfTablesContainEqualHeaders()
     {
-        doReturn(List.of(FIRST_TABLE, FIRST_TABLE)).when(transformer).loadTables(StringUtils.EMPTY, properties);
+        doReturn(List.of(FIRST_TABLE, FIRST_TABLE)).when(transformer).loadTables(ColumnarTable.empty(), properties);
 
         IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
                 () -> transformer.transform(StringUtils.EMPTY, null, properties));
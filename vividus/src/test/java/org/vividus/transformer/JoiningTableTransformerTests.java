@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -59,6 +59,7 @@ class JoiningTableTransformerTests
     void testTransformInColumnsModeWithoutColumnName()
     {
         when(configuration.examplesTableFactory()).thenReturn(factory);
+        when(factory.createExamplesTable(PATH)).thenReturn(new ExamplesTable("|var1|var2|\n|a|b|"));
         var tableProperties = new TableProperties("joinMode=columns", keywords, parameterConverters);
         var exception = assertThrows(IllegalArgumentException.class,
             () -> joiningTableTransformer.transform(PATH, null, tableProperties));